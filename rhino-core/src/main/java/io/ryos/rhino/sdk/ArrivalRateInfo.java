@@ -0,0 +1,48 @@
+/*
+  Copyright 2018 Ryos.io.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+
+package io.ryos.rhino.sdk;
+
+/**
+ * Arrival rate configuration of simulations running in the open model.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @see io.ryos.rhino.sdk.annotations.ArrivalRate
+ * @since 2.3.3
+ */
+public class ArrivalRateInfo {
+
+  private static final ArrivalRateInfo NONE = new ArrivalRateInfo(-1);
+
+  private final double rps;
+
+  private ArrivalRateInfo(final double rps) {
+    this.rps = rps;
+  }
+
+  public static ArrivalRateInfo of(final double rps) {
+    return new ArrivalRateInfo(rps);
+  }
+
+  public static ArrivalRateInfo none() {
+    return NONE;
+  }
+
+  public double getRps() {
+    return rps;
+  }
+}
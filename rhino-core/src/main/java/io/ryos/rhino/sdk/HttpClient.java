@@ -1,11 +1,45 @@
 package io.ryos.rhino.sdk;
 
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.resolver.NameResolver;
+import io.ryos.rhino.sdk.HttpClientProfile.Protocol;
+import io.ryos.rhino.sdk.dns.CachingNameResolver;
+import io.ryos.rhino.sdk.dns.NameResolvers;
+import io.ryos.rhino.sdk.http2.Http2Client;
+import io.ryos.rhino.sdk.reporting.ConnectionPoolStats;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import org.asynchttpclient.AsyncCompletionHandlerBase;
+import org.asynchttpclient.AsyncHandler;
 import org.asynchttpclient.AsyncHttpClient;
 import org.asynchttpclient.Dsl;
-import org.asynchttpclient.filter.ThrottleRequestFilter;
+import org.asynchttpclient.RequestBuilder;
+import org.asynchttpclient.netty.channel.ChannelManager;
 
 /**
- * HttpClient singleton instance.
+ * HttpClient singleton instance. It holds one client per {@link HttpClientProfile}, each with its
+ * own connection pool and event loop, which is an {@link AsyncHttpClient} for HTTP/1.1 profiles
+ * and a {@link Http2Client} for HTTP/2 profiles. The clients are created on first use. Clients of
+ * profiles with more than one shard consist of several such clients, one per shard, see {@link
+ * HttpClientProfile#getShards()}. All clients resolve hosts with the same {@link
+ * CachingNameResolver}, see {@link #getNameResolver()}. Response bodies are passed on as they
+ * are received, i.e compressed bodies are decoded by the response handler, which accounts for the
+ * decoding time.
  *
  * @author Erhan Bagdemir
  * @since 2.0.0
@@ -14,25 +48,461 @@ public enum HttpClient {
 
   INSTANCE;
 
-  private AsyncHttpClient client;
+  private static final long IDLE_PARK_NANOS = 1_000_000L;
 
-  HttpClient() {
+  private final ConcurrentMap<String, PooledClient> clients = new ConcurrentHashMap<>();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private volatile CachingNameResolver nameResolver;
 
-    var httpClientConfig = Dsl.config()
-        .setKeepAlive(true)
-        .setMaxConnections(SimulationConfig.getMaxConnections())
-        .setMaxConnectionsPerHost(SimulationConfig.getMaxConnections())
-        .setConnectTimeout(SimulationConfig.getHttpConnectTimeout())
-        .setHandshakeTimeout(SimulationConfig.getHttpHandshakeTimeout())
-        .setReadTimeout(SimulationConfig.getHttpReadTimeout())
-        .setRequestTimeout(SimulationConfig.getHttpRequestTimeout())
-        .addRequestFilter(new ThrottleRequestFilter(SimulationConfig.getMaxConnections()))
-        .build();
+  /**
+   * Returns the client of the {@link HttpClientProfile#DEFAULT} profile.
+   * <p>
+   *
+   * @return {@link AsyncHttpClient} instance.
+   */
+  public AsyncHttpClient getClient() {
+    return getClient(HttpClientProfile.DEFAULT);
+  }
 
-    this.client = Dsl.asyncHttpClient(httpClientConfig);
+  /**
+   * Returns the client of the HTTP/1.1 profile. The client of the first shard is returned if the
+   * client is sharded. Requests sent with the client directly do not wait for a connection like
+   * the requests sent with {@link #execute(String, Object, RequestBuilder, AsyncHandler)}, they
+   * fail if all connections of the pool are in use.
+   * <p>
+   *
+   * @param profile Name of the {@link HttpClientProfile}.
+   * @return {@link AsyncHttpClient} instance.
+   * @throws IllegalArgumentException If the profile uses HTTP/2.
+   */
+  public AsyncHttpClient getClient(final String profile) {
+    var shard = getPooledClient(profile).shards[0];
+    if (shard.client == null) {
+      throw new IllegalArgumentException("HTTP client profile uses HTTP/2: " + profile);
+    }
+    return shard.client;
   }
 
-  public AsyncHttpClient getClient() {
-    return client;
+  /**
+   * Sends the request with the client of the profile, regardless of its protocol. Requests of a
+   * sharded client are distributed over the shards in turn.
+   * <p>
+   *
+   * @param profile Name of the {@link HttpClientProfile}.
+   * @param request Request to send.
+   * @param handler {@link AsyncHandler} which receives the response.
+   * @param <T>     Type of the result of the handler.
+   * @return Future of the result of the handler.
+   */
+  public <T> CompletableFuture<T> execute(final String profile, final RequestBuilder request,
+      final AsyncHandler<T> handler) {
+    return execute(profile, null, request, handler);
+  }
+
+  /**
+   * Sends the request with the client of the profile, regardless of its protocol. Requests with
+   * the same affinity key, e.g the session of a virtual user, are sent by the same shard of a
+   * sharded client, so their responses are handled on the same event loop thread. Cancelling the
+   * future does not abort the request, which is in flight until its handler completes.
+   * <p>
+   *
+   * @param profile     Name of the {@link HttpClientProfile}.
+   * @param affinityKey Key which selects the shard, or null to select the shards in turn.
+   * @param request     Request to send.
+   * @param handler     {@link AsyncHandler} which receives the response.
+   * @param <T>         Type of the result of the handler.
+   * @return Future of the result of the handler.
+   */
+  public <T> CompletableFuture<T> execute(final String profile, final Object affinityKey,
+      final RequestBuilder request, final AsyncHandler<T> handler) {
+    var shard = getPooledClient(profile).shardOf(affinityKey);
+    request.setNameResolver(getNameResolver());
+    inFlight.incrementAndGet();
+    CompletableFuture<T> response;
+    try {
+      response = shard.execute(request, handler);
+    } catch (RuntimeException e) {
+      inFlight.decrementAndGet();
+      throw e;
+    }
+    // Cancelling the dependent future returned does not complete the response, so the count
+    // follows the request.
+    return response.whenComplete((value, error) -> inFlight.decrementAndGet());
+  }
+
+  /**
+   * Waits until the requests sent so far are completed, i.e their handlers received the response
+   * or the failure, even if their futures have been cancelled.
+   * <p>
+   *
+   * @param timeout Maximum duration to wait.
+   * @return true if no request is in flight anymore, false if the timeout elapsed before.
+   */
+  public boolean awaitIdle(final Duration timeout) {
+    var deadline = System.nanoTime() + timeout.toNanos();
+    while (inFlight.get() > 0) {
+      if (System.nanoTime() - deadline >= 0 || Thread.currentThread().isInterrupted()) {
+        return false;
+      }
+      LockSupport.parkNanos(IDLE_PARK_NANOS);
+    }
+    return true;
+  }
+
+  /**
+   * Opens connections to the origin, which are pooled afterwards, by sending concurrent HEAD
+   * requests. The requests are not measured and their responses are ignored. Requests of a sharded
+   * client are distributed over the shards, and HTTP/2 clients open further connections only if
+   * the streams of the open ones are exhausted.
+   * <p>
+   *
+   * @param profile     Name of the {@link HttpClientProfile}.
+   * @param origin      Origin to connect to, e.g {@code https://api.example.com}.
+   * @param connections Number of connections to open, which is limited to the maximum number of
+   *                    connections per host of the profile.
+   * @return Future which completes once all requests are completed.
+   */
+  public CompletableFuture<Void> preConnect(final String profile, final String origin,
+      final int connections) {
+    var pooledClient = getPooledClient(profile);
+    var requests = Math.min(connections, pooledClient.profile.getMaxConnectionsPerHost());
+    var futures = new CompletableFuture<?>[requests];
+    for (int i = 0; i < requests; i++) {
+      futures[i] = execute(profile, null, new RequestBuilder("HEAD").setUrl(origin),
+          new AsyncCompletionHandlerBase());
+    }
+    return CompletableFuture.allOf(futures);
+  }
+
+  private PooledClient getPooledClient(final String profile) {
+    var pooledClient = clients.get(profile);
+    if (pooledClient == null) {
+      pooledClient = clients.computeIfAbsent(profile,
+          name -> new PooledClient(SimulationConfig.getHttpClientProfile(name),
+              getNameResolver()));
+    }
+    return pooledClient;
+  }
+
+  /**
+   * Returns the name resolver of the clients, which is created on first use. It wraps the resolver
+   * configured with {@code dns.resolver} with a cache of {@code dns.ttl} milliseconds, and resolves
+   * the hosts of the {@code dns.hosts.<host>} properties to their static addresses.
+   * <p>
+   *
+   * @return {@link CachingNameResolver} instance.
+   */
+  public CachingNameResolver getNameResolver() {
+    var resolver = nameResolver;
+    if (resolver == null) {
+      synchronized (this) {
+        resolver = nameResolver;
+        if (resolver == null) {
+          resolver = new CachingNameResolver(
+              NameResolvers.create(SimulationConfig.getDnsResolver()),
+              SimulationConfig.getDnsTtl(),
+              SimulationConfig.getDnsHosts());
+          nameResolver = resolver;
+        }
+      }
+    }
+    return resolver;
+  }
+
+  /**
+   * Returns the current state of the connection pools of the clients created so far.
+   * <p>
+   *
+   * @return Connection pool statistics, one per profile.
+   */
+  public List<ConnectionPoolStats> getPoolStats() {
+    return clients.values()
+        .stream()
+        .map(PooledClient::getStats)
+        .sorted(Comparator.comparing(ConnectionPoolStats::getProfile))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Closes the clients and the name resolver. Clients requested afterwards are created again.
+   * <p>
+   *
+   * @throws IOException If a client cannot be closed.
+   */
+  public void close() throws IOException {
+    IOException exception = null;
+    for (var name : clients.keySet()) {
+      var pooledClient = clients.remove(name);
+      if (pooledClient == null) {
+        continue;
+      }
+      try {
+        pooledClient.close();
+      } catch (IOException e) {
+        exception = e;
+      }
+    }
+    synchronized (this) {
+      if (nameResolver != null) {
+        nameResolver.close();
+        nameResolver = null;
+      }
+    }
+    if (exception != null) {
+      throw exception;
+    }
+  }
+
+  /**
+   * Client of a profile, which consists of one or more shards.
+   * <p>
+   */
+  private static final class PooledClient implements Closeable {
+
+    private final HttpClientProfile profile;
+    private final Shard[] shards;
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    private PooledClient(final HttpClientProfile profile,
+        final NameResolver<InetAddress> nameResolver) {
+      this.profile = profile;
+      if (profile.getShards() == 1) {
+        this.shards = new Shard[]{
+            new Shard(profile, "rhino-http-" + profile.getName(), nameResolver)};
+      } else {
+        var shardProfile = profile.shard();
+        this.shards = new Shard[profile.getShards()];
+        for (int i = 0; i < shards.length; i++) {
+          shards[i] = new Shard(shardProfile, "rhino-http-" + profile.getName() + "-" + i,
+              nameResolver);
+        }
+      }
+    }
+
+    private Shard shardOf(final Object affinityKey) {
+      if (shards.length == 1) {
+        return shards[0];
+      }
+      var hash = affinityKey != null ? affinityKey.hashCode() : nextShard.getAndIncrement();
+      return shards[Math.floorMod(hash, shards.length)];
+    }
+
+    private ConnectionPoolStats getStats() {
+      long active = 0;
+      long idle = 0;
+      int pending = 0;
+      for (var shard : shards) {
+        var stats = shard.getStats();
+        active += stats.getActiveConnections();
+        idle += stats.getIdleConnections();
+        pending += stats.getPendingAcquires();
+      }
+      return new ConnectionPoolStats(profile.getName(), profile.getMaxConnections(), active, idle,
+          pending);
+    }
+
+    @Override
+    public void close() throws IOException {
+      IOException exception = null;
+      for (var shard : shards) {
+        try {
+          shard.close();
+        } catch (IOException e) {
+          exception = e;
+        }
+      }
+      if (exception != null) {
+        throw exception;
+      }
+    }
+  }
+
+  /**
+   * Shard is a client with its own connection pool and event loop, which is an {@link
+   * AsyncHttpClient} for HTTP/1.1 profiles and a {@link Http2Client} for HTTP/2 profiles.
+   * <p>
+   */
+  private static final class Shard implements Closeable {
+
+    private final HttpClientProfile profile;
+    private final ConnectionThrottle throttle;
+    private final AsyncHttpClient client;
+    private final Http2Client http2Client;
+
+    private Shard(final HttpClientProfile profile, final String threadPoolName,
+        final NameResolver<InetAddress> nameResolver) {
+      this.profile = profile;
+      if (profile.getProtocol() == Protocol.HTTP_2) {
+        this.throttle = null;
+        this.client = null;
+        this.http2Client = new Http2Client(profile, nameResolver);
+        return;
+      }
+
+      this.throttle = new ConnectionThrottle(profile.getMaxConnections(),
+          profile.getMaxPendingRequests());
+
+      var httpClientConfig = Dsl.config()
+          .setKeepAlive(true)
+          .setMaxConnections(profile.getMaxConnections())
+          .setMaxConnectionsPerHost(profile.getMaxConnectionsPerHost())
+          .setConnectTimeout(profile.getConnectTimeout())
+          .setHandshakeTimeout(profile.getHandshakeTimeout())
+          .setReadTimeout(profile.getReadTimeout())
+          .setRequestTimeout(profile.getRequestTimeout())
+          .setConnectionTtl(profile.getKeepAliveTtl())
+          .setPooledConnectionIdleTimeout(profile.getIdleTimeout())
+          .setIoThreadsCount(profile.getIoThreads())
+          .setThreadPoolName(threadPoolName)
+          .setHttpAdditionalChannelInitializer(Shard::keepContentEncoded)
+          .build();
+
+      this.client = Dsl.asyncHttpClient(httpClientConfig);
+      this.http2Client = null;
+    }
+
+    private <T> CompletableFuture<T> execute(final RequestBuilder request,
+        final AsyncHandler<T> handler) {
+      if (http2Client != null) {
+        return http2Client.execute(request.build(), handler);
+      }
+
+      var result = new CompletableFuture<T>();
+      var accepted = throttle.submit(() -> {
+        CompletableFuture<T> response;
+        try {
+          response = client.executeRequest(request, handler).toCompletableFuture();
+        } catch (RuntimeException e) {
+          response = CompletableFuture.failedFuture(e);
+        }
+        response.whenComplete((value, error) -> {
+          throttle.release();
+          if (error != null) {
+            result.completeExceptionally(error);
+          } else {
+            result.complete(value);
+          }
+        });
+      });
+      if (!accepted) {
+        var error = new RejectedExecutionException("Too many requests are waiting for a "
+            + "connection of the HTTP client profile: " + profile.getName());
+        handler.onThrowable(error);
+        result.completeExceptionally(error);
+      }
+      return result;
+    }
+
+    private static void keepContentEncoded(final Channel channel) {
+      // The handler is replaced instead of removed, since tunneling adds handlers before it.
+      channel.pipeline().replace(ChannelManager.INFLATER_HANDLER,
+          ChannelManager.INFLATER_HANDLER, PassThroughHandler.INSTANCE);
+    }
+
+    private ConnectionPoolStats getStats() {
+      if (http2Client != null) {
+        return http2Client.getStats();
+      }
+      var clientStats = client.getClientStats();
+      return new ConnectionPoolStats(profile.getName(),
+          profile.getMaxConnections(),
+          clientStats.getTotalActiveConnectionCount(),
+          clientStats.getTotalIdleConnectionCount(),
+          throttle.getPending());
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (http2Client != null) {
+        http2Client.close();
+      } else {
+        client.close();
+      }
+    }
+  }
+
+  /**
+   * Handler which passes the messages on unchanged.
+   * <p>
+   */
+  @Sharable
+  private static final class PassThroughHandler extends ChannelInboundHandlerAdapter {
+
+    private static final PassThroughHandler INSTANCE = new PassThroughHandler();
+  }
+
+  /**
+   * Limits the requests in flight of a client to the connections of its pool. Requests which
+   * exceed the limit are queued instead of blocking the caller, and they are sent once a request
+   * in flight completes. The caller is often the event loop of the client itself, e.g the next
+   * step of a virtual user pinned to a shard, which would otherwise wait for a connection it is
+   * supposed to release.
+   * <p>
+   *
+   * Queued requests are sent by a single draining loop, so requests which complete while they are
+   * sent, e.g failing synchronously, do not nest the sending of the next ones.
+   * <p>
+   */
+  private static final class ConnectionThrottle {
+
+    private final Deque<Runnable> queue = new ArrayDeque<>();
+    private final int maxPending;
+    private int available;
+    private boolean draining;
+
+    private ConnectionThrottle(final int maxConnections, final int maxPending) {
+      this.available = maxConnections;
+      this.maxPending = maxPending;
+    }
+
+    /**
+     * Sends the request once a connection is available.
+     * <p>
+     *
+     * @param request Request to send.
+     * @return false if the request is rejected, since too many requests are pending.
+     */
+    private boolean submit(final Runnable request) {
+      synchronized (this) {
+        if (available == 0 && queue.size() >= maxPending) {
+          return false;
+        }
+        queue.add(request);
+      }
+      drain();
+      return true;
+    }
+
+    private void release() {
+      synchronized (this) {
+        available++;
+      }
+      drain();
+    }
+
+    private void drain() {
+      synchronized (this) {
+        if (draining) {
+          return;
+        }
+        draining = true;
+      }
+      while (true) {
+        Runnable next;
+        synchronized (this) {
+          if (available == 0 || queue.isEmpty()) {
+            draining = false;
+            return;
+          }
+          available--;
+          next = queue.poll();
+        }
+        next.run();
+      }
+    }
+
+    private synchronized int getPending() {
+      return queue.size();
+    }
   }
 }
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk;
+
+/**
+ * HTTP client profile is the configuration of a named HTTP client. Every profile has its own
+ * connection pool and event loop, so a slow upstream exhausts the pool of its own profile only.
+ * Profiles are configured with {@code http.profile.<name>.*} properties, e.g {@code
+ * http.profile.upload.maxConnections}; properties which are not set fall back to the global
+ * {@code http.*} properties, which also configure the {@link #DEFAULT} profile.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @see HttpClient
+ * @since 2.3.3
+ */
+public class HttpClientProfile {
+
+  /**
+   * Name of the profile used by HTTP DSLs which do not select one.
+   * <p>
+   */
+  public static final String DEFAULT = "default";
+
+  /**
+   * Protocol the requests of a profile are sent with.
+   * <p>
+   */
+  public enum Protocol {
+
+    /**
+     * HTTP/1.1 with keep-alive, every request in flight holds a connection of its own.
+     * <p>
+     */
+    HTTP_1_1,
+
+    /**
+     * HTTP/2, requests in flight are multiplexed as streams over a few connections. HTTPS
+     * endpoints negotiate h2 with ALPN, HTTP endpoints use h2c with prior knowledge.
+     * <p>
+     */
+    HTTP_2;
+
+    /**
+     * Returns the protocol of the configuration value, which is one of {@code http/1.1}, {@code
+     * h2} or {@code h2c}.
+     * <p>
+     *
+     * @param value Configuration value.
+     * @return {@link Protocol} instance.
+     */
+    public static Protocol of(final String value) {
+      switch (value.trim().toLowerCase()) {
+        case "http/1.1":
+          return HTTP_1_1;
+        case "h2":
+        case "h2c":
+          return HTTP_2;
+        default:
+          throw new IllegalArgumentException("Unknown HTTP protocol: " + value);
+      }
+    }
+  }
+
+  private final String name;
+  private final Protocol protocol;
+  private final int maxConnections;
+  private final int maxConnectionsPerHost;
+  private final int connectTimeout;
+  private final int handshakeTimeout;
+  private final int readTimeout;
+  private final int requestTimeout;
+  private final int keepAliveTtl;
+  private final int idleTimeout;
+  private final int ioThreads;
+  private final int maxConcurrentStreams;
+  private final int shards;
+  private final int maxPendingRequests;
+
+  HttpClientProfile(final String name,
+      final Protocol protocol,
+      final int maxConnections,
+      final int maxConnectionsPerHost,
+      final int connectTimeout,
+      final int handshakeTimeout,
+      final int readTimeout,
+      final int requestTimeout,
+      final int keepAliveTtl,
+      final int idleTimeout,
+      final int ioThreads,
+      final int maxConcurrentStreams,
+      final int shards,
+      final int maxPendingRequests) {
+    this.name = name;
+    this.protocol = protocol;
+    this.maxConnections = maxConnections;
+    this.maxConnectionsPerHost = maxConnectionsPerHost;
+    this.connectTimeout = connectTimeout;
+    this.handshakeTimeout = handshakeTimeout;
+    this.readTimeout = readTimeout;
+    this.requestTimeout = requestTimeout;
+    this.keepAliveTtl = keepAliveTtl;
+    this.idleTimeout = idleTimeout;
+    this.ioThreads = ioThreads;
+    this.maxConcurrentStreams = maxConcurrentStreams;
+    this.shards = shards;
+    this.maxPendingRequests = maxPendingRequests;
+  }
+
+  /**
+   * Returns the profile of a single shard, which has one event loop thread and its share of the
+   * connections.
+   * <p>
+   *
+   * @return {@link HttpClientProfile} of a shard.
+   */
+  HttpClientProfile shard() {
+    return new HttpClientProfile(name, protocol, shareOf(maxConnections),
+        shareOf(maxConnectionsPerHost), connectTimeout, handshakeTimeout, readTimeout,
+        requestTimeout, keepAliveTtl, idleTimeout, 1, maxConcurrentStreams, 1,
+        shareOf(maxPendingRequests));
+  }
+
+  private int shareOf(final int connections) {
+    return Math.max(1, (connections + shards - 1) / shards);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public Protocol getProtocol() {
+    return protocol;
+  }
+
+  /**
+   * Returns the size of the connection pool. With HTTP/1.1, it is also the number of requests in
+   * flight, and requests which exceed the limit wait for a connection. With HTTP/2, it is the
+   * number of connections per host, which are opened only if the streams of the open ones are
+   * exhausted.
+   * <p>
+   *
+   * @return Maximum number of connections.
+   */
+  public int getMaxConnections() {
+    return maxConnections;
+  }
+
+  public int getMaxConnectionsPerHost() {
+    return maxConnectionsPerHost;
+  }
+
+  public int getConnectTimeout() {
+    return connectTimeout;
+  }
+
+  public int getHandshakeTimeout() {
+    return handshakeTimeout;
+  }
+
+  public int getReadTimeout() {
+    return readTimeout;
+  }
+
+  public int getRequestTimeout() {
+    return requestTimeout;
+  }
+
+  /**
+   * Returns the time in milliseconds after which a pooled connection is closed, -1 if pooled
+   * connections live as long as the server keeps them open.
+   * <p>
+   *
+   * @return Time to live of the connections in milliseconds.
+   */
+  public int getKeepAliveTtl() {
+    return keepAliveTtl;
+  }
+
+  public int getIdleTimeout() {
+    return idleTimeout;
+  }
+
+  /**
+   * Returns the number of event loop threads, 0 to use the default of the client, i.e twice the
+   * number of the processors.
+   * <p>
+   *
+   * @return Number of event loop threads.
+   */
+  public int getIoThreads() {
+    return ioThreads;
+  }
+
+  /**
+   * Returns the maximum number of concurrent HTTP/2 streams per connection. The limit announced
+   * by the server applies if it is lower.
+   * <p>
+   *
+   * @return Maximum number of concurrent streams.
+   */
+  public int getMaxConcurrentStreams() {
+    return maxConcurrentStreams;
+  }
+
+  /**
+   * Returns the number of shards of the client. Every shard is a client with a single event loop
+   * thread and its share of the connections. A virtual user is pinned to a shard, so its requests,
+   * their responses and the DSL steps following them run on the same thread. 1 if the client is
+   * not sharded.
+   * <p>
+   *
+   * @return Number of shards.
+   */
+  public int getShards() {
+    return shards;
+  }
+
+  /**
+   * Returns the maximum number of HTTP/1.1 requests which wait for a connection. Requests beyond
+   * the limit fail immediately instead of queueing up without bounds.
+   * <p>
+   *
+   * @return Maximum number of pending requests.
+   */
+  public int getMaxPendingRequests() {
+    return maxPendingRequests;
+  }
+
+  @Override
+  public String toString() {
+    return "HttpClientProfile{" +
+        "name='" + name + '\'' +
+        ", protocol=" + protocol +
+        ", maxConnections=" + maxConnections +
+        ", maxConnectionsPerHost=" + maxConnectionsPerHost +
+        ", connectTimeout=" + connectTimeout +
+        ", handshakeTimeout=" + handshakeTimeout +
+        ", readTimeout=" + readTimeout +
+        ", requestTimeout=" + requestTimeout +
+        ", keepAliveTtl=" + keepAliveTtl +
+        ", idleTimeout=" + idleTimeout +
+        ", ioThreads=" + ioThreads +
+        ", maxConcurrentStreams=" + maxConcurrentStreams +
+        ", shards=" + shards +
+        ", maxPendingRequests=" + maxPendingRequests +
+        '}';
+  }
+}
@@ -16,19 +16,32 @@
 
 package io.ryos.rhino.sdk;
 
+import io.ryos.rhino.sdk.annotations.Stage;
+import io.ryos.rhino.sdk.dns.CachingNameResolver;
+import io.ryos.rhino.sdk.dns.NameResolvers;
 import io.ryos.rhino.sdk.exceptions.ExceptionUtils;
 import io.ryos.rhino.sdk.exceptions.RhinoIOException;
 import io.ryos.rhino.sdk.io.ConfigResource;
+import io.ryos.rhino.sdk.io.SimulationLogOutput;
+import io.ryos.rhino.sdk.io.SimulationLogOutput.Codec;
+import io.ryos.rhino.sdk.runners.BlockingExecution;
+import io.ryos.rhino.sdk.runners.WarmUp;
 import io.ryos.rhino.sdk.users.source.UserSource;
 import io.ryos.rhino.sdk.users.source.UserSource.SourceType;
 import io.ryos.rhino.sdk.utils.Environment;
 import java.io.IOException;
+import java.net.InetAddress;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.UUID;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import reactor.util.concurrent.Queues;
 
 /**
  * Simulation configuration instances are used to configure Rhino tests.
@@ -50,6 +63,26 @@ public class SimulationConfig {
   private static final String DEFAULT_TIMEOUT = "60000";
   private static final String DEFAULT_CONNECTIONS = "1000";
   private static final String DEFAULT_READ_TIMEOUT = "15000";
+  private static final String DEFAULT_IDLE_TIMEOUT = "60000";
+  private static final String DEFAULT_KEEP_ALIVE_TTL = "-1";
+  private static final String DEFAULT_IO_THREADS = "0";
+  private static final String DEFAULT_PROTOCOL = "http/1.1";
+  private static final String DEFAULT_MAX_CONCURRENT_STREAMS = "100";
+  private static final String DEFAULT_SHARDS = "1";
+  private static final String DEFAULT_MAX_PENDING_REQUESTS = "10000";
+  private static final String DEFAULT_MAX_ITERATIONS_IN_FLIGHT =
+      Integer.toString(Queues.SMALL_BUFFER_SIZE);
+  private static final String HTTP_PROFILE_PREFIX = "http.profile.";
+  private static final String DEFAULT_DNS_RESOLVER = NameResolvers.SYSTEM;
+  private static final String DEFAULT_DNS_TTL = "60000";
+  private static final String DNS_HOSTS_PREFIX = "dns.hosts.";
+  private static final String DEFAULT_WARMUP_ITERATIONS = "0";
+  private static final String DEFAULT_WARMUP_CONNECTIONS = "0";
+  private static final String DEFAULT_WARMUP_TIMEOUT = "60000";
+  private static final String DEFAULT_LOG_BUFFER_SIZE = "1048576";
+  private static final String DEFAULT_LOG_FLUSH_INTERVAL = "1000";
+  private static final String DEFAULT_LOG_ROTATION_SIZE = "0";
+  private static final String DEFAULT_LOG_ROTATION_INTERVAL = "0";
   private static SimulationConfig instance;
 
   private final String pathToConfig;
@@ -68,6 +101,8 @@ public class SimulationConfig {
         .ofNullable(System.getenv().get(SIM_ID))
         .orElse(UUID.randomUUID().toString());
     loadConfig(path);
+    // Invalid modes would otherwise surface when the blocking execution is initialized.
+    parseBlockingMode(getRunnerBlockingMode());
   }
 
   /**
@@ -211,11 +246,120 @@ public class SimulationConfig {
         DEFAULT_TIMEOUT);
   }
 
+  private HttpClientProfile getHttpClientProfileOf(final String name) {
+    if (!HttpClientProfile.DEFAULT.equals(name) && properties.stringPropertyNames()
+        .stream()
+        .noneMatch(key -> key.startsWith(HTTP_PROFILE_PREFIX + name + "."))) {
+      throw new IllegalArgumentException("HTTP client profile is not configured: " + name);
+    }
+
+    var maxConnections = Integer.min(Integer.parseInt(
+        getHttpProperty(name, "maxConnections", DEFAULT_CONNECTIONS)), MAX_CONN);
+    // Sharded clients have one shard per processor if the number of shards is 0.
+    var shards = Integer.parseInt(getHttpProperty(name, "shards", DEFAULT_SHARDS));
+    if (shards <= 0) {
+      shards = Runtime.getRuntime().availableProcessors();
+    }
+    return new HttpClientProfile(name,
+        HttpClientProfile.Protocol.of(getHttpProperty(name, "protocol", DEFAULT_PROTOCOL)),
+        maxConnections,
+        Integer.parseInt(getHttpProperty(name, "maxConnectionsPerHost",
+            Integer.toString(maxConnections))),
+        Integer.parseInt(getHttpProperty(name, "connectTimeout", DEFAULT_TIMEOUT)),
+        Integer.parseInt(getHttpProperty(name, "handshakeTimeout", DEFAULT_TIMEOUT)),
+        Integer.parseInt(getHttpProperty(name, "readTimeout", DEFAULT_READ_TIMEOUT)),
+        Integer.parseInt(getHttpProperty(name, "requestTimeout", DEFAULT_TIMEOUT)),
+        Integer.parseInt(getHttpProperty(name, "keepAliveTtl", DEFAULT_KEEP_ALIVE_TTL)),
+        Integer.parseInt(getHttpProperty(name, "idleTimeout", DEFAULT_IDLE_TIMEOUT)),
+        Integer.parseInt(getHttpProperty(name, "ioThreads", DEFAULT_IO_THREADS)),
+        Integer.parseInt(getHttpProperty(name, "maxConcurrentStreams",
+            DEFAULT_MAX_CONCURRENT_STREAMS)),
+        shards,
+        Integer.parseInt(getHttpProperty(name, "maxPendingRequests",
+            DEFAULT_MAX_PENDING_REQUESTS)));
+  }
+
+  private String getHttpProperty(final String profile, final String property,
+      final String fallback) {
+    var value = properties.getProperty("http." + property, fallback);
+    if (HttpClientProfile.DEFAULT.equals(profile)) {
+      return value;
+    }
+    return properties.getProperty(HTTP_PROFILE_PREFIX + profile + "." + property, value);
+  }
+
+  private String getConfigWarmUpIterations() {
+    return properties.getProperty("warmup.iterations", DEFAULT_WARMUP_ITERATIONS);
+  }
+
+  private String getConfigWarmUpConnections() {
+    return properties.getProperty("warmup.connections", DEFAULT_WARMUP_CONNECTIONS);
+  }
+
+  private String getConfigWarmUpTargets() {
+    return properties.getProperty("warmup.targets", "");
+  }
+
+  private String getConfigWarmUpTimeout() {
+    return properties.getProperty("warmup.timeout", DEFAULT_WARMUP_TIMEOUT);
+  }
+
+  private String getConfigLogBufferSize() {
+    return properties.getProperty("log.bufferSize", DEFAULT_LOG_BUFFER_SIZE);
+  }
+
+  private String getConfigLogFlushInterval() {
+    return properties.getProperty("log.flushInterval", DEFAULT_LOG_FLUSH_INTERVAL);
+  }
+
+  private String getConfigLogCompression() {
+    return properties.getProperty("log.compression", "none");
+  }
+
+  private String getConfigLogRotationSize() {
+    return properties.getProperty("log.rotation.size", DEFAULT_LOG_ROTATION_SIZE);
+  }
+
+  private String getConfigLogRotationInterval() {
+    return properties.getProperty("log.rotation.interval", DEFAULT_LOG_ROTATION_INTERVAL);
+  }
+
+  private String getConfigJournalFile() {
+    return properties.getProperty("journal.file", "");
+  }
+
+  private String getConfigDnsResolver() {
+    return properties.getProperty("dns.resolver", DEFAULT_DNS_RESOLVER);
+  }
+
+  private String getConfigDnsTtl() {
+    return properties.getProperty("dns.ttl", DEFAULT_DNS_TTL);
+  }
+
+  private Map<String, List<InetAddress>> getConfigDnsHosts() {
+    return properties.stringPropertyNames()
+        .stream()
+        .filter(key -> key.startsWith(DNS_HOSTS_PREFIX))
+        .collect(Collectors.toMap(key -> key.substring(DNS_HOSTS_PREFIX.length()),
+            key -> CachingNameResolver.parseAddresses(key.substring(DNS_HOSTS_PREFIX.length()),
+                properties.getProperty(key))));
+  }
+
   private String getRunnerParallelisation() {
     return properties.getProperty("runner.parallelisim",
         Integer.toString(Runtime.getRuntime().availableProcessors() * PAR_RATIO));
   }
 
+  private String getRunnerMaxIterationsInFlight() {
+    return properties.getProperty("runner.maxIterationsInFlight",
+        DEFAULT_MAX_ITERATIONS_IN_FLIGHT);
+  }
+
+  private String getRunnerBlockingMode() {
+    return System.getProperty("runner.blocking",
+        properties.getProperty("runner.blocking", "inline"));
+  }
+
   private String getAuthClientId() {
     return properties.getProperty(environment + ".oauth2.clientId");
   }
@@ -341,6 +485,35 @@ public class SimulationConfig {
     return RampupInfo.none();
   }
 
+  private ArrivalRateInfo getArrivalRateInfo(String name) {
+    String property = "simulation.arrivalRate." + name + ".rps";
+    var annotation = getSimulationClass()
+        .getDeclaredAnnotation(io.ryos.rhino.sdk.annotations.ArrivalRate.class);
+    var fallback = annotation != null ? Double.toString(annotation.rps()) : null;
+    var rps = System.getProperty(property, properties.getProperty(property, fallback));
+    if (rps == null) {
+      return ArrivalRateInfo.none();
+    }
+    var arrivalRate = Double.parseDouble(rps);
+    if (arrivalRate <= 0) {
+      throw new IllegalArgumentException("Arrival rate must be greater than 0");
+    }
+    return ArrivalRateInfo.of(arrivalRate);
+  }
+
+  private List<Stage> getLoadProfile(String name) {
+    var loadProfileAnnotation = getSimulationClass()
+        .getDeclaredAnnotation(io.ryos.rhino.sdk.annotations.LoadProfile.class);
+    var declared = (loadProfileAnnotation != null ? 1 : 0)
+        + (getRampupInfo(name) != RampupInfo.none() ? 1 : 0)
+        + (getArrivalRateInfo(name) != ArrivalRateInfo.none() ? 1 : 0);
+    if (declared > 1) {
+      throw new IllegalArgumentException(
+          "Only one of @LoadProfile, @RampUp and @ArrivalRate can be declared.");
+    }
+    return loadProfileAnnotation != null ? List.of(loadProfileAnnotation.value()) : List.of();
+  }
+
   private Duration getDuration(String name, int durationInMinsFallback) {
     String property = "simulation.durationInMins." + name;
     var duration = Duration
@@ -355,8 +528,18 @@ public class SimulationConfig {
     return maxNumberOfUsers;
   }
 
+  private int getVirtualUsers(final String name, final int virtualUsersFallback) {
+    // The properties file provides the default for simulations which do not set the number.
+    String property = "simulation.virtualUsers." + name;
+    var fallback = virtualUsersFallback >= 0
+        ? String.valueOf(virtualUsersFallback)
+        : properties.getProperty("runner.virtualUsers", String.valueOf(virtualUsersFallback));
+    return Integer.parseInt(System.getProperty(property, fallback));
+  }
+
   public static String getSimulationOutputStyle() {
-    return instance.getSimOutputStyle();
+    // Reports are also created offline, e.g by the journal recovery, without a configuration.
+    return instance != null ? instance.getSimOutputStyle() : null;
   }
 
   private String getSimId() {
@@ -392,12 +575,172 @@ public class SimulationConfig {
     return Integer.parseInt(instance.getConfigHttpRequestTimeout());
   }
 
+  /**
+   * Returns the HTTP client profile with the name. The {@link HttpClientProfile#DEFAULT} profile
+   * is configured with the {@code http.*} properties, other profiles must be configured with at
+   * least one {@code http.profile.<name>.*} property.
+   * <p>
+   *
+   * @param name Name of the profile.
+   * @return {@link HttpClientProfile} instance.
+   */
+  public static HttpClientProfile getHttpClientProfile(final String name) {
+    return instance.getHttpClientProfileOf(name);
+  }
+
+  /**
+   * Returns the warm-up stage which runs before the measured phase, configured with the {@code
+   * warmup.iterations}, {@code warmup.connections}, {@code warmup.targets} and {@code
+   * warmup.timeout} properties. The warm-up is disabled if neither iterations nor connections are
+   * configured.
+   * <p>
+   *
+   * @return {@link WarmUp} instance.
+   */
+  public static WarmUp getWarmUp() {
+    var targets = Arrays.stream(instance.getConfigWarmUpTargets().split(","))
+        .map(String::trim)
+        .filter(target -> !target.isEmpty())
+        .collect(Collectors.toList());
+    return new WarmUp(Integer.parseInt(instance.getConfigWarmUpIterations()),
+        Integer.parseInt(instance.getConfigWarmUpConnections()),
+        targets,
+        Duration.ofMillis(Long.parseLong(instance.getConfigWarmUpTimeout())));
+  }
+
+  /**
+   * Returns the size in bytes of the buffers the simulation log is written with, configured with
+   * the {@code log.bufferSize} property.
+   * <p>
+   *
+   * @return Buffer size of the simulation log in bytes.
+   */
+  public static int getLogBufferSize() {
+    return Integer.parseInt(instance.getConfigLogBufferSize());
+  }
+
+  /**
+   * Returns the time in milliseconds after which the buffered events are written to the
+   * simulation log even if the buffer is not full, configured with the {@code log.flushInterval}
+   * property.
+   * <p>
+   *
+   * @return Flush interval of the simulation log in milliseconds.
+   */
+  public static long getLogFlushInterval() {
+    return Long.parseLong(instance.getConfigLogFlushInterval());
+  }
+
+  /**
+   * Returns the output of the simulation log, which is configured with the {@code
+   * log.compression} property, either {@code none} or {@code gzip}, and the {@code
+   * log.rotation.size} and {@code log.rotation.interval} properties, the size in bytes and the
+   * time in milliseconds after which a new segment is started.
+   * <p>
+   *
+   * @return {@link SimulationLogOutput} instance.
+   */
+  public static SimulationLogOutput getLogOutput() {
+    return new SimulationLogOutput(Codec.of(instance.getConfigLogCompression()),
+        Long.parseLong(instance.getConfigLogRotationSize()),
+        Long.parseLong(instance.getConfigLogRotationInterval()));
+  }
+
+  /**
+   * Returns the path of the {@link io.ryos.rhino.sdk.io.EventJournal} the events of the run are
+   * appended to, which is configured with the {@code journal.file} property. The journal is
+   * disabled if the path is empty.
+   * <p>
+   *
+   * @return Path of the journal, or an empty string.
+   */
+  public static String getJournalFile() {
+    return instance.getConfigJournalFile().trim();
+  }
+
+  /**
+   * Returns the name resolver the HTTP clients resolve hosts with, which is configured with the
+   * {@code dns.resolver} property, see {@link NameResolvers#create(String)}.
+   * <p>
+   *
+   * @return Type of the name resolver.
+   */
+  public static String getDnsResolver() {
+    return instance.getConfigDnsResolver();
+  }
+
+  /**
+   * Returns the time in milliseconds the resolved addresses of a host are cached for, 0 if they
+   * are not cached.
+   * <p>
+   *
+   * @return Time to live of the resolved addresses in milliseconds.
+   */
+  public static long getDnsTtl() {
+    return Long.parseLong(instance.getConfigDnsTtl());
+  }
+
+  /**
+   * Returns the static addresses of the hosts configured with {@code dns.hosts.<host>} properties,
+   * e.g {@code dns.hosts.api.example.com=127.0.0.1}, which are used instead of resolving the hosts.
+   * <p>
+   *
+   * @return Addresses by host name.
+   */
+  public static Map<String, List<InetAddress>> getDnsHosts() {
+    return instance.getConfigDnsHosts();
+  }
+
+  /**
+   * Returns the maximum number of scenario iterations in flight of a simulation which is not run
+   * in the open model, configured with {@code runner.maxIterationsInFlight}. The default is the
+   * default concurrency of Reactor's flatMap.
+   * <p>
+   *
+   * @return Maximum number of iterations in flight.
+   */
+  public static int getMaxIterationsInFlight() {
+    var maxIterationsInFlight = Integer.parseInt(instance.getRunnerMaxIterationsInFlight());
+    if (maxIterationsInFlight <= 0) {
+      throw new IllegalArgumentException(
+          "runner.maxIterationsInFlight must be greater than 0: " + maxIterationsInFlight);
+    }
+    return maxIterationsInFlight;
+  }
+
   public static int getParallelisation() {
     var runnerParallelisation = instance.getRunnerParallelisation();
     var par = Integer.parseInt(runnerParallelisation);
     return Integer.min(par, MAX_PAR);
   }
 
+  /**
+   * Returns the mode to run blocking DSL items in. If there is no configuration loaded, e.g in unit
+   * tests, blocking DSL items are run inline.
+   * <p>
+   *
+   * @return {@link BlockingExecution.Mode}.
+   */
+  public static BlockingExecution.Mode getBlockingMode() {
+    if (instance == null) {
+      return BlockingExecution.Mode.INLINE;
+    }
+    return parseBlockingMode(instance.getRunnerBlockingMode());
+  }
+
+  private static BlockingExecution.Mode parseBlockingMode(final String mode) {
+    for (var value : BlockingExecution.Mode.values()) {
+      if (value.name().equalsIgnoreCase(mode.trim())) {
+        return value;
+      }
+    }
+    var modes = Arrays.stream(BlockingExecution.Mode.values())
+        .map(value -> value.name().toLowerCase())
+        .collect(Collectors.joining(", "));
+    throw new IllegalArgumentException(
+        "Unknown runner.blocking mode: " + mode + ". Allowed modes are: " + modes + ".");
+  }
+
   public static boolean debugHttp() {
     return Boolean.valueOf(instance.getDebugHttp());
   }
@@ -519,6 +862,27 @@ public class SimulationConfig {
     return rampupInfo != RampupInfo.none();
   }
 
+  public static ArrivalRateInfo getArrivalRateInfo() {
+    return instance.getArrivalRateInfo(getSimulationClass().getCanonicalName());
+  }
+
+  /**
+   * Returns the stages of the load profile declared with {@link
+   * io.ryos.rhino.sdk.annotations.LoadProfile}. Only one of the load profile, {@link
+   * io.ryos.rhino.sdk.annotations.RampUp} and {@link io.ryos.rhino.sdk.annotations.ArrivalRate}
+   * can be declared.
+   * <p>
+   *
+   * @return Stages of the load profile, or an empty list if the simulation does not declare any.
+   */
+  public static List<Stage> getLoadProfile() {
+    return instance.getLoadProfile(getSimulationClass().getCanonicalName());
+  }
+
+  public static boolean isArrivalRateDefined() {
+    return getArrivalRateInfo() != ArrivalRateInfo.none();
+  }
+
   public static Class<?> getSimulationClass() {
     return instance.getConfigSimulationClass();
   }
@@ -538,6 +902,13 @@ public class SimulationConfig {
             simAnnotation.maxNumberOfUsers());
   }
 
+  public static int getVirtualUsers() {
+    var simAnnotation = getSimulationClass()
+        .getDeclaredAnnotation(io.ryos.rhino.sdk.annotations.Simulation.class);
+    return instance
+        .getVirtualUsers(getSimulationClass().getCanonicalName(), simAnnotation.virtualUsers());
+  }
+
   public static boolean isServiceAuthenticationEnabled() {
     return "true".equalsIgnoreCase(instance.getServiceAuthEnabled());
   }
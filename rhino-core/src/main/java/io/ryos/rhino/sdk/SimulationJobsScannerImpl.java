@@ -106,6 +106,7 @@ public class SimulationJobsScannerImpl implements SimulationJobsScanner {
         .withDuration(SimulationConfig.getDuration())
         .withUserRegion(simAnnotation.userRegion())
         .withInjectUser(SimulationConfig.getMaxNumberOfUsers())
+        .withVirtualUsers(SimulationConfig.getVirtualUsers())
         .withLogWriter(validateLogFile(logger))
         .withInflux(enableInflux)
         .withBefore(findMethodWith(clazz, Before.class).orElse(null))
@@ -119,7 +120,9 @@ public class SimulationJobsScannerImpl implements SimulationJobsScanner {
   }
 
   private DslMethod createDslMethod(Object testInstance, Method method) {
-    return new DslMethodImpl(getName(method), ReflectionUtils.executeMethod(method, testInstance));
+    var dslAnnotation = method.getDeclaredAnnotation(Dsl.class);
+    return new DslMethodImpl(getName(method), ReflectionUtils.executeMethod(method, testInstance),
+        dslAnnotation.weight(), dslAnnotation.maxRps()).compile();
   }
 
   private String getName(Method method) {
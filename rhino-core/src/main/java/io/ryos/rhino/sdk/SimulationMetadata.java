@@ -25,6 +25,7 @@ import io.ryos.rhino.sdk.data.UserSession;
 import io.ryos.rhino.sdk.dsl.DslBuilder;
 import io.ryos.rhino.sdk.dsl.DslMethod;
 import io.ryos.rhino.sdk.dsl.MaterializableDslItem;
+import io.ryos.rhino.sdk.reporting.SimulationLogEncoder;
 import io.ryos.rhino.sdk.reporting.SimulationLogFormatter;
 import io.ryos.rhino.sdk.runners.SimulationRunner;
 import io.ryos.rhino.sdk.users.repositories.UserRepository;
@@ -76,6 +77,13 @@ public class SimulationMetadata {
    */
   private int numberOfUsers;
 
+  /**
+   * The number of virtual users looping the DSL methods in the closed model, or a negative value
+   * if the closed model is not used.
+   * <p>
+   */
+  private int virtualUsers;
+
   /**
    * User region is the region of the users that simulates the load.
    * <p>
@@ -163,6 +171,7 @@ public class SimulationMetadata {
     this.simulationName = builder.simulation;
     this.testInstance = builder.testInstance;
     this.numberOfUsers = builder.injectUser;
+    this.virtualUsers = builder.virtualUsers;
     this.simulationClass = builder.simulationClass;
     this.scenarios = builder.scenarios;
     this.dslBuilders = builder.dslBuilders;
@@ -192,6 +201,23 @@ public class SimulationMetadata {
     return logFormatterInstance.orElseThrow(RuntimeException::new);
   }
 
+  /**
+   * Returns the encoder of the simulation log, if the {@link Logging} annotation sets one.
+   * <p>
+   *
+   * @return Log encoder, or null if the log is formatted as text.
+   */
+  public SimulationLogEncoder getLogEncoder() {
+    var logging = getClassLevelAnnotation(simulationClass, Logging.class).orElse(null);
+    if (logging == null || logging.encoder() == SimulationLogEncoder.class) {
+      return null;
+    }
+
+    final Optional<? extends SimulationLogEncoder> logEncoderInstance = instanceOf(
+        logging.encoder());
+    return logEncoderInstance.orElseThrow(RuntimeException::new);
+  }
+
   public Method getPrepareMethod() {
     return prepareMethod;
   }
@@ -212,6 +238,10 @@ public class SimulationMetadata {
     return numberOfUsers;
   }
 
+  public int getVirtualUsers() {
+    return virtualUsers;
+  }
+
   public UserRepository<UserSession> getUserRepository() {
     return userRepository;
   }
@@ -282,6 +312,12 @@ public class SimulationMetadata {
      */
     private int injectUser;
 
+    /**
+     * The number of virtual users in the closed model.
+     * <p>
+     */
+    private int virtualUsers = -1;
+
     /**
      * Simulation class, is the one with the {@link io.ryos.rhino.sdk.annotations.Simulation}
      * annotation.
@@ -397,6 +433,11 @@ public class SimulationMetadata {
       return this;
     }
 
+    public Builder withVirtualUsers(final int virtualUsers) {
+      this.virtualUsers = virtualUsers;
+      return this;
+    }
+
     public Builder withTestInstance(final Object testInstance) {
       this.testInstance = testInstance;
       return this;
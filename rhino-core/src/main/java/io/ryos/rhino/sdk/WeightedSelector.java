@@ -0,0 +1,142 @@
+/*
+  Copyright 2018 Ryos.io.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+
+package io.ryos.rhino.sdk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToDoubleFunction;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Weighted selector picks items of the list provided at random, in proportion to their weights.
+ * The selector uses Vose's alias method, so the selection takes constant time, independent of the
+ * number of items. The alias table is immutable once it is built and the random numbers are drawn
+ * from {@link ThreadLocalRandom}, so the selector can be shared across threads without any
+ * synchronization.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+@ThreadSafe
+public class WeightedSelector<T> {
+
+  /**
+   * Items to select from.
+   * <p>
+   */
+  private final List<T> items;
+
+  /**
+   * Probability of keeping the item of a column instead of taking its alias.
+   * <p>
+   */
+  private final double[] probabilities;
+
+  /**
+   * Alias of each column.
+   * <p>
+   */
+  private final int[] aliases;
+
+  /**
+   * Creates a new {@link WeightedSelector} instance.
+   * <p>
+   *
+   * @param items The items to select from.
+   * @param weight Function to get the weight of an item.
+   */
+  public WeightedSelector(final List<T> items, final ToDoubleFunction<T> weight) {
+    Objects.requireNonNull(items, "Items must not be null.");
+    if (items.isEmpty()) {
+      throw new IllegalArgumentException("Weighted selector requires at least one item.");
+    }
+
+    this.items = new ArrayList<>(items);
+    var size = this.items.size();
+    this.probabilities = new double[size];
+    this.aliases = new int[size];
+
+    var scaled = new double[size];
+    var total = 0d;
+    for (int i = 0; i < size; i++) {
+      scaled[i] = weight.applyAsDouble(this.items.get(i));
+      if (scaled[i] < 0) {
+        throw new IllegalArgumentException("Weights must not be negative.");
+      }
+      total += scaled[i];
+    }
+    if (total <= 0) {
+      throw new IllegalArgumentException("At least one weight must be greater than 0.");
+    }
+
+    var small = new int[size];
+    var large = new int[size];
+    int smallCount = 0;
+    int largeCount = 0;
+    for (int i = 0; i < size; i++) {
+      scaled[i] = scaled[i] * size / total;
+      if (scaled[i] < 1) {
+        small[smallCount++] = i;
+      } else {
+        large[largeCount++] = i;
+      }
+    }
+
+    while (smallCount > 0 && largeCount > 0) {
+      var less = small[--smallCount];
+      var more = large[--largeCount];
+      probabilities[less] = scaled[less];
+      aliases[less] = more;
+      scaled[more] = scaled[more] + scaled[less] - 1;
+      if (scaled[more] < 1) {
+        small[smallCount++] = more;
+      } else {
+        large[largeCount++] = more;
+      }
+    }
+
+    // the rest is exactly 1 up to rounding errors.
+    while (largeCount > 0) {
+      var index = large[--largeCount];
+      probabilities[index] = 1;
+      aliases[index] = index;
+    }
+    while (smallCount > 0) {
+      var index = small[--smallCount];
+      probabilities[index] = 1;
+      aliases[index] = index;
+    }
+  }
+
+  /**
+   * Returns the next item.
+   * <p>
+   *
+   * @return The item selected.
+   */
+  public T next() {
+    var random = ThreadLocalRandom.current();
+    var column = random.nextInt(items.size());
+    if (random.nextDouble() < probabilities[column]) {
+      return items.get(column);
+    }
+    return items.get(aliases[column]);
+  }
+}
@@ -0,0 +1,47 @@
+/*
+  Copyright 2018 Ryos.io.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+
+package io.ryos.rhino.sdk.annotations;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Arrival rate annotation switches the simulation to the open model, in which the scenario
+ * iterations are started at the given rate regardless of the response times of the service under
+ * test.
+ * <br>
+ * If you wish you can override this annotation's properties als via System properties,e.g.
+ * <code>-Dsimulation.arrivalRate.io.ryos.rhino.test.ReactiveSleepTestSimulation.rps=100</code>
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ArrivalRate {
+
+  /**
+   * Scenario iterations to be started per second.
+   * <br>
+   * If you wish you can override this annotation's properties als via System properties,e.g.
+   * <code>-Dsimulation.arrivalRate.io.ryos.rhino.test.ReactiveSleepTestSimulation.rps=100</code>
+   * <p>
+   *
+   * @return Arrival rate per second.
+   */
+  double rps();
+}
@@ -33,4 +33,23 @@ import java.lang.annotation.Target;
 public @interface Dsl {
 
   String name() default "";
+
+  /**
+   * Relative weight of the DSL in the scenario mix, e.g 80, 15 and 5 for reads, searches and
+   * uploads. If all DSLs have the same weight, they are run round-robin.
+   * <p>
+   *
+   * @return Weight of the DSL.
+   */
+  int weight() default 1;
+
+  /**
+   * Maximum number of iterations per second of the DSL. Iterations beyond the limit are delayed
+   * in the closed model and dropped in the open model, so the other DSLs of the mix keep their
+   * weights. The simulation summary reports them.
+   * <p>
+   *
+   * @return Maximum iterations per second, or -1 for no limit.
+   */
+  double maxRps() default -1;
 }
@@ -0,0 +1,54 @@
+/*
+  Copyright 2018 Ryos.io.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package io.ryos.rhino.sdk.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Load profile annotation declares the arrival rate of the simulation as a sequence of stages,
+ * which are run one after another, e.g a soak test followed by a spike:
+ * <pre>
+ * &#64;LoadProfile({
+ *     &#64;Stage(type = Type.RAMP, rps = 10, targetRps = 200, durationInSecs = 300),
+ *     &#64;Stage(type = Type.HOLD, durationInSecs = 3600),
+ *     &#64;Stage(type = Type.SPIKE, rps = 200, targetRps = 1000, peakInSecs = 30,
+ *         durationInSecs = 300)
+ * })
+ * </pre>
+ * Once the last stage is over, the simulation keeps the rate the last stage ended with. The
+ * simulation runs in the open model, so the iterations are started at the rate of the profile
+ * regardless of the response times.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @see Stage
+ * @since 2.3.3
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface LoadProfile {
+
+  /**
+   * Stages of the load profile.
+   * <p>
+   *
+   * @return Stages in the order of execution.
+   */
+  Stage[] value();
+}
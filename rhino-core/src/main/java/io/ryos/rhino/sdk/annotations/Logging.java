@@ -17,6 +17,7 @@
 package io.ryos.rhino.sdk.annotations;
 
 import io.ryos.rhino.sdk.reporting.DefaultSimulationLogFormatter;
+import io.ryos.rhino.sdk.reporting.SimulationLogEncoder;
 import io.ryos.rhino.sdk.reporting.SimulationLogFormatter;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -28,6 +29,7 @@ import java.lang.annotation.RetentionPolicy;
  *
  * @author Erhan Bagdemir
  * @see SimulationLogFormatter
+ * @see SimulationLogEncoder
  * @since 1.0.0
  */
 @Retention(RetentionPolicy.RUNTIME)
@@ -48,4 +50,14 @@ public @interface Logging {
    * @return Log formatter instance.
    */
   Class<? extends SimulationLogFormatter> formatter() default DefaultSimulationLogFormatter.class;
+
+  /**
+   * Log encoder which writes binary records instead of text lines, e.g {@link
+   * io.ryos.rhino.sdk.reporting.BinarySimulationLogEncoder}. If an encoder is set, the formatter
+   * is not used. The default, the interface itself, stands for no encoder.
+   * <p>
+   *
+   * @return Log encoder class.
+   */
+  Class<? extends SimulationLogEncoder> encoder() default SimulationLogEncoder.class;
 }
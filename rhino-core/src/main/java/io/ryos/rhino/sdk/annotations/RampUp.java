@@ -5,7 +5,9 @@ import java.lang.annotation.RetentionPolicy;
 
 /**
  * Ramp-up annotation is used to increase the load in controlled steps, from start rps till it
- * reaches the target RPS during the ramp-up phase defined with duration.
+ * reaches the target RPS during the ramp-up phase defined with duration. The ramp-up is a
+ * shorthand for a {@link LoadProfile} with a single ramp stage, so the simulation runs in the open
+ * model and the rate applies to the scenario iterations.
  * <br>
  * If you wish you can override this annotation's properties als via System properties,e.g.
  * <code>-Dsimulation.rampup.io.ryos.rhino.test.ReactiveSleepTestSimulation.startRps=100</code>
@@ -63,6 +63,21 @@ public @interface Simulation {
    */
   int maxNumberOfUsers() default 2;
 
+  /**
+   * The number of virtual users, each of which loops the DSL methods of the simulation in order.
+   * If the number of virtual users is set, the simulation runs in the closed model and keeps
+   * exactly as many iterations in flight. The virtual users share the users of the user source.
+   * Simulations which do not set the number default to {@code runner.virtualUsers} of the
+   * configuration.
+   * <br>
+   * If you wish you can override this annotation's properties als via System properties,e.g.
+   * <code>-Dsimulation.virtualUsers.io.ryos.rhino.test.ReactiveSleepTestSimulation=1000</code>
+   * <p>
+   *
+   * @return Number of virtual users, or -1 if not set.
+   */
+  int virtualUsers() default -1;
+
   /**
    * Duration of the Simulation in minutes.
    * <br>
@@ -0,0 +1,126 @@
+/*
+  Copyright 2018 Ryos.io.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package io.ryos.rhino.sdk.annotations;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A single stage of the {@link LoadProfile}. The meaning of the rate attributes depends on the
+ * type of the stage.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @see LoadProfile
+ * @since 2.3.3
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({})
+public @interface Stage {
+
+  enum Type {
+    /**
+     * Constant rate of {@link #rps()}.
+     */
+    CONSTANT,
+    /**
+     * Linear ramp from {@link #rps()} to {@link #targetRps()}. If the start rate is omitted, the
+     * ramp starts with the rate of the previous stage.
+     */
+    RAMP,
+    /**
+     * {@link #steps()} equal steps from {@link #rps()} to {@link #targetRps()}.
+     */
+    STEP,
+    /**
+     * Peak of {@link #targetRps()} for {@link #peakInSecs()}, then {@link #rps()}.
+     */
+    SPIKE,
+    /**
+     * Sine wave around {@link #rps()} with {@link #amplitudeRps()} and {@link #periodInSecs()}.
+     */
+    SINE,
+    /**
+     * Holds the rate of the previous stage.
+     */
+    HOLD
+  }
+
+  /**
+   * Type of the stage.
+   * <p>
+   *
+   * @return Stage type.
+   */
+  Type type();
+
+  /**
+   * Start, base or mean request-per-second depending on the type.
+   * <p>
+   *
+   * @return Request-per-second.
+   */
+  double rps() default -1;
+
+  /**
+   * Target or peak request-per-second depending on the type.
+   * <p>
+   *
+   * @return Target request-per-second.
+   */
+  double targetRps() default -1;
+
+  /**
+   * Amplitude of the sine stage in requests per second.
+   * <p>
+   *
+   * @return Amplitude.
+   */
+  double amplitudeRps() default 0;
+
+  /**
+   * The number of steps of the step stage.
+   * <p>
+   *
+   * @return The number of steps.
+   */
+  int steps() default 1;
+
+  /**
+   * Duration of the peak of the spike stage in seconds.
+   * <p>
+   *
+   * @return Peak duration in seconds.
+   */
+  int peakInSecs() default 0;
+
+  /**
+   * Period of the sine stage in seconds.
+   * <p>
+   *
+   * @return Period in seconds.
+   */
+  int periodInSecs() default 60;
+
+  /**
+   * Duration of the stage in seconds.
+   * <p>
+   *
+   * @return Duration in seconds.
+   */
+  int durationInSecs();
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.dns;
+
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.resolver.NameResolver;
+import io.netty.resolver.dns.DnsNameResolver;
+import io.netty.resolver.dns.DnsNameResolverBuilder;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import java.net.InetAddress;
+import java.util.List;
+
+/**
+ * Name resolver which queries the name servers of the system asynchronously on an event loop of
+ * its own, instead of blocking the calling thread as the resolver of the JDK does. Entries of the
+ * hosts file are resolved without a query.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+public class AsyncDnsResolver implements NameResolver<InetAddress> {
+
+  private static final String THREAD_NAME = "rhino-dns";
+
+  private final NioEventLoopGroup eventLoopGroup;
+  private final DnsNameResolver resolver;
+
+  public AsyncDnsResolver() {
+    this.eventLoopGroup = new NioEventLoopGroup(1, new DefaultThreadFactory(THREAD_NAME, true));
+    this.resolver = new DnsNameResolverBuilder(eventLoopGroup.next())
+        .channelType(NioDatagramChannel.class)
+        .build();
+  }
+
+  @Override
+  public Future<InetAddress> resolve(final String inetHost) {
+    return resolver.resolve(inetHost);
+  }
+
+  @Override
+  public Future<InetAddress> resolve(final String inetHost, final Promise<InetAddress> promise) {
+    return resolver.resolve(inetHost, promise);
+  }
+
+  @Override
+  public Future<List<InetAddress>> resolveAll(final String inetHost) {
+    return resolver.resolveAll(inetHost);
+  }
+
+  @Override
+  public Future<List<InetAddress>> resolveAll(final String inetHost,
+      final Promise<List<InetAddress>> promise) {
+    return resolver.resolveAll(inetHost, promise);
+  }
+
+  @Override
+  public void close() {
+    resolver.close();
+    eventLoopGroup.shutdownGracefully();
+  }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.dns;
+
+import io.netty.resolver.NameResolver;
+import io.netty.util.NetUtil;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Name resolver which caches the addresses resolved by its delegate for a fixed time to live, and
+ * returns them in turn, so the connections to a host with several A/AAAA records are spread over
+ * all of its addresses instead of the first one. Addresses of expired entries are still returned
+ * while the entry is refreshed in the background, so only the first connection to a host waits for
+ * its resolution. Concurrent requests for a host which is not cached yet share a single lookup of
+ * the delegate. Static host overrides take precedence over the delegate and never expire.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+public class CachingNameResolver implements NameResolver<InetAddress> {
+
+  private final NameResolver<InetAddress> delegate;
+  private final long ttlNanos;
+  private final ConcurrentMap<String, Entry> cache = new ConcurrentHashMap<>();
+
+  /**
+   * Lookups of the delegate in progress for hosts which are not cached.
+   * <p>
+   */
+  private final ConcurrentMap<String, Promise<List<InetAddress>>> lookups =
+      new ConcurrentHashMap<>();
+  private final Map<String, Entry> overrides;
+
+  /**
+   * Creates a new resolver.
+   * <p>
+   *
+   * @param delegate  {@link NameResolver} which resolves the hosts not in the cache.
+   * @param ttlMillis Time to live of the cache entries in milliseconds, 0 to disable the cache.
+   * @param overrides Static addresses of hosts, which are not resolved with the delegate.
+   */
+  public CachingNameResolver(final NameResolver<InetAddress> delegate, final long ttlMillis,
+      final Map<String, List<InetAddress>> overrides) {
+    Validate.notNull(delegate, "Delegate must not be null.");
+    Validate.isTrue(ttlMillis >= 0, "TTL must not be negative.");
+    Validate.notNull(overrides, "Overrides must not be null.");
+    this.delegate = delegate;
+    this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    var entries = new ConcurrentHashMap<String, Entry>();
+    overrides.forEach((host, addresses) -> {
+      Validate.notEmpty(addresses, "Override has no addresses: " + host);
+      entries.put(host.toLowerCase(), new Entry(addresses, Long.MAX_VALUE));
+    });
+    this.overrides = entries;
+  }
+
+  /**
+   * Parses the addresses of a static host override, e.g {@code 10.0.0.1,10.0.0.2}. Only IP
+   * addresses are accepted, as overrides are not resolved.
+   * <p>
+   *
+   * @param host      Host name the addresses belong to.
+   * @param addresses Comma separated IP addresses.
+   * @return List of the addresses.
+   * @throws IllegalArgumentException If an address is not an IP address.
+   */
+  public static List<InetAddress> parseAddresses(final String host, final String addresses) {
+    var result = new ArrayList<InetAddress>();
+    for (var address : addresses.split(",")) {
+      var bytes = NetUtil.createByteArrayFromIpAddressString(address.trim());
+      if (bytes == null) {
+        throw new IllegalArgumentException("Not an IP address of " + host + ": " + address);
+      }
+      try {
+        result.add(InetAddress.getByAddress(host, bytes));
+      } catch (UnknownHostException e) {
+        throw new IllegalArgumentException("Not an IP address of " + host + ": " + address, e);
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public Future<InetAddress> resolve(final String inetHost) {
+    return resolve(inetHost, ImmediateEventExecutor.INSTANCE.newPromise());
+  }
+
+  @Override
+  public Future<InetAddress> resolve(final String inetHost, final Promise<InetAddress> promise) {
+    resolveAll(inetHost).addListener((Future<List<InetAddress>> future) -> {
+      if (future.isSuccess()) {
+        promise.trySuccess(future.getNow().get(0));
+      } else {
+        promise.tryFailure(future.cause());
+      }
+    });
+    return promise;
+  }
+
+  @Override
+  public Future<List<InetAddress>> resolveAll(final String inetHost) {
+    return resolveAll(inetHost, ImmediateEventExecutor.INSTANCE.newPromise());
+  }
+
+  @Override
+  public Future<List<InetAddress>> resolveAll(final String inetHost,
+      final Promise<List<InetAddress>> promise) {
+    var host = inetHost.toLowerCase();
+    var entry = overrides.get(host);
+    if (entry == null && ttlNanos > 0) {
+      entry = cache.get(host);
+    }
+    if (entry != null) {
+      if (entry.isExpired() && entry.refreshing.compareAndSet(false, true)) {
+        refresh(host, entry);
+      }
+      return promise.setSuccess(entry.next());
+    }
+
+    // IP literals need no resolution and are not cached.
+    if (NetUtil.isValidIpV4Address(host) || NetUtil.isValidIpV6Address(host)) {
+      return delegate.resolveAll(inetHost, promise);
+    }
+
+    lookup(host, inetHost).addListener((Future<List<InetAddress>> future) -> {
+      if (!future.isSuccess()) {
+        promise.tryFailure(future.cause());
+        return;
+      }
+      var resolved = ttlNanos > 0 ? cache.get(host) : null;
+      promise.trySuccess(resolved != null ? resolved.next() : future.getNow());
+    });
+    return promise;
+  }
+
+  /**
+   * Returns the lookup of the host in progress, or starts a new one. The addresses are cached
+   * before the lookup completes, so a request either finds them in the cache or joins the lookup.
+   * <p>
+   */
+  private Future<List<InetAddress>> lookup(final String host, final String inetHost) {
+    var lookup = ImmediateEventExecutor.INSTANCE.<List<InetAddress>>newPromise();
+    var pending = lookups.putIfAbsent(host, lookup);
+    if (pending != null) {
+      return pending;
+    }
+
+    delegate.resolveAll(inetHost).addListener((Future<List<InetAddress>> future) -> {
+      // A host without addresses is not resolved, and is not cached either.
+      var resolved = future.isSuccess() && !future.getNow().isEmpty();
+      if (resolved && ttlNanos > 0) {
+        cache.put(host, newEntry(future.getNow()));
+      }
+      lookups.remove(host, lookup);
+      if (resolved) {
+        lookup.trySuccess(future.getNow());
+      } else if (future.isSuccess()) {
+        lookup.tryFailure(new UnknownHostException("No addresses found: " + inetHost));
+      } else {
+        lookup.tryFailure(future.cause());
+      }
+    });
+    return lookup;
+  }
+
+  private void refresh(final String host, final Entry expired) {
+    delegate.resolveAll(host).addListener((Future<List<InetAddress>> future) -> {
+      if (future.isSuccess() && !future.getNow().isEmpty()) {
+        cache.replace(host, expired, newEntry(future.getNow()));
+      } else {
+        // Keep serving the addresses known so far and try again on the next request.
+        expired.refreshing.set(false);
+      }
+    });
+  }
+
+  private Entry newEntry(final List<InetAddress> addresses) {
+    return new Entry(addresses, System.nanoTime() + ttlNanos);
+  }
+
+  @Override
+  public void close() {
+    cache.clear();
+    delegate.close();
+  }
+
+  /**
+   * Cache entry with the addresses of a host, which are returned starting with the next one in
+   * turn.
+   * <p>
+   */
+  private static final class Entry {
+
+    private final List<InetAddress> addresses;
+    private final long expiresAt;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private Entry(final List<InetAddress> addresses, final long expiresAt) {
+      this.addresses = List.copyOf(addresses);
+      this.expiresAt = expiresAt;
+    }
+
+    private boolean isExpired() {
+      return expiresAt != Long.MAX_VALUE && System.nanoTime() - expiresAt > 0;
+    }
+
+    private List<InetAddress> next() {
+      var size = addresses.size();
+      if (size == 1) {
+        return addresses;
+      }
+      var first = Math.floorMod(next.getAndIncrement(), size);
+      var rotated = new ArrayList<InetAddress>(size);
+      rotated.addAll(addresses.subList(first, size));
+      rotated.addAll(addresses.subList(0, first));
+      return Collections.unmodifiableList(rotated);
+    }
+  }
+}
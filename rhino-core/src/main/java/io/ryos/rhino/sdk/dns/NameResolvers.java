@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.dns;
+
+import io.netty.resolver.NameResolver;
+import java.lang.reflect.InvocationTargetException;
+import java.net.InetAddress;
+
+/**
+ * Factory of the name resolvers which can be selected with the {@code dns.resolver} property.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+public final class NameResolvers {
+
+  /**
+   * Resolver of the JDK, whose blocking lookups run on threads of their own, see {@link
+   * SystemNameResolver}.
+   * <p>
+   */
+  public static final String SYSTEM = "system";
+
+  /**
+   * Asynchronous resolver, see {@link AsyncDnsResolver}.
+   * <p>
+   */
+  public static final String ASYNC = "async";
+
+  private NameResolvers() {
+  }
+
+  /**
+   * Creates the name resolver of the type, which is either {@link #SYSTEM}, {@link #ASYNC} or the
+   * fully qualified name of a {@link NameResolver} implementation with a default constructor.
+   * <p>
+   *
+   * @param type Type of the resolver.
+   * @return {@link NameResolver} instance.
+   * @throws IllegalArgumentException If the resolver cannot be created.
+   */
+  @SuppressWarnings("unchecked")
+  public static NameResolver<InetAddress> create(final String type) {
+    switch (type.trim()) {
+      case SYSTEM:
+        return new SystemNameResolver();
+      case ASYNC:
+        return new AsyncDnsResolver();
+      default:
+        try {
+          return (NameResolver<InetAddress>) Class.forName(type.trim())
+              .getDeclaredConstructor()
+              .newInstance();
+        } catch (ClassNotFoundException | NoSuchMethodException | InstantiationException
+            | IllegalAccessException | InvocationTargetException | ClassCastException e) {
+          throw new IllegalArgumentException("Cannot create name resolver: " + type, e);
+        }
+    }
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.dns;
+
+import io.netty.resolver.InetNameResolver;
+import io.netty.util.NetUtil;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.internal.SocketUtils;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Name resolver of the JDK, which honours the resolver configuration of the system, e.g the hosts
+ * file and the name service switch. The lookups of the JDK block, so they run on threads of the
+ * resolver instead of the calling thread, which is usually an event loop of the HTTP client. IP
+ * literals are resolved right away.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+public class SystemNameResolver extends InetNameResolver {
+
+  private static final String THREAD_NAME = "rhino-dns-system";
+  private static final int THREADS = 4;
+
+  private final ExecutorService executor;
+
+  public SystemNameResolver() {
+    super(ImmediateEventExecutor.INSTANCE);
+    this.executor = Executors.newFixedThreadPool(THREADS,
+        new DefaultThreadFactory(THREAD_NAME, true));
+  }
+
+  @Override
+  protected void doResolve(final String inetHost, final Promise<InetAddress> promise) {
+    lookup(inetHost, promise, () -> SocketUtils.addressByName(inetHost));
+  }
+
+  @Override
+  protected void doResolveAll(final String inetHost, final Promise<List<InetAddress>> promise) {
+    lookup(inetHost, promise, () -> Arrays.asList(SocketUtils.allAddressesByName(inetHost)));
+  }
+
+  private <T> void lookup(final String inetHost, final Promise<T> promise,
+      final Lookup<T> lookup) {
+    if (NetUtil.isValidIpV4Address(inetHost) || NetUtil.isValidIpV6Address(inetHost)) {
+      complete(promise, lookup);
+      return;
+    }
+    try {
+      executor.execute(() -> complete(promise, lookup));
+    } catch (RejectedExecutionException e) {
+      promise.tryFailure(e);
+    }
+  }
+
+  private static <T> void complete(final Promise<T> promise, final Lookup<T> lookup) {
+    try {
+      promise.trySuccess(lookup.get());
+    } catch (UnknownHostException e) {
+      promise.tryFailure(e);
+    }
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  @FunctionalInterface
+  private interface Lookup<T> {
+
+    T get() throws UnknownHostException;
+  }
+}
@@ -48,6 +48,16 @@ public interface DslBuilder extends SessionDsl, IterableDsl, AssertionDsl, Mappa
    */
   DslBuilder wait(Duration duration);
 
+  /**
+   * Wait DSL is a DSL instance which makes execution halt for a think time drawn from the
+   * {@link ThinkTime} distribution every time the DSL is run.
+   * <p>
+   *
+   * @param thinkTime {@link ThinkTime} distribution to wait.
+   * @return {@link DslBuilderImpl} instance.
+   */
+  DslBuilder wait(ThinkTime thinkTime);
+
   /**
    * Runner DSL is a {@link DslBuilder} instance to run the {@link MaterializableDslItem} passed as
    * parameter.
@@ -23,4 +23,20 @@ package io.ryos.rhino.sdk.dsl;
 public interface DslMethod extends MaterializableDslItem {
 
   DslItem getDsl();
+
+  /**
+   * Relative weight of the DSL method in the scenario mix.
+   * <p>
+   *
+   * @return Weight of the DSL method.
+   */
+  int getWeight();
+
+  /**
+   * Maximum number of iterations per second of the DSL method.
+   * <p>
+   *
+   * @return Maximum iterations per second, or a negative value for no limit.
+   */
+  double getMaxRps();
 }
@@ -17,8 +17,13 @@
 package io.ryos.rhino.sdk.dsl;
 
 import io.ryos.rhino.sdk.data.UserSession;
+import io.ryos.rhino.sdk.dsl.data.BodyPolicy;
+import io.ryos.rhino.sdk.dsl.data.Compression;
+import io.ryos.rhino.sdk.dsl.data.HttpResponse;
 import io.ryos.rhino.sdk.users.data.User;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.function.BiFunction;
@@ -81,12 +86,83 @@ public interface HttpConfigDsl extends HttpMethodDsl {
 
   HttpConfigDsl upload(final Supplier<InputStream> inputStream);
 
+  /**
+   * Uploads the content of the buffer, from its position to its limit, e.g a buffer of {@link
+   * io.ryos.rhino.sdk.dsl.data.UploadStream#buffer(String)}. The buffer is shared by all requests
+   * and sent without copying it, so it must not be modified while the simulation is running.
+   * <p>
+   *
+   * @param content Content to upload.
+   * @return Instance of {@link HttpConfigDsl}.
+   */
+  HttpConfigDsl upload(final ByteBuffer content);
+
+  /**
+   * Uploads the file. HTTP/1.1 requests without TLS transfer the file from the page cache to the
+   * socket without copying it through the heap.
+   * <p>
+   *
+   * @param file Path to the file to upload.
+   * @return Instance of {@link HttpConfigDsl}.
+   */
+  HttpConfigDsl upload(final Path file);
+
   HttpConfigDsl payload(final Supplier<InputStream> inputStreamSupplier);
 
   HttpConfigDsl payload(final Function<UserSession, InputStream> payloadFunction);
 
   HttpConfigDsl payload(final String stringPayload);
 
+  /**
+   * Defines what is retained of the response body, see {@link BodyPolicy}. The body is kept by
+   * default.
+   * <p>
+   *
+   * @param bodyPolicy Policy of the response body.
+   * @return Instance of {@link HttpConfigDsl}.
+   */
+  HttpConfigDsl body(BodyPolicy bodyPolicy);
+
+  /**
+   * Retains the first bytes of the response body only, see {@link BodyPolicy#PREFIX}.
+   * <p>
+   *
+   * @param maxBytes Maximum number of body bytes retained.
+   * @return Instance of {@link HttpConfigDsl}.
+   */
+  HttpConfigDsl bodyPrefix(int maxBytes);
+
+  /**
+   * Accepts compressed responses with the content codings. Gzip and deflate encoded bodies are
+   * inflated while they are received, so the response time includes the time spent on inflating,
+   * which is reported separately along with the encoded and the decoded body size.
+   * <p>
+   *
+   * @param codings Content codings in the order of preference.
+   * @return Instance of {@link HttpConfigDsl}.
+   */
+  HttpConfigDsl compression(Compression... codings);
+
+  /**
+   * Inflates compressed bodies the first time the body of the {@link HttpResponse} is read instead
+   * of while they are received. Bodies which are not kept, see {@link BodyPolicy}, are not
+   * inflated at all.
+   * <p>
+   *
+   * @return Instance of {@link HttpConfigDsl}.
+   */
+  HttpConfigDsl decompressLazily();
+
+  /**
+   * Sends the request with the client of the profile, see {@link
+   * io.ryos.rhino.sdk.HttpClientProfile}. Requests are sent with the default client otherwise.
+   * <p>
+   *
+   * @param profile Name of the HTTP client profile.
+   * @return Instance of {@link HttpConfigDsl}.
+   */
+  HttpConfigDsl client(String profile);
+
   Function<UserSession, User> getUserAccessor();
 
   Supplier<User> getUserSupplier();
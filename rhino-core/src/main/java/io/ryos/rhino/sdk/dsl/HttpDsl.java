@@ -17,10 +17,13 @@
 package io.ryos.rhino.sdk.dsl;
 
 import io.ryos.rhino.sdk.data.UserSession;
+import io.ryos.rhino.sdk.dsl.data.BodyPolicy;
 import io.ryos.rhino.sdk.dsl.data.HttpResponse;
 import io.ryos.rhino.sdk.dsl.impl.HttpDslImpl.RetryInfo;
 import io.ryos.rhino.sdk.users.data.User;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.function.Function;
@@ -46,6 +49,10 @@ public interface HttpDsl extends RetriableDsl<HttpResponse>,
 
   Function<UserSession, InputStream> getLazyStringPayload();
 
+  ByteBuffer getUploadBuffer();
+
+  Path getUploadFile();
+
   List<Function<UserSession, Entry<String, List<String>>>> getHeaders();
 
   List<Function<UserSession, Entry<String, List<String>>>> getQueryParameters();
@@ -54,6 +61,14 @@ public interface HttpDsl extends RetriableDsl<HttpResponse>,
 
   RetryInfo getRetryInfo();
 
+  BodyPolicy getBodyPolicy();
+
+  int getBodyPrefixSize();
+
+  boolean isLazyDecompression();
+
+  String getClientProfile();
+
   boolean isAuth();
 
   User getAuthUser();
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.dsl;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Think time is the pause a user takes between two steps of a scenario. Real users do not pause
+ * for the same amount of time, so the think time is drawn from a distribution each time a wait
+ * DSL is run.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+@FunctionalInterface
+public interface ThinkTime {
+
+  /**
+   * Draws the next think time. The duration returned is never negative.
+   * <p>
+   *
+   * @return Next think time.
+   */
+  Duration next();
+
+  /**
+   * Factory method to create a think time which always pauses for the same duration.
+   * <p>
+   *
+   * @param duration Think time.
+   * @return A constant {@link ThinkTime}.
+   */
+  static ThinkTime constant(final Duration duration) {
+    requireNonNegative(duration, "Duration");
+    return () -> duration;
+  }
+
+  /**
+   * Factory method to create a think time which is uniformly distributed between min and max,
+   * both inclusive.
+   * <p>
+   *
+   * @param min Shortest think time.
+   * @param max Longest think time.
+   * @return A uniformly distributed {@link ThinkTime}.
+   */
+  static ThinkTime uniform(final Duration min, final Duration max) {
+    requireNonNegative(min, "Min. duration");
+    requireNonNegative(max, "Max. duration");
+    Validate.isTrue(min.compareTo(max) <= 0, "Min. duration must not be greater than max.");
+
+    var minNanos = min.toNanos();
+    var maxNanos = max.toNanos();
+    return () -> Duration.ofNanos(ThreadLocalRandom.current().nextLong(minNanos, maxNanos + 1));
+  }
+
+  /**
+   * Factory method to create an exponentially distributed think time, which models users acting
+   * independently of each other, e.g the time between two clicks of visitors of a web site.
+   * <p>
+   *
+   * @param mean Mean think time.
+   * @return An exponentially distributed {@link ThinkTime}.
+   */
+  static ThinkTime exponential(final Duration mean) {
+    requireNonNegative(mean, "Mean duration");
+
+    var meanNanos = (double) mean.toNanos();
+    return () -> {
+      // 1 - U is in (0, 1], so the logarithm is always finite.
+      var u = 1.0d - ThreadLocalRandom.current().nextDouble();
+      return Duration.ofNanos((long) (-meanNanos * Math.log(u)));
+    };
+  }
+
+  /**
+   * Factory method to create a normally distributed think time. Samples below zero are cut off at
+   * zero.
+   * <p>
+   *
+   * @param mean   Mean think time.
+   * @param stdDev Standard deviation of the think time.
+   * @return A normally distributed {@link ThinkTime}.
+   */
+  static ThinkTime gaussian(final Duration mean, final Duration stdDev) {
+    requireNonNegative(mean, "Mean duration");
+    requireNonNegative(stdDev, "Standard deviation");
+
+    var meanNanos = (double) mean.toNanos();
+    var stdDevNanos = (double) stdDev.toNanos();
+    return () -> {
+      var sample = meanNanos + stdDevNanos * ThreadLocalRandom.current().nextGaussian();
+      return Duration.ofNanos(Math.max(0L, (long) sample));
+    };
+  }
+
+  private static void requireNonNegative(final Duration duration, final String name) {
+    Validate.notNull(duration, name + " must not be null.");
+    Validate.isTrue(!duration.isNegative(), name + " must not be negative.");
+  }
+}
@@ -19,6 +19,7 @@ package io.ryos.rhino.sdk.dsl;
 import java.time.Duration;
 
 /**
+ * Wait DSL pauses the scenario for a think time.
  * <p>
  *
  * @author Erhan Bagdemir
@@ -26,5 +27,15 @@ import java.time.Duration;
  */
 public interface WaitDsl extends MaterializableDslItem {
 
-  Duration getWaitTime();
+  /**
+   * Draws the next wait time from the think time distribution.
+   * <p>
+   *
+   * @return Next wait time.
+   */
+  default Duration getWaitTime() {
+    return getThinkTime().next();
+  }
+
+  ThinkTime getThinkTime();
 }
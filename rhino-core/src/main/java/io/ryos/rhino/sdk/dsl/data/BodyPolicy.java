@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.dsl.data;
+
+/**
+ * Body policy defines what is retained of a response body while it is received. Only {@link
+ * #KEEP} buffers the body on the heap; the other policies process the body parts as they arrive
+ * and drop them, so downloading large bodies does not grow the heap.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+public enum BodyPolicy {
+
+  /**
+   * The body is buffered and available in the {@link HttpResponse}, which is the default.
+   * <p>
+   */
+  KEEP,
+
+  /**
+   * The body is dropped, only its size is retained.
+   * <p>
+   */
+  DISCARD,
+
+  /**
+   * The body is dropped, its size and SHA-256 digest are retained.
+   * <p>
+   */
+  DIGEST,
+
+  /**
+   * The first bytes of the body are retained, the rest is dropped, see {@link
+   * io.ryos.rhino.sdk.dsl.HttpConfigDsl#bodyPrefix(int)}.
+   * <p>
+   */
+  PREFIX,
+
+  /**
+   * The request is finished once the status and the headers are received, the body is not read.
+   * The response time does not include the transfer of the body. HTTP/1.1 connections are closed
+   * if the response has a body, since they cannot be reused before the body is read; HTTP/2
+   * resets the stream only.
+   * <p>
+   */
+  SKIP
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.dsl.data;
+
+/**
+ * Content codings a request accepts for its response, which are sent in the {@code
+ * Accept-Encoding} header, see {@link io.ryos.rhino.sdk.dsl.HttpConfigDsl#compression(
+ * Compression...)}.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+public enum Compression {
+
+  GZIP("gzip"),
+
+  DEFLATE("deflate"),
+
+  /**
+   * Brotli is negotiated only, the bodies of brotli encoded responses are not decoded.
+   * <p>
+   */
+  BROTLI("br");
+
+  private final String token;
+
+  Compression(final String token) {
+    this.token = token;
+  }
+
+  /**
+   * Returns the token of the coding in the {@code Accept-Encoding} header.
+   * <p>
+   *
+   * @return Content coding token.
+   */
+  public String getToken() {
+    return token;
+  }
+}
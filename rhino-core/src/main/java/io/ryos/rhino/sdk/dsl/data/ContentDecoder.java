@@ -0,0 +1,155 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.dsl.data;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.compression.ZlibCodecFactory;
+import io.netty.handler.codec.compression.ZlibWrapper;
+import java.nio.ByteBuffer;
+
+/**
+ * Content decoder inflates gzip and deflate encoded response bodies part by part, as they arrive,
+ * and accounts for the time spent on inflating.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+final class ContentDecoder {
+
+  private final EmbeddedChannel channel;
+  private long decodedBytes;
+  private long decodeNanos;
+
+  private ContentDecoder(final ZlibWrapper wrapper) {
+    this.channel = new EmbeddedChannel(ZlibCodecFactory.newZlibDecoder(wrapper));
+  }
+
+  /**
+   * Returns a decoder of the content coding, or null if the body is not encoded or its coding is
+   * not supported.
+   * <p>
+   *
+   * @param contentEncoding Value of the {@code Content-Encoding} header, or null.
+   * @return {@link ContentDecoder} instance or null.
+   */
+  static ContentDecoder of(final String contentEncoding) {
+    var wrapper = wrapperOf(contentEncoding);
+    return wrapper != null ? new ContentDecoder(wrapper) : null;
+  }
+
+  /**
+   * Returns whether bodies of the content coding can be decoded.
+   * <p>
+   *
+   * @param contentEncoding Value of the {@code Content-Encoding} header, or null.
+   * @return true if the body is encoded with a supported coding.
+   */
+  static boolean isSupported(final String contentEncoding) {
+    return wrapperOf(contentEncoding) != null;
+  }
+
+  private static ZlibWrapper wrapperOf(final String contentEncoding) {
+    if (contentEncoding == null) {
+      return null;
+    }
+    switch (contentEncoding.trim().toLowerCase()) {
+      case "gzip":
+      case "x-gzip":
+        return ZlibWrapper.GZIP;
+      case "deflate":
+      case "x-deflate":
+        // Servers send deflate with and without the zlib wrapper.
+        return ZlibWrapper.ZLIB_OR_NONE;
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Decodes the next part of the body.
+   * <p>
+   *
+   * @param encoded Encoded part of the body.
+   * @return Decoded bytes, which may be empty.
+   */
+  ByteBuf decode(final ByteBuffer encoded) {
+    var start = System.nanoTime();
+    channel.writeInbound(Unpooled.wrappedBuffer(encoded));
+    var decoded = drain();
+    decodeNanos += System.nanoTime() - start;
+    return decoded;
+  }
+
+  /**
+   * Decodes the whole body at once.
+   * <p>
+   *
+   * @param encoded Encoded body.
+   * @return Decoded body.
+   */
+  byte[] decodeAll(final byte[] encoded) {
+    var decoded = decode(ByteBuffer.wrap(encoded));
+    try {
+      var bytes = new byte[decoded.readableBytes()];
+      decoded.readBytes(bytes);
+      return bytes;
+    } finally {
+      decoded.release();
+      finish();
+    }
+  }
+
+  /**
+   * Releases the decoder.
+   * <p>
+   */
+  void finish() {
+    channel.finishAndReleaseAll();
+  }
+
+  long getDecodedBytes() {
+    return decodedBytes;
+  }
+
+  long getDecodeNanos() {
+    return decodeNanos;
+  }
+
+  private ByteBuf drain() {
+    CompositeByteBuf decoded = null;
+    ByteBuf part;
+    while ((part = channel.readInbound()) != null) {
+      if (!part.isReadable()) {
+        part.release();
+        continue;
+      }
+      if (decoded == null) {
+        decoded = Unpooled.compositeBuffer();
+      }
+      decoded.addComponent(true, part);
+    }
+    if (decoded == null) {
+      return Unpooled.EMPTY_BUFFER;
+    }
+    decodedBytes += decoded.readableBytes();
+    return decoded;
+  }
+}
@@ -1,25 +1,186 @@
 package io.ryos.rhino.sdk.dsl.data;
 
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import org.asynchttpclient.HttpResponseBodyPart;
+import org.asynchttpclient.HttpResponseStatus;
 import org.asynchttpclient.Response;
+import org.asynchttpclient.netty.EagerResponseBodyPart;
+import org.asynchttpclient.netty.NettyResponse;
 
 public class HttpResponse {
 
   private Response response;
+  private final HttpResponseStatus status;
+  private final HttpHeaders headers;
+  private final byte[] bodyPrefix;
+  private final BodyPolicy bodyPolicy;
+  private final long bodySize;
+  private final String bodyDigest;
+  private final Response encodedResponse;
+  private final String contentEncoding;
 
   public HttpResponse(final Response response) {
+    this(response, BodyPolicy.KEEP, -1L, null);
+  }
+
+  /**
+   * Creates a response whose body was handled according to the body policy.
+   * <p>
+   *
+   * @param response   The response, its body is empty unless the body is kept.
+   * @param bodyPolicy {@link BodyPolicy} the body was handled with.
+   * @param bodySize   Number of body bytes received, or -1 if unknown.
+   * @param bodyDigest Hex encoded SHA-256 digest of the body, or null if not computed.
+   */
+  public HttpResponse(final Response response, final BodyPolicy bodyPolicy, final long bodySize,
+      final String bodyDigest) {
     this.response = response;
+    this.status = null;
+    this.headers = null;
+    this.bodyPrefix = null;
+    this.bodyPolicy = bodyPolicy;
+    this.bodySize = bodySize;
+    this.bodyDigest = bodyDigest;
+    this.encodedResponse = null;
+    this.contentEncoding = null;
+  }
+
+  /**
+   * Creates a response whose body is decoded on first access, so the time spent on decoding is
+   * not part of the response time.
+   * <p>
+   *
+   * @param status          Status of the response.
+   * @param headers         Headers of the response.
+   * @param encodedResponse The response with the encoded body.
+   * @param contentEncoding Content coding of the body, e.g gzip.
+   * @param bodySize        Number of encoded body bytes received.
+   */
+  public HttpResponse(final HttpResponseStatus status, final HttpHeaders headers,
+      final Response encodedResponse, final String contentEncoding, final long bodySize) {
+    this.status = status;
+    this.headers = headers;
+    this.bodyPrefix = null;
+    this.bodyPolicy = BodyPolicy.KEEP;
+    this.bodySize = bodySize;
+    this.bodyDigest = null;
+    this.encodedResponse = encodedResponse;
+    this.contentEncoding = contentEncoding;
+  }
+
+  /**
+   * Creates a response of the status and the headers. The {@link Response} is built on first
+   * access only, so responses which are checked for their status only do not build it.
+   * <p>
+   *
+   * @param status     Status of the response.
+   * @param headers    Headers of the response.
+   * @param bodyPrefix Retained prefix of the body, or null if no body is retained.
+   * @param bodyPolicy {@link BodyPolicy} the body was handled with.
+   * @param bodySize   Number of body bytes received.
+   * @param bodyDigest Hex encoded SHA-256 digest of the body, or null if not computed.
+   */
+  public HttpResponse(final HttpResponseStatus status, final HttpHeaders headers,
+      final byte[] bodyPrefix, final BodyPolicy bodyPolicy, final long bodySize,
+      final String bodyDigest) {
+    this.status = status;
+    this.headers = headers;
+    this.bodyPrefix = bodyPrefix;
+    this.bodyPolicy = bodyPolicy;
+    this.bodySize = bodySize;
+    this.bodyDigest = bodyDigest;
+    this.encodedResponse = null;
+    this.contentEncoding = null;
   }
 
   public Response getResponse() {
+    if (response == null) {
+      response = new NettyResponse(status, headers, bodyParts());
+    }
     return response;
   }
 
-  public String getResponseBodyAsString() {
-    return response.getResponseBody();
+  /**
+   * Returns whether the body is encoded and is decoded on first access, see {@link
+   * io.ryos.rhino.sdk.dsl.HttpConfigDsl#decompressLazily()}.
+   * <p>
+   *
+   * @return true if the body is decoded on first access.
+   */
+  public boolean isDecodedLazily() {
+    return encodedResponse != null;
   }
 
+  public String getResponseBodyAsString() {
+    if (response == null && bodyPrefix != null) {
+      return new String(bodyPrefix, StandardCharsets.UTF_8);
+    }
+    return getResponse().getResponseBody();
+  }
 
   public int getStatusCode() {
-    return response.getStatusCode();
+    return response != null ? response.getStatusCode() : status.getStatusCode();
+  }
+
+  /**
+   * Returns the headers of the response without building the {@link Response}.
+   * <p>
+   *
+   * @return Headers of the response.
+   */
+  public HttpHeaders getHeaders() {
+    return response != null ? response.getHeaders() : headers;
+  }
+
+  /**
+   * Returns what was retained of the body. If the body is not kept, the body of the response is
+   * empty, or the prefix of the body with {@link BodyPolicy#PREFIX}, and only its size and digest
+   * are available.
+   * <p>
+   *
+   * @return {@link BodyPolicy} of the response.
+   */
+  public BodyPolicy getBodyPolicy() {
+    return bodyPolicy;
+  }
+
+  /**
+   * Returns the number of body bytes received.
+   * <p>
+   *
+   * @return Body size in bytes.
+   */
+  public long getBodySize() {
+    if (bodySize < 0) {
+      return getResponse().getResponseBodyAsBytes().length;
+    }
+    return bodySize;
+  }
+
+  /**
+   * Returns the hex encoded SHA-256 digest of the body if the body policy is {@link
+   * BodyPolicy#DIGEST}.
+   * <p>
+   *
+   * @return The digest of the body, or null.
+   */
+  public String getBodyDigest() {
+    return bodyDigest;
+  }
+
+  private List<HttpResponseBodyPart> bodyParts() {
+    if (encodedResponse != null) {
+      var body = ContentDecoder.of(contentEncoding)
+          .decodeAll(encodedResponse.getResponseBodyAsBytes());
+      return List.of(new EagerResponseBodyPart(Unpooled.wrappedBuffer(body), true));
+    }
+    if (bodyPrefix == null || bodyPrefix.length == 0) {
+      return Collections.emptyList();
+    }
+    return List.of(new EagerResponseBodyPart(Unpooled.wrappedBuffer(bodyPrefix), true));
   }
 }
@@ -1,56 +1,140 @@
 package io.ryos.rhino.sdk.dsl.data;
 
+import com.google.common.io.BaseEncoding;
+import io.netty.handler.codec.http.EmptyHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.ryos.rhino.sdk.SimulationConfig;
 import io.ryos.rhino.sdk.data.UserSession;
 import io.ryos.rhino.sdk.dsl.HttpDsl;
 import io.ryos.rhino.sdk.dsl.impl.HttpDslImpl.RetryInfo;
 import io.ryos.rhino.sdk.reporting.MeasurementImpl;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.asynchttpclient.AsyncHandler;
 import org.asynchttpclient.HttpResponseBodyPart;
 import org.asynchttpclient.HttpResponseStatus;
 import org.asynchttpclient.Response;
+import org.asynchttpclient.netty.EagerResponseBodyPart;
 import org.asynchttpclient.netty.request.NettyRequest;
 
-public class HttpSpecAsyncHandler implements AsyncHandler<Response> {
+public class HttpSpecAsyncHandler implements AsyncHandler<HttpResponse> {
 
   public static final Logger LOG = LogManager.getLogger(HttpSpecAsyncHandler.class);
+  private static final String DIGEST_ALGORITHM = "SHA-256";
   private volatile int status;
 
   private final MeasurementImpl measurement;
   private final Response.ResponseBuilder builder = new Response.ResponseBuilder();
   private final RetryInfo retryInfo;
   private final UserSession session;
+  private final BodyPolicy bodyPolicy;
+  private final MessageDigest digest;
+  private final int bodyPrefixSize;
+  private final boolean lazyDecompression;
+  private HttpResponseStatus responseStatus;
+  private HttpHeaders headers;
+  private byte[] bodyPrefix;
+  private long bodySize;
+  private String contentEncoding;
+  private ContentDecoder decoder;
 
   public HttpSpecAsyncHandler(final UserSession session, final HttpDsl dslItem) {
     this.session = session;
     this.measurement = new MeasurementImpl(session.getUser().getId(), dslItem);
     this.retryInfo = dslItem.getRetryInfo();
+    this.bodyPolicy = Optional.ofNullable(dslItem.getBodyPolicy()).orElse(BodyPolicy.KEEP);
+    this.digest = bodyPolicy == BodyPolicy.DIGEST ? createDigest() : null;
+    this.bodyPrefixSize = bodyPolicy == BodyPolicy.PREFIX ? dslItem.getBodyPrefixSize() : 0;
+    this.lazyDecompression = dslItem.isLazyDecompression();
+  }
+
+  /**
+   * Creates a handler whose measurement reports the response time since the intended start of
+   * the request in addition to the time since the request was sent.
+   * <p>
+   *
+   * @param session       Current user session.
+   * @param dslItem       HTTP DSL item of the request.
+   * @param intendedStart Intended start of the request in epoch milliseconds.
+   */
+  public HttpSpecAsyncHandler(final UserSession session, final HttpDsl dslItem,
+      final long intendedStart) {
+    this(session, dslItem);
+    this.measurement.setIntendedStart(intendedStart);
   }
 
   @Override
   public State onStatusReceived(final HttpResponseStatus responseStatus) {
-    builder.reset();
-    builder.accumulate(responseStatus);
+    // Only responses whose body is kept are built, others keep the status and the headers.
+    if (bodyPolicy == BodyPolicy.KEEP) {
+      builder.reset();
+      builder.accumulate(responseStatus);
+    }
+    this.responseStatus = responseStatus;
+    this.headers = null;
+    this.bodyPrefix = null;
+    this.contentEncoding = null;
+    finishDecoder();
     status = responseStatus.getStatusCode();
+    bodySize = 0;
+    if (digest != null) {
+      digest.reset();
+    }
 
     return State.CONTINUE;
   }
 
   @Override
   public State onHeadersReceived(final HttpHeaders headers) {
-    builder.accumulate(headers);
-    return State.CONTINUE;
+    if (bodyPolicy == BodyPolicy.KEEP) {
+      builder.accumulate(headers);
+    }
+    this.headers = headers;
+    this.contentEncoding = headers.get(HttpHeaderNames.CONTENT_ENCODING);
+    if (!lazyDecompression && bodyPolicy != BodyPolicy.SKIP) {
+      this.decoder = ContentDecoder.of(contentEncoding);
+    }
+    return bodyPolicy == BodyPolicy.SKIP ? State.ABORT : State.CONTINUE;
   }
 
   @Override
   public State onBodyPartReceived(final HttpResponseBodyPart bodyPart) {
-    builder.accumulate(bodyPart);
+    bodySize += bodyPart.length();
+    if (decoder == null) {
+      accept(bodyPart);
+      return State.CONTINUE;
+    }
+
+    var decoded = decoder.decode(bodyPart.getBodyByteBuffer());
+    try {
+      if (decoded.isReadable() && bodyPolicy != BodyPolicy.DISCARD) {
+        accept(new EagerResponseBodyPart(decoded, bodyPart.isLast()));
+      }
+    } finally {
+      decoded.release();
+    }
     return State.CONTINUE;
   }
 
+  private void accept(final HttpResponseBodyPart bodyPart) {
+    switch (bodyPolicy) {
+      case DISCARD:
+        break;
+      case DIGEST:
+        digest.update(bodyPart.getBodyByteBuffer());
+        break;
+      case PREFIX:
+        appendToPrefix(bodyPart);
+        break;
+      default:
+        builder.accumulate(bodyPart);
+    }
+  }
+
   /**
    * Handling the errors came out of the Http client, e.g connection timeouts.
    * <p>
@@ -59,23 +143,79 @@ public class HttpSpecAsyncHandler implements AsyncHandler<Response> {
    */
   @Override
   public void onThrowable(final Throwable t) {
+    finishDecoder();
     measurement.fail(t.getMessage());
   }
 
   @Override
-  public Response onCompleted() {
-    var response = builder.build();
-    var httpResponse = new HttpResponse(response);
+  public HttpResponse onCompleted() {
+    recordTransfer();
+    var httpResponse = createResponse();
     if (isReadyToMeasure(httpResponse)) {
       completeMeasurement();
     }
     if (SimulationConfig.debugHttp()) {
-      LOG.info("[debug.http=true][statusCode={}][body={}][headers={}]",
-          response.getStatusCode(),
-          response.getResponseBody(),
-          response.getHeaders());
+      LOG.info("[debug.http=true][statusCode={}][body={}][bodySize={}][headers={}]",
+          httpResponse.getStatusCode(),
+          httpResponse.getResponseBodyAsString(),
+          bodySize,
+          httpResponse.getHeaders());
     }
-    return response;
+    return httpResponse;
+  }
+
+  /**
+   * Records the size of the body as received and as decoded, and the time spent on decoding. The
+   * decoded size is unknown if the body is decoded lazily or its coding is not supported.
+   * <p>
+   */
+  private void recordTransfer() {
+    if (decoder != null) {
+      measurement.setTransfer(bodySize, decoder.getDecodedBytes(), decoder.getDecodeNanos());
+      finishDecoder();
+    } else if (contentEncoding == null || bodyPolicy == BodyPolicy.SKIP) {
+      measurement.setTransfer(bodySize, bodySize, 0L);
+    } else {
+      measurement.setTransfer(bodySize, -1L, 0L);
+    }
+  }
+
+  private void finishDecoder() {
+    if (decoder != null) {
+      decoder.finish();
+      decoder = null;
+    }
+  }
+
+  private HttpResponse createResponse() {
+    if (bodyPolicy == BodyPolicy.KEEP && lazyDecompression
+        && ContentDecoder.isSupported(contentEncoding)) {
+      return new HttpResponse(responseStatus, headers, builder.build(), contentEncoding,
+          bodySize);
+    }
+    if (bodyPolicy == BodyPolicy.KEEP) {
+      return new HttpResponse(builder.build(), bodyPolicy, bodySize, null);
+    }
+    var bodyDigest = digest != null
+        ? BaseEncoding.base16().lowerCase().encode(digest.digest())
+        : null;
+    var responseHeaders = headers != null ? headers : EmptyHttpHeaders.INSTANCE;
+    return new HttpResponse(responseStatus, responseHeaders, bodyPrefix, bodyPolicy, bodySize,
+        bodyDigest);
+  }
+
+  private void appendToPrefix(final HttpResponseBodyPart bodyPart) {
+    var retained = bodyPrefix != null ? bodyPrefix.length : 0;
+    var length = Math.min(bodyPart.length(), bodyPrefixSize - retained);
+    if (length <= 0) {
+      return;
+    }
+    var prefix = new byte[retained + length];
+    if (bodyPrefix != null) {
+      System.arraycopy(bodyPrefix, 0, prefix, 0, retained);
+    }
+    bodyPart.getBodyByteBuffer().get(prefix, retained, length);
+    bodyPrefix = prefix;
   }
 
   public void completeMeasurement() {
@@ -94,6 +234,14 @@ public class HttpSpecAsyncHandler implements AsyncHandler<Response> {
     return !retryInfo.getPredicate().test(httpResponse);
   }
 
+  private static MessageDigest createDigest() {
+    try {
+      return MessageDigest.getInstance(DIGEST_ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
   @Override
   public void onRequestSend(NettyRequest request) {
     measurement.start();
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.dsl.data;
+
+import io.ryos.rhino.sdk.data.UserSession;
+import java.util.function.Function;
+
+/**
+ * Function of the {@link UserSession} which returns the same value for every session. DSLs use it
+ * for the values given as literals, so materializers can tell them from the values which depend on
+ * the session and prepare them once instead of per request.
+ * <p>
+ *
+ * @param <T> Type of the value.
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+public final class StaticValue<T> implements Function<UserSession, T> {
+
+  private final T value;
+
+  public StaticValue(final T value) {
+    this.value = value;
+  }
+
+  public T getValue() {
+    return value;
+  }
+
+  @Override
+  public T apply(final UserSession userSession) {
+    return value;
+  }
+}
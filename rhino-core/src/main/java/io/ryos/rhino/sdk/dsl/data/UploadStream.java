@@ -3,13 +3,23 @@ package io.ryos.rhino.sdk.dsl.data;
 import io.ryos.rhino.sdk.dsl.HttpDsl;
 import io.ryos.rhino.sdk.dsl.impl.HttpDslImpl;
 import io.ryos.rhino.sdk.io.ConfigResource;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Objects;
 
 /**
  * Upload stream is used in {@link HttpDsl} implementations to upload files by POST or PUT
  * requests.
  * <p>
+ * Streams are read and copied into the request for every upload. Content which is uploaded many
+ * times is better loaded once into a {@link #buffer(String)}, which all requests share.
+ * <p>
  *
  * @author Erhan Bagdemir
  * @see HttpDslImpl
@@ -18,6 +28,8 @@ import java.util.Objects;
  */
 public class UploadStream {
 
+  private static final String FILE_SCHEME = "file://";
+
   private UploadStream() {
     // intentionally left empty.
   }
@@ -35,4 +47,33 @@ public class UploadStream {
     Objects.requireNonNull(pathToFile, "Path to file parameter must not be null!");
     return new ConfigResource(pathToFile).getInputStream();
   }
+
+  /**
+   * Static factory returns the content of the file as a read-only {@link ByteBuffer}, which can
+   * be shared by all requests uploading the file, see {@link
+   * io.ryos.rhino.sdk.dsl.HttpConfigDsl#upload(ByteBuffer)}. Files in the file system, i.e
+   * "file:///", are memory-mapped; classpath resources are read once into a direct buffer.
+   * <p>
+   *
+   * @param pathToFile Path to file either in classpath or in file system.
+   * @return Read-only {@link ByteBuffer} of the file content.
+   */
+  public static ByteBuffer buffer(String pathToFile) {
+    Objects.requireNonNull(pathToFile, "Path to file parameter must not be null!");
+    try {
+      if (pathToFile.startsWith(FILE_SCHEME)) {
+        var path = Path.of(pathToFile.substring(FILE_SCHEME.length()));
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+          return channel.map(MapMode.READ_ONLY, 0, channel.size());
+        }
+      }
+
+      try (var inputStream = file(pathToFile)) {
+        var content = inputStream.readAllBytes();
+        return ByteBuffer.allocateDirect(content.length).put(content).flip().asReadOnlyBuffer();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot read the file: " + pathToFile, e);
+    }
+  }
 }
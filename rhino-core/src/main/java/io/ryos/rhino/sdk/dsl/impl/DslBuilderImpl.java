@@ -5,6 +5,7 @@ import io.ryos.rhino.sdk.data.UserSession;
 import io.ryos.rhino.sdk.dsl.DslBuilder;
 import io.ryos.rhino.sdk.dsl.MaterializableDslItem;
 import io.ryos.rhino.sdk.dsl.SessionDslItem.Scope;
+import io.ryos.rhino.sdk.dsl.ThinkTime;
 import io.ryos.rhino.sdk.dsl.VerifiableDslItem;
 import io.ryos.rhino.sdk.dsl.data.builder.ForEachBuilder;
 import io.ryos.rhino.sdk.dsl.data.builder.MapperBuilder;
@@ -45,6 +46,13 @@ public class DslBuilderImpl extends AbstractDSLItem implements DslBuilder {
     return this;
   }
 
+  @Override
+  public DslBuilder wait(ThinkTime thinkTime) {
+    Validate.notNull(thinkTime, "Think time must not be null.");
+    children.add(new WaitDslImpl(thinkTime));
+    return this;
+  }
+
   @Override
   public DslBuilder run(MaterializableDslItem dslItem) {
     Validate.notNull(dslItem, "dslItem must not be null.");
@@ -20,18 +20,32 @@ import io.ryos.rhino.sdk.dsl.DslItem;
 import io.ryos.rhino.sdk.dsl.DslMethod;
 import io.ryos.rhino.sdk.dsl.MaterializableDslItem;
 import io.ryos.rhino.sdk.dsl.mat.DslMethodMaterializer;
+import io.ryos.rhino.sdk.dsl.mat.PlanCompiler;
 import java.util.List;
 import org.apache.commons.lang3.Validate;
 
 public class DslMethodImpl implements DslItem, DslMethod {
 
+  private static final int DEFAULT_WEIGHT = 1;
+  private static final double NO_LIMIT = -1;
+
   private String name;
   private DslItem dsl;
   private DslItem parent;
+  private final int weight;
+  private final double maxRps;
+  private volatile DslMethodMaterializer plan;
 
   public DslMethodImpl(String name, DslItem dsl) {
+    this(name, dsl, DEFAULT_WEIGHT, NO_LIMIT);
+  }
+
+  public DslMethodImpl(String name, DslItem dsl, int weight, double maxRps) {
     this.name = Validate.notNull(name, "Name must not be null.");
     this.dsl = Validate.notNull(dsl, "DSL must not be null.");
+    Validate.isTrue(weight >= 0, "Weight must not be negative.");
+    this.weight = weight;
+    this.maxRps = maxRps;
   }
 
   @Override
@@ -69,9 +83,23 @@ public class DslMethodImpl implements DslItem, DslMethod {
     return dsl.getChildren();
   }
 
+  /**
+   * Compiles the DSL tree of the method into its execution plan, which is returned by {@link
+   * #materializer()} from then on. Methods which are not compiled are compiled every time their
+   * materializer is requested.
+   * <p>
+   *
+   * @return This {@link DslMethodImpl} instance.
+   */
+  public DslMethodImpl compile() {
+    this.plan = PlanCompiler.compile(this);
+    return this;
+  }
+
   @Override
   public DslMethodMaterializer materializer() {
-    return new DslMethodMaterializer(this);
+    var compiled = plan;
+    return compiled != null ? compiled : PlanCompiler.compile(this);
   }
 
   @Override
@@ -79,6 +107,16 @@ public class DslMethodImpl implements DslItem, DslMethod {
     return dsl;
   }
 
+  @Override
+  public int getWeight() {
+    return weight;
+  }
+
+  @Override
+  public double getMaxRps() {
+    return maxRps;
+  }
+
   @Override
   public String toString() {
     return "DslMethodImpl{" +
@@ -2,6 +2,8 @@ package io.ryos.rhino.sdk.dsl.impl;
 
 import static io.ryos.rhino.sdk.dsl.utils.SessionUtils.getActiveUser;
 
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.ryos.rhino.sdk.HttpClientProfile;
 import io.ryos.rhino.sdk.data.UserSession;
 import io.ryos.rhino.sdk.dsl.CollectableDslItem;
 import io.ryos.rhino.sdk.dsl.ContainerScopeDsl;
@@ -11,14 +13,19 @@ import io.ryos.rhino.sdk.dsl.HttpDsl;
 import io.ryos.rhino.sdk.dsl.HttpRetriableDsl;
 import io.ryos.rhino.sdk.dsl.MaterializableDslItem;
 import io.ryos.rhino.sdk.dsl.SessionDslItem;
+import io.ryos.rhino.sdk.dsl.data.BodyPolicy;
+import io.ryos.rhino.sdk.dsl.data.Compression;
 import io.ryos.rhino.sdk.dsl.data.HttpResponse;
+import io.ryos.rhino.sdk.dsl.data.StaticValue;
 import io.ryos.rhino.sdk.dsl.mat.DslMaterializer;
 import io.ryos.rhino.sdk.dsl.mat.HttpDslData;
 import io.ryos.rhino.sdk.dsl.mat.HttpDslMaterializer;
 import io.ryos.rhino.sdk.reporting.VerificationInfo;
 import io.ryos.rhino.sdk.users.data.User;
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -28,6 +35,8 @@ import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.Validate;
 
 /**
@@ -45,6 +54,8 @@ public class HttpDslImpl extends AbstractSessionDslItem implements HttpDsl, Http
 
   private Supplier<InputStream> toUpload;
   private Function<UserSession, InputStream> toLazyUpload;
+  private ByteBuffer uploadBuffer;
+  private Path uploadFile;
 
   private List<Function<UserSession, Entry<String, List<String>>>> headers = new ArrayList<>();
   private List<Function<UserSession, Entry<String, List<String>>>> queryParams = new ArrayList<>();
@@ -57,6 +68,11 @@ public class HttpDslImpl extends AbstractSessionDslItem implements HttpDsl, Http
   private Function<UserSession, User> oauthUserAccessor;
   private Supplier<User> userSupplier;
   private RetryInfo retryInfo;
+  private BodyPolicy bodyPolicy = BodyPolicy.KEEP;
+  private int bodyPrefixSize;
+  private boolean lazyDecompression;
+  private boolean saveToDeclared;
+  private String clientProfile = HttpClientProfile.DEFAULT;
   private HttpResponse response;
 
   /**
@@ -115,7 +131,7 @@ public class HttpDslImpl extends AbstractSessionDslItem implements HttpDsl, Http
   @Override
   public HttpConfigDsl endpoint(final String endpoint) {
     Validate.notEmpty(endpoint, "endpoint must not be empty.");
-    this.endpoint = r -> endpoint;
+    this.endpoint = new StaticValue<>(endpoint);
     return this;
   }
 
@@ -136,14 +152,14 @@ public class HttpDslImpl extends AbstractSessionDslItem implements HttpDsl, Http
   @Override
   public HttpConfigDsl header(String name, List<String> values) {
     Validate.notEmpty(name, "Header name must not be null.");
-    this.headers.add(e -> Map.entry(name, values));
+    this.headers.add(new StaticValue<>(Map.entry(name, values)));
     return this;
   }
 
   @Override
   public HttpConfigDsl header(String name, String value) {
     Validate.notEmpty(name, "Header name must not be null.");
-    this.headers.add(e -> Map.entry(name, Collections.singletonList(value)));
+    this.headers.add(new StaticValue<>(Map.entry(name, Collections.singletonList(value))));
     return this;
   }
 
@@ -157,14 +173,15 @@ public class HttpDslImpl extends AbstractSessionDslItem implements HttpDsl, Http
   @Override
   public HttpConfigDsl formParam(String paramName, List<String> values) {
     Validate.notEmpty("Parameter name must not be empty.", paramName);
-    this.formParams.add(e -> Map.entry(paramName, values));
+    this.formParams.add(new StaticValue<>(Map.entry(paramName, values)));
     return this;
   }
 
   @Override
   public HttpConfigDsl formParam(String paramName, String value) {
     Validate.notEmpty("Parameter name must not be empty.", paramName);
-    this.formParams.add(e -> Map.entry(paramName, Collections.singletonList(value)));
+    this.formParams.add(
+        new StaticValue<>(Map.entry(paramName, Collections.singletonList(value))));
     return this;
   }
 
@@ -209,14 +226,15 @@ public class HttpDslImpl extends AbstractSessionDslItem implements HttpDsl, Http
   @Override
   public HttpConfigDsl queryParam(String queryParamName, List<String> values) {
     Validate.notEmpty(queryParamName, "Query param name must not be null.");
-    this.queryParams.add(e -> Map.entry(queryParamName, values));
+    this.queryParams.add(new StaticValue<>(Map.entry(queryParamName, values)));
     return this;
   }
 
   @Override
   public HttpConfigDsl queryParam(String queryParamName, String value) {
     Validate.notEmpty(queryParamName, "Query param name must not be null.");
-    this.queryParams.add(e -> Map.entry(queryParamName, Collections.singletonList(value)));
+    this.queryParams.add(
+        new StaticValue<>(Map.entry(queryParamName, Collections.singletonList(value))));
     return this;
   }
 
@@ -235,6 +253,21 @@ public class HttpDslImpl extends AbstractSessionDslItem implements HttpDsl, Http
     return this;
   }
 
+  @Override
+  public HttpConfigDsl upload(final ByteBuffer content) {
+    Validate.notNull(content, "Content must not be null.");
+    this.uploadBuffer = content.asReadOnlyBuffer();
+    return this;
+  }
+
+  @Override
+  public HttpConfigDsl upload(final Path file) {
+    Validate.notNull(file, "File must not be null.");
+    Validate.isTrue(Files.isReadable(file), "File is not readable: " + file);
+    this.uploadFile = file;
+    return this;
+  }
+
   @Override
   public HttpConfigDsl payload(final Supplier<InputStream> inputStreamSupplier) {
     return upload(inputStreamSupplier);
@@ -249,7 +282,44 @@ public class HttpDslImpl extends AbstractSessionDslItem implements HttpDsl, Http
 
   @Override
   public HttpConfigDsl payload(final String stringPayload) {
-    return upload(() -> new ByteArrayInputStream(stringPayload.getBytes()));
+    return upload(ByteBuffer.wrap(stringPayload.getBytes()));
+  }
+
+  @Override
+  public HttpConfigDsl body(final BodyPolicy bodyPolicy) {
+    Validate.notNull(bodyPolicy, "Body policy must not be null.");
+    this.bodyPolicy = bodyPolicy;
+    return this;
+  }
+
+  @Override
+  public HttpConfigDsl bodyPrefix(final int maxBytes) {
+    Validate.isTrue(maxBytes > 0, "Body prefix size must be bigger than zero.");
+    this.bodyPolicy = BodyPolicy.PREFIX;
+    this.bodyPrefixSize = maxBytes;
+    return this;
+  }
+
+  @Override
+  public HttpConfigDsl compression(final Compression... codings) {
+    Validate.notEmpty(codings, "Compression codings must not be empty.");
+    Validate.noNullElements(codings, "Compression coding must not be null.");
+    return header(HttpHeaderNames.ACCEPT_ENCODING.toString(), Stream.of(codings)
+        .map(Compression::getToken)
+        .collect(Collectors.joining(", ")));
+  }
+
+  @Override
+  public HttpConfigDsl decompressLazily() {
+    this.lazyDecompression = true;
+    return this;
+  }
+
+  @Override
+  public HttpConfigDsl client(final String profile) {
+    Validate.notEmpty(profile, "Client profile must not be empty.");
+    this.clientProfile = profile;
+    return this;
   }
 
   @Override
@@ -266,6 +336,7 @@ public class HttpDslImpl extends AbstractSessionDslItem implements HttpDsl, Http
     Validate.notNull(scope, "scope must not be null.");
     setSessionKey(sessionKey);
     setSessionScope(scope);
+    saveToDeclared = true;
     return this;
   }
 
@@ -274,6 +345,7 @@ public class HttpDslImpl extends AbstractSessionDslItem implements HttpDsl, Http
     Validate.notNull(sessionKey, "Session key must not be null.");
     setSessionKey(sessionKey);
     setSessionScope(Scope.USER);
+    saveToDeclared = true;
     return this;
   }
 
@@ -304,6 +376,16 @@ public class HttpDslImpl extends AbstractSessionDslItem implements HttpDsl, Http
     return toLazyUpload;
   }
 
+  @Override
+  public ByteBuffer getUploadBuffer() {
+    return uploadBuffer;
+  }
+
+  @Override
+  public Path getUploadFile() {
+    return uploadFile;
+  }
+
 
   @Override
   public Method getMethod() {
@@ -370,6 +452,26 @@ public class HttpDslImpl extends AbstractSessionDslItem implements HttpDsl, Http
     return retryInfo;
   }
 
+  @Override
+  public BodyPolicy getBodyPolicy() {
+    return bodyPolicy;
+  }
+
+  @Override
+  public int getBodyPrefixSize() {
+    return bodyPrefixSize;
+  }
+
+  @Override
+  public boolean isLazyDecompression() {
+    return lazyDecompression;
+  }
+
+  @Override
+  public String getClientProfile() {
+    return clientProfile;
+  }
+
   @Override
   public DslMaterializer materializer() {
     return new HttpDslMaterializer(this);
@@ -377,18 +479,19 @@ public class HttpDslImpl extends AbstractSessionDslItem implements HttpDsl, Http
 
   @Override
   public UserSession handleResult(UserSession userSession, HttpResponse response) {
-    var httpResultData = new HttpDslData();
-    httpResultData.setEndpoint(getEndpoint().apply(userSession));
-    httpResultData.setResponse(response);
+    // Results are stored into the session only if they are to be read by later steps.
+    if (saveToDeclared) {
+      var httpResultData = new HttpDslData();
+      httpResultData.setEndpoint(getEndpoint(), userSession);
+      httpResultData.setResponse(response);
+      handleLocalScope(userSession, httpResultData);
+    }
 
     final ContainerScopeDsl parentResultingDsl = findContainerScope();
     if (parentResultingDsl == null) {
-      handleLocalScope(userSession, httpResultData);
       return userSession;
     }
 
-    handleLocalScope(userSession, httpResultData);
-
     return collectorsSessionKey != null ? parentResultingDsl.collect(userSession, response,
         getCollectorsSessionKey(),
         getCollectorsScope()) : userSession;
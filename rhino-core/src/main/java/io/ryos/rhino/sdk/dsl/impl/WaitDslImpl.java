@@ -17,6 +17,7 @@
 package io.ryos.rhino.sdk.dsl.impl;
 
 import io.ryos.rhino.sdk.dsl.MaterializableDslItem;
+import io.ryos.rhino.sdk.dsl.ThinkTime;
 import io.ryos.rhino.sdk.dsl.WaitDsl;
 import io.ryos.rhino.sdk.dsl.mat.DslMaterializer;
 import io.ryos.rhino.sdk.dsl.mat.WaitDslMaterializer;
@@ -27,7 +28,7 @@ import java.util.Objects;
 import org.apache.commons.lang3.Validate;
 
 /**
- * Wait spec implementation that halts the execution for {@link Duration} given.
+ * Wait spec implementation that halts the execution for a {@link ThinkTime}.
  * <p>
  *
  * @author Erhan Bagdemir
@@ -35,21 +36,29 @@ import org.apache.commons.lang3.Validate;
 public class WaitDslImpl extends AbstractMeasurableDsl implements WaitDsl {
 
   private static final String BLANK = "";
-  private final Duration waitTime;
+  private final ThinkTime thinkTime;
 
   public WaitDslImpl(final Duration duration) {
     this(BLANK, Validate.notNull(duration, "Duration must not be null."));
   }
 
   public WaitDslImpl(final String name, final Duration duration) {
+    this(name, ThinkTime.constant(Validate.notNull(duration, "Duration must not be null.")));
+  }
+
+  public WaitDslImpl(final ThinkTime thinkTime) {
+    this(BLANK, thinkTime);
+  }
+
+  public WaitDslImpl(final String name, final ThinkTime thinkTime) {
     super(Objects.requireNonNull(name));
 
-    this.waitTime = Validate.notNull(duration, "Duration must not be null.");
+    this.thinkTime = Validate.notNull(thinkTime, "Think time must not be null.");
   }
 
   @Override
-  public Duration getWaitTime() {
-    return waitTime;
+  public ThinkTime getThinkTime() {
+    return thinkTime;
   }
 
   @Override
@@ -65,7 +65,7 @@ public class CollectingHttpResultHandler implements ResultHandler<HttpResponse>
         getSessionKey(currentSpec.getParent()) : "";
     var currentKey = getSessionKey(currentSpec);
     var httpSpecData = new HttpDslData();
-    httpSpecData.setEndpoint(((HttpDsl) currentSpec).getEndpoint().apply(userSession));
+    httpSpecData.setEndpoint(((HttpDsl) currentSpec).getEndpoint(), userSession);
 
     if (!currentSpec.hasParent()) {
       if (isInUserSession()) {
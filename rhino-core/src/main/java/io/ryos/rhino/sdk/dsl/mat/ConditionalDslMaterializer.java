@@ -17,16 +17,17 @@
 package io.ryos.rhino.sdk.dsl.mat;
 
 import io.ryos.rhino.sdk.data.UserSession;
-import io.ryos.rhino.sdk.dsl.MaterializableDslItem;
 import io.ryos.rhino.sdk.dsl.impl.ConditionalDslWrapper;
 import reactor.core.publisher.Mono;
 
 public class ConditionalDslMaterializer implements DslMaterializer {
 
   private final ConditionalDslWrapper wrapper;
+  private final DslMaterializer wrappedMaterializer;
 
   public ConditionalDslMaterializer(ConditionalDslWrapper wrapper) {
     this.wrapper = wrapper;
+    this.wrappedMaterializer = PlanCompiler.compile(wrapper.getWrappedDslItem());
   }
 
   @Override
@@ -34,9 +35,6 @@ public class ConditionalDslMaterializer implements DslMaterializer {
 
     return Mono.just(userSession)
         .filter(wrapper.getPredicate())
-        .flatMap(s -> {
-          final MaterializableDslItem spec = wrapper.getWrappedDslItem();
-          return spec.materializer().materialize(userSession);
-        });
+        .flatMap(s -> wrappedMaterializer.materialize(userSession));
   }
 }
@@ -18,44 +18,43 @@ package io.ryos.rhino.sdk.dsl.mat;
 
 import io.ryos.rhino.sdk.data.UserSession;
 import io.ryos.rhino.sdk.dsl.DslMethod;
-import io.ryos.rhino.sdk.dsl.MaterializableDslItem;
-import io.ryos.rhino.sdk.dsl.impl.ConditionalDslWrapper;
 import io.ryos.rhino.sdk.exceptions.NoSpecDefinedException;
 import io.ryos.rhino.sdk.exceptions.TerminateSimulationException;
+import java.util.List;
 import reactor.core.publisher.Mono;
 
+/**
+ * Materializer of a {@link DslMethod} which runs the compiled steps of the method one after
+ * another. Use {@link PlanCompiler} to create one.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ */
 public class DslMethodMaterializer implements DslMaterializer {
 
   private final DslMethod dslMethod;
+  private final List<DslMaterializer> steps;
 
   public DslMethodMaterializer(DslMethod dslMethod) {
+    this(dslMethod, PlanCompiler.compileSteps(dslMethod));
+  }
+
+  DslMethodMaterializer(DslMethod dslMethod, List<DslMaterializer> steps) {
     this.dslMethod = dslMethod;
+    this.steps = steps;
   }
 
   @Override
   public Mono<UserSession> materialize(final UserSession session) {
-    var childrenIterator = dslMethod.getChildren().iterator();
-    if (!childrenIterator.hasNext()) {
+    var stepIterator = steps.iterator();
+    if (!stepIterator.hasNext()) {
       throw new NoSpecDefinedException(dslMethod.getName());
     }
 
-    var nextChildDsl = childrenIterator.next();
-    nextChildDsl.setParent(dslMethod);
-    var materializer = nextChildDsl.materializer();
-    var acc = materializer.materialize(session);
-
-    while (childrenIterator.hasNext()) {
-      var next = childrenIterator.next();
-      next.setParent(dslMethod);
-      acc = acc.flatMap(s -> {
-        if (isConditionalSpec(next)) {
-          var predicate = ((ConditionalDslWrapper) next).getPredicate();
-          if (!predicate.test(s)) {
-            return Mono.just(s);
-          }
-        }
-        return next.materializer().materialize(session);
-      });
+    var acc = stepIterator.next().materialize(session);
+    while (stepIterator.hasNext()) {
+      var next = stepIterator.next();
+      acc = acc.flatMap(s -> next.materialize(session));
     }
 
     return acc.onErrorResume(exception -> {
@@ -65,8 +64,4 @@ public class DslMethodMaterializer implements DslMaterializer {
       return Mono.empty();
     });
   }
-
-  private boolean isConditionalSpec(MaterializableDslItem next) {
-    return next instanceof ConditionalDslWrapper;
-  }
 }
@@ -18,6 +18,7 @@ package io.ryos.rhino.sdk.dsl.mat;
 
 import io.ryos.rhino.sdk.data.UserSession;
 import io.ryos.rhino.sdk.dsl.ExpressionDsl;
+import io.ryos.rhino.sdk.runners.BlockingExecution;
 import reactor.core.publisher.Mono;
 
 public class ExpressionDslMaterializer implements DslMaterializer {
@@ -31,9 +32,9 @@ public class ExpressionDslMaterializer implements DslMaterializer {
   @Override
   public Mono<UserSession> materialize(UserSession userSession) {
     return Mono.just(userSession)
-        .flatMap(session -> Mono.fromCallable(() -> {
+        .flatMap(session -> BlockingExecution.INSTANCE.offload(Mono.fromCallable(() -> {
           dslItem.getExpression().accept(session);
           return session;
-        }));
+        })));
   }
 }
@@ -17,19 +17,28 @@
 package io.ryos.rhino.sdk.dsl.mat;
 
 import io.netty.handler.codec.http.HttpHeaders;
+import io.ryos.rhino.sdk.data.UserSession;
 import io.ryos.rhino.sdk.dsl.data.HttpResponse;
 import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.function.Function;
 
 public class HttpDslData {
 
   private String endpoint;
+  private Function<UserSession, String> endpointFunction;
+  private UserSession userSession;
   private HttpResponse response;
 
   public String getEndpoint() {
+    if (endpoint == null && endpointFunction != null) {
+      endpoint = endpointFunction.apply(userSession);
+      endpointFunction = null;
+      userSession = null;
+    }
     return endpoint;
   }
 
@@ -37,12 +46,26 @@ public class HttpDslData {
     this.endpoint = endpoint;
   }
 
+  /**
+   * Sets the endpoint function, which is applied on first access of the endpoint only.
+   * <p>
+   *
+   * @param endpointFunction Endpoint function of the DSL.
+   * @param userSession      Session of the request.
+   */
+  public void setEndpoint(Function<UserSession, String> endpointFunction,
+      UserSession userSession) {
+    this.endpoint = null;
+    this.endpointFunction = endpointFunction;
+    this.userSession = userSession;
+  }
+
   public HttpResponse getResponse() {
     return response;
   }
 
   public Map<String, String> getHeaders() {
-    HttpHeaders headers = getResponse().getResponse().getHeaders();
+    HttpHeaders headers = getResponse().getHeaders();
     Map<String, String> headerMap = new HashMap<>();
     for (final Entry<String, String> entry : headers) {
       headerMap.put(entry.getKey(), entry.getValue());
@@ -16,24 +16,18 @@
 
 package io.ryos.rhino.sdk.dsl.mat;
 
-import static org.asynchttpclient.Dsl.delete;
-import static org.asynchttpclient.Dsl.get;
-import static org.asynchttpclient.Dsl.head;
-import static org.asynchttpclient.Dsl.options;
-import static org.asynchttpclient.Dsl.post;
-import static org.asynchttpclient.Dsl.put;
-
 import io.ryos.rhino.sdk.HttpClient;
 import io.ryos.rhino.sdk.SimulationConfig;
 import io.ryos.rhino.sdk.data.UserSession;
 import io.ryos.rhino.sdk.dsl.HttpDsl;
+import io.ryos.rhino.sdk.dsl.HttpDsl.Method;
 import io.ryos.rhino.sdk.dsl.data.HttpResponse;
 import io.ryos.rhino.sdk.dsl.data.HttpSpecAsyncHandler;
 import io.ryos.rhino.sdk.dsl.impl.HttpDslImpl.RetryInfo;
 import io.ryos.rhino.sdk.dsl.utils.SessionUtils;
 import io.ryos.rhino.sdk.exceptions.RetryFailedException;
 import io.ryos.rhino.sdk.exceptions.RetryableOperationException;
-import io.ryos.rhino.sdk.runners.Rampup;
+import io.ryos.rhino.sdk.reporting.IntendedStart;
 import io.ryos.rhino.sdk.users.BasicAuthRequestStrategy;
 import io.ryos.rhino.sdk.users.OAuth2RequestStrategy;
 import io.ryos.rhino.sdk.users.data.User;
@@ -41,11 +35,9 @@ import io.ryos.rhino.sdk.users.oauth.OAuthUserImpl;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Supplier;
-import org.apache.commons.lang3.NotImplementedException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.asynchttpclient.RequestBuilder;
-import org.asynchttpclient.Response;
 import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -61,30 +53,33 @@ import reactor.core.publisher.Mono;
 public class HttpDslMaterializer implements DslMaterializer {
 
   private static final Logger LOG = LogManager.getLogger(HttpDslMaterializer.class);
-  private static final Rampup rampUp = Rampup.getInstance();
   private final HttpDsl dslItem;
+  private final HttpRequestTemplate requestTemplate;
 
   public HttpDslMaterializer(HttpDsl dslItem) {
     this.dslItem = dslItem;
+    this.requestTemplate = HttpRequestTemplate.compile(dslItem);
   }
 
   public Mono<UserSession> materialize(final UserSession userSession) {
+    // The intended start is taken when the request is issued, so the time the request waits for
+    // the throttle or a pooled connection is part of its response time.
+    return Mono.subscriberContext()
+        .flatMap(context -> materialize(userSession, IntendedStart.of(context)));
+  }
 
-    var httpSpecAsyncHandler = new HttpSpecAsyncHandler(userSession, dslItem);
+  private Mono<UserSession> materialize(final UserSession userSession, final long intendedStart) {
 
-    var sessionMono = Mono.just(userSession);
-    if (SimulationConfig.isRampupDefined()) {
-      sessionMono = rampUp.rampUp(userSession);
-    }
+    var httpSpecAsyncHandler = new HttpSpecAsyncHandler(userSession, dslItem, intendedStart);
 
-    var responseMono = sessionMono.flatMap(session -> Mono
-        .fromFuture(HttpClient.INSTANCE.getClient().executeRequest(buildHttpRequest(
-            dslItem, session), httpSpecAsyncHandler).toCompletableFuture()));
+    var responseMono = Mono.just(userSession).flatMap(session -> Mono
+        .fromFuture(HttpClient.INSTANCE.execute(dslItem.getClientProfile(), session,
+            buildHttpRequest(dslItem, session), httpSpecAsyncHandler)));
 
     RetryInfo retryInfo = dslItem.getRetryInfo();
     var retriableMono = responseMono;
     if (retryInfo != null) {
-      retriableMono = responseMono.map(HttpResponse::new)
+      retriableMono = responseMono
           .map(hr -> isRequestRetriable(retryInfo, hr))
           .retryWhen(companion -> companion.zipWith(
               Flux.range(1, retryInfo.getNumOfRetries() + 1), (error, index) -> {
@@ -98,7 +93,7 @@ public class HttpDslMaterializer implements DslMaterializer {
     }
 
     return retriableMono
-        .map(result -> dslItem.handleResult(userSession, new HttpResponse(result)))
+        .map(result -> dslItem.handleResult(userSession, result))
         .onErrorResume(handleOnErrorResume(dslItem, httpSpecAsyncHandler))
         .doOnError(t -> LOG.error("Http Client Error", t));
   }
@@ -115,66 +110,32 @@ public class HttpDslMaterializer implements DslMaterializer {
     };
   }
 
-  private Response isRequestRetriable(final RetryInfo retryInfo, final HttpResponse httpResponse) {
+  private HttpResponse isRequestRetriable(final RetryInfo retryInfo,
+      final HttpResponse httpResponse) {
     if (retryInfo.getPredicate().test(httpResponse)) {
       throw new RetryableOperationException(String.valueOf(httpResponse.getStatusCode()));
     }
-    return httpResponse.getResponse();
+    return httpResponse;
   }
 
   private RequestBuilder buildHttpRequest(HttpDsl httpSpec, UserSession userSession) {
-    var endpoint = httpSpec.getEndpoint().apply(userSession);
-
-    RequestBuilder builder = null;
-    switch (httpSpec.getMethod()) {
-      case GET:
-        builder = get(endpoint);
-        break;
-      case HEAD:
-        builder = head(endpoint);
-        break;
-      case OPTIONS:
-        builder = options(endpoint);
-        break;
-      case DELETE:
-        builder = delete(endpoint);
-        break;
-      case PUT:
-        builder = put(endpoint);
-        if (httpSpec.getUploadContent() != null || httpSpec.getLazyStringPayload() != null) {
-          builder.setBody(Optional.ofNullable(httpSpec.getUploadContent()).map(Supplier::get)
-              .orElseGet(() -> httpSpec.getLazyStringPayload().apply(userSession)));
-        }
-        break;
-      case POST:
-        builder = post(endpoint);
-        if (httpSpec.getUploadContent() != null || httpSpec.getLazyStringPayload() != null) {
-          builder.setBody(Optional.ofNullable(httpSpec.getUploadContent()).map(Supplier::get)
-              .orElseGet(() -> httpSpec.getLazyStringPayload().apply(userSession)));
-        }
-
-        break;
-      // case X : rest of methods, we support...
-      default:
-        throw new NotImplementedException("Not implemented: " + httpSpec.getMethod());
-    }
-
-    for (var f : httpSpec.getHeaders()) {
-      var headerEntry = f.apply(userSession);
-      builder = builder.addHeader(headerEntry.getKey(), headerEntry.getValue());
-    }
-
-    for (var f : httpSpec.getQueryParameters()) {
-      var paramEntry = f.apply(userSession);
-      builder = builder
-          .addQueryParam(paramEntry.getKey(), String.join(",", paramEntry.getValue()));
+    var builder = requestTemplate.newRequest(userSession);
+
+    var method = httpSpec.getMethod();
+    if (method == Method.PUT || method == Method.POST) {
+      if (httpSpec.getUploadBuffer() != null) {
+        // Every request reads the shared content through a view of its own.
+        builder.setBody(httpSpec.getUploadBuffer().duplicate());
+      } else if (httpSpec.getUploadFile() != null) {
+        builder.setBody(requestTemplate.uploadFile());
+      } else if (httpSpec.getUploadContent() != null
+          || httpSpec.getLazyStringPayload() != null) {
+        builder.setBody(Optional.ofNullable(httpSpec.getUploadContent()).map(Supplier::get)
+            .orElseGet(() -> httpSpec.getLazyStringPayload().apply(userSession)));
+      }
     }
 
-    for (var f : httpSpec.getFormParameters()) {
-      var paramEntry = f.apply(userSession);
-      builder = builder
-          .addFormParam(paramEntry.getKey(), String.join(",", paramEntry.getValue()));
-    }
+    requestTemplate.addFormParams(builder, userSession);
 
     if (httpSpec.isAuth()) {
       var specOwner = SessionUtils.getEffectiveHttpUser(httpSpec, userSession);
@@ -182,9 +143,8 @@ public class HttpDslMaterializer implements DslMaterializer {
     }
 
     if (SimulationConfig.debugHttp()) {
-      LOG.info("[debug.http=true][url={}][headers={}]",
-          builder.build().getUrl(),
-          builder.build().getHeaders());
+      var request = builder.build();
+      LOG.info("[debug.http=true][url={}][headers={}]", request.getUrl(), request.getHeaders());
     }
     return builder;
   }
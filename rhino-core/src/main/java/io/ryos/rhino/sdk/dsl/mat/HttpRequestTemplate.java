@@ -0,0 +1,219 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.dsl.mat;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.ryos.rhino.sdk.data.UserSession;
+import io.ryos.rhino.sdk.dsl.HttpDsl;
+import io.ryos.rhino.sdk.dsl.HttpDsl.Method;
+import io.ryos.rhino.sdk.dsl.data.StaticValue;
+import io.ryos.rhino.sdk.exceptions.RhinoIOException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.function.Function;
+import org.apache.commons.lang3.NotImplementedException;
+import org.asynchttpclient.Param;
+import org.asynchttpclient.RequestBuilder;
+import org.asynchttpclient.uri.Uri;
+import org.asynchttpclient.util.UriEncoder;
+
+/**
+ * Request template is the part of the requests of a {@link HttpDsl} which is the same for every
+ * session. The static endpoint is parsed, static query parameters are encoded into it, and the
+ * static headers and form parameters are prepared once when the template is compiled. The upload
+ * file is mapped into memory once as well. Creating a request fills in the functions of the session
+ * only, which are applied after the static parts in the order of their declaration.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+final class HttpRequestTemplate {
+
+  private final Method method;
+  private final Function<UserSession, String> endpoint;
+  private final Uri staticUri;
+  private final HttpHeaders staticHeaders;
+  private final List<Param> staticQueryParams;
+  private final List<Param> staticFormParams;
+  private final List<Function<UserSession, Entry<String, List<String>>>> headers;
+  private final List<Function<UserSession, Entry<String, List<String>>>> queryParams;
+  private final List<Function<UserSession, Entry<String, List<String>>>> formParams;
+  private final ByteBuffer uploadFile;
+
+  private HttpRequestTemplate(final HttpDsl httpDsl) {
+    this.method = httpDsl.getMethod();
+    this.endpoint = httpDsl.getEndpoint();
+
+    this.staticHeaders = new DefaultHttpHeaders(false);
+    staticEntries(httpDsl.getHeaders())
+        .forEach(entry -> staticHeaders.add(entry.getKey(), entry.getValue()));
+    this.headers = dynamicEntries(httpDsl.getHeaders());
+    this.staticFormParams = toParams(staticEntries(httpDsl.getFormParameters()));
+    this.formParams = dynamicEntries(httpDsl.getFormParameters());
+    this.queryParams = dynamicEntries(httpDsl.getQueryParameters());
+    this.uploadFile = httpDsl.getUploadFile() != null ? map(httpDsl.getUploadFile()) : null;
+
+    var queryParamsOfTemplate = toParams(staticEntries(httpDsl.getQueryParameters()));
+    if (endpoint instanceof StaticValue) {
+      var uri = Uri.create(((StaticValue<String>) endpoint).getValue());
+      this.staticUri = queryParamsOfTemplate.isEmpty() ? uri
+          : UriEncoder.uriEncoder(false).encode(uri, queryParamsOfTemplate);
+      this.staticQueryParams = Collections.emptyList();
+    } else {
+      this.staticUri = null;
+      this.staticQueryParams = queryParamsOfTemplate;
+    }
+  }
+
+  /**
+   * Compiles the template of the DSL.
+   * <p>
+   *
+   * @param httpDsl {@link HttpDsl} instance.
+   * @return The template of the requests of the DSL.
+   */
+  static HttpRequestTemplate compile(final HttpDsl httpDsl) {
+    return new HttpRequestTemplate(httpDsl);
+  }
+
+  /**
+   * Creates a new request of the session. The body and the authorization are not part of the
+   * template and are to be added by the caller.
+   * <p>
+   *
+   * @param userSession Session of the request.
+   * @return {@link RequestBuilder} of the request.
+   */
+  RequestBuilder newRequest(final UserSession userSession) {
+    var builder = new RequestBuilder(methodName());
+    if (staticUri != null) {
+      builder.setUri(staticUri);
+    } else {
+      builder.setUrl(endpoint.apply(userSession));
+    }
+
+    if (!staticHeaders.isEmpty()) {
+      builder.setHeaders(staticHeaders.copy());
+    }
+    for (var f : headers) {
+      var headerEntry = f.apply(userSession);
+      builder.addHeader(headerEntry.getKey(), headerEntry.getValue());
+    }
+
+    if (!staticQueryParams.isEmpty()) {
+      // The builder adds later parameters to the list it is given.
+      builder.addQueryParams(new ArrayList<>(staticQueryParams));
+    }
+    for (var f : queryParams) {
+      var paramEntry = f.apply(userSession);
+      builder.addQueryParam(paramEntry.getKey(), String.join(",", paramEntry.getValue()));
+    }
+    return builder;
+  }
+
+  /**
+   * Adds the form parameters of the session to the request. Adding form parameters resets the
+   * body of the request, so they are added after the body.
+   * <p>
+   *
+   * @param builder     {@link RequestBuilder} of the request.
+   * @param userSession Session of the request.
+   */
+  void addFormParams(final RequestBuilder builder, final UserSession userSession) {
+    for (var param : staticFormParams) {
+      builder.addFormParam(param.getName(), param.getValue());
+    }
+    for (var f : formParams) {
+      var paramEntry = f.apply(userSession);
+      builder.addFormParam(paramEntry.getKey(), String.join(",", paramEntry.getValue()));
+    }
+  }
+
+  /**
+   * Returns the content of the upload file. Every request reads the mapping of the file through a
+   * view of its own.
+   * <p>
+   *
+   * @return Content of the upload file, or {@code null} if the DSL has no upload file.
+   */
+  ByteBuffer uploadFile() {
+    return uploadFile != null ? uploadFile.duplicate() : null;
+  }
+
+  private String methodName() {
+    switch (method) {
+      case GET:
+      case HEAD:
+      case OPTIONS:
+      case DELETE:
+      case PUT:
+      case POST:
+        return method.name();
+      // case X : rest of methods, we support...
+      default:
+        throw new NotImplementedException("Not implemented: " + method);
+    }
+  }
+
+  private static List<Entry<String, List<String>>> staticEntries(
+      final List<Function<UserSession, Entry<String, List<String>>>> functions) {
+    var entries = new ArrayList<Entry<String, List<String>>>();
+    for (var f : functions) {
+      if (f instanceof StaticValue) {
+        entries.add(((StaticValue<Entry<String, List<String>>>) f).getValue());
+      }
+    }
+    return entries;
+  }
+
+  private static List<Function<UserSession, Entry<String, List<String>>>> dynamicEntries(
+      final List<Function<UserSession, Entry<String, List<String>>>> functions) {
+    var dynamic = new ArrayList<Function<UserSession, Entry<String, List<String>>>>();
+    for (var f : functions) {
+      if (!(f instanceof StaticValue)) {
+        dynamic.add(f);
+      }
+    }
+    return dynamic;
+  }
+
+  private static ByteBuffer map(final Path path) {
+    try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return channel.map(MapMode.READ_ONLY, 0, channel.size());
+    } catch (IOException e) {
+      throw new RhinoIOException("Cannot read the upload file: " + path, e);
+    }
+  }
+
+  private static List<Param> toParams(final List<Entry<String, List<String>>> entries) {
+    var params = new ArrayList<Param>(entries.size());
+    for (var entry : entries) {
+      params.add(new Param(entry.getKey(), String.join(",", entry.getValue())));
+    }
+    return Collections.unmodifiableList(params);
+  }
+}
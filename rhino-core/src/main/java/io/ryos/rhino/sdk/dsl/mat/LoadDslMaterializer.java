@@ -22,20 +22,20 @@ import reactor.core.publisher.Mono;
 
 public class LoadDslMaterializer implements DslMaterializer {
 
-  private final DslBuilder dslItem;
+  private final DslMaterializer dslMethodMaterializer;
 
   public LoadDslMaterializer(DslBuilder dslItem) {
-    this.dslItem = dslItem;
-  }
-
-  @Override
-  public Mono<UserSession> materialize(final UserSession userSession) {
     String name = "na";
     if (dslItem.hasParent()) {
       name = dslItem.getParentName();
     }
     DslMethodImpl dslMethod = new DslMethodImpl(name, dslItem);
     dslMethod.setParent(dslItem.getParent());
-    return new DslMethodMaterializer(dslMethod).materialize(userSession);
+    this.dslMethodMaterializer = PlanCompiler.compile(dslMethod);
+  }
+
+  @Override
+  public Mono<UserSession> materialize(final UserSession userSession) {
+    return dslMethodMaterializer.materialize(userSession);
   }
 }
@@ -17,7 +17,6 @@
 package io.ryos.rhino.sdk.dsl.mat;
 
 import io.ryos.rhino.sdk.data.UserSession;
-import io.ryos.rhino.sdk.dsl.MaterializableDslItem;
 import io.ryos.rhino.sdk.dsl.impl.GaugeDslImpl;
 import io.ryos.rhino.sdk.reporting.MeasurementImpl;
 import reactor.core.publisher.Mono;
@@ -25,14 +24,18 @@ import reactor.core.publisher.Mono;
 public class MeasureDslMaterializer implements DslMaterializer {
 
   private final GaugeDslImpl gaugeDsl;
+  private final DslMaterializer measurableMaterializer;
 
   public MeasureDslMaterializer(GaugeDslImpl gauge) {
     this.gaugeDsl = gauge;
+
+    gauge.setName(gauge.getTag());
+    gauge.getMeasureableItem().setParent(gauge);
+    this.measurableMaterializer = PlanCompiler.compile(gauge.getMeasureableItem());
   }
 
   @Override
   public Mono<UserSession> materialize(UserSession userSession) {
-    gaugeDsl.setName(gaugeDsl.getTag());
     return Mono.just(userSession)
         .flatMap(session -> Mono.fromCallable(() -> {
           var measurement = new MeasurementImpl("", gaugeDsl.getTag(),
@@ -41,11 +44,7 @@ public class MeasureDslMaterializer implements DslMaterializer {
           userSession.register(measurement);
           return userSession;
         }))
-        .flatMap(session -> {
-          MaterializableDslItem materializableDslItem = gaugeDsl.getMeasureableItem();
-          materializableDslItem.setParent(gaugeDsl);
-          return materializableDslItem.materializer().materialize(session);
-        })
+        .flatMap(measurableMaterializer::materialize)
         .flatMap(session -> Mono.fromCallable(() -> {
           session.commit(" ");
           return session;
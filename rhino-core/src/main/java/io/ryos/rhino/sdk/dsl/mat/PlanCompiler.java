@@ -0,0 +1,93 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.dsl.mat;
+
+import static java.util.stream.Collectors.toUnmodifiableList;
+
+import io.ryos.rhino.sdk.dsl.DslMethod;
+import io.ryos.rhino.sdk.dsl.MaterializableDslItem;
+import io.ryos.rhino.sdk.dsl.impl.ConditionalDslWrapper;
+import java.util.List;
+import org.apache.commons.lang3.Validate;
+import reactor.core.publisher.Mono;
+
+/**
+ * Plan compiler turns the DSL tree of a {@link DslMethod} into its execution plan, a graph of
+ * {@link DslMaterializer} instances. The tree is walked once: parents are wired and materializers
+ * are created while compiling, so running an iteration neither allocates materializers nor
+ * mutates the DSL items, which are shared by all users. The plan is immutable and can be
+ * materialized by any number of users concurrently.
+ * <p>
+ *
+ * Items whose children are created at runtime, like the ones returned by the functions of a
+ * for-each DSL, are compiled every time they are created.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+public final class PlanCompiler {
+
+  private PlanCompiler() {
+  }
+
+  /**
+   * Compiles the DSL method into its execution plan.
+   * <p>
+   *
+   * @param dslMethod {@link DslMethod} to compile.
+   * @return The execution plan of the method.
+   */
+  public static DslMethodMaterializer compile(final DslMethod dslMethod) {
+    Validate.notNull(dslMethod, "DSL method must not be null.");
+    return new DslMethodMaterializer(dslMethod, compileSteps(dslMethod));
+  }
+
+  /**
+   * Compiles the DSL item into its execution plan.
+   * <p>
+   *
+   * @param dslItem {@link MaterializableDslItem} to compile.
+   * @return The execution plan of the item.
+   */
+  public static DslMaterializer compile(final MaterializableDslItem dslItem) {
+    Validate.notNull(dslItem, "DSL item must not be null.");
+    if (dslItem instanceof DslMethod) {
+      return compile((DslMethod) dslItem);
+    }
+    return dslItem.materializer();
+  }
+
+  static List<DslMaterializer> compileSteps(final DslMethod dslMethod) {
+    return dslMethod.getChildren()
+        .stream()
+        .map(child -> compileStep(dslMethod, child))
+        .collect(toUnmodifiableList());
+  }
+
+  private static DslMaterializer compileStep(final DslMethod dslMethod,
+      final MaterializableDslItem child) {
+    child.setParent(dslMethod);
+    if (child instanceof ConditionalDslWrapper) {
+      // The steps of a method continue with the next step if the condition does not hold.
+      var predicate = ((ConditionalDslWrapper) child).getPredicate();
+      var wrapped = compile(((ConditionalDslWrapper) child).getWrappedDslItem());
+      return session -> predicate.test(session) ? wrapped.materialize(session) : Mono.just(session);
+    }
+    return compile(child);
+  }
+}
@@ -8,19 +8,21 @@ import reactor.core.publisher.Mono;
 public class RunUntilDslMaterializer implements DslMaterializer {
 
   private final RunUntilDsl dslItem;
+  private final DslMaterializer specMaterializer;
 
   public RunUntilDslMaterializer(RunUntilDsl dslItem) {
     this.dslItem = dslItem;
+    this.specMaterializer = PlanCompiler.compile(dslItem.getSpec());
   }
 
   @Override
   public Mono<UserSession> materialize(UserSession userSession) {
     return Optional.ofNullable(dslItem.getPredicate())
         .map(p -> Mono.just(userSession)
-            .flatMap(session -> dslItem.getSpec().materializer().materialize(userSession))
+            .flatMap(session -> specMaterializer.materialize(userSession))
             .repeat(() -> !dslItem.getPredicate().test(userSession)).last())
         .orElseGet(() -> Mono.just(userSession)
-            .flatMap(session -> dslItem.getSpec().materializer().materialize(userSession))
+            .flatMap(session -> specMaterializer.materialize(userSession))
             .repeat(dslItem.getMaxRepeat() - 1)
             .last());
   }
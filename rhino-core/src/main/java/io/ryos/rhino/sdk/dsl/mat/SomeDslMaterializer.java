@@ -19,6 +19,7 @@ package io.ryos.rhino.sdk.dsl.mat;
 import io.ryos.rhino.sdk.data.UserSession;
 import io.ryos.rhino.sdk.dsl.SomeDsl;
 import io.ryos.rhino.sdk.reporting.MeasurementImpl;
+import io.ryos.rhino.sdk.runners.BlockingExecution;
 import reactor.core.publisher.Mono;
 
 /**
@@ -39,7 +40,7 @@ public class SomeDslMaterializer implements DslMaterializer {
   public Mono<UserSession> materialize(UserSession userSession) {
 
     return Mono.just(userSession)
-        .flatMap(session -> Mono.fromCallable(() -> {
+        .flatMap(session -> BlockingExecution.INSTANCE.offload(Mono.fromCallable(() -> {
           var userId = userSession.getUser().getId();
           var measurement = new MeasurementImpl(dslItem.getParentName(), userId);
           measurement.start();
@@ -49,6 +50,6 @@ public class SomeDslMaterializer implements DslMaterializer {
           measurement.measure(dslItem.getName(), status);
           measurement.finish();
           return session;
-        }));
+        })));
   }
 }
@@ -21,7 +21,8 @@ import io.ryos.rhino.sdk.dsl.WaitDsl;
 import reactor.core.publisher.Mono;
 
 /**
- * Wait spec to pause the load testing execution for duration provided.
+ * Wait spec to pause the load testing execution for duration provided. The wait does not block
+ * any thread, the session is resumed by the shared {@link WaitTimer}.
  * <p>
  *
  * @author Erhan Bagdemir
@@ -36,11 +37,6 @@ public class WaitDslMaterializer implements DslMaterializer {
 
   @Override
   public Mono<UserSession> materialize(UserSession userSession) {
-    return Mono
-        .just(userSession)
-        .flatMap(s -> Mono.fromCallable(() -> {
-          Thread.sleep(dslItem.getWaitTime().toMillis());
-          return s;
-        }));
+    return Mono.defer(() -> WaitTimer.INSTANCE.delay(dslItem.getWaitTime(), userSession));
   }
 }
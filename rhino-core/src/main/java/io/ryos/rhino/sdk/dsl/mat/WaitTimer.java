@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.dsl.mat;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timer;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Wait timer is a hashed wheel timer shared by all user sessions. A waiting session holds no
+ * thread but a single timeout entry in the wheel, so thousands of users in think time cost a few
+ * bytes each instead of a parked thread. The wheel ticks every millisecond; a timeout never fires
+ * before its deadline and at most one tick after it.
+ * <p>
+ * The wheel has a single thread which only expires timeouts. The waiting sessions are resumed on
+ * the parallel scheduler, so the steps following a wait never run on, and delay, the wheel.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+enum WaitTimer {
+
+  INSTANCE;
+
+  private static final String THREAD_NAME = "rhino-wait-timer";
+  private static final long TICK_MILLIS = 1L;
+  private static final int TICKS_PER_WHEEL = 1024;
+
+  private final Timer timer = new HashedWheelTimer(new DefaultThreadFactory(THREAD_NAME, true),
+      TICK_MILLIS, TimeUnit.MILLISECONDS, TICKS_PER_WHEEL);
+  private final Scheduler scheduler = Schedulers.parallel();
+
+  /**
+   * Returns a {@link Mono} which emits the value once the duration is over. Cancelling the
+   * subscription removes the timeout from the wheel.
+   * <p>
+   *
+   * @param duration Duration to wait.
+   * @param value    Value to emit after the wait.
+   * @param <T>      Type of the value.
+   * @return {@link Mono} of the value.
+   */
+  <T> Mono<T> delay(final Duration duration, final T value) {
+    if (duration.isZero() || duration.isNegative()) {
+      return Mono.just(value);
+    }
+    return Mono.create(sink -> {
+      var timeout = timer.newTimeout(t -> scheduler.schedule(() -> sink.success(value)),
+          duration.toNanos(), TimeUnit.NANOSECONDS);
+      sink.onCancel(timeout::cancel);
+    });
+  }
+}
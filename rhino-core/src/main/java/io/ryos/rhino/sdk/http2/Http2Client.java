@@ -0,0 +1,402 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.http2;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http2.DefaultHttp2DataFrame;
+import io.netty.handler.codec.http2.DefaultHttp2Headers;
+import io.netty.handler.codec.http2.DefaultHttp2HeadersFrame;
+import io.netty.handler.codec.http2.Http2MultiplexCodecBuilder;
+import io.netty.handler.codec.http2.Http2SecurityUtil;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import io.netty.handler.codec.http2.HttpConversionUtil;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolConfig.Protocol;
+import io.netty.handler.ssl.ApplicationProtocolConfig.SelectedListenerFailureBehavior;
+import io.netty.handler.ssl.ApplicationProtocolConfig.SelectorFailureBehavior;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
+import io.netty.handler.ssl.SupportedCipherSuiteFilter;
+import io.netty.resolver.NameResolver;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.Future;
+import io.ryos.rhino.sdk.HttpClientProfile;
+import io.ryos.rhino.sdk.reporting.ConnectionPoolStats;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import javax.net.ssl.SSLException;
+import org.apache.commons.lang3.Validate;
+import org.asynchttpclient.AsyncHandler;
+import org.asynchttpclient.Param;
+import org.asynchttpclient.Request;
+import org.asynchttpclient.uri.Uri;
+import org.asynchttpclient.util.HttpUtils;
+
+/**
+ * HTTP/2 client which sends the requests of a {@link HttpClientProfile} as streams multiplexed
+ * over a few connections per origin. HTTPS origins negotiate h2 with ALPN, and HTTP origins are
+ * spoken h2c to with prior knowledge, i.e without the upgrade request. Responses are passed to the
+ * {@link AsyncHandler} of the request, so the same handlers serve HTTP/1.1 and HTTP/2 requests.
+ * <p>
+ * Multipart bodies and body generators are not supported.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+public class Http2Client implements Closeable {
+
+  private static final String THREAD_NAME_PREFIX = "rhino-http2-";
+
+  private final HttpClientProfile profile;
+  private final NioEventLoopGroup eventLoopGroup;
+  private final Bootstrap bootstrap;
+  private final SslContext sslContext;
+  private final NameResolver<InetAddress> nameResolver;
+  private final ConcurrentMap<String, Http2ConnectionPool> pools = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new client.
+   * <p>
+   *
+   * @param profile {@link HttpClientProfile} of the client.
+   */
+  public Http2Client(final HttpClientProfile profile) {
+    this(profile, null);
+  }
+
+  /**
+   * Creates a new client which resolves the hosts with the name resolver.
+   * <p>
+   *
+   * @param profile      {@link HttpClientProfile} of the client.
+   * @param nameResolver {@link NameResolver} of the hosts, or null to resolve them on connect.
+   */
+  public Http2Client(final HttpClientProfile profile,
+      final NameResolver<InetAddress> nameResolver) {
+    Validate.notNull(profile, "Profile must not be null.");
+    this.profile = profile;
+    this.nameResolver = nameResolver;
+    this.eventLoopGroup = new NioEventLoopGroup(profile.getIoThreads(),
+        new DefaultThreadFactory(THREAD_NAME_PREFIX + profile.getName(), true));
+    this.bootstrap = new Bootstrap()
+        .group(eventLoopGroup)
+        .channel(NioSocketChannel.class)
+        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, profile.getConnectTimeout())
+        .option(ChannelOption.TCP_NODELAY, true)
+        .option(ChannelOption.SO_KEEPALIVE, true);
+    this.sslContext = createSslContext();
+  }
+
+  /**
+   * Sends the request on a stream of a pooled connection.
+   * <p>
+   *
+   * @param request Request to send.
+   * @param handler {@link AsyncHandler} which receives the response.
+   * @param <T>     Type of the result of the handler.
+   * @return Future of the result of the handler.
+   */
+  public <T> CompletableFuture<T> execute(final Request request, final AsyncHandler<T> handler) {
+    var result = new CompletableFuture<T>();
+    var uri = request.getUri();
+    var pool = pools.computeIfAbsent(originOf(uri),
+        origin -> new Http2ConnectionPool(() -> connect(uri),
+            profile.getMaxConnections(),
+            profile.getMaxConcurrentStreams(),
+            profile.getRequestTimeout(),
+            eventLoopGroup));
+
+    pool.acquire().whenComplete((connection, error) -> {
+      if (error != null) {
+        handler.onThrowable(error);
+        result.completeExceptionally(error);
+        return;
+      }
+
+      var streamHandler = new Http2StreamHandler<>(uri, handler, result,
+          profile.getRequestTimeout());
+      new Http2StreamChannelBootstrap(connection.getChannel())
+          .handler(streamHandler)
+          .open()
+          .addListener((Future<Http2StreamChannel> future) -> {
+            if (!future.isSuccess()) {
+              pool.release(connection);
+              streamHandler.failRequest(future.cause());
+              return;
+            }
+            var stream = future.getNow();
+            stream.closeFuture().addListener(closed -> pool.release(connection));
+            write(stream, request, handler);
+          });
+    });
+
+    return result;
+  }
+
+  /**
+   * Returns the current state of the connection pools of all origins.
+   * <p>
+   *
+   * @return Connection pool statistics of the profile.
+   */
+  public ConnectionPoolStats getStats() {
+    int active = 0;
+    int idle = 0;
+    int pending = 0;
+    for (var pool : pools.values()) {
+      active += pool.getActiveConnections();
+      idle += pool.getIdleConnections();
+      pending += pool.getPendingAcquires();
+    }
+    return new ConnectionPoolStats(profile.getName(), profile.getMaxConnections(), active, idle,
+        pending);
+  }
+
+  @Override
+  public void close() throws IOException {
+    pools.values().forEach(Http2ConnectionPool::close);
+    pools.clear();
+    eventLoopGroup.shutdownGracefully().syncUninterruptibly();
+  }
+
+  private CompletableFuture<Channel> connect(final Uri uri) {
+    var ready = new CompletableFuture<Channel>();
+    if (nameResolver == null) {
+      connect(uri, InetSocketAddress.createUnresolved(uri.getHost(), uri.getExplicitPort()),
+          ready);
+      return ready;
+    }
+    nameResolver.resolve(uri.getHost()).addListener((Future<InetAddress> resolved) -> {
+      if (resolved.isSuccess()) {
+        connect(uri, new InetSocketAddress(resolved.getNow(), uri.getExplicitPort()), ready);
+      } else {
+        ready.completeExceptionally(resolved.cause());
+      }
+    });
+    return ready;
+  }
+
+  private void connect(final Uri uri, final InetSocketAddress address,
+      final CompletableFuture<Channel> ready) {
+    var secure = uri.isSecured();
+    var port = uri.getExplicitPort();
+    ChannelFuture connectFuture = bootstrap.clone()
+        .handler(new ChannelInitializer<SocketChannel>() {
+          @Override
+          protected void initChannel(final SocketChannel channel) {
+            if (secure) {
+              var sslHandler = sslContext.newHandler(channel.alloc(), uri.getHost(), port);
+              sslHandler.setHandshakeTimeoutMillis(profile.getHandshakeTimeout());
+              sslHandler.handshakeFuture().addListener(handshake -> {
+                if (!handshake.isSuccess()) {
+                  ready.completeExceptionally(handshake.cause());
+                } else if (!ApplicationProtocolNames.HTTP_2.equals(
+                    sslHandler.applicationProtocol())) {
+                  ready.completeExceptionally(new IOException(
+                      "Server does not support HTTP/2: " + originOf(uri)));
+                  channel.close();
+                } else {
+                  ready.complete(channel);
+                }
+              });
+              channel.pipeline().addLast(sslHandler);
+            }
+            channel.pipeline().addLast(Http2MultiplexCodecBuilder
+                .forClient(NoopHandler.INSTANCE)
+                .initialSettings(Http2Settings.defaultSettings().pushEnabled(false))
+                .build());
+          }
+        })
+        .connect(address);
+
+    connectFuture.addListener((ChannelFuture future) -> {
+      if (!future.isSuccess()) {
+        ready.completeExceptionally(future.cause());
+      } else if (!secure) {
+        // The connect listener runs before the channel becomes active, i.e before the codec
+        // writes the connection preface, which must precede the first stream.
+        var channel = future.channel();
+        channel.eventLoop().execute(() -> ready.complete(channel));
+      }
+    });
+  }
+
+  private void write(final Http2StreamChannel stream, final Request request,
+      final AsyncHandler<?> handler) {
+    ByteBuf body;
+    try {
+      body = bodyOf(request);
+    } catch (IOException e) {
+      stream.pipeline().fireExceptionCaught(e);
+      return;
+    }
+
+    var uri = request.getUri();
+    var headers = new DefaultHttp2Headers()
+        .method(request.getMethod())
+        .scheme(uri.getScheme())
+        .authority(authorityOf(uri))
+        .path(uri.toRelativeUrl());
+    HttpConversionUtil.toHttp2Headers(request.getHeaders(), headers);
+    if (body != null) {
+      headers.setInt(HttpHeaderNames.CONTENT_LENGTH, body.readableBytes());
+      if (!request.getFormParams().isEmpty() && !headers.contains(HttpHeaderNames.CONTENT_TYPE)) {
+        headers.set(HttpHeaderNames.CONTENT_TYPE,
+            HttpHeaderValues.APPLICATION_X_WWW_FORM_URLENCODED);
+      }
+    }
+
+    var headersFrame = new DefaultHttp2HeadersFrame(headers, body == null);
+    // The handler starts measuring once the request is sent, as with the HTTP/1.1 clients.
+    handler.onRequestSend(null);
+    ChannelFuture written;
+    if (body == null) {
+      written = stream.writeAndFlush(headersFrame);
+    } else {
+      stream.write(headersFrame);
+      written = stream.writeAndFlush(new DefaultHttp2DataFrame(body, true));
+    }
+    written.addListener((ChannelFuture future) -> {
+      if (!future.isSuccess()) {
+        stream.pipeline().fireExceptionCaught(future.cause());
+      }
+    });
+  }
+
+  /**
+   * Returns the authority of the request, which omits the default port of the scheme as the Host
+   * header of the HTTP/1.1 clients does.
+   * <p>
+   */
+  static String authorityOf(final Uri uri) {
+    return HttpUtils.hostHeader(uri);
+  }
+
+  /**
+   * Returns the body of the request. Byte arrays, buffers and files are wrapped, not copied.
+   * <p>
+   */
+  private static ByteBuf bodyOf(final Request request) throws IOException {
+    if (request.getByteData() != null) {
+      return Unpooled.wrappedBuffer(request.getByteData());
+    }
+    if (request.getCompositeByteData() != null) {
+      return Unpooled.wrappedBuffer(request.getCompositeByteData().toArray(new byte[0][]));
+    }
+    if (request.getStringData() != null) {
+      var charset = request.getCharset() != null ? request.getCharset() : StandardCharsets.UTF_8;
+      return Unpooled.wrappedBuffer(request.getStringData().getBytes(charset));
+    }
+    if (request.getByteBufferData() != null) {
+      return Unpooled.wrappedBuffer(request.getByteBufferData().duplicate());
+    }
+    if (request.getStreamData() != null) {
+      try (var in = request.getStreamData()) {
+        return Unpooled.wrappedBuffer(in.readAllBytes());
+      }
+    }
+    if (!request.getFormParams().isEmpty()) {
+      var charset = request.getCharset() != null ? request.getCharset() : StandardCharsets.UTF_8;
+      return Unpooled.wrappedBuffer(encodeForm(request, charset)
+          .getBytes(StandardCharsets.US_ASCII));
+    }
+    if (request.getFile() != null) {
+      try (var channel = FileChannel.open(request.getFile().toPath(), StandardOpenOption.READ)) {
+        return Unpooled.wrappedBuffer(channel.map(MapMode.READ_ONLY, 0, channel.size()));
+      }
+    }
+    if (request.getBodyGenerator() != null || !request.getBodyParts().isEmpty()) {
+      throw new IOException("Body generators and multipart bodies are not supported with HTTP/2.");
+    }
+    return null;
+  }
+
+  private static String encodeForm(final Request request, final Charset charset) {
+    return request.getFormParams()
+        .stream()
+        .map((Param param) -> URLEncoder.encode(param.getName(), charset) + "="
+            + URLEncoder.encode(param.getValue() != null ? param.getValue() : "", charset))
+        .collect(Collectors.joining("&"));
+  }
+
+  private static String originOf(final Uri uri) {
+    return uri.getScheme() + "://" + uri.getHost() + ":" + uri.getExplicitPort();
+  }
+
+  private static SslContext createSslContext() {
+    try {
+      return SslContextBuilder.forClient()
+          .sslProvider(SslProvider.JDK)
+          .ciphers(Http2SecurityUtil.CIPHERS, SupportedCipherSuiteFilter.INSTANCE)
+          .applicationProtocolConfig(new ApplicationProtocolConfig(Protocol.ALPN,
+              SelectorFailureBehavior.NO_ADVERTISE,
+              SelectedListenerFailureBehavior.ACCEPT,
+              ApplicationProtocolNames.HTTP_2))
+          .build();
+    } catch (SSLException e) {
+      throw new IllegalStateException("Cannot create the SSL context of the HTTP/2 client.", e);
+    }
+  }
+
+  /**
+   * Handler of the streams opened by the server, which are refused since server push is
+   * disabled.
+   * <p>
+   */
+  @Sharable
+  private static final class NoopHandler extends ChannelInboundHandlerAdapter {
+
+    private static final NoopHandler INSTANCE = new NoopHandler();
+
+    @Override
+    public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+      ReferenceCountUtil.release(msg);
+    }
+  }
+}
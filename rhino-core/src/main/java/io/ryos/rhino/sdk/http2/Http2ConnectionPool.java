@@ -0,0 +1,276 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.http2;
+
+import io.netty.channel.Channel;
+import io.netty.handler.codec.http2.Http2MultiplexCodec;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Connection pool of a single HTTP/2 origin. Requests acquire a stream slot of a connection
+ * instead of the connection itself, so many requests share a connection until the number of its
+ * streams reaches the limit, which is the smaller one of the configured maximum and the limit
+ * announced by the server. A new connection is opened only if the streams of the open ones are
+ * exhausted; requests wait for a free slot once the pool is full. Waiting requests fail once the
+ * acquire timeout expires, so a stalled connection does not keep them pending forever.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+class Http2ConnectionPool {
+
+  private final Supplier<CompletableFuture<Channel>> connector;
+  private final int maxConnections;
+  private final int maxConcurrentStreams;
+  private final int acquireTimeout;
+  private final ScheduledExecutorService scheduler;
+
+  private final List<Connection> connections = new ArrayList<>();
+  private final Deque<CompletableFuture<Connection>> waiters = new ArrayDeque<>();
+  private int connecting;
+
+  /**
+   * Connection and the number of its streams in flight.
+   * <p>
+   */
+  final class Connection {
+
+    private final Channel channel;
+    private int streams;
+
+    private Connection(final Channel channel) {
+      this.channel = channel;
+    }
+
+    Channel getChannel() {
+      return channel;
+    }
+
+    private int maxStreams() {
+      var codec = channel.pipeline().get(Http2MultiplexCodec.class);
+      if (codec == null) {
+        return maxConcurrentStreams;
+      }
+      return Math.min(maxConcurrentStreams, codec.connection().remote().maxActiveStreams());
+    }
+
+    private boolean isAvailable() {
+      return channel.isActive() && streams < maxStreams();
+    }
+  }
+
+  /**
+   * Creates a new pool.
+   * <p>
+   *
+   * @param connector            Opens a new connection, which is ready to open streams.
+   * @param maxConnections       Maximum number of connections.
+   * @param maxConcurrentStreams Maximum number of streams per connection.
+   * @param acquireTimeout       Time in milliseconds a request waits for a slot, or a
+   *                             non-positive value to wait without a limit.
+   * @param scheduler            Scheduler of the acquire timeouts.
+   */
+  Http2ConnectionPool(final Supplier<CompletableFuture<Channel>> connector,
+      final int maxConnections,
+      final int maxConcurrentStreams,
+      final int acquireTimeout,
+      final ScheduledExecutorService scheduler) {
+    this.connector = connector;
+    this.maxConnections = maxConnections;
+    this.maxConcurrentStreams = maxConcurrentStreams;
+    this.acquireTimeout = acquireTimeout;
+    this.scheduler = scheduler;
+  }
+
+  /**
+   * Acquires a stream slot. The slot must be released with {@link #release(Connection)} after the
+   * stream is closed.
+   * <p>
+   *
+   * @return Future of the connection the slot belongs to.
+   */
+  CompletableFuture<Connection> acquire() {
+    var future = new CompletableFuture<Connection>();
+    Connection connection;
+    boolean connect = false;
+    synchronized (this) {
+      connection = findAvailable();
+      if (connection != null) {
+        connection.streams++;
+      } else {
+        waiters.add(future);
+        connect = reserveConnect();
+      }
+    }
+
+    if (connection != null) {
+      future.complete(connection);
+      return future;
+    }
+    if (acquireTimeout > 0) {
+      var timeout = scheduler.schedule(() -> expire(future), acquireTimeout,
+          TimeUnit.MILLISECONDS);
+      future.whenComplete((c, error) -> timeout.cancel(false));
+    }
+    if (connect) {
+      connect();
+    }
+    return future;
+  }
+
+  private void expire(final CompletableFuture<Connection> waiter) {
+    boolean removed;
+    synchronized (this) {
+      removed = waiters.remove(waiter);
+    }
+    if (removed) {
+      waiter.completeExceptionally(new TimeoutException(
+          "No HTTP/2 stream available within " + acquireTimeout + " ms."));
+    }
+  }
+
+  /**
+   * Releases the stream slot, which is passed to the next waiting request.
+   * <p>
+   *
+   * @param connection The connection the slot belongs to.
+   */
+  void release(final Connection connection) {
+    List<CompletableFuture<Connection>> ready;
+    synchronized (this) {
+      connection.streams--;
+      ready = assignWaiters(connection);
+    }
+    ready.forEach(waiter -> waiter.complete(connection));
+  }
+
+  synchronized int getActiveConnections() {
+    return (int) connections.stream().filter(c -> c.streams > 0).count();
+  }
+
+  synchronized int getIdleConnections() {
+    return (int) connections.stream().filter(c -> c.streams == 0).count();
+  }
+
+  synchronized int getPendingAcquires() {
+    return waiters.size();
+  }
+
+  /**
+   * Closes all connections and fails the waiting requests.
+   * <p>
+   */
+  void close() {
+    List<CompletableFuture<Connection>> pending;
+    List<Connection> open;
+    synchronized (this) {
+      pending = new ArrayList<>(waiters);
+      open = new ArrayList<>(connections);
+      waiters.clear();
+    }
+    var cause = new IllegalStateException("HTTP/2 client is closed.");
+    pending.forEach(waiter -> waiter.completeExceptionally(cause));
+    open.forEach(connection -> connection.channel.close());
+  }
+
+  private Connection findAvailable() {
+    for (var connection : connections) {
+      if (connection.isAvailable()) {
+        return connection;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Reserves a new connection if the pool is not full, and the connections being opened cannot
+   * take the waiting requests.
+   * <p>
+   */
+  private boolean reserveConnect() {
+    if (connections.size() + connecting < maxConnections
+        && waiters.size() > connecting * maxConcurrentStreams) {
+      connecting++;
+      return true;
+    }
+    return false;
+  }
+
+  private List<CompletableFuture<Connection>> assignWaiters(final Connection connection) {
+    var ready = new ArrayList<CompletableFuture<Connection>>();
+    while (!waiters.isEmpty() && connection.isAvailable()) {
+      connection.streams++;
+      ready.add(waiters.poll());
+    }
+    return ready;
+  }
+
+  private void connect() {
+    connector.get().whenComplete((channel, error) -> {
+      if (error != null) {
+        onConnectFailed(error);
+      } else {
+        onConnected(channel);
+      }
+    });
+  }
+
+  private void onConnected(final Channel channel) {
+    var connection = new Connection(channel);
+    List<CompletableFuture<Connection>> ready;
+    synchronized (this) {
+      connecting--;
+      connections.add(connection);
+      ready = assignWaiters(connection);
+    }
+    channel.closeFuture().addListener(future -> onClosed(connection));
+    ready.forEach(waiter -> waiter.complete(connection));
+  }
+
+  private void onConnectFailed(final Throwable error) {
+    List<CompletableFuture<Connection>> failed = new ArrayList<>();
+    synchronized (this) {
+      connecting--;
+      // Waiting requests fail only if no other connection can take them.
+      if (connections.isEmpty() && connecting == 0) {
+        failed.addAll(waiters);
+        waiters.clear();
+      }
+    }
+    failed.forEach(waiter -> waiter.completeExceptionally(error));
+  }
+
+  private void onClosed(final Connection connection) {
+    boolean connect;
+    synchronized (this) {
+      connections.remove(connection);
+      connect = reserveConnect();
+    }
+    if (connect) {
+      connect();
+    }
+  }
+}
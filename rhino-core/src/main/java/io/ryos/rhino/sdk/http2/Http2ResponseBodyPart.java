@@ -0,0 +1,53 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.http2;
+
+import java.nio.ByteBuffer;
+import org.asynchttpclient.HttpResponseBodyPart;
+
+/**
+ * Body part of a response received over HTTP/2, i.e the content of a data frame. The content is
+ * copied out of the frame, so the frame can be released once the part is created.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+class Http2ResponseBodyPart extends HttpResponseBodyPart {
+
+  private final byte[] bytes;
+
+  Http2ResponseBodyPart(final byte[] bytes, final boolean last) {
+    super(last);
+    this.bytes = bytes;
+  }
+
+  @Override
+  public int length() {
+    return bytes.length;
+  }
+
+  @Override
+  public byte[] getBodyPartBytes() {
+    return bytes;
+  }
+
+  @Override
+  public ByteBuffer getBodyByteBuffer() {
+    return ByteBuffer.wrap(bytes);
+  }
+}
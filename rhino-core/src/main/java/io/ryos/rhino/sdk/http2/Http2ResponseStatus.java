@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.http2;
+
+import java.net.SocketAddress;
+import org.asynchttpclient.HttpResponseStatus;
+import org.asynchttpclient.uri.Uri;
+
+/**
+ * Status of a response received over HTTP/2.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+class Http2ResponseStatus extends HttpResponseStatus {
+
+  private static final String PROTOCOL_NAME = "HTTP";
+  private static final String PROTOCOL_TEXT = "HTTP/2.0";
+
+  private final int statusCode;
+  private final String statusText;
+  private final SocketAddress remoteAddress;
+  private final SocketAddress localAddress;
+
+  Http2ResponseStatus(final Uri uri,
+      final int statusCode,
+      final String statusText,
+      final SocketAddress remoteAddress,
+      final SocketAddress localAddress) {
+    super(uri);
+    this.statusCode = statusCode;
+    this.statusText = statusText;
+    this.remoteAddress = remoteAddress;
+    this.localAddress = localAddress;
+  }
+
+  @Override
+  public int getStatusCode() {
+    return statusCode;
+  }
+
+  @Override
+  public String getStatusText() {
+    return statusText;
+  }
+
+  @Override
+  public String getProtocolName() {
+    return PROTOCOL_NAME;
+  }
+
+  @Override
+  public int getProtocolMajorVersion() {
+    return 2;
+  }
+
+  @Override
+  public int getProtocolMinorVersion() {
+    return 0;
+  }
+
+  @Override
+  public String getProtocolText() {
+    return PROTOCOL_TEXT;
+  }
+
+  @Override
+  public SocketAddress getRemoteAddress() {
+    return remoteAddress;
+  }
+
+  @Override
+  public SocketAddress getLocalAddress() {
+    return localAddress;
+  }
+}
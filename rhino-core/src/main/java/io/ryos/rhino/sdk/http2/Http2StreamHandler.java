@@ -0,0 +1,195 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.http2;
+
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpStatusClass;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http2.Http2DataFrame;
+import io.netty.handler.codec.http2.Http2Exception;
+import io.netty.handler.codec.http2.Http2Headers;
+import io.netty.handler.codec.http2.Http2HeadersFrame;
+import io.netty.handler.codec.http2.HttpConversionUtil;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.ScheduledFuture;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.asynchttpclient.AsyncHandler;
+import org.asynchttpclient.AsyncHandler.State;
+import org.asynchttpclient.uri.Uri;
+
+/**
+ * Stream handler receives the response of a single HTTP/2 stream and passes it to the {@link
+ * AsyncHandler} of the request, the same way the HTTP/1.1 client does. The handler runs on the
+ * event loop of the stream, so it needs no synchronization.
+ * <p>
+ *
+ * @param <T> Type of the result of the {@link AsyncHandler}.
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+class Http2StreamHandler<T> extends ChannelInboundHandlerAdapter {
+
+  private final Uri uri;
+  private final AsyncHandler<T> asyncHandler;
+  private final CompletableFuture<T> result;
+  private final int requestTimeout;
+
+  private ScheduledFuture<?> timeout;
+  private boolean statusReceived;
+  private boolean done;
+
+  Http2StreamHandler(final Uri uri,
+      final AsyncHandler<T> asyncHandler,
+      final CompletableFuture<T> result,
+      final int requestTimeout) {
+    this.uri = uri;
+    this.asyncHandler = asyncHandler;
+    this.result = result;
+    this.requestTimeout = requestTimeout;
+  }
+
+  @Override
+  public void handlerAdded(final ChannelHandlerContext ctx) {
+    if (requestTimeout > 0) {
+      timeout = ctx.executor().schedule(() -> fail(ctx,
+          new TimeoutException("Request timeout of " + requestTimeout + " ms expired: " + uri)),
+          requestTimeout, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @Override
+  public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+    try {
+      if (done) {
+        return;
+      }
+      if (msg instanceof Http2HeadersFrame) {
+        onHeaders(ctx, (Http2HeadersFrame) msg);
+      } else if (msg instanceof Http2DataFrame) {
+        onData(ctx, (Http2DataFrame) msg);
+      }
+    } catch (Exception e) {
+      fail(ctx, e);
+    } finally {
+      ReferenceCountUtil.release(msg);
+    }
+  }
+
+  private void onHeaders(final ChannelHandlerContext ctx, final Http2HeadersFrame frame)
+      throws Exception {
+    var headers = frame.headers();
+    if (statusReceived) {
+      asyncHandler.onTrailingHeadersReceived(toHttpHeaders(frame, headers));
+    } else {
+      var status = HttpConversionUtil.parseStatus(headers.status());
+      if (status.codeClass() == HttpStatusClass.INFORMATIONAL) {
+        return;
+      }
+      statusReceived = true;
+      var channel = ctx.channel().parent();
+      var responseStatus = new Http2ResponseStatus(uri, status.code(), status.reasonPhrase(),
+          channel.remoteAddress(), channel.localAddress());
+      if (asyncHandler.onStatusReceived(responseStatus) == State.ABORT
+          || asyncHandler.onHeadersReceived(toHttpHeaders(frame, headers)) == State.ABORT) {
+        complete(ctx);
+        return;
+      }
+    }
+    if (frame.isEndStream()) {
+      complete(ctx);
+    }
+  }
+
+  private void onData(final ChannelHandlerContext ctx, final Http2DataFrame frame)
+      throws Exception {
+    var content = frame.content();
+    if (content.isReadable()) {
+      var bodyPart = new Http2ResponseBodyPart(ByteBufUtil.getBytes(content), frame.isEndStream());
+      if (asyncHandler.onBodyPartReceived(bodyPart) == State.ABORT) {
+        complete(ctx);
+        return;
+      }
+    }
+    if (frame.isEndStream()) {
+      complete(ctx);
+    }
+  }
+
+  private static HttpHeaders toHttpHeaders(final Http2HeadersFrame frame,
+      final Http2Headers headers) throws Http2Exception {
+    var httpHeaders = new DefaultHttpHeaders(false);
+    HttpConversionUtil.addHttp2ToHttpHeaders(frame.stream().id(), headers, httpHeaders,
+        HttpVersion.HTTP_1_1, frame.isEndStream() && headers.status() == null, false);
+    return httpHeaders;
+  }
+
+  @Override
+  public void channelInactive(final ChannelHandlerContext ctx) {
+    fail(ctx, new IOException("Stream closed before the response was completed: " + uri));
+  }
+
+  @Override
+  public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
+    fail(ctx, cause);
+  }
+
+  /**
+   * Called if the stream cannot be opened or the request cannot be written.
+   * <p>
+   *
+   * @param cause The cause of the failure.
+   */
+  void failRequest(final Throwable cause) {
+    if (done) {
+      return;
+    }
+    done = true;
+    if (timeout != null) {
+      timeout.cancel(false);
+    }
+    asyncHandler.onThrowable(cause);
+    result.completeExceptionally(cause);
+  }
+
+  private void complete(final ChannelHandlerContext ctx) {
+    done = true;
+    if (timeout != null) {
+      timeout.cancel(false);
+    }
+    try {
+      result.complete(asyncHandler.onCompleted());
+    } catch (Exception e) {
+      result.completeExceptionally(e);
+    }
+    ctx.close();
+  }
+
+  private void fail(final ChannelHandlerContext ctx, final Throwable cause) {
+    if (done) {
+      return;
+    }
+    failRequest(cause);
+    ctx.close();
+  }
+}
@@ -0,0 +1,187 @@
+/*
+  Copyright 2018 Ryos.io.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+
+
+package io.ryos.rhino.sdk.io;
+
+import io.ryos.rhino.sdk.reporting.BinarySimulationLogEncoder;
+import io.ryos.rhino.sdk.reporting.LogEvent;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Event journal is an append-only file of the raw events of a simulation run. The events are
+ * encoded with the {@link BinarySimulationLogEncoder} into a memory-mapped region of the file,
+ * so they are in the page cache of the operating system as soon as they are appended, and they
+ * are persisted even if the JVM crashes afterwards, e.g if it is killed on out of memory. Appending
+ * an event is a memory copy without a system call. The file grows region by region, and it is
+ * truncated to its content once the journal is closed.
+ * <p>
+ *
+ * The first byte of an appended chunk is written last, so a chunk which is cut off by a crash
+ * starts with a zero byte and ends the journal when it is read. {@link JournalRecovery} rebuilds
+ * the report and the simulation log of a run from its journal.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+public class EventJournal implements ResultWriter<LogEvent> {
+
+  private static final Logger LOG = LogManager.getLogger(EventJournal.class);
+  private static final int DEFAULT_REGION_SIZE = 64 << 20;
+
+  private final BinarySimulationLogEncoder encoder = new BinarySimulationLogEncoder();
+  private final FileChannel channel;
+  private final int regionSize;
+
+  private MappedByteBuffer region;
+  private long regionStart;
+  private boolean failed;
+
+  public EventJournal(final Path path) {
+    this(path, DEFAULT_REGION_SIZE);
+  }
+
+  /**
+   * Creates a new journal. An existing file is overwritten.
+   * <p>
+   *
+   * @param path       Path to the journal file.
+   * @param regionSize Size of the regions in bytes the file is mapped and grown by.
+   */
+  public EventJournal(final Path path, final int regionSize) {
+    Validate.notNull(path, "Path must not be null.");
+    Validate.isTrue(regionSize > 0, "Region size must be bigger than zero.");
+
+    this.regionSize = regionSize;
+    FileChannel fileChannel = null;
+    try {
+      fileChannel = FileChannel.open(path, StandardOpenOption.CREATE,
+          StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      this.region = fileChannel.map(MapMode.READ_WRITE, 0, regionSize);
+    } catch (IOException e) {
+      LOG.error("Cannot create the event journal.", e);
+      ExceptionUtils.rethrow(e);
+    }
+    this.channel = fileChannel;
+  }
+
+  /**
+   * Appends the run record of the simulation.
+   * <p>
+   *
+   * @param simulationClass Class name of the simulation.
+   * @param simulationName  Name of the simulation.
+   * @param startTime       Start time of the simulation in epoch milliseconds.
+   */
+  public void writeRun(final String simulationClass, final String simulationName,
+      final long startTime) {
+    append(encoder.encodeRun(simulationClass, simulationName, startTime));
+  }
+
+  @Override
+  public void write(final LogEvent event) {
+    append(encoder.encode(event));
+  }
+
+  /**
+   * Text is not journaled, the journal contains the events only.
+   * <p>
+   *
+   * @param report Text, which is ignored.
+   */
+  @Override
+  public void write(final String report) {
+  }
+
+  /**
+   * Returns the number of bytes appended.
+   * <p>
+   *
+   * @return Size of the journal in bytes.
+   */
+  public long size() {
+    return regionStart + region.position();
+  }
+
+  /**
+   * Writes the mapped regions to the disk, truncates the file to the appended bytes and closes
+   * it.
+   * <p>
+   *
+   * @throws IOException If the journal cannot be closed.
+   */
+  @Override
+  public void close() throws IOException {
+    if (!channel.isOpen()) {
+      return;
+    }
+
+    region.force();
+    try {
+      channel.truncate(size());
+    } catch (IOException e) {
+      // The region may not be truncated while it is mapped on some platforms. The zero-filled
+      // rest of the file ends the journal, too.
+      LOG.warn("Cannot truncate the event journal.", e);
+    } finally {
+      channel.close();
+    }
+  }
+
+  private void append(final ByteBuffer chunk) {
+    if (failed || !channel.isOpen() || !chunk.hasRemaining()) {
+      return;
+    }
+
+    try {
+      ensureRemaining();
+      var first = chunk.get();
+      var firstRegion = region;
+      var firstIndex = region.position();
+      region.put((byte) 0);
+      while (chunk.hasRemaining()) {
+        ensureRemaining();
+        var length = Math.min(chunk.remaining(), region.remaining());
+        var slice = chunk.duplicate();
+        slice.limit(slice.position() + length);
+        region.put(slice);
+        chunk.position(chunk.position() + length);
+      }
+      firstRegion.put(firstIndex, first);
+    } catch (IOException e) {
+      LOG.error("Cannot append to the event journal.", e);
+      failed = true;
+    }
+  }
+
+  private void ensureRemaining() throws IOException {
+    if (!region.hasRemaining()) {
+      regionStart += region.capacity();
+      region = channel.map(MapMode.READ_WRITE, regionStart, regionSize);
+    }
+  }
+}
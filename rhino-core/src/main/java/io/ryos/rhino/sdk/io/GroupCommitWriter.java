@@ -0,0 +1,439 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.commons.lang3.Validate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Group commit writer gathers the bytes written into large direct buffers and writes the filled
+ * buffers to the channel on a thread of its own, all buffers pending at a time with a single
+ * gathering write. A buffer is handed over once it is full or once it has been written to for
+ * longer than the flush interval: by the writing thread when it flushes the writer, or by the
+ * committer thread if no more writes follow, so the tail of a simulation does not wait in memory
+ * until the writer is closed. The number of buffers is bounded, so the writing thread waits if the
+ * channel cannot keep up instead of growing the heap.
+ * <p>
+ *
+ * Writing is not thread-safe, the writer is expected to be used by a single thread, e.g the
+ * handler thread of a result writer.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+final class GroupCommitWriter implements Closeable {
+
+  private static final Logger LOG = LogManager.getLogger(GroupCommitWriter.class);
+  private static final String THREAD_NAME = "rhino-log-writer";
+
+  /**
+   * Marks the end of the buffers handed over to the committer thread. It is compared by identity,
+   * since an empty buffer is equal to it.
+   * <p>
+   */
+  private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+  /**
+   * The longest UTF-8 encoding of a character, which a buffer must be able to hold.
+   * <p>
+   */
+  private static final int MIN_BUFFER_SIZE = 4;
+
+  private final WritableByteChannel channel;
+  private final long flushIntervalNanos;
+
+  /**
+   * Time the committer thread waits for buffers before it looks at the active buffer.
+   * <p>
+   */
+  private final long idleNanos;
+  private final BlockingQueue<ByteBuffer> free;
+  private final BlockingQueue<ByteBuffer> pending;
+  private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+  private final Thread committer;
+
+  /**
+   * Guards the active buffer, which the committer thread pulls if it is due. The committer only
+   * tries the lock, so it never waits for the writing thread, which may be waiting for a buffer.
+   * <p>
+   */
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private ByteBuffer active;
+  private long activeSince;
+  private long handedOver;
+  private volatile IOException failure;
+  private boolean closed;
+
+  /**
+   * Creates a new writer.
+   * <p>
+   *
+   * @param channel         Channel the buffers are written to, with a single write if it is a
+   *                        {@link GatheringByteChannel}.
+   * @param bufferSize      Size of a buffer in bytes, at least four, so every character fits.
+   * @param buffers         Number of buffers, at least two, so one can be filled while the other
+   *                        is written.
+   * @param flushIntervalMs Time in milliseconds after which a buffer is written. If zero, a
+   *                        buffer is written on every flush and never without one.
+   */
+  GroupCommitWriter(final WritableByteChannel channel, final int bufferSize, final int buffers,
+      final long flushIntervalMs) {
+    Validate.notNull(channel, "Channel must not be null.");
+    Validate.isTrue(bufferSize >= MIN_BUFFER_SIZE, "Buffer size must be at least %d bytes.",
+        MIN_BUFFER_SIZE);
+    Validate.isTrue(buffers >= 2, "There must be at least two buffers.");
+    Validate.isTrue(flushIntervalMs >= 0, "Flush interval must not be negative.");
+
+    this.channel = channel;
+    this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+    this.idleNanos = flushIntervalNanos > 0 ? flushIntervalNanos : Long.MAX_VALUE;
+    this.free = new ArrayBlockingQueue<>(buffers);
+    // One more slot for the end marker.
+    this.pending = new ArrayBlockingQueue<>(buffers + 1);
+    for (int i = 1; i < buffers; i++) {
+      free.add(ByteBuffer.allocateDirect(bufferSize));
+    }
+    this.active = ByteBuffer.allocateDirect(bufferSize);
+    this.committer = new Thread(this::commitLoop, THREAD_NAME);
+    this.committer.setDaemon(true);
+    this.committer.start();
+  }
+
+  /**
+   * Writes the characters UTF-8 encoded. ASCII characters, which log lines mostly consist of, are
+   * copied into the buffer directly, the encoder takes over from the first other character on.
+   * <p>
+   *
+   * @param chars Characters to write.
+   * @throws IOException If an earlier write to the channel failed.
+   */
+  void write(final CharSequence chars) throws IOException {
+    checkFailure();
+    lock.lock();
+    try {
+      var length = chars.length();
+      var index = 0;
+      while (index < length) {
+        markActive();
+        if (!active.hasRemaining()) {
+          handOver();
+          continue;
+        }
+        var c = chars.charAt(index);
+        if (c >= 0x80) {
+          encode(CharBuffer.wrap(chars, index, length));
+          return;
+        }
+        active.put((byte) c);
+        index++;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void encode(final CharBuffer input) throws IOException {
+    encoder.reset();
+    while (true) {
+      markActive();
+      var result = encoder.encode(input, active, true);
+      if (result.isOverflow()) {
+        handOver();
+        continue;
+      }
+      if (result.isError()) {
+        result.throwException();
+      }
+      if (encoder.flush(active) == CoderResult.OVERFLOW) {
+        handOver();
+        encoder.flush(active);
+      }
+      return;
+    }
+  }
+
+  /**
+   * Writes the remaining bytes of the buffer.
+   * <p>
+   *
+   * @param bytes Bytes to write.
+   * @throws IOException If an earlier write to the channel failed.
+   */
+  void write(final ByteBuffer bytes) throws IOException {
+    checkFailure();
+    lock.lock();
+    try {
+      while (bytes.hasRemaining()) {
+        markActive();
+        if (!active.hasRemaining()) {
+          handOver();
+          continue;
+        }
+        if (bytes.remaining() <= active.remaining()) {
+          active.put(bytes);
+        } else {
+          var slice = bytes.duplicate();
+          slice.limit(slice.position() + active.remaining());
+          active.put(slice);
+          bytes.position(slice.position());
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Hands the active buffer over to the channel if it has been written to for longer than the
+   * flush interval. The method is meant to be called after every batch of writes.
+   * <p>
+   *
+   * @throws IOException If an earlier write to the channel failed.
+   */
+  void flushIfDue() throws IOException {
+    checkFailure();
+    lock.lock();
+    try {
+      if (active.position() > 0 && System.nanoTime() - activeSince >= flushIntervalNanos) {
+        handOver();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of bytes written so far, including the bytes which are not written to the
+   * channel yet.
+   * <p>
+   *
+   * @return Number of bytes written.
+   */
+  long size() {
+    lock.lock();
+    try {
+      return handedOver + active.position();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Writes all buffers to the channel, waits until they are written and closes the channel.
+   * <p>
+   *
+   * @throws IOException If a write to the channel failed.
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      lock.lock();
+      try {
+        if (active.position() > 0) {
+          handOver();
+        }
+      } finally {
+        lock.unlock();
+      }
+      putUninterruptibly(pending, END);
+      committer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      if (channel instanceof FileChannel && channel.isOpen()) {
+        ((FileChannel) channel).force(false);
+      }
+      channel.close();
+    }
+    checkFailure();
+  }
+
+  private void markActive() {
+    if (active.position() == 0) {
+      activeSince = System.nanoTime();
+    }
+  }
+
+  private void handOver() {
+    handedOver += active.position();
+    active.flip();
+    putUninterruptibly(pending, active);
+    active = takeUninterruptibly(free);
+    active.clear();
+  }
+
+  private void commitLoop() {
+    var batch = new ArrayList<ByteBuffer>();
+    var timeout = idleNanos;
+    while (true) {
+      var buffer = pollUninterruptibly(pending, timeout);
+      if (buffer != null) {
+        batch.add(buffer);
+        pending.drainTo(batch);
+        timeout = idleNanos;
+      } else {
+        timeout = pullDueBuffer(batch);
+      }
+      var end = batch.removeIf(b -> b == END);
+      commit(batch);
+      batch.forEach(free::add);
+      batch.clear();
+      if (end) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Pulls the active buffer into the batch if it has been written to for longer than the flush
+   * interval. It is left to the writing thread if the thread is writing.
+   * <p>
+   *
+   * @param batch Batch of buffers to write.
+   * @return Time in nanoseconds to wait for buffers before the next pull.
+   */
+  private long pullDueBuffer(final List<ByteBuffer> batch) {
+    if (!lock.tryLock()) {
+      return idleNanos;
+    }
+    try {
+      if (active.position() == 0) {
+        return idleNanos;
+      }
+      var due = activeSince + flushIntervalNanos - System.nanoTime();
+      if (due > 0) {
+        return due;
+      }
+      var next = free.poll();
+      if (next == null) {
+        return idleNanos;
+      }
+      handedOver += active.position();
+      active.flip();
+      batch.add(active);
+      active = next;
+      active.clear();
+      return idleNanos;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void commit(final List<ByteBuffer> batch) {
+    if (batch.isEmpty() || failure != null) {
+      return;
+    }
+    try {
+      if (channel instanceof GatheringByteChannel) {
+        var buffers = batch.toArray(new ByteBuffer[0]);
+        var last = buffers[buffers.length - 1];
+        while (last.hasRemaining()) {
+          ((GatheringByteChannel) channel).write(buffers);
+        }
+      } else {
+        for (var buffer : batch) {
+          while (buffer.hasRemaining()) {
+            channel.write(buffer);
+          }
+        }
+      }
+    } catch (IOException e) {
+      LOG.error("Cannot write to the log file.", e);
+      failure = e;
+    }
+  }
+
+  private void checkFailure() throws IOException {
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  private static void putUninterruptibly(final BlockingQueue<ByteBuffer> queue,
+      final ByteBuffer buffer) {
+    var interrupted = false;
+    while (true) {
+      try {
+        queue.put(buffer);
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static ByteBuffer pollUninterruptibly(final BlockingQueue<ByteBuffer> queue,
+      final long timeoutNanos) {
+    var interrupted = false;
+    try {
+      while (true) {
+        try {
+          return queue.poll(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static ByteBuffer takeUninterruptibly(final BlockingQueue<ByteBuffer> queue) {
+    var interrupted = false;
+    try {
+      while (true) {
+        try {
+          return queue.take();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -16,9 +16,6 @@
 
 package io.ryos.rhino.sdk.io;
 
-import akka.actor.AbstractActor;
-import akka.actor.Props;
-import akka.japi.pf.ReceiveBuilder;
 import io.ryos.rhino.sdk.SimulationConfig;
 import io.ryos.rhino.sdk.reporting.DslEvent;
 import io.ryos.rhino.sdk.reporting.LogEvent;
@@ -40,18 +37,14 @@ import org.influxdb.dto.Point;
  * @author Erhan Bagdemir
  * @since 1.1.0
  */
-public class InfluxDBWriter extends AbstractActor implements ResultWriter<LogEvent> {
+public class InfluxDBWriter implements ResultWriter<LogEvent> {
 
   private static final String DEFAULT_DB = "rhino_test_db_";
 
   private final InfluxDB influxDB;
   private final String dbName;
 
-  public static Props props() {
-    return Props.create(InfluxDBWriter.class, InfluxDBWriter::new);
-  }
-
-  private InfluxDBWriter() {
+  public InfluxDBWriter() {
     this.dbName = Optional.ofNullable(SimulationConfig.getInfluxDBName())
         .orElse(DEFAULT_DB + System.currentTimeMillis());
 
@@ -82,15 +75,6 @@ public class InfluxDBWriter extends AbstractActor implements ResultWriter<LogEve
     influxDB.createDatabase(dbName);
   }
 
-  @Override
-  public Receive createReceive() {
-
-    return ReceiveBuilder.create()
-        .match(String.class, this::write)
-        .match(LogEvent.class, this::write)
-        .build();
-  }
-
   @Override
   public void write(final LogEvent logEvent) {
 
@@ -109,7 +93,13 @@ public class InfluxDBWriter extends AbstractActor implements ResultWriter<LogEve
         .tag("status", report.getStatus())
         .addField("scenario", report.getParentMeasurementPoint())
         .addField("pt", report.getElapsed())
+        .addField("rt", report.getResponseTime())
         .addField("node", SimulationConfig.getNode());
+    if (report.getWireBytes() >= 0) {
+      builder.addField("wire", report.getWireBytes())
+          .addField("decoded", report.getDecodedBytes())
+          .addField("decode", report.getDecodeNanos());
+    }
     influxDB.setDatabase(dbName);
     influxDB.write(builder.build());
   }
@@ -134,6 +124,7 @@ public class InfluxDBWriter extends AbstractActor implements ResultWriter<LogEve
 
   @Override
   public void close() {
-    // Intentionally left empty.
+    // Writes the points which are still in the batch.
+    influxDB.close();
   }
 }
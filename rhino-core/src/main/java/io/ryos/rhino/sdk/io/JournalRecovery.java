@@ -0,0 +1,135 @@
+/*
+  Copyright 2018 Ryos.io.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+
+
+package io.ryos.rhino.sdk.io;
+
+import io.ryos.rhino.sdk.reporting.BinarySimulationLogReader;
+import io.ryos.rhino.sdk.reporting.DslEvent;
+import io.ryos.rhino.sdk.reporting.MetricRecorder;
+import io.ryos.rhino.sdk.reporting.PerformanceConsoleOutputView;
+import io.ryos.rhino.sdk.reporting.SimulationLogFormatter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashSet;
+
+/**
+ * Journal recovery rebuilds the final report of a simulation run from its {@link EventJournal},
+ * e.g after the JVM of the run crashed, and optionally the simulation log in one of the text
+ * formats:
+ *
+ * <pre>
+ *   $ java -cp rhino-core.jar io.ryos.rhino.sdk.io.JournalRecovery \
+ *       simulation.journal simulation.log gatling
+ * </pre>
+ *
+ * The report is written to the standard output. The format of the log is either {@code gatling}
+ * or {@code default}, which is the default.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+public class JournalRecovery {
+
+  private static final int CONTAINER_WIDTH = 140;
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1 || args.length > 3) {
+      System.err.println("Usage: JournalRecovery <journal> [<log> [gatling|default]]");
+      System.exit(1);
+    }
+
+    try (var journal = Files.newInputStream(Paths.get(args[0]))) {
+      if (args.length == 1) {
+        System.out.println(recover(journal, null, null));
+        return;
+      }
+
+      var formatter = SimulationLogConverter.formatterOf(args.length == 3 ? args[2] : "default");
+      try (var output = Files.newBufferedWriter(Paths.get(args[1]), StandardCharsets.UTF_8)) {
+        System.out.println(recover(journal, output, formatter));
+      }
+    }
+  }
+
+  /**
+   * Reads the events of the journal, records them into the metrics and writes them into the log,
+   * and returns the report of the metrics. The events are read up to the end of the journal, or
+   * up to the first event which was not completely appended if the run crashed.
+   * <p>
+   *
+   * @param journal   Input stream of the journal.
+   * @param output    Writer the log is written to, or null to rebuild the report only.
+   * @param formatter Formatter of the log, or null to rebuild the report only.
+   * @return The report of the run.
+   * @throws IOException If the journal cannot be read or the log cannot be written.
+   */
+  public static String recover(final InputStream journal, final Writer output,
+      final SimulationLogFormatter formatter) throws IOException {
+    var reader = new BinarySimulationLogReader(journal, true);
+    var recorder = new MetricRecorder();
+    var users = new HashSet<String>();
+    var line = new StringBuilder(256);
+    var firstStart = Long.MAX_VALUE;
+    var lastEnd = Long.MIN_VALUE;
+    var writeLog = output != null && formatter != null;
+
+    var event = reader.next();
+    if (writeLog) {
+      SimulationLogConverter.writeHeader(reader, output, formatter);
+    }
+    while (event != null) {
+      if (event instanceof DslEvent) {
+        recorder.record((DslEvent) event);
+      }
+      if (event.getUserId() != null) {
+        users.add(event.getUserId());
+      }
+      firstStart = Math.min(firstStart, event.getStart());
+      lastEnd = Math.max(lastEnd, event.getEnd());
+      if (writeLog) {
+        line.setLength(0);
+        formatter.format(event, line);
+        output.append(line);
+      }
+      event = reader.next();
+    }
+
+    if (lastEnd == Long.MIN_VALUE) {
+      return "There is no record in the journal.";
+    }
+
+    var startTime = reader.getSimulationClass() != null ? reader.getStartTime() : firstStart;
+    var duration = Duration.ofMillis(Math.max(1L, lastEnd - startTime));
+    var view = new PerformanceConsoleOutputView(CONTAINER_WIDTH,
+        users.size(),
+        Instant.ofEpochMilli(startTime),
+        Instant.ofEpochMilli(lastEnd),
+        duration,
+        duration,
+        recorder.collect(),
+        Collections.emptyList());
+    return view.getView();
+  }
+}
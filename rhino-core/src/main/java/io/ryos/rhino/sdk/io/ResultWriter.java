@@ -18,6 +18,7 @@ package io.ryos.rhino.sdk.io;
 
 import io.ryos.rhino.sdk.reporting.LogEvent;
 import java.io.Closeable;
+import java.io.Flushable;
 
 /**
  * Simulation result writer logs the benchmark metrics into a flat file, that is the simulation
@@ -25,7 +26,7 @@ import java.io.Closeable;
  *
  * @author Erhan Bagdemir
  */
-public interface ResultWriter<T extends LogEvent> extends Closeable {
+public interface ResultWriter<T extends LogEvent> extends Closeable, Flushable {
 
   /**
    * Adds a new log event into the simulation logging source.
@@ -40,4 +41,13 @@ public interface ResultWriter<T extends LogEvent> extends Closeable {
    * @param report Log event.
    */
   void write(String report);
+
+  /**
+   * Flushes the log events written so far. Writers are flushed after each batch of events, so
+   * they do not need to flush every single event.
+   */
+  @Override
+  default void flush() {
+    // Nothing to flush.
+  }
 }
@@ -0,0 +1,158 @@
+/*
+  Copyright 2018 Ryos.io.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+
+
+package io.ryos.rhino.sdk.io;
+
+import static io.ryos.rhino.sdk.reporting.GatlingSimulationLogFormatter.GATLING_HEADLINE_TEMPLATE;
+import static io.ryos.rhino.sdk.reporting.GatlingSimulationLogFormatter.GATLING_VERSION;
+
+import io.ryos.rhino.sdk.reporting.BinarySimulationLogEncoder;
+import io.ryos.rhino.sdk.reporting.BinarySimulationLogReader;
+import io.ryos.rhino.sdk.reporting.DefaultSimulationLogFormatter;
+import io.ryos.rhino.sdk.reporting.GatlingSimulationLogFormatter;
+import io.ryos.rhino.sdk.reporting.SimulationLogFormatter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Simulation log converter converts logs written with {@link BinarySimulationLogEncoder} into
+ * the text formats. The log is streamed event by event, so logs of long runs can be converted
+ * without loading them into the memory:
+ *
+ * <pre>
+ *   $ java -cp rhino-core.jar io.ryos.rhino.sdk.io.SimulationLogConverter \
+ *       simulation.bin simulation.log gatling
+ * </pre>
+ *
+ * The format is either {@code gatling} or {@code default}, which is the default. The input is
+ * either a log file, which is decompressed if it is gzip compressed, or the {@link
+ * SimulationLogIndex} of a rotated log, whose segments are converted in their order.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+public class SimulationLogConverter {
+
+  private static final String GATLING = "gatling";
+  private static final String DEFAULT = "default";
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2 || args.length > 3) {
+      System.err.println(
+          "Usage: SimulationLogConverter <binary log|index> <output> [gatling|default]");
+      System.exit(1);
+    }
+
+    var format = args.length == 3 ? args[2] : DEFAULT;
+    var formatter = formatterOf(format);
+    var input = Paths.get(args[0]);
+    var segments = input.toString().endsWith(SimulationLogIndex.SUFFIX)
+        ? SimulationLogIndex.read(input).getSegments().stream()
+        .map(SimulationLogIndex.Segment::getFile)
+        .collect(Collectors.toList())
+        : List.of(input);
+
+    try (var output = Files.newBufferedWriter(Paths.get(args[1]), StandardCharsets.UTF_8)) {
+      var events = 0L;
+      var first = true;
+      for (var segment : segments) {
+        try (var segmentInput = open(segment)) {
+          events += convert(segmentInput, output, formatter, first);
+        }
+        first = false;
+      }
+      System.out.println(events + " events converted into " + args[1]);
+    }
+  }
+
+  /**
+   * Converts the binary log into the format of the formatter. The Gatling header is written if
+   * the formatter is a {@link GatlingSimulationLogFormatter}.
+   * <p>
+   *
+   * @param input     Input stream of the binary log.
+   * @param output    Writer the formatted events are written to.
+   * @param formatter Formatter of the text format.
+   * @return Number of the events converted.
+   * @throws IOException If the log cannot be read or the output cannot be written.
+   */
+  public static long convert(final InputStream input, final Writer output,
+      final SimulationLogFormatter formatter) throws IOException {
+    return convert(input, output, formatter, true);
+  }
+
+  private static long convert(final InputStream input, final Writer output,
+      final SimulationLogFormatter formatter, final boolean header) throws IOException {
+    var reader = new BinarySimulationLogReader(input);
+    var event = reader.next();
+    if (header) {
+      writeHeader(reader, output, formatter);
+    }
+
+    var events = 0L;
+    var line = new StringBuilder(256);
+    while (event != null) {
+      line.setLength(0);
+      formatter.format(event, line);
+      output.append(line);
+      events++;
+      event = reader.next();
+    }
+    return events;
+  }
+
+  /**
+   * Writes the Gatling header if the formatter is a {@link GatlingSimulationLogFormatter} and the
+   * run record of the log has been read.
+   * <p>
+   */
+  static void writeHeader(final BinarySimulationLogReader reader, final Writer output,
+      final SimulationLogFormatter formatter) throws IOException {
+    if (formatter instanceof GatlingSimulationLogFormatter && reader.getSimulationClass() != null) {
+      output.write(String.format(GATLING_HEADLINE_TEMPLATE, reader.getSimulationClass(),
+          reader.getSimulationName(), reader.getStartTime(), GATLING_VERSION));
+    }
+  }
+
+  private static InputStream open(final Path path) throws IOException {
+    var input = Files.newInputStream(path);
+    if (path.toString().endsWith(SimulationLogOutput.Codec.GZIP.getSuffix())) {
+      return new GZIPInputStream(input);
+    }
+    return input;
+  }
+
+  static SimulationLogFormatter formatterOf(final String format) {
+    switch (format.toLowerCase()) {
+      case GATLING:
+        return new GatlingSimulationLogFormatter();
+      case DEFAULT:
+        return new DefaultSimulationLogFormatter();
+      default:
+        throw new IllegalArgumentException("Unknown log format: " + format);
+    }
+  }
+}
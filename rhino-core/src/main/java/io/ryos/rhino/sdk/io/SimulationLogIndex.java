@@ -0,0 +1,219 @@
+/*
+  Copyright 2018 Ryos.io.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+
+
+package io.ryos.rhino.sdk.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Simulation log index lists the segments of a rotated simulation log in their order, one per
+ * line, with the time range of their events:
+ *
+ * <pre>
+ *   simulation.log.1.gz	1565000000000	1565000600000	1200345
+ * </pre>
+ *
+ * The columns are the file name of the segment, which is relative to the index, the earliest start
+ * and the latest end time of its events in epoch milliseconds, and the number of its events. Tools
+ * can select the segments of a time window with {@link #between(long, long)} instead of reading
+ * the whole log.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+public class SimulationLogIndex implements Closeable {
+
+  /**
+   * File name suffix of the index, which is appended to the name of the log file.
+   * <p>
+   */
+  public static final String SUFFIX = ".index";
+
+  private static final String SEPARATOR = "\t";
+
+  /**
+   * Segment of a simulation log.
+   * <p>
+   */
+  public static class Segment {
+
+    private final Path file;
+    private final long from;
+    private final long to;
+    private final long events;
+
+    public Segment(final Path file, final long from, final long to, final long events) {
+      this.file = file;
+      this.from = from;
+      this.to = to;
+      this.events = events;
+    }
+
+    public Path getFile() {
+      return file;
+    }
+
+    public long getFrom() {
+      return from;
+    }
+
+    public long getTo() {
+      return to;
+    }
+
+    public long getEvents() {
+      return events;
+    }
+
+    @Override
+    public String toString() {
+      return "Segment{" +
+          "file=" + file +
+          ", from=" + from +
+          ", to=" + to +
+          ", events=" + events +
+          '}';
+    }
+  }
+
+  private final Path path;
+  private final List<Segment> segments;
+  private final Writer writer;
+
+  private SimulationLogIndex(final Path path, final List<Segment> segments, final Writer writer) {
+    this.path = path;
+    this.segments = segments;
+    this.writer = writer;
+  }
+
+  /**
+   * Returns the path of the index of the log file.
+   * <p>
+   *
+   * @param logFile Path to the log file.
+   * @return Path of the index.
+   */
+  public static Path pathOf(final String logFile) {
+    return Paths.get(logFile + SUFFIX);
+  }
+
+  /**
+   * Reads the index.
+   * <p>
+   *
+   * @param path Path of the index.
+   * @return {@link SimulationLogIndex} of the segments listed.
+   * @throws IOException If the index cannot be read.
+   */
+  public static SimulationLogIndex read(final Path path) throws IOException {
+    Validate.notNull(path, "Path must not be null.");
+    var directory = directoryOf(path);
+    var segments = new ArrayList<Segment>();
+    for (var line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+      if (line.isBlank()) {
+        continue;
+      }
+      var columns = line.split(SEPARATOR);
+      if (columns.length != 4) {
+        throw new IOException("Invalid index entry: " + line);
+      }
+      segments.add(new Segment(directory.resolve(columns[0]), Long.parseLong(columns[1]),
+          Long.parseLong(columns[2]), Long.parseLong(columns[3])));
+    }
+    return new SimulationLogIndex(path, segments, null);
+  }
+
+  /**
+   * Creates a new, empty index which the segments are added to while the log is written.
+   * <p>
+   *
+   * @param path Path of the index.
+   * @return {@link SimulationLogIndex} instance.
+   * @throws IOException If the index cannot be created.
+   */
+  static SimulationLogIndex create(final Path path) throws IOException {
+    return new SimulationLogIndex(path, new ArrayList<>(),
+        Files.newBufferedWriter(path, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Adds the segment, which is written to the index immediately, so the index lists the segments
+   * closed even if the simulation does not complete.
+   * <p>
+   *
+   * @param file   Path of the segment.
+   * @param from   Earliest start time of the events of the segment.
+   * @param to     Latest end time of the events of the segment.
+   * @param events Number of the events of the segment.
+   * @throws IOException If the index cannot be written.
+   */
+  void add(final Path file, final long from, final long to, final long events)
+      throws IOException {
+    var relative = directoryOf(path).relativize(file.toAbsolutePath());
+    segments.add(new Segment(file, from, to, events));
+    writer.write(relative + SEPARATOR + from + SEPARATOR + to + SEPARATOR + events + "\n");
+    writer.flush();
+  }
+
+  /**
+   * Returns the segments in the order they are written.
+   * <p>
+   *
+   * @return List of the segments.
+   */
+  public List<Segment> getSegments() {
+    return List.copyOf(segments);
+  }
+
+  /**
+   * Returns the segments containing events of the time window, in the order they are written.
+   * <p>
+   *
+   * @param from Start of the time window in epoch milliseconds.
+   * @param to   End of the time window in epoch milliseconds.
+   * @return List of the segments which overlap with the time window.
+   */
+  public List<Segment> between(final long from, final long to) {
+    return segments.stream()
+        .filter(segment -> segment.getEvents() > 0)
+        .filter(segment -> segment.getFrom() <= to && segment.getTo() >= from)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (writer != null) {
+      writer.close();
+    }
+  }
+
+  private static Path directoryOf(final Path path) {
+    var parent = path.toAbsolutePath().getParent();
+    return parent != null ? parent : Paths.get("").toAbsolutePath();
+  }
+}
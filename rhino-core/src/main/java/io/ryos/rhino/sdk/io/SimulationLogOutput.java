@@ -0,0 +1,141 @@
+/*
+  Copyright 2018 Ryos.io.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+
+
+package io.ryos.rhino.sdk.io;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Simulation log output configures how the simulation log is stored. The log can be compressed
+ * while it is written, and it can be split into segments by size or by time. Segments are named
+ * after the log file with their number, e.g {@code simulation.log.1.gz}, and every segment closed
+ * is added to the {@link SimulationLogIndex} of the log with the time range of its events.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+public class SimulationLogOutput {
+
+  /**
+   * Output of a single, uncompressed log file.
+   * <p>
+   */
+  public static final SimulationLogOutput PLAIN = new SimulationLogOutput(Codec.NONE, 0, 0);
+
+  /**
+   * Compression of the log files.
+   * <p>
+   */
+  public enum Codec {
+
+    NONE(""),
+
+    GZIP(".gz");
+
+    private final String suffix;
+
+    Codec(final String suffix) {
+      this.suffix = suffix;
+    }
+
+    /**
+     * Returns the file name suffix of the compressed files, empty if the files are not
+     * compressed.
+     * <p>
+     *
+     * @return File name suffix.
+     */
+    public String getSuffix() {
+      return suffix;
+    }
+
+    /**
+     * Returns the codec of the configuration value, which is one of {@code none} or {@code gzip}.
+     * <p>
+     *
+     * @param value Configuration value.
+     * @return {@link Codec} instance.
+     */
+    public static Codec of(final String value) {
+      switch (value.trim().toLowerCase()) {
+        case "":
+        case "none":
+          return NONE;
+        case "gzip":
+          return GZIP;
+        default:
+          throw new IllegalArgumentException("Unknown log compression: " + value);
+      }
+    }
+  }
+
+  private final Codec codec;
+  private final long rotationSize;
+  private final long rotationInterval;
+
+  /**
+   * Creates a new output.
+   * <p>
+   *
+   * @param codec            Compression of the log files.
+   * @param rotationSize     Uncompressed size in bytes after which a new segment is started, 0
+   *                         to not rotate by size.
+   * @param rotationInterval Time in milliseconds after which a new segment is started, 0 to not
+   *                         rotate by time.
+   */
+  public SimulationLogOutput(final Codec codec, final long rotationSize,
+      final long rotationInterval) {
+    Validate.notNull(codec, "Codec must not be null.");
+    Validate.isTrue(rotationSize >= 0, "Rotation size must not be negative.");
+    Validate.isTrue(rotationInterval >= 0, "Rotation interval must not be negative.");
+    this.codec = codec;
+    this.rotationSize = rotationSize;
+    this.rotationInterval = rotationInterval;
+  }
+
+  public Codec getCodec() {
+    return codec;
+  }
+
+  public long getRotationSize() {
+    return rotationSize;
+  }
+
+  public long getRotationInterval() {
+    return rotationInterval;
+  }
+
+  /**
+   * Returns whether the log is split into segments.
+   * <p>
+   *
+   * @return true if the log is rotated by size or by time.
+   */
+  public boolean isSegmented() {
+    return rotationSize > 0 || rotationInterval > 0;
+  }
+
+  @Override
+  public String toString() {
+    return "SimulationLogOutput{" +
+        "codec=" + codec +
+        ", rotationSize=" + rotationSize +
+        ", rotationInterval=" + rotationInterval +
+        '}';
+  }
+}
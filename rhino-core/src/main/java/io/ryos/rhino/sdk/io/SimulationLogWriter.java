@@ -16,34 +16,78 @@
 
 package io.ryos.rhino.sdk.io;
 
-import akka.actor.AbstractActor;
-import akka.actor.Props;
-import akka.japi.pf.ReceiveBuilder;
+import io.ryos.rhino.sdk.reporting.GatlingSimulationLogFormatter;
 import io.ryos.rhino.sdk.reporting.LogEvent;
+import io.ryos.rhino.sdk.reporting.SimulationLogEncoder;
 import io.ryos.rhino.sdk.reporting.SimulationLogFormatter;
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
  * Log writer is a result writer implementation creates simulation logs containing simulation
- * metrics.
+ * metrics, either as text lines of a {@link SimulationLogFormatter} or as binary records of a
+ * {@link SimulationLogEncoder}. The events are written into direct buffers which are written to
+ * the log file in the background, several at a time, so the handler thread of the writer does not
+ * wait for the disk unless all buffers are in use. The log can be compressed and split into
+ * segments, see {@link SimulationLogOutput}.
  * <p>
  *
  * @author Erhan Bagdemir
  */
-public class SimulationLogWriter extends AbstractActor implements ResultWriter {
+public class SimulationLogWriter implements ResultWriter<LogEvent> {
 
   private static final Logger LOG = LogManager.getLogger(SimulationLogWriter.class);
+  private static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+  private static final long DEFAULT_FLUSH_INTERVAL = 1000L;
+  private static final int BUFFERS = 4;
+  private static final int GZIP_BUFFER_SIZE = 1 << 16;
 
   private SimulationLogFormatter simulationLogFormatter;
-  private Writer writer;
+  private SimulationLogEncoder simulationLogEncoder;
+  private GroupCommitWriter writer;
+  private String logFile;
+  private int bufferSize;
+  private long flushInterval;
+  private SimulationLogOutput output;
+  private SimulationLogIndex index;
+
+  /**
+   * Simulation run the log belongs to, which is written at the beginning of every segment.
+   * <p>
+   */
+  private String simulationClass;
+  private String simulationName;
+  private long startTime;
+
+  /**
+   * Current segment, its number, the time it is opened, the time range and the number of its
+   * events.
+   * <p>
+   */
+  private Path segment;
+  private int segmentNumber;
+  private long segmentOpened;
+  private long segmentFrom;
+  private long segmentTo;
+  private long segmentEvents;
+
+  /**
+   * Builder the events are formatted into, which is reused for all events.
+   * <p>
+   */
+  private final StringBuilder line = new StringBuilder(256);
 
   /**
    * Constructs a new {@link SimulationLogFormatter} instance.
@@ -52,17 +96,75 @@ public class SimulationLogWriter extends AbstractActor implements ResultWriter {
    * @param formatter Log formatter.
    */
   public SimulationLogWriter(final String logFile, final SimulationLogFormatter formatter) {
+    this(logFile, formatter, DEFAULT_BUFFER_SIZE, DEFAULT_FLUSH_INTERVAL);
+  }
+
+  /**
+   * Constructs a new {@link SimulationLogFormatter} instance.
+   *
+   * @param logFile Path to the log file.
+   * @param formatter Log formatter.
+   * @param bufferSize Size of the write buffers in bytes.
+   * @param flushInterval Time in milliseconds after which buffered events are written to the
+   * file even if the buffer is not full.
+   */
+  public SimulationLogWriter(final String logFile, final SimulationLogFormatter formatter,
+      final int bufferSize, final long flushInterval) {
+    this(logFile, formatter, bufferSize, flushInterval, SimulationLogOutput.PLAIN);
+  }
+
+  /**
+   * Constructs a new {@link SimulationLogFormatter} instance.
+   *
+   * @param logFile Path to the log file.
+   * @param formatter Log formatter.
+   * @param bufferSize Size of the write buffers in bytes.
+   * @param flushInterval Time in milliseconds after which buffered events are written to the
+   * file even if the buffer is not full.
+   * @param output Compression and rotation of the log files.
+   */
+  public SimulationLogWriter(final String logFile, final SimulationLogFormatter formatter,
+      final int bufferSize, final long flushInterval, final SimulationLogOutput output) {
     if (formatter == null) {
       return;
     }
 
     this.simulationLogFormatter = formatter;
+    open(logFile, bufferSize, flushInterval, output);
+  }
+
+  /**
+   * Constructs a new {@link SimulationLogWriter} instance which writes binary records.
+   *
+   * @param logFile Path to the log file.
+   * @param encoder Log encoder.
+   * @param bufferSize Size of the write buffers in bytes.
+   * @param flushInterval Time in milliseconds after which buffered events are written to the
+   * file even if the buffer is not full.
+   * @param output Compression and rotation of the log files.
+   */
+  public SimulationLogWriter(final String logFile, final SimulationLogEncoder encoder,
+      final int bufferSize, final long flushInterval, final SimulationLogOutput output) {
+    if (encoder == null) {
+      return;
+    }
 
-    var pathToLogFile = Objects.requireNonNull(logFile);
-    var file = new File(pathToLogFile);
+    this.simulationLogEncoder = encoder;
+    open(logFile, bufferSize, flushInterval, output);
+  }
+
+  private void open(final String logFile, final int bufferSize, final long flushInterval,
+      final SimulationLogOutput output) {
+    this.logFile = Objects.requireNonNull(logFile);
+    this.bufferSize = bufferSize;
+    this.flushInterval = flushInterval;
+    this.output = Objects.requireNonNull(output);
 
-    try { // do not close the stream till the load test completes.
-      this.writer = new BufferedWriter(new FileWriter(file));
+    try { // do not close the channel till the load test completes.
+      if (output.isSegmented()) {
+        this.index = SimulationLogIndex.create(SimulationLogIndex.pathOf(logFile));
+      }
+      openSegment();
     } catch (IOException e) {
       LOG.error("Something went wrong while writing to the stream.", e);
       ExceptionUtils.rethrow(e);
@@ -70,32 +172,105 @@ public class SimulationLogWriter extends AbstractActor implements ResultWriter {
   }
 
   /**
-   * Static factory method to create a new instance of {@link SimulationLogFormatter}.
+   * Writes the header of the simulation run, i.e the run record of the {@link SimulationLogEncoder}
+   * or the run line of the {@link GatlingSimulationLogFormatter}. The header is written again at
+   * the beginning of every following segment of the log.
+   * <p>
    *
-   * @param pathToLogFile Path to the log file.
-   * @param logFormatter Log formatter instance.
-   * @param <T> A type of {@link SimulationLogFormatter}.
-   * @return {@link SimulationLogFormatter} instance.
+   * @param simulationClass Class name of the simulation.
+   * @param simulationName  Name of the simulation.
+   * @param startTime       Start time of the simulation in epoch milliseconds.
    */
-  public static <T extends SimulationLogFormatter> Props props(final String pathToLogFile,
-      final T logFormatter) {
-    return Props.create(
-        SimulationLogWriter.class, () -> new SimulationLogWriter(pathToLogFile, logFormatter));
+  public void writeRun(final String simulationClass, final String simulationName,
+      final long startTime) {
+    this.simulationClass = simulationClass;
+    this.simulationName = simulationName;
+    this.startTime = startTime;
+    writeRun();
+  }
+
+  private void writeRun() {
+    if (simulationLogEncoder != null) {
+      write(simulationLogEncoder.encodeRun(simulationClass, simulationName, startTime));
+    } else if (simulationLogFormatter instanceof GatlingSimulationLogFormatter) {
+      write(String.format(GatlingSimulationLogFormatter.GATLING_HEADLINE_TEMPLATE,
+          simulationClass, simulationName, startTime,
+          GatlingSimulationLogFormatter.GATLING_VERSION));
+    }
   }
 
   @Override
   public void write(final LogEvent report) {
-    if (simulationLogFormatter != null) {
-      write(simulationLogFormatter.format(report));
+    if (writer == null) {
+      return;
+    }
+
+    if (index != null) {
+      if (isRotationDue() && !rotate()) {
+        return;
+      }
+      segmentFrom = Math.min(segmentFrom, report.getStart());
+      segmentTo = Math.max(segmentTo, report.getEnd());
+      segmentEvents++;
+    }
+
+    if (simulationLogEncoder != null) {
+      write(simulationLogEncoder.encode(report));
+    } else {
+      line.setLength(0);
+      simulationLogFormatter.format(report, line);
+      write(line);
+    }
+  }
+
+  /**
+   * Writes the remaining bytes of the buffer, e.g records of the {@link SimulationLogEncoder}.
+   * <p>
+   *
+   * @param bytes Bytes to write.
+   */
+  public void write(final ByteBuffer bytes) {
+    if (writer == null) {
+      return;
+    }
+
+    try {
+      writer.write(bytes);
+    } catch (IOException e) {
+      LOG.error(e);
     }
   }
 
   @Override
   public void write(final String report) {
+    write((CharSequence) report);
+  }
+
+  private void write(final CharSequence report) {
+    if (writer == null) {
+      return;
+    }
 
     try {
       writer.write(report);
-      writer.flush();
+    } catch (IOException e) {
+      LOG.error(e);
+    }
+  }
+
+  /**
+   * Writes the buffered events to the file if the flush interval has elapsed since the oldest of
+   * them was buffered. Otherwise, they are written once the buffer is full.
+   * <p>
+   */
+  @Override
+  public void flush() {
+    if (writer == null) {
+      return;
+    }
+
+    try {
+      writer.flushIfDue();
     } catch (IOException e) {
       LOG.error(e);
     }
@@ -103,18 +278,83 @@ public class SimulationLogWriter extends AbstractActor implements ResultWriter {
 
   @Override
   public void close() {
-    // Nothing to close.
     try {
-      writer.close();
+      if (writer != null) {
+        closeSegment();
+      }
+      if (index != null) {
+        index.close();
+      }
     } catch (IOException e) {
       LOG.error("Something went wrong while closing the stream.", e);
       ExceptionUtils.rethrow(e);
     }
   }
 
-  @Override
-  public Receive createReceive() {
-    return ReceiveBuilder.create().match(String.class, this::write
-    ).match(LogEvent.class, this::write).build();
+  private boolean isRotationDue() {
+    if (segmentEvents == 0) {
+      return false;
+    }
+    var rotationSize = output.getRotationSize();
+    var rotationInterval = output.getRotationInterval();
+    return rotationSize > 0 && writer.size() >= rotationSize
+        || rotationInterval > 0 && System.currentTimeMillis() - segmentOpened >= rotationInterval;
+  }
+
+  /**
+   * Closes the current segment and opens the next one. If either fails, the simulation log is
+   * disabled for the rest of the simulation, and the events are no longer written.
+   * <p>
+   *
+   * @return true if the next segment is opened.
+   */
+  private boolean rotate() {
+    try {
+      closeSegment();
+      // Segments of binary logs start over, so they can be read without the preceding ones.
+      if (simulationLogEncoder != null) {
+        simulationLogEncoder.reset();
+      }
+      openSegment();
+      if (simulationClass != null) {
+        writeRun();
+      }
+      return true;
+    } catch (IOException e) {
+      LOG.error("Cannot rotate the simulation log, the simulation log is disabled.", e);
+      return false;
+    }
+  }
+
+  private void openSegment() throws IOException {
+    segmentNumber++;
+    var fileName = output.isSegmented() ? logFile + "." + segmentNumber : logFile;
+    segment = Paths.get(fileName + output.getCodec().getSuffix());
+    segmentOpened = System.currentTimeMillis();
+    segmentFrom = Long.MAX_VALUE;
+    segmentTo = Long.MIN_VALUE;
+    segmentEvents = 0;
+    writer = new GroupCommitWriter(openChannel(segment), bufferSize, BUFFERS, flushInterval);
+  }
+
+  private WritableByteChannel openChannel(final Path path) throws IOException {
+    if (output.getCodec() == SimulationLogOutput.Codec.GZIP) {
+      return Channels.newChannel(new GZIPOutputStream(Files.newOutputStream(path),
+          GZIP_BUFFER_SIZE));
+    }
+    return FileChannel.open(path, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+  }
+
+  private void closeSegment() throws IOException {
+    try {
+      writer.close();
+    } finally {
+      writer = null;
+    }
+    if (index != null) {
+      index.add(segment, segmentEvents > 0 ? segmentFrom : 0,
+          segmentEvents > 0 ? segmentTo : 0, segmentEvents);
+    }
   }
 }
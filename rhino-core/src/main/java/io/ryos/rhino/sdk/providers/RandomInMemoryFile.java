@@ -1,28 +1,43 @@
 package io.ryos.rhino.sdk.providers;
 
-import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 import java.util.Random;
 
 public class RandomInMemoryFile implements Closeable {
   private String mimeType;
+  private ByteBuffer content;
   private InputStream stream;
 
   public RandomInMemoryFile(int size, String mimeType) {
     this.mimeType = mimeType;
 
-    var content = new byte[size];
-    new Random().nextBytes(content);
-    this.stream = new ByteArrayInputStream(content);
+    var bytes = new byte[size];
+    new Random().nextBytes(bytes);
+    // The content lives off-heap, so uploads pass it to the socket without copying it.
+    this.content = ByteBuffer.allocateDirect(size).put(bytes).flip().asReadOnlyBuffer();
+    this.stream = new BufferInputStream(content.duplicate());
   }
 
   public InputStream asStream() {
     return stream;
   }
 
+  /**
+   * Returns the content of the file as a read-only buffer, which can be uploaded by any number of
+   * requests without copying it, see {@link
+   * io.ryos.rhino.sdk.dsl.HttpConfigDsl#upload(ByteBuffer)}.
+   * <p>
+   *
+   * @return Read-only {@link ByteBuffer} of the content.
+   */
+  public ByteBuffer asBuffer() {
+    return content.duplicate();
+  }
+
   public String getMimeType() {
     return mimeType;
   }
@@ -49,4 +64,33 @@ public class RandomInMemoryFile implements Closeable {
   public void close() throws IOException {
     asStream().close();
   }
+
+  private static final class BufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    private BufferInputStream(final ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(final byte[] bytes, final int off, final int len) {
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      var count = Math.min(len, buffer.remaining());
+      buffer.get(bytes, off, count);
+      return count;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
+    }
+  }
 }
@@ -0,0 +1,217 @@
+/*
+  Copyright 2018 Ryos.io.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+
+
+package io.ryos.rhino.sdk.reporting;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Binary log encoder encodes the log events into compact binary records instead of text lines.
+ * Every record has the same layout for its type and consists of a type tag followed by its fields
+ * without any separators. Strings like user ids, scenario and measurement names are written once
+ * as dictionary entries and referenced by their index afterwards, and the start time of an event
+ * is written as the difference to the start time of the previous one. All numbers are variable
+ * length encoded, so small values take a single byte.
+ * <p>
+ *
+ * The log is read with {@link BinarySimulationLogReader}, and it can be converted into the text
+ * formats with {@link io.ryos.rhino.sdk.io.SimulationLogConverter}. The encoder keeps the
+ * dictionary of the log it writes, so an instance must be used for a single log.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+public class BinarySimulationLogEncoder implements SimulationLogEncoder {
+
+  static final int MAGIC = 0x52484c42; // "RHLB"
+  static final byte VERSION = 1;
+
+  static final byte DICTIONARY = 1;
+  static final byte RUN = 2;
+  static final byte DSL = 3;
+  static final byte USER = 4;
+
+  /**
+   * Dictionary reference of null strings.
+   * <p>
+   */
+  static final int NULL = 0;
+
+  private static final int INITIAL_CAPACITY = 1 << 12;
+
+  private final Map<String, Integer> dictionary = new HashMap<>();
+  private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_CAPACITY);
+  private boolean headerWritten;
+  private long lastStart;
+
+  /**
+   * Resets the dictionary and the start time, so the records encoded from now on can be read
+   * without the preceding ones, e.g in a new segment of the log. The records start with the file
+   * header again.
+   * <p>
+   */
+  @Override
+  public void reset() {
+    dictionary.clear();
+    headerWritten = false;
+    lastStart = 0L;
+  }
+
+  /**
+   * Encodes the run record, which carries the information of the simulation, e.g to write the
+   * header of Gatling logs.
+   * <p>
+   *
+   * @param simulationClass Class name of the simulation.
+   * @param simulationName  Name of the simulation.
+   * @param startTime       Start time of the simulation in epoch milliseconds.
+   * @return Buffer containing the record, which is valid until the next call.
+   */
+  @Override
+  public ByteBuffer encodeRun(final String simulationClass, final String simulationName,
+      final long startTime) {
+    begin();
+    var classRef = reference(simulationClass);
+    var nameRef = reference(simulationName);
+    put(RUN);
+    putVarInt(classRef);
+    putVarInt(nameRef);
+    putVarLong(zigZag(startTime - lastStart));
+    lastStart = startTime;
+    return buffer.flip();
+  }
+
+  /**
+   * Encodes the event into a record, preceded by the dictionary entries of the strings which
+   * are not referenced before.
+   * <p>
+   *
+   * @param event Log event.
+   * @return Buffer containing the records, which is valid until the next call.
+   */
+  @Override
+  public ByteBuffer encode(final LogEvent event) {
+    begin();
+    var usernameRef = reference(event.getUsername());
+    var userIdRef = reference(event.getUserId());
+    var parentRef = reference(event.getParentMeasurementPoint());
+
+    if (event instanceof DslEvent) {
+      var dslEvent = (DslEvent) event;
+      var measurementRef = reference(dslEvent.getMeasurementPoint());
+      var statusRef = reference(dslEvent.getStatus());
+      put(DSL);
+      putCommon(event, usernameRef, userIdRef, parentRef);
+      putVarInt(measurementRef);
+      putVarInt(statusRef);
+      putVarLong(zigZag(dslEvent.getResponseTime()));
+      putVarLong(zigZag(dslEvent.getWireBytes()));
+      putVarLong(zigZag(dslEvent.getDecodedBytes()));
+      putVarLong(zigZag(dslEvent.getDecodeNanos()));
+    } else if (event instanceof UserEvent) {
+      var userEvent = (UserEvent) event;
+      var idRef = reference(userEvent.getId());
+      var statusRef = reference(userEvent.getEventStatus());
+      put(USER);
+      putCommon(event, usernameRef, userIdRef, parentRef);
+      putVarInt(idRef);
+      putVarInt(statusRef);
+      put((byte) (userEvent.getEventType() == null ? 0 : userEvent.getEventType().ordinal() + 1));
+    }
+    return buffer.flip();
+  }
+
+  private void begin() {
+    buffer.clear();
+    if (!headerWritten) {
+      ensureCapacity(Integer.BYTES + 1);
+      buffer.putInt(MAGIC).put(VERSION);
+      headerWritten = true;
+    }
+  }
+
+  private void putCommon(final LogEvent event, final int usernameRef, final int userIdRef,
+      final int parentRef) {
+    putVarInt(usernameRef);
+    putVarInt(userIdRef);
+    putVarInt(parentRef);
+    putVarLong(zigZag(event.getStart() - lastStart));
+    putVarLong(zigZag(event.getEnd() - event.getStart()));
+    putVarLong(zigZag(event.getElapsed()));
+    lastStart = event.getStart();
+  }
+
+  private int reference(final String value) {
+    if (value == null) {
+      return NULL;
+    }
+    var ref = dictionary.get(value);
+    if (ref != null) {
+      return ref;
+    }
+
+    var newRef = dictionary.size() + 1;
+    dictionary.put(value, newRef);
+    var bytes = value.getBytes(StandardCharsets.UTF_8);
+    put(DICTIONARY);
+    putVarInt(newRef);
+    putVarInt(bytes.length);
+    ensureCapacity(bytes.length);
+    buffer.put(bytes);
+    return newRef;
+  }
+
+  private void put(final byte value) {
+    ensureCapacity(1);
+    buffer.put(value);
+  }
+
+  private void putVarInt(final int value) {
+    putVarLong(value & 0xffffffffL);
+  }
+
+  private void putVarLong(final long value) {
+    ensureCapacity(10);
+    var remaining = value;
+    while ((remaining & ~0x7fL) != 0) {
+      buffer.put((byte) ((remaining & 0x7f) | 0x80));
+      remaining >>>= 7;
+    }
+    buffer.put((byte) remaining);
+  }
+
+  private void ensureCapacity(final int bytes) {
+    if (buffer.remaining() < bytes) {
+      var grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+      buffer.flip();
+      grown.put(buffer);
+      buffer = grown;
+    }
+  }
+
+  static long zigZag(final long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  static long unZigZag(final long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+}
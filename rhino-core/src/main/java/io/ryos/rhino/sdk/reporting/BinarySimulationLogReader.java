@@ -0,0 +1,271 @@
+/*
+  Copyright 2018 Ryos.io.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+
+
+package io.ryos.rhino.sdk.reporting;
+
+import static io.ryos.rhino.sdk.reporting.BinarySimulationLogEncoder.DICTIONARY;
+import static io.ryos.rhino.sdk.reporting.BinarySimulationLogEncoder.DSL;
+import static io.ryos.rhino.sdk.reporting.BinarySimulationLogEncoder.MAGIC;
+import static io.ryos.rhino.sdk.reporting.BinarySimulationLogEncoder.NULL;
+import static io.ryos.rhino.sdk.reporting.BinarySimulationLogEncoder.RUN;
+import static io.ryos.rhino.sdk.reporting.BinarySimulationLogEncoder.USER;
+import static io.ryos.rhino.sdk.reporting.BinarySimulationLogEncoder.VERSION;
+import static io.ryos.rhino.sdk.reporting.BinarySimulationLogEncoder.unZigZag;
+
+import io.ryos.rhino.sdk.reporting.UserEvent.EventType;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Reads the log events of a log written with {@link BinarySimulationLogEncoder} one by one, so
+ * logs of any size can be read without loading them into the memory. The log ends where the input
+ * ends, and a log which ends within a record or contains an unknown record is rejected.
+ * <p>
+ *
+ * Logs which are not closed properly, e.g an {@link io.ryos.rhino.sdk.io.EventJournal} whose
+ * process crashed, are read in the tolerant mode. A zero byte where a record or the log starts
+ * marks the end of such a log, e.g the unused, zero-filled rest of the journal, and so does a
+ * record which is cut off.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+public class BinarySimulationLogReader implements Closeable {
+
+  private final DataInputStream input;
+  private final List<String> dictionary = new ArrayList<>();
+  private final boolean tolerant;
+
+  private String simulationClass;
+  private String simulationName;
+  private long startTime;
+  private long lastStart;
+  private boolean headerRead;
+  private boolean ended;
+
+  public BinarySimulationLogReader(final InputStream inputStream) {
+    this(inputStream, false);
+  }
+
+  /**
+   * Creates a reader of the log.
+   * <p>
+   *
+   * @param inputStream Input stream of the log.
+   * @param tolerant    true if the log may end with a zero-filled or cut off remainder, which is
+   *                    then treated as the end of the log.
+   */
+  public BinarySimulationLogReader(final InputStream inputStream, final boolean tolerant) {
+    Validate.notNull(inputStream, "Input stream must not be null.");
+    this.input = new DataInputStream(new BufferedInputStream(inputStream));
+    this.tolerant = tolerant;
+    this.dictionary.add(null); // BinarySimulationLogEncoder.NULL
+  }
+
+  /**
+   * Reads the next event of the log.
+   * <p>
+   *
+   * @return The next {@link LogEvent}, or null at the end of the log.
+   * @throws IOException If the log cannot be read or is not a binary simulation log.
+   */
+  public LogEvent next() throws IOException {
+    if (ended || !headerRead && !readHeader()) {
+      ended = true;
+      return null;
+    }
+
+    while (true) {
+      var tag = input.read();
+      if (tag < 0 || tag == 0 && tolerant) {
+        ended = true;
+        return null;
+      }
+
+      try {
+        var event = readRecord((byte) tag);
+        if (event != null) {
+          return event;
+        }
+      } catch (EOFException e) {
+        if (!tolerant) {
+          throw new EOFException("The binary simulation log ends within a record.");
+        }
+        ended = true;
+        return null;
+      }
+    }
+  }
+
+  private LogEvent readRecord(final byte tag) throws IOException {
+    switch (tag) {
+      case DICTIONARY:
+        readDictionaryEntry();
+        return null;
+      case RUN:
+        simulationClass = readString();
+        simulationName = readString();
+        startTime = readStart();
+        return null;
+      case DSL:
+        return readDslEvent();
+      case USER:
+        return readUserEvent();
+      default:
+        throw new IOException("Unknown record type: " + tag);
+    }
+  }
+
+  /**
+   * Returns the class name of the simulation if the run record has been read.
+   * <p>
+   *
+   * @return Class name of the simulation, or null.
+   */
+  public String getSimulationClass() {
+    return simulationClass;
+  }
+
+  /**
+   * Returns the name of the simulation if the run record has been read.
+   * <p>
+   *
+   * @return Name of the simulation, or null.
+   */
+  public String getSimulationName() {
+    return simulationName;
+  }
+
+  /**
+   * Returns the start time of the simulation if the run record has been read.
+   * <p>
+   *
+   * @return Start time of the simulation in epoch milliseconds.
+   */
+  public long getStartTime() {
+    return startTime;
+  }
+
+  @Override
+  public void close() throws IOException {
+    input.close();
+  }
+
+  private boolean readHeader() throws IOException {
+    var first = input.read();
+    if (first < 0 || first == 0 && tolerant) {
+      return false;
+    }
+    int magic;
+    try {
+      magic = first << 24 | input.readUnsignedByte() << 16 | input.readUnsignedShort();
+    } catch (EOFException e) {
+      if (tolerant) {
+        return false;
+      }
+      throw new IOException("Not a binary simulation log.");
+    }
+    if (magic != MAGIC) {
+      throw new IOException("Not a binary simulation log.");
+    }
+    var version = input.readByte();
+    if (version != VERSION) {
+      throw new IOException("Unsupported binary simulation log version: " + version);
+    }
+    headerRead = true;
+    return true;
+  }
+
+  private void readDictionaryEntry() throws IOException {
+    var ref = (int) readVarLong();
+    if (ref != dictionary.size()) {
+      throw new IOException("Corrupt dictionary entry: " + ref);
+    }
+    var bytes = new byte[(int) readVarLong()];
+    input.readFully(bytes);
+    dictionary.add(new String(bytes, StandardCharsets.UTF_8));
+  }
+
+  private DslEvent readDslEvent() throws IOException {
+    var username = readString();
+    var userId = readString();
+    var parent = readString();
+    var start = readStart();
+    var end = start + unZigZag(readVarLong());
+    var elapsed = unZigZag(readVarLong());
+    var measurement = readString();
+    var status = readString();
+    var responseTime = unZigZag(readVarLong());
+    var wireBytes = unZigZag(readVarLong());
+    var decodedBytes = unZigZag(readVarLong());
+    var decodeNanos = unZigZag(readVarLong());
+    return new DslEvent(username, userId, parent, start, end, elapsed, responseTime, status,
+        measurement, null, wireBytes, decodedBytes, decodeNanos);
+  }
+
+  private UserEvent readUserEvent() throws IOException {
+    var username = readString();
+    var userId = readString();
+    var parent = readString();
+    var start = readStart();
+    var end = start + unZigZag(readVarLong());
+    var elapsed = unZigZag(readVarLong());
+    var id = readString();
+    var status = readString();
+    var type = input.readByte();
+    var eventType = type == 0 ? null : EventType.values()[type - 1];
+    return new UserEvent(username, userId, parent, start, end, elapsed, eventType, status, id,
+        null);
+  }
+
+  private long readStart() throws IOException {
+    lastStart += unZigZag(readVarLong());
+    return lastStart;
+  }
+
+  private String readString() throws IOException {
+    var ref = (int) readVarLong();
+    if (ref == NULL) {
+      return null;
+    }
+    if (ref >= dictionary.size()) {
+      throw new IOException("Unknown dictionary reference: " + ref);
+    }
+    return dictionary.get(ref);
+  }
+
+  private long readVarLong() throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      var b = input.readByte();
+      value |= (long) (b & 0x7f) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed variable length number.");
+  }
+}
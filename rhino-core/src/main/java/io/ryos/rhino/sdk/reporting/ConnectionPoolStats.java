@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.reporting;
+
+/**
+ * Snapshot of the connection pool of an HTTP client profile. A pool is saturated if its active
+ * connections reach the maximum and requests are pending, i.e waiting for a connection.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+public class ConnectionPoolStats {
+
+  private final String profile;
+  private final int maxConnections;
+  private final long activeConnections;
+  private final long idleConnections;
+  private final int pendingAcquires;
+
+  public ConnectionPoolStats(final String profile,
+      final int maxConnections,
+      final long activeConnections,
+      final long idleConnections,
+      final int pendingAcquires) {
+    this.profile = profile;
+    this.maxConnections = maxConnections;
+    this.activeConnections = activeConnections;
+    this.idleConnections = idleConnections;
+    this.pendingAcquires = pendingAcquires;
+  }
+
+  public String getProfile() {
+    return profile;
+  }
+
+  public int getMaxConnections() {
+    return maxConnections;
+  }
+
+  public long getActiveConnections() {
+    return activeConnections;
+  }
+
+  public long getIdleConnections() {
+    return idleConnections;
+  }
+
+  public int getPendingAcquires() {
+    return pendingAcquires;
+  }
+
+  @Override
+  public String toString() {
+    return "ConnectionPoolStats{" +
+        "profile='" + profile + '\'' +
+        ", maxConnections=" + maxConnections +
+        ", activeConnections=" + activeConnections +
+        ", idleConnections=" + idleConnections +
+        ", pendingAcquires=" + pendingAcquires +
+        '}';
+  }
+}
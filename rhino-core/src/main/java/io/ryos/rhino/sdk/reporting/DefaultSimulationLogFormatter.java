@@ -24,15 +24,22 @@ package io.ryos.rhino.sdk.reporting;
  */
 public class DefaultSimulationLogFormatter implements SimulationLogFormatter {
 
+  private static final String LINE_SEPARATOR = System.lineSeparator();
+
   @Override
   public String format(final LogEvent event) {
-    return String.format("\"%s\"\t\"%s\"\t%s\t%s\t%s\t%s%n",
-        event.getParentMeasurementPoint(),
-        event.getStart(),
-        event.getElapsed(),
-        event.getUsername(),
-        event.getStart(),
-        ""
-    );
+    var target = new StringBuilder(128);
+    format(event, target);
+    return target.toString();
+  }
+
+  @Override
+  public void format(final LogEvent event, final StringBuilder target) {
+    target.append('"').append(event.getParentMeasurementPoint()).append("\"\t\"")
+        .append(event.getStart()).append("\"\t")
+        .append(event.getElapsed()).append('\t')
+        .append(event.getUsername()).append('\t')
+        .append(event.getStart()).append('\t')
+        .append(LINE_SEPARATOR);
   }
 }
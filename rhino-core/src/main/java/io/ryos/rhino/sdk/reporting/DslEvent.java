@@ -21,6 +21,31 @@ public class DslEvent extends LogEvent {
   private final String status;
   private final String measurementPoint;
 
+  /**
+   * Elapsed time since the intended start of the request, which includes the time the request
+   * waited before it was sent, whereas the elapsed time is the service time only.
+   * <p>
+   */
+  private final long responseTime;
+
+  /**
+   * Number of body bytes received, -1 if the measurement is not a request.
+   * <p>
+   */
+  private final long wireBytes;
+
+  /**
+   * Number of body bytes after decoding the content coding, -1 if unknown.
+   * <p>
+   */
+  private final long decodedBytes;
+
+  /**
+   * Time spent on decoding the body in nanoseconds.
+   * <p>
+   */
+  private final long decodeNanos;
+
   public DslEvent(final String username,
       final String userId,
       final String parentMeasurement,
@@ -30,10 +55,45 @@ public class DslEvent extends LogEvent {
       final String status,
       final String measurement,
       final VerificationInfo verificationInfo) {
+    this(username, userId, parentMeasurement, start, end, elapsed, elapsed, status, measurement,
+        verificationInfo);
+  }
+
+  public DslEvent(final String username,
+      final String userId,
+      final String parentMeasurement,
+      final long start,
+      final long end,
+      final long elapsed,
+      final long responseTime,
+      final String status,
+      final String measurement,
+      final VerificationInfo verificationInfo) {
+    this(username, userId, parentMeasurement, start, end, elapsed, responseTime, status,
+        measurement, verificationInfo, -1L, -1L, 0L);
+  }
+
+  public DslEvent(final String username,
+      final String userId,
+      final String parentMeasurement,
+      final long start,
+      final long end,
+      final long elapsed,
+      final long responseTime,
+      final String status,
+      final String measurement,
+      final VerificationInfo verificationInfo,
+      final long wireBytes,
+      final long decodedBytes,
+      final long decodeNanos) {
     super(username, userId, parentMeasurement, start, end, elapsed, verificationInfo);
 
     this.status = status;
     this.measurementPoint = measurement;
+    this.responseTime = responseTime;
+    this.wireBytes = wireBytes;
+    this.decodedBytes = decodedBytes;
+    this.decodeNanos = decodeNanos;
   }
 
   public String getStatus() {
@@ -44,6 +104,22 @@ public class DslEvent extends LogEvent {
     return measurementPoint;
   }
 
+  public long getResponseTime() {
+    return responseTime;
+  }
+
+  public long getWireBytes() {
+    return wireBytes;
+  }
+
+  public long getDecodedBytes() {
+    return decodedBytes;
+  }
+
+  public long getDecodeNanos() {
+    return decodeNanos;
+  }
+
   @Override
   public String toString() {
     return "DslEvent{" +
@@ -55,6 +131,10 @@ public class DslEvent extends LogEvent {
         ", start=" + getStart() +
         ", end=" + getEnd() +
         ", elapsed=" + getElapsed() +
+        ", responseTime=" + responseTime +
+        ", wireBytes=" + wireBytes +
+        ", decodedBytes=" + decodedBytes +
+        ", decodeNanos=" + decodeNanos +
         '}';
   }
 }
@@ -36,6 +36,8 @@ public class GatlingSimulationLogFormatter implements SimulationLogFormatter {
   public static final String GATLING_VERSION = "3.0.0-RC4";
   public static final String GATLING_HEADLINE_TEMPLATE = "RUN\t%s\t%s\t%s\trhino\t%s%n";
 
+  private static final String LINE_SEPARATOR = System.lineSeparator();
+
   /**
    * Gatling formatter, writes the log event in the Gatling format so that Gatling can generate
    * reports:
@@ -45,34 +47,50 @@ public class GatlingSimulationLogFormatter implements SimulationLogFormatter {
    */
   @Override
   public String format(final LogEvent event) {
-    if (event instanceof DslEvent) {
-      return convert((DslEvent) event);
-    }
+    var target = new StringBuilder(128);
+    format(event, target);
+    return target.toString();
+  }
 
-    if (event instanceof UserEvent) {
-      return convert((UserEvent) event);
+  @Override
+  public void format(final LogEvent event, final StringBuilder target) {
+    if (event instanceof DslEvent) {
+      append((DslEvent) event, target);
+    } else if (event instanceof UserEvent) {
+      append((UserEvent) event, target);
+    } else {
+      target.append("N/A");
     }
+  }
 
-    return "N/A";
+  private void append(final DslEvent event, final StringBuilder target) {
+    target.append("REQUEST\t").append(event.getUserId()).append("\t\t")
+        .append(event.getMeasurementPoint()).append('\t')
+        .append(event.getStart()).append('\t')
+        .append(event.getEnd()).append('\t')
+        .append(isOk(event.getStatus()) ? "OK" : "KO").append("\t ")
+        .append(LINE_SEPARATOR);
   }
 
-  private String convert(DslEvent event) {
-    return String.format("REQUEST\t%s\t\t%s\t%s\t%s\t%s\t %n",
-        event.getUserId(),
-        event.getMeasurementPoint(),
-        event.getStart(),
-        event.getEnd(),
-        event.getStatus().equals("200") ? "OK" : "KO"
-    );
+  private void append(final UserEvent event, final StringBuilder target) {
+    target.append("USER\t").append(event.getParentMeasurementPoint()).append('\t')
+        .append(event.getId()).append('\t')
+        .append(event.getEventType()).append('\t')
+        .append(event.getStart()).append('\t')
+        .append(event.getEnd())
+        .append(LINE_SEPARATOR);
   }
 
-  private String convert(UserEvent event) {
-    return String.format("USER\t%s\t%s\t%s\t%d\t%d%n",
-        event.getParentMeasurementPoint(),
-        event.getId(),
-        event.getEventType(),
-        event.getStart(),
-        event.getEnd()
-    );
+  /**
+   * Returns whether the status is 200 by comparing its characters in place. Null statuses, e.g of
+   * requests which failed without a response, are not OK.
+   * <p>
+   */
+  private static boolean isOk(final CharSequence status) {
+    return status != null
+        && status.length() == 3
+        && status.charAt(0) == '2'
+        && status.charAt(1) == '0'
+        && status.charAt(2) == '0';
   }
 }
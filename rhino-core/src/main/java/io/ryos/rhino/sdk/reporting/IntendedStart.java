@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.reporting;
+
+import java.util.concurrent.TimeUnit;
+import reactor.util.context.Context;
+
+/**
+ * Intended start is the time at which a request was supposed to start. The injector of the open
+ * model schedules the scenario iterations, and an iteration which starts late carries its lag in
+ * the subscriber {@link Context}. Every request of the iteration is then measured from the time
+ * it was issued less the lag, since the whole iteration, and with it each of its requests, would
+ * have run that much earlier. Requests outside of a scheduled iteration, e.g in the closed model
+ * whose virtual users are not scheduled, are measured from the time they were issued.
+ * <p>
+ *
+ * In either case the time a request waits in the request throttle or for a pooled connection is
+ * part of its response time, i.e without coordinated omission. The closed model does not report
+ * the time a virtual user would have waited for its next iteration, since it has no schedule.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+public final class IntendedStart {
+
+  private static final String CONTEXT_KEY = IntendedStart.class.getName();
+
+  private IntendedStart() {
+  }
+
+  /**
+   * Adds the lag of the iteration, which was supposed to start at the time given, to the context.
+   * <p>
+   *
+   * @param context  Subscriber {@link Context} of the iteration.
+   * @param nanoTime Intended start of the iteration in {@link System#nanoTime()} time base.
+   * @return The new {@link Context}.
+   */
+  public static Context put(final Context context, final long nanoTime) {
+    var lag = TimeUnit.NANOSECONDS.toMillis(Math.max(0L, System.nanoTime() - nanoTime));
+    return context.put(CONTEXT_KEY, lag);
+  }
+
+  /**
+   * Returns the intended start of a request which is issued now, i.e the current time less the
+   * lag of its iteration.
+   * <p>
+   *
+   * @param context Subscriber {@link Context} of the request.
+   * @return Intended start in epoch milliseconds.
+   */
+  public static long of(final Context context) {
+    long lag = context.getOrDefault(CONTEXT_KEY, 0L);
+    return System.currentTimeMillis() - lag;
+  }
+}
@@ -45,7 +45,11 @@ public class MeasurementImpl implements Measurement {
   private volatile boolean measurementEnabled;
   private volatile boolean measurementStarted;
   private long start = -1;
+  private long intendedStart = -1;
   private long elapsed = 0L;
+  private long wireBytes = -1L;
+  private long decodedBytes = -1L;
+  private long decodeNanos = 0L;
 
   private EventDispatcher dispatcher;
 
@@ -103,6 +107,33 @@ public class MeasurementImpl implements Measurement {
     }
   }
 
+  /**
+   * Sets the time at which the measured operation was supposed to start. The response time of
+   * the next measurement is the elapsed time since then, if it is earlier than the start of the
+   * measurement.
+   * <p>
+   *
+   * @param epochMillis Intended start in epoch milliseconds.
+   */
+  public void setIntendedStart(final long epochMillis) {
+    this.intendedStart = epochMillis;
+  }
+
+  /**
+   * Sets the body sizes and the decoding time of the response, which are reported with the next
+   * measurement.
+   * <p>
+   *
+   * @param wireBytes    Number of body bytes received.
+   * @param decodedBytes Number of body bytes after decoding, -1 if unknown.
+   * @param decodeNanos  Time spent on decoding in nanoseconds.
+   */
+  public void setTransfer(final long wireBytes, final long decodedBytes, final long decodeNanos) {
+    this.wireBytes = wireBytes;
+    this.decodedBytes = decodedBytes;
+    this.decodeNanos = decodeNanos;
+  }
+
   public void add(final long millis) {
     if (!measurementStarted) {
       throw new IllegalStateException("Measurement is not yet started.");
@@ -126,6 +157,7 @@ public class MeasurementImpl implements Measurement {
         this.start,
         this.start + this.elapsed,
         this.elapsed,
+        responseTime(this.start + this.elapsed),
         status,
         measurement,
         verifier));
@@ -146,6 +178,7 @@ public class MeasurementImpl implements Measurement {
 
     this.dispatcher.dispatchEvents(this);
     this.start = -1;
+    this.intendedStart = -1;
     this.elapsed = 0;
   }
 
@@ -182,6 +215,7 @@ public class MeasurementImpl implements Measurement {
     registerEndUserEvent();
     this.dispatcher.dispatchEvents(this);
     this.start = System.currentTimeMillis();
+    this.intendedStart = -1;
   }
 
   private void registerEndUserEvent() {
@@ -218,13 +252,27 @@ public class MeasurementImpl implements Measurement {
         this.start,
         end,
         this.elapsed,
+        responseTime(end),
         status,
         measurement,
-        getVerifier()));
-
+        getVerifier(),
+        this.wireBytes,
+        this.decodedBytes,
+        this.decodeNanos));
+
+    this.wireBytes = -1L;
+    this.decodedBytes = -1L;
+    this.decodeNanos = 0L;
     return this.elapsed;
   }
 
+  private long responseTime(final long end) {
+    if (intendedStart < 0 || intendedStart > start) {
+      return end - start;
+    }
+    return end - intendedStart;
+  }
+
   @Override
   public long measure(final String status) {
     return measure(measurementPoint, status);
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.reporting;
+
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Metric is the response time distribution of a single measurement key, that is the combination
+ * of the parent measurement point, the measurement point and the status. Values are recorded into
+ * an HdrHistogram {@link Recorder} which is wait-free for any number of recording threads. The
+ * reporter collects the values recorded since its last visit with {@link #collect()}, which
+ * provides the distribution of the last interval and adds it to the distribution of the whole
+ * run.
+ * <p>
+ *
+ * Two distributions are kept: the service time, measured from the time the request was sent, and
+ * the response time, measured from the time it was supposed to start, see {@link IntendedStart}.
+ * The difference between the two is the time requests waited before they were sent.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+public class Metric {
+
+  /**
+   * Number of significant decimal digits kept by the histograms, i.e values are recorded with a
+   * precision of 0.1%.
+   * <p>
+   */
+  private static final int SIGNIFICANT_DIGITS = 3;
+
+  private final String parentMeasurementPoint;
+  private final String measurementPoint;
+  private final String status;
+  private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+  private final Recorder responseTimeRecorder = new Recorder(SIGNIFICANT_DIGITS);
+
+  /**
+   * Service time distribution of the whole run up to the last collection.
+   * <p>
+   */
+  private final Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+  private final Histogram responseTimeTotal = new Histogram(SIGNIFICANT_DIGITS);
+
+  /**
+   * Service time distribution of the values recorded between the last two collections.
+   * <p>
+   */
+  private Histogram interval;
+  private Histogram responseTimeInterval;
+
+  /**
+   * The result of the last verification of the measurement, or null if it is not verified.
+   * <p>
+   */
+  private volatile String verificationResult;
+
+  /**
+   * Body bytes received, decoded body bytes and decoding time of the requests which reported them.
+   * <p>
+   */
+  private final LongAdder wireBytes = new LongAdder();
+  private final LongAdder decodedBytes = new LongAdder();
+  private final LongAdder decodeNanos = new LongAdder();
+
+  Metric(final String parentMeasurementPoint, final String measurementPoint,
+      final String status) {
+    this.parentMeasurementPoint = parentMeasurementPoint;
+    this.measurementPoint = measurementPoint;
+    this.status = status;
+    this.interval = recorder.getIntervalHistogram();
+    this.responseTimeInterval = responseTimeRecorder.getIntervalHistogram();
+  }
+
+  /**
+   * Records a measurement whose response time equals its service time. The method is wait-free
+   * and can be called from any thread.
+   * <p>
+   *
+   * @param elapsed Service time in milliseconds.
+   */
+  public void record(final long elapsed) {
+    record(elapsed, elapsed);
+  }
+
+  /**
+   * Records the service time and the response time of a measurement. The method is wait-free and
+   * can be called from any thread.
+   * <p>
+   *
+   * @param elapsed      Service time in milliseconds.
+   * @param responseTime Response time since the intended start in milliseconds.
+   */
+  public void record(final long elapsed, final long responseTime) {
+    var serviceTime = Math.max(0L, elapsed);
+    recorder.recordValue(serviceTime);
+    responseTimeRecorder.recordValue(Math.max(serviceTime, responseTime));
+  }
+
+  /**
+   * Records the body sizes and the decoding time of a response. The method is wait-free and can
+   * be called from any thread.
+   * <p>
+   *
+   * @param wire       Number of body bytes received.
+   * @param decoded    Number of body bytes after decoding, -1 if unknown.
+   * @param decodeTime Time spent on decoding in nanoseconds.
+   */
+  public void recordTransfer(final long wire, final long decoded, final long decodeTime) {
+    wireBytes.add(wire);
+    if (decoded >= 0) {
+      decodedBytes.add(decoded);
+    }
+    decodeNanos.add(decodeTime);
+  }
+
+  /**
+   * Collects the values recorded since the last collection. After the call, {@link
+   * #getInterval()} returns the distribution of the collected values and {@link #getTotal()}
+   * includes them.
+   * <p>
+   */
+  public synchronized void collect() {
+    interval = recorder.getIntervalHistogram(interval);
+    total.add(interval);
+    responseTimeInterval = responseTimeRecorder.getIntervalHistogram(responseTimeInterval);
+    responseTimeTotal.add(responseTimeInterval);
+  }
+
+  public String getParentMeasurementPoint() {
+    return parentMeasurementPoint;
+  }
+
+  public String getMeasurementPoint() {
+    return measurementPoint;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  /**
+   * Returns the service time distribution of the whole run as of the last {@link #collect()}.
+   * The histogram must not be modified.
+   * <p>
+   *
+   * @return Service time distribution of the whole run.
+   */
+  public synchronized Histogram getTotal() {
+    return total;
+  }
+
+  /**
+   * Returns the service time distribution of the interval which ended with the last {@link
+   * #collect()}. The histogram must not be modified.
+   * <p>
+   *
+   * @return Service time distribution of the last interval.
+   */
+  public synchronized Histogram getInterval() {
+    return interval;
+  }
+
+  /**
+   * Returns the response time distribution of the whole run as of the last {@link #collect()}.
+   * The histogram must not be modified.
+   * <p>
+   *
+   * @return Response time distribution of the whole run, including the waiting times.
+   */
+  public synchronized Histogram getResponseTimeTotal() {
+    return responseTimeTotal;
+  }
+
+  /**
+   * Returns the response time distribution of the interval which ended with the last {@link
+   * #collect()}. The histogram must not be modified.
+   * <p>
+   *
+   * @return Response time distribution of the last interval, including the waiting times.
+   */
+  public synchronized Histogram getResponseTimeInterval() {
+    return responseTimeInterval;
+  }
+
+  /**
+   * Returns the number of body bytes received, as sent by the server, i.e before decoding the
+   * content coding.
+   * <p>
+   *
+   * @return Total number of body bytes received.
+   */
+  public long getWireBytes() {
+    return wireBytes.sum();
+  }
+
+  /**
+   * Returns the number of body bytes after decoding the content coding. Bodies decoded lazily are
+   * not included.
+   * <p>
+   *
+   * @return Total number of decoded body bytes.
+   */
+  public long getDecodedBytes() {
+    return decodedBytes.sum();
+  }
+
+  /**
+   * Returns the time spent on decoding the bodies while they were received.
+   * <p>
+   *
+   * @return Total decoding time in nanoseconds.
+   */
+  public long getDecodeNanos() {
+    return decodeNanos.sum();
+  }
+
+  public String getVerificationResult() {
+    return verificationResult;
+  }
+
+  void setVerificationResult(final String verificationResult) {
+    this.verificationResult = verificationResult;
+  }
+}
@@ -16,38 +16,33 @@
 
 package io.ryos.rhino.sdk.reporting;
 
-import akka.actor.AbstractActor;
-import akka.actor.Props;
-import akka.japi.pf.ReceiveBuilder;
 import io.ryos.rhino.sdk.ExecutionMode;
+import io.ryos.rhino.sdk.HttpClient;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.Timer;
 import java.util.TimerTask;
-import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
-import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
- * The actor outputs the current status of the test run. It gives out information to stdout like
- * number of requests per scenario, and avg. response times.
+ * The metric collector outputs the current status of the test run. It gives out information to
+ * stdout like number of requests per scenario, response time percentiles for the whole run and
+ * for the last reporting interval, and the state of the HTTP connection pools. Events are recorded
+ * by the calling thread into a {@link MetricRecorder}, the report is rendered periodically by a
+ * timer thread.
  * <p>
  *
  * @author Erhan Bagdemir
  */
-public class MetricCollector extends AbstractActor {
+public class MetricCollector {
   private static final long DELAY = 1000L;
   private static final long PERIOD = 1000L * 5; // TODO make configurable.
-  private static final int MSG_OK = 200;
-  private static final int CONTAINER_WIDTH = 130;
+  private static final int CONTAINER_WIDTH = 140;
 
-  private Instant startTime;
-  private Duration duration;
-  private int numberOfUsers;
-  private ExecutionMode executionMode;
+  private volatile Instant startTime;
+  private final Duration duration;
+  private final int numberOfUsers;
+  private final ExecutionMode executionMode;
+  private volatile MetricRecorder recorder = new MetricRecorder();
 
   /**
    * Indicates whether the termination event has been received.
@@ -59,16 +54,11 @@ public class MetricCollector extends AbstractActor {
    * The timer for flushing output.
    * <p>
    */
-  private Timer timer;
+  private final Timer timer;
 
-  private final Map<String, String> verificationResult = new LinkedHashMap<>();
-  private final Map<String, Long> performanceMetrics = new LinkedHashMap<>();
-  private final Map<String, SummaryStatistics> performanceStats = new LinkedHashMap<>();
-  private final Map<String, DescriptiveStatistics> performanceRollingStats = new LinkedHashMap<>();
-
-  public static Props props(int numberOfUsers, Instant startTime, Duration duration) {
-    return Props.create(MetricCollector.class, () -> new MetricCollector(numberOfUsers, startTime,
-        duration));
+  public MetricCollector(final int numberOfUsers, final Instant startTime,
+      final Duration duration) {
+    this(numberOfUsers, startTime, duration, ExecutionMode.PERFORMANCE);
   }
 
   private MetricCollector(final int numberOfUsers, final Instant startTime, final Duration duration,
@@ -86,11 +76,6 @@ public class MetricCollector extends AbstractActor {
     }
   }
 
-  private MetricCollector(final int numberOfUsers, final Instant startTime,
-      final Duration duration) {
-    this(numberOfUsers, startTime, duration, ExecutionMode.PERFORMANCE);
-  }
-
   private void startTimer() {
 
     final TimerTask timerTask = new TimerTask() {
@@ -102,90 +87,46 @@ public class MetricCollector extends AbstractActor {
     timer.schedule(timerTask, DELAY, PERIOD);
   }
 
-  @Override
-  public Receive createReceive() {
-    return ReceiveBuilder.create()
-        .match(DslEvent.class, this::persist)
-        .match(EndTestEvent.class, this::activateTermination)
-        .build();
+  /**
+   * Records the event. The method is lock-free and can be called from any thread.
+   * <p>
+   *
+   * @param event {@link DslEvent} to record.
+   */
+  public void record(final DslEvent event) {
+    recorder.record(event);
+  }
+
+  /**
+   * Discards the metrics recorded so far, so the report covers the events recorded from now on.
+   * <p>
+   *
+   * @param newStartTime Start time of the report.
+   */
+  public synchronized void reset(final Instant newStartTime) {
+    this.recorder = new MetricRecorder();
+    this.startTime = newStartTime;
   }
 
-  private void activateTermination(final EndTestEvent endEvent) {
+  /**
+   * Stops the periodic report and outputs the final one. Subsequent calls have no effect.
+   * <p>
+   *
+   * @param endTestTime End time of the test run.
+   */
+  public synchronized void stop(final Instant endTestTime) {
     if (receivedTerminationEvent) {
-      sender().tell(MSG_OK, self());
       return;
     }
 
-    flushReport(endEvent);
     this.receivedTerminationEvent = true;
     this.timer.cancel();
-    sender().tell(MSG_OK, self());
-  }
-
-  private void persist(final DslEvent logEvent) {
-
-    var countKey = String.format("Count/%s/%s/%s",
-        logEvent.getParentMeasurementPoint(),
-        logEvent.getMeasurementPoint(),
-        logEvent.getStatus());
-
-    var responseTypeKey = String.format("ResponseTime/%s/%s/%s",
-        logEvent.getParentMeasurementPoint(),
-        logEvent.getMeasurementPoint(),
-        logEvent.getStatus());
-
-    var verificationTypeKey = String.format("Verification/%s/%s/%s",
-        logEvent.getParentMeasurementPoint(),
-        logEvent.getMeasurementPoint(),
-        logEvent.getStatus());
-
-    if (!performanceStats.containsKey(responseTypeKey)) {
-      performanceStats.put(responseTypeKey, new SummaryStatistics());
-    }
-
-    if (!performanceRollingStats.containsKey(responseTypeKey)) {
-      var descriptiveStatistics = new DescriptiveStatistics();
-      descriptiveStatistics.setWindowSize(100);
-      performanceRollingStats.put(responseTypeKey, descriptiveStatistics);
-    }
-
-    if (!performanceMetrics.containsKey(countKey)) {
-      performanceMetrics.put(countKey, 0L);
-    }
-
-    if (!performanceMetrics.containsKey(responseTypeKey)) {
-      performanceMetrics.put(responseTypeKey, 0L);
-    }
-
-    if (!verificationResult.containsKey(verificationTypeKey)) {
-      verificationResult.put(responseTypeKey, "");
-    }
-
-    VerificationInfo verificationInfo = logEvent.getVerificationInfo();
-    if (verificationInfo != null) {
-      boolean testResult = verificationInfo.getPredicate().test(logEvent.getStatus());
-      verificationResult.put(verificationTypeKey,
-          getVerificationResult(testResult) + (!testResult ?
-              "  Expected " + verificationInfo.getDescription() + " but was " + logEvent.getStatus()
-              : ""));
-    }
-
-    var currVal = performanceMetrics.get(countKey);
-    performanceMetrics.put(countKey, ++currVal);
-
-    var currElapsed = performanceMetrics.get(responseTypeKey);
-    performanceMetrics.put(responseTypeKey, currElapsed + logEvent.getElapsed());
-
-    performanceStats.get(responseTypeKey).addValue(logEvent.getElapsed());
-    performanceRollingStats.get(responseTypeKey).addValue(logEvent.getElapsed());
-  }
-
-  private String getVerificationResult(Boolean testResult) {
-    return testResult ? "SUCCESS" : "FAIL";
+    flushReport(endTestTime);
   }
 
-  private void flushReport(EndTestEvent event) {
-    if (performanceMetrics.isEmpty()) {
+  private synchronized void flushReport(final Instant endTestTime) {
+    var metrics = recorder.collect();
+    if (metrics.isEmpty()) {
       System.out.println("There is no record in measurement yet. Test is running...");
       return;
     }
@@ -193,27 +134,12 @@ public class MetricCollector extends AbstractActor {
     var consoleOutputView = new PerformanceConsoleOutputView(CONTAINER_WIDTH,
         numberOfUsers,
         startTime,
-        event != null ? event.getEndTestTime() : null,
+        endTestTime,
         duration,
-        verificationResult,
-        performanceMetrics,
-        performanceStats,
-        performanceRollingStats);
-
-
-        System.out.println(consoleOutputView.getView());
-  }
-
-  public static class EndTestEvent {
-
-    private final Instant endTestTime;
+        Duration.ofMillis(PERIOD),
+        metrics,
+        HttpClient.INSTANCE.getPoolStats());
 
-    public EndTestEvent(final Instant endTestTime) {
-      this.endTestTime = endTestTime;
-    }
-
-    public Instant getEndTestTime() {
-      return endTestTime;
-    }
+    System.out.println(consoleOutputView.getView());
   }
 }
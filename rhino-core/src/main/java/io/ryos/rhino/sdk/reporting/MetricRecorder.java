@@ -0,0 +1,122 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.reporting;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Metric recorder records the {@link DslEvent}s into the {@link Metric} of their measurement key.
+ * Metrics are registered once per key and looked up by the components of the key afterwards, so
+ * recording an event neither builds key strings nor allocates. Recording is lock-free and can be
+ * done from any thread without going through an actor.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+public class MetricRecorder {
+
+  private static final String SUCCESS = "SUCCESS";
+  private static final String FAIL = "FAIL";
+
+  /**
+   * Metrics by parent measurement point, measurement point and status.
+   * <p>
+   */
+  private final ConcurrentMap<String, ConcurrentMap<String, ConcurrentMap<String, Metric>>> index =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Metrics in the order of their registration.
+   * <p>
+   */
+  private final List<Metric> metrics = new CopyOnWriteArrayList<>();
+
+  /**
+   * Records the service time, the response time and the verification result of the event.
+   * <p>
+   *
+   * @param event {@link DslEvent} to record.
+   */
+  public void record(final DslEvent event) {
+    var metric = register(event.getParentMeasurementPoint(), event.getMeasurementPoint(),
+        event.getStatus());
+    metric.record(event.getElapsed(), event.getResponseTime());
+    if (event.getWireBytes() >= 0) {
+      metric.recordTransfer(event.getWireBytes(), event.getDecodedBytes(),
+          event.getDecodeNanos());
+    }
+
+    var verificationInfo = event.getVerificationInfo();
+    if (verificationInfo != null) {
+      boolean testResult = verificationInfo.getPredicate().test(event.getStatus());
+      metric.setVerificationResult(testResult ? SUCCESS : FAIL + "  Expected "
+          + verificationInfo.getDescription() + " but was " + event.getStatus());
+    }
+  }
+
+  /**
+   * Returns the metric of the measurement key. The metric is registered if it does not exist yet.
+   * Metrics of known keys can be registered in advance, so they are reported before the first
+   * event is recorded.
+   * <p>
+   *
+   * @param parentMeasurementPoint Parent measurement point, e.g the name of the DSL.
+   * @param measurementPoint       Measurement point.
+   * @param status                 Status of the measurement, e.g the HTTP status code.
+   * @return The {@link Metric} of the key.
+   */
+  public Metric register(final String parentMeasurementPoint, final String measurementPoint,
+      final String status) {
+    var parent = String.valueOf(parentMeasurementPoint);
+    var point = String.valueOf(measurementPoint);
+    var statusKey = String.valueOf(status);
+
+    var byPoint = index.get(parent);
+    if (byPoint == null) {
+      byPoint = index.computeIfAbsent(parent, k -> new ConcurrentHashMap<>());
+    }
+    var byStatus = byPoint.get(point);
+    if (byStatus == null) {
+      byStatus = byPoint.computeIfAbsent(point, k -> new ConcurrentHashMap<>());
+    }
+    var metric = byStatus.get(statusKey);
+    if (metric == null) {
+      metric = byStatus.computeIfAbsent(statusKey, k -> {
+        var newMetric = new Metric(parent, point, statusKey);
+        metrics.add(newMetric);
+        return newMetric;
+      });
+    }
+    return metric;
+  }
+
+  /**
+   * Collects the values recorded since the last call for all metrics and returns them.
+   * <p>
+   *
+   * @return Metrics in the order of their registration.
+   */
+  public List<Metric> collect() {
+    metrics.forEach(Metric::collect);
+    return Collections.unmodifiableList(metrics);
+  }
+}
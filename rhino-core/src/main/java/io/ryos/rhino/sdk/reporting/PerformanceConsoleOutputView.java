@@ -21,55 +21,49 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.Map;
-import java.util.Map.Entry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
-import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.HdrHistogram.Histogram;
 
 public class PerformanceConsoleOutputView {
 
-  private static final String VERIFICATION = "Verification/";
-  private static final String COUNT = "Count/";
-  private static final String RESPONSE_TIME = "ResponseTime/";
-  private static final String BLANK_STR = "";
   private static final int HEADER_LEFT_PADDING_SIZE = 1;
-  private static final Logger LOG = LoggerFactory.getLogger(PerformanceConsoleOutputView.class);
   private static final String DATETIME_PATTERN = "HH:mm:ss";
   private static final String NOT_AVAILABLE = "N/A";
   private static final String EMPTY_SPACE = " ";
   private static final String BORDER_LINE_STYLE = "=";
-  private static final String SPLITTER = "/";
   private static final char LB = '\n';
   private static final String HEADER_LINE_STYLE = "-";
+  private static final String STATS_HEADER_FORMAT = "%90s%8s%8s%8s%8s%8s%8s";
+  private static final String STATS_FORMAT = "%8d%8d%8d%8d%8d%8d";
+  private static final String POOL_HEADER_FORMAT = "  %-38s%10s%10s%10s%10s";
+  private static final String POOL_FORMAT = "> %-38.38s%10d%10d%10d%10d";
+  private static final String TRANSFER_HEADER_FORMAT = "%90s%12s%12s%12s";
+  private static final String TRANSFER_FORMAT = "%12d%12d%12d";
+  private static final long KB = 1024L;
 
   private final int containerWidth;
   private final int numberOfUsers;
   private final Instant startTime;
   private final Instant endTime;
   private final Duration duration;
-  private final Map<String, String> verification;
-  private final Map<String, Long> metrics;
-  private final Map<String, SummaryStatistics> stats;
-  private final Map<String, DescriptiveStatistics> rollingStats;
+  private final Duration interval;
+  private final List<Metric> metrics;
+  private final List<ConnectionPoolStats> poolStats;
 
   public PerformanceConsoleOutputView(int containerWidth,
       int numberOfUsers, Instant startTime, Instant endTime, Duration duration,
-      Map<String, String> verification,
-      Map<String, Long> metrics,
-      Map<String, SummaryStatistics> stats,
-      Map<String, DescriptiveStatistics> rollingStats) {
+      Duration interval, List<Metric> metrics, List<ConnectionPoolStats> poolStats) {
     this.containerWidth = containerWidth;
     this.numberOfUsers = numberOfUsers;
     this.startTime = startTime;
     this.endTime = endTime;
     this.duration = duration;
+    this.interval = interval;
     this.metrics = metrics;
-    this.stats = stats;
-    this.rollingStats = rollingStats;
-    this.verification = verification;
+    this.poolStats = poolStats;
   }
 
   public String getView() {
@@ -78,52 +72,40 @@ public class PerformanceConsoleOutputView {
       return "";
     }
 
-    var verificationResults = verification.entrySet()
+    var verificationResults = metrics
         .stream()
-        .filter(e -> e.getKey().startsWith(VERIFICATION))
-        .map(e -> formatVerifyKey(e.getKey()) + EMPTY_SPACE + String.format("%5s",
-            e.getValue()))
+        .filter(m -> m.getVerificationResult() != null)
+        .map(m -> formatVerifyKey(m) + EMPTY_SPACE + String.format("%5s",
+            m.getVerificationResult()))
         .collect(Collectors.toList());
 
-    var countMetrics = metrics.entrySet()
+    var countMetrics = metrics
         .stream()
-        .filter(e -> e.getKey().startsWith(COUNT))
-        .map(e -> formatKey(e.getKey()) + EMPTY_SPACE + String.format("%5s", Math.round(e.getValue())))
+        .map(m -> formatKey(m) + EMPTY_SPACE + String.format("%5s", m.getTotal().getTotalCount()))
         .collect(Collectors.toList());
 
-    var responseTimeStats = stats.entrySet()
+    var serviceTimeStats = formatStats(Metric::getTotal);
+    var serviceTimeIntervalStats = formatStats(Metric::getInterval);
+    var responseTimeStats = formatStats(Metric::getResponseTimeTotal);
+    var responseTimeIntervalStats = formatStats(Metric::getResponseTimeInterval);
+    var transferStats = metrics
         .stream()
-        .filter(e -> e.getKey().startsWith(RESPONSE_TIME))
-        .map(e -> formatKey(e.getKey()) + EMPTY_SPACE + String.format("%5s ms", Math.round(e.getValue().getMean())))
+        .filter(m -> m.getWireBytes() > 0)
+        .map(m -> formatKey(m) + String.format(TRANSFER_FORMAT, m.getWireBytes() / KB,
+            m.getDecodedBytes() / KB, TimeUnit.NANOSECONDS.toMillis(m.getDecodeNanos())))
         .collect(Collectors.toList());
 
-    var responseTimeRollingStats = rollingStats.entrySet()
-        .stream()
-        .filter(e -> e.getKey().startsWith(RESPONSE_TIME))
-        .map(e -> formatKey(e.getKey()) + EMPTY_SPACE
-            + String.format("%5s ms %5s ms %5s ms %5s ms",
-            Math.round(e.getValue().getMean()),
-            Math.round(e.getValue().getPercentile(50.0)),
-            Math.round(e.getValue().getPercentile(96.0)),
-            Math.round(e.getValue().getPercentile(99.0)))
-        )
-        .collect(Collectors.toList());
-
-    long overAllResponseTime = metrics.entrySet()
-        .stream()
-        .filter(e -> e.getKey().startsWith(RESPONSE_TIME))
-        .map(Entry::getValue)
-        .reduce(Long::sum).orElse(0L);
-
-    long totalNumberOfRequests = metrics.entrySet()
-        .stream()
-        .filter(e -> e.getKey().startsWith(COUNT))
-        .map(Entry::getValue)
-        .reduce(Long::sum).orElse(0L);
+    long totalNumberOfRequests = 0;
+    double overAllResponseTime = 0;
+    for (var metric : metrics) {
+      var total = metric.getTotal();
+      totalNumberOfRequests += total.getTotalCount();
+      overAllResponseTime += total.getMean() * total.getTotalCount();
+    }
 
     long avgRT = -1;
     if (totalNumberOfRequests > 0) {
-      avgRT = overAllResponseTime / totalNumberOfRequests;
+      avgRT = Math.round(overAllResponseTime / totalNumberOfRequests);
     }
 
     StringBuilder output = new StringBuilder();
@@ -144,29 +126,73 @@ public class PerformanceConsoleOutputView {
     output.append(BORDER_LINE_STYLE.repeat(containerWidth)).append(LB);
     output.append(createHeader("Number of executions")).append(LB);
     output.append(String.join("\n", countMetrics)).append(LB);
-    output.append(createHeader("Response Time (overall avg)")).append(LB);
+    output.append(createHeader("Service Time (overall)")).append(LB);
+    output.append(createStatsHeader()).append(LB);
+    output.append(String.join("\n", serviceTimeStats)).append(LB);
+    output.append(createHeader("Response Time incl. waiting (overall)")).append(LB);
+    output.append(createStatsHeader()).append(LB);
     output.append(String.join("\n", responseTimeStats)).append(LB);
 
+    if (!transferStats.isEmpty()) {
+      output.append(createHeader("Response bodies (overall)")).append(LB);
+      output.append(String.format(TRANSFER_HEADER_FORMAT, "status", "wire KB", "decoded KB",
+          "decode ms")).append(LB);
+      output.append(String.join("\n", transferStats)).append(LB);
+    }
+
+    if (!poolStats.isEmpty()) {
+      output.append(createHeader("Connection pools")).append(LB);
+      output.append(String.format(POOL_HEADER_FORMAT, "profile", "active", "idle", "pending",
+          "max")).append(LB);
+      poolStats.forEach(stats -> output.append(String.format(POOL_FORMAT, stats.getProfile(),
+          stats.getActiveConnections(), stats.getIdleConnections(), stats.getPendingAcquires(),
+          stats.getMaxConnections())).append(LB));
+    }
+
     if (!verificationResults.isEmpty()) {
       output.append(createHeader("Verification")).append(LB);
       output.append(String.join("\n", verificationResults)).append(LB).append(LB);
     }
 
     if ("full".equalsIgnoreCase(SimulationConfig.getSimulationOutputStyle())) {
-      output.append(createHeader("Rolling Stats (100 sample-window)")).append(LB);
-      output.append(String.format("%90s %5s %8s %8s %8s", "status", "mean", "median", "p96", "p99"))
+      output.append(createHeader("Service Time (last " + interval.toSeconds() + " secs)"))
           .append(LB);
-      output.append(HEADER_LINE_STYLE.repeat(containerWidth)).append(LB);
-      output.append(String.join("\n", responseTimeRollingStats)).append(LB).append(LB);
+      output.append(createStatsHeader()).append(LB);
+      output.append(String.join("\n", serviceTimeIntervalStats)).append(LB);
+      output.append(createHeader("Response Time incl. waiting (last " + interval.toSeconds()
+          + " secs)")).append(LB);
+      output.append(createStatsHeader()).append(LB);
+      output.append(String.join("\n", responseTimeIntervalStats)).append(LB).append(LB);
     }
     output.append(BORDER_LINE_STYLE.repeat(containerWidth)).append(LB);
-    output.append(String.format("%70s %25.9s ms", "Average Response Time", avgRT)).append(LB);
+    output.append(String.format("%70s %25.9s ms", "Average Service Time", avgRT)).append(LB);
     output.append(String.format("%70s %19.9s ", "Total Request", totalNumberOfRequests)).append(LB);
     output.append(BORDER_LINE_STYLE.repeat(containerWidth)).append(LB);
 
     return output.toString();
   }
 
+  private List<String> formatStats(final Function<Metric, Histogram> histogramOf) {
+    return metrics
+        .stream()
+        .map(m -> {
+          var histogram = histogramOf.apply(m);
+          return formatKey(m) + String.format(STATS_FORMAT,
+              Math.round(histogram.getMean()),
+              histogram.getValueAtPercentile(50.0),
+              histogram.getValueAtPercentile(90.0),
+              histogram.getValueAtPercentile(99.0),
+              histogram.getValueAtPercentile(99.9),
+              histogram.getMaxValue());
+        })
+        .collect(Collectors.toList());
+  }
+
+  private String createStatsHeader() {
+    return String.format(STATS_HEADER_FORMAT, "status", "mean", "p50", "p90", "p99", "p99.9",
+        "max");
+  }
+
   private String createHeader(final String text) {
     return HEADER_LINE_STYLE.repeat(HEADER_LEFT_PADDING_SIZE) + EMPTY_SPACE + text + EMPTY_SPACE
         + HEADER_LINE_STYLE
@@ -183,25 +209,13 @@ public class PerformanceConsoleOutputView {
         .format(dateTime);
   }
 
-  private String formatVerifyKey(final String key) {
-    var normalizedStr = key
-        .replace(VERIFICATION, BLANK_STR);
-    var sections = normalizedStr.split(SPLITTER);
-    if (sections.length > 2) {
-      return String.format("> %-38.39s%-46.57s", sections[0], sections[1]);
-    }
-    return BLANK_STR;
+  private String formatVerifyKey(final Metric metric) {
+    return String.format("> %-38.39s%-46.57s", metric.getParentMeasurementPoint(),
+        metric.getMeasurementPoint());
   }
 
-  private String formatKey(final String key) {
-    var normalizedStr = key
-        .replace(RESPONSE_TIME, BLANK_STR)
-        .replace(VERIFICATION, BLANK_STR)
-        .replace(COUNT, BLANK_STR);
-    var sections = normalizedStr.split(SPLITTER);
-    if (sections.length > 2) {
-      return String.format("> %-38.39s%-38.39s%12.12s", sections[0], sections[1], sections[2]);
-    }
-    return BLANK_STR;
+  private String formatKey(final Metric metric) {
+    return String.format("> %-38.39s%-38.39s%12.12s", metric.getParentMeasurementPoint(),
+        metric.getMeasurementPoint(), metric.getStatus());
   }
 }
@@ -0,0 +1,61 @@
+/*
+  Copyright 2018 Ryos.io.
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+
+
+package io.ryos.rhino.sdk.reporting;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Simulation log encoder encodes the log events into the binary records of the simulation log,
+ * unlike the {@link SimulationLogFormatter}, which formats them into text lines. The returned
+ * buffers belong to the encoder and are reused, so they must be written before the next call.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @see io.ryos.rhino.sdk.annotations.Logging#encoder()
+ * @since 2.3.3
+ */
+public interface SimulationLogEncoder {
+
+  /**
+   * Encodes the event.
+   * <p>
+   *
+   * @param event Log event.
+   * @return Buffer containing the record, which is valid until the next call.
+   */
+  ByteBuffer encode(LogEvent event);
+
+  /**
+   * Encodes the record which describes the simulation run and precedes its events.
+   * <p>
+   *
+   * @param simulationClass Class name of the simulation.
+   * @param simulationName  Name of the simulation.
+   * @param startTime       Start time of the simulation in epoch milliseconds.
+   * @return Buffer containing the record, which is valid until the next call.
+   */
+  ByteBuffer encodeRun(String simulationClass, String simulationName, long startTime);
+
+  /**
+   * Called before the records of a new segment of the log are encoded, so an encoder which
+   * refers to earlier records can start over.
+   * <p>
+   */
+  default void reset() {
+  }
+}
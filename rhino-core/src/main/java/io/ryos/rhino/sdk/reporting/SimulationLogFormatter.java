@@ -17,9 +17,26 @@
 package io.ryos.rhino.sdk.reporting;
 
 /**
+ * Simulation log formatter formats the log events into the lines of the simulation log.
+ * <p>
+ *
  * @author Erhan Bagdemir
  */
 public interface SimulationLogFormatter {
 
   String format(LogEvent event);
+
+  /**
+   * Appends the formatted event to the target, so the caller can reuse the target for all events
+   * instead of creating a string per event. Formatters should override the method to append the
+   * fields one by one, the default implementation appends the result of {@link
+   * #format(LogEvent)}.
+   * <p>
+   *
+   * @param event  Log event.
+   * @param target Builder the formatted event is appended to.
+   */
+  default void format(LogEvent event, StringBuilder target) {
+    target.append(format(event));
+  }
 }
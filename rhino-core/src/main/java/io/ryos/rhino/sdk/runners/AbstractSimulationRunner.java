@@ -18,7 +18,6 @@ package io.ryos.rhino.sdk.runners;
 
 import io.ryos.rhino.sdk.SimulationConfig;
 import io.ryos.rhino.sdk.SimulationMetadata;
-import io.ryos.rhino.sdk.data.UserSession;
 import io.ryos.rhino.sdk.dsl.DslItem;
 import io.ryos.rhino.sdk.monitoring.GrafanaGateway;
 import org.slf4j.Logger;
@@ -63,7 +62,7 @@ public abstract class AbstractSimulationRunner implements SimulationRunner {
     return stopAfter;
   }
 
-  protected Flux<UserSession> appendTake(Flux<UserSession> flux, int stopAfter) {
+  protected <T> Flux<T> appendTake(Flux<T> flux, int stopAfter) {
     if (stopAfter > 0) {
       flux = flux.take(stopAfter);
     } else {
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.runners;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.FluxSink.OverflowStrategy;
+
+/**
+ * Open-model injector which starts scenario iterations at the arrival rate given by a {@link
+ * RateSchedule}, independent of how long the iterations take to complete. Arrivals are paced by
+ * a dedicated thread which takes its permits from a {@link TokenBucketPacer}. Permits are absolute
+ * points in time, so a slow wake-up is compensated by the following arrivals instead of shifting
+ * the whole schedule.
+ * <p>
+ *
+ * Each element emitted is the intended start time of the arrival in {@link System#nanoTime()}
+ * units. If the injector cannot emit an arrival within {@link #LATE_THRESHOLD_NANOS} of its
+ * intended start time, the arrival is counted as late and a warning is logged periodically. A
+ * summary is available through {@link #printSummary()} once the simulation is over.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+public class ArrivalRateInjector {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ArrivalRateInjector.class);
+  private static final long LATE_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final long WARN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+  private static final String THREAD_NAME = "rhino-arrival-injector";
+
+  /**
+   * Schedule which provides the arrival rate.
+   * <p>
+   */
+  private final RateSchedule schedule;
+
+  /**
+   * The number of arrivals emitted.
+   * <p>
+   */
+  private final AtomicLong arrivals = new AtomicLong();
+
+  /**
+   * The number of arrivals emitted after their intended start time plus the threshold.
+   * <p>
+   */
+  private final AtomicLong lateArrivals = new AtomicLong();
+
+  /**
+   * Maximum lag between the intended start time and the actual emission time in nanoseconds.
+   * <p>
+   */
+  private final AtomicLong maxLagNanos = new AtomicLong();
+
+  public ArrivalRateInjector(final RateSchedule schedule) {
+    this.schedule = Objects.requireNonNull(schedule, "Rate schedule must not be null.");
+  }
+
+  /**
+   * Returns a {@link Flux} of arrivals. Every subscription starts a new pacing thread which runs
+   * until the subscription is cancelled.
+   * <p>
+   *
+   * @return {@link Flux} of intended start times in nanoseconds.
+   */
+  public Flux<Long> arrivals() {
+    return Flux.create(sink -> {
+      var thread = new Thread(() -> pace(sink), THREAD_NAME);
+      thread.setDaemon(true);
+      sink.onDispose(thread::interrupt);
+      thread.start();
+    }, OverflowStrategy.BUFFER);
+  }
+
+  private void pace(final FluxSink<Long> sink) {
+    var pacer = new TokenBucketPacer(schedule);
+    long lastWarning = System.nanoTime();
+
+    while (!sink.isCancelled()) {
+      var intendedStart = pacer.reserve();
+      if (!parkUntil(intendedStart, sink)) {
+        return;
+      }
+      if (pacer.isPaused(intendedStart)) {
+        continue;
+      }
+
+      var now = System.nanoTime();
+      var lag = now - intendedStart;
+      arrivals.incrementAndGet();
+      if (lag > LATE_THRESHOLD_NANOS) {
+        lateArrivals.incrementAndGet();
+        maxLagNanos.accumulateAndGet(lag, Math::max);
+        if (now - lastWarning > WARN_INTERVAL_NANOS) {
+          lastWarning = now;
+          LOG.warn("Injector cannot keep up with the arrival rate of {}/s. It is {} ms behind "
+                  + "the schedule, {} of {} arrivals were late.", pacer.rateAt(intendedStart),
+              TimeUnit.NANOSECONDS.toMillis(lag), lateArrivals.get(), arrivals.get());
+        }
+      }
+
+      sink.next(intendedStart);
+    }
+  }
+
+  private boolean parkUntil(final long deadline, final FluxSink<Long> sink) {
+    long remaining;
+    while ((remaining = deadline - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(remaining);
+      if (sink.isCancelled() || Thread.currentThread().isInterrupted()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Prints the number of arrivals which could not be started in time.
+   * <p>
+   */
+  public void printSummary() {
+    var late = lateArrivals.get();
+    if (late == 0) {
+      System.out.println(String.format("Arrival rate was kept for all %d arrivals.",
+          arrivals.get()));
+      return;
+    }
+    System.out.println(String.format("Arrival rate could not be kept: %d of %d arrivals started "
+            + "late, max. lag %d ms. Consider to distribute the load over more nodes.", late,
+        arrivals.get(), getMaxLagMillis()));
+  }
+
+  public long getArrivals() {
+    return arrivals.get();
+  }
+
+  public long getLateArrivals() {
+    return lateArrivals.get();
+  }
+
+  public long getMaxLagMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(maxLagNanos.get());
+  }
+}
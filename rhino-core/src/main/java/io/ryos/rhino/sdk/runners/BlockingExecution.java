@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.runners;
+
+import io.ryos.rhino.sdk.SimulationConfig;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Blocking execution decides where DSL items which may block, like user functions or expressions,
+ * are run. Running them inline blocks the reactor thread which happens to execute the pipeline, and
+ * starves all other users sharing that thread. Depending on the mode configured with the property
+ * <code>runner.blocking</code>, blocking DSL items are offloaded:
+ * <ul>
+ * <li><code>inline</code>, the default, runs them on the calling thread.</li>
+ * <li><code>platform</code> runs them on an elastic pool of platform threads.</li>
+ * <li><code>virtual</code> runs each of them on a new virtual thread. Virtual threads are cheap
+ * enough to block hundreds of thousands of users at once. If the JVM does not support virtual
+ * threads, the mode falls back to <code>platform</code>.</li>
+ * </ul>
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+public enum BlockingExecution {
+
+  INSTANCE;
+
+  public enum Mode {
+    INLINE, PLATFORM, VIRTUAL
+  }
+
+  private static final Logger LOG = LoggerFactory.getLogger(BlockingExecution.class);
+  private static final String THREAD_NAME = "rhino-blocking";
+  private static final int TTL_SECONDS = 60;
+
+  /**
+   * Scheduler to run blocking DSL items on, or null if they are run inline.
+   * <p>
+   */
+  private final Scheduler scheduler;
+
+  BlockingExecution() {
+    this.scheduler = createScheduler(SimulationConfig.getBlockingMode());
+  }
+
+  static Scheduler createScheduler(final Mode mode) {
+    switch (mode) {
+      case VIRTUAL:
+        var executor = newVirtualThreadPerTaskExecutor();
+        if (executor != null) {
+          return Schedulers.fromExecutorService(executor);
+        }
+        LOG.warn("Virtual threads are not supported by this JVM. Falling back to platform threads.");
+        return Schedulers.newElastic(THREAD_NAME, TTL_SECONDS, true);
+      case PLATFORM:
+        return Schedulers.newElastic(THREAD_NAME, TTL_SECONDS, true);
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Rhino is compiled for Java 11, so the virtual thread executor is looked up reflectively.
+   * <p>
+   *
+   * @return Virtual thread per task executor, or null if the JVM does not support it.
+   */
+  private static ExecutorService newVirtualThreadPerTaskExecutor() {
+    try {
+      var factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) factory.invoke(null);
+    } catch (NoSuchMethodException e) {
+      return null;
+    } catch (ReflectiveOperationException e) {
+      LOG.debug("Cannot create virtual thread executor.", e);
+      return null;
+    }
+  }
+
+  /**
+   * Subscribes the {@link Mono} given on the blocking scheduler, unless blocking DSL items are run
+   * inline.
+   * <p>
+   *
+   * @param mono {@link Mono} which may block.
+   * @param <T> Type of the value.
+   * @return {@link Mono} which is subscribed on the blocking scheduler.
+   */
+  public <T> Mono<T> offload(final Mono<T> mono) {
+    if (scheduler == null) {
+      return mono;
+    }
+    return mono.subscribeOn(scheduler);
+  }
+}
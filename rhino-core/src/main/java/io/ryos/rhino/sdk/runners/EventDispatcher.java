@@ -1,30 +1,31 @@
 package io.ryos.rhino.sdk.runners;
 
-import static io.ryos.rhino.sdk.reporting.GatlingSimulationLogFormatter.GATLING_HEADLINE_TEMPLATE;
-
-import akka.actor.ActorRef;
-import akka.actor.ActorSystem;
-import akka.actor.Terminated;
-import akka.dispatch.OnComplete;
-import akka.pattern.Patterns;
 import io.ryos.rhino.sdk.Simulation;
+import io.ryos.rhino.sdk.SimulationConfig;
 import io.ryos.rhino.sdk.SimulationMetadata;
+import io.ryos.rhino.sdk.io.EventJournal;
 import io.ryos.rhino.sdk.io.InfluxDBWriter;
+import io.ryos.rhino.sdk.io.ResultWriter;
 import io.ryos.rhino.sdk.io.SimulationLogWriter;
-import io.ryos.rhino.sdk.reporting.GatlingSimulationLogFormatter;
+import io.ryos.rhino.sdk.reporting.DslEvent;
+import io.ryos.rhino.sdk.reporting.LogEvent;
 import io.ryos.rhino.sdk.reporting.Measurement;
 import io.ryos.rhino.sdk.reporting.MetricCollector;
-import io.ryos.rhino.sdk.reporting.MetricCollector.EndTestEvent;
+import io.ryos.rhino.sdk.runners.EventRingBuffer.EventHandler;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import scala.concurrent.Await;
-import scala.concurrent.duration.FiniteDuration;
 
 /**
  * Singleton event dispatcher forwards the events created by simulation callables to corresponding
- * entities like actors wnich process them.
+ * entities like writers which process them. Events are published into a {@link EventRingBuffer},
+ * which is drained by the log writer, the event journal, the metric collector and the Influx DB
+ * writer in batches on their own threads.
  * <p>
  *
  * @author Erhan Bagdemir
@@ -33,65 +34,88 @@ import scala.concurrent.duration.FiniteDuration;
 public class EventDispatcher {
 
   private static final Logger LOG = LogManager.getLogger(EventDispatcher.class);
-  private static final long TERMINATION_REQUEST_TIMEOUT = 5000L;
-  private static final String ACTOR_SYS_NAME = "rhino-dispatcher";
+  private static final int RING_BUFFER_SIZE = 1 << 16;
   private static EventDispatcher INSTANCE;
 
   private EventDispatcher(final SimulationMetadata simulationMetadata) {
 
     this.simulationMetadata = Objects.requireNonNull(simulationMetadata);
-    this.metricCollector = system
-        .actorOf(MetricCollector.props(simulationMetadata.getNumberOfUsers(),
-            Instant.now(),
-            simulationMetadata.getDuration()),
-            MetricCollector.class.getName());
-    this.loggerActor = system
-        .actorOf(SimulationLogWriter.props(simulationMetadata.getReportingURI(),
-            simulationMetadata.getLogFormatter()),
-            SimulationLogWriter.class.getName());
+    this.metricCollector = new MetricCollector(simulationMetadata.getNumberOfUsers(),
+        Instant.now(),
+        simulationMetadata.getDuration());
+
+    var logEncoder = simulationMetadata.getLogEncoder();
+    var logFormatter = simulationMetadata.getLogFormatter();
+    if (logEncoder != null) {
+      var logWriter = new SimulationLogWriter(simulationMetadata.getReportingURI(), logEncoder,
+          SimulationConfig.getLogBufferSize(), SimulationConfig.getLogFlushInterval(),
+          SimulationConfig.getLogOutput());
+      logWriter.writeRun(simulationMetadata.getSimulationClass().getName(),
+          simulationMetadata.getSimulationName(),
+          System.currentTimeMillis());
+      writers.add(logWriter);
+    } else if (logFormatter != null) {
+      var logWriter = new SimulationLogWriter(simulationMetadata.getReportingURI(), logFormatter,
+          SimulationConfig.getLogBufferSize(), SimulationConfig.getLogFlushInterval(),
+          SimulationConfig.getLogOutput());
+      logWriter.writeRun(simulationMetadata.getSimulationClass().getName(),
+          simulationMetadata.getSimulationName(),
+          System.currentTimeMillis());
+      writers.add(logWriter);
+    }
 
-    if (simulationMetadata.isEnableInflux()) {
-      influxActor = system.actorOf(InfluxDBWriter.props(), InfluxDBWriter.class.getName());
+    var journalFile = SimulationConfig.getJournalFile();
+    if (!journalFile.isEmpty()) {
+      var journal = new EventJournal(Paths.get(journalFile));
+      journal.writeRun(simulationMetadata.getSimulationClass().getName(),
+          simulationMetadata.getSimulationName(),
+          System.currentTimeMillis());
+      writers.add(journal);
     }
 
-    if (simulationMetadata.getLogFormatter() instanceof GatlingSimulationLogFormatter) {
-      loggerActor.tell(
-          String.format(
-              GATLING_HEADLINE_TEMPLATE,
-              simulationMetadata.getSimulationClass().getName(),
-              simulationMetadata.getSimulationName(),
-              System.currentTimeMillis(),
-              GatlingSimulationLogFormatter.GATLING_VERSION),
-          ActorRef.noSender());
+    if (simulationMetadata.isEnableInflux()) {
+      writers.add(new InfluxDBWriter());
     }
+
+    var handlers = new ArrayList<EventHandler>();
+    handlers.add(this::collectMetric);
+    writers.forEach(writer -> handlers.add(handlerOf(writer)));
+
+    this.ringBuffer = new EventRingBuffer(RING_BUFFER_SIZE, handlers);
+    this.ringBuffer.start();
   }
 
   /**
    * Simulation metadata.
    * <p>
    */
-  private SimulationMetadata simulationMetadata;
+  private final SimulationMetadata simulationMetadata;
 
   /**
-   * Reporter actor reference is the reference to the actor which receives reporting events.
+   * Result writers, like the simulation log writer and the Influx DB writer, which receive the
+   * events.
    * <p>
    */
-  private ActorRef loggerActor;
+  private final List<ResultWriter<LogEvent>> writers = new ArrayList<>();
 
   /**
-   * Reporter actor reference to write log events to the Influx DB.
+   * StdOut reporter is to write out about the test execution to the stdout. It can be considered as
+   * heartbeat about the running test.
    * <p>
    */
-  private ActorRef influxActor;
+  private final MetricCollector metricCollector;
 
   /**
-   * StdOut reporter is to write out about the test execution to the stdout. It can be considered as
-   * heartbeat about the running test.
+   * Ring buffer which passes the events to the metric collector and the writers.
    * <p>
    */
-  private ActorRef metricCollector;
+  private final EventRingBuffer ringBuffer;
 
-  private ActorSystem system = ActorSystem.create(ACTOR_SYS_NAME);
+  /**
+   * Indicates whether the events are discarded, e.g during the warm-up.
+   * <p>
+   */
+  private volatile boolean discardEvents;
 
   public static EventDispatcher getInstance() {
     if (INSTANCE == null) {
@@ -103,42 +127,71 @@ public class EventDispatcher {
 
   public void dispatchEvents(final Measurement measurement) {
     try {
-      measurement.getEvents().forEach(event -> {
-        loggerActor.tell(event, ActorRef.noSender());
-        metricCollector.tell(event, ActorRef.noSender());
-
-        if (simulationMetadata.isEnableInflux()) {
-          influxActor.tell(event, ActorRef.noSender());
-        }
-      });
+      if (!discardEvents) {
+        measurement.getEvents().forEach(ringBuffer::publish);
+      }
     } finally {
       measurement.purge();
     }
   }
 
-  public void stop() {
+  /**
+   * Discards the events dispatched from now on instead of passing them to the metric collector
+   * and the writers, or stops discarding them.
+   * <p>
+   *
+   * @param discard true to discard the events.
+   */
+  public void discardEvents(final boolean discard) {
+    this.discardEvents = discard;
+  }
 
-    requestForTermination();
+  /**
+   * Waits until the events dispatched so far are processed and resets the metrics, so the report
+   * starts over from now on.
+   * <p>
+   */
+  public void resetMetrics() {
+    ringBuffer.awaitProcessed();
+    metricCollector.reset(Instant.now());
+  }
 
-    var terminate = system.terminate();
+  /**
+   * Waits until all events dispatched are processed, outputs the final report and closes the
+   * writers.
+   * <p>
+   */
+  public void stop() {
+    ringBuffer.stop();
+    metricCollector.stop(Instant.now());
+    writers.forEach(this::close);
+  }
 
-    terminate.onComplete(new OnComplete<>() {
+  private void collectMetric(final LogEvent event) {
+    if (event instanceof DslEvent) {
+      metricCollector.record((DslEvent) event);
+    }
+  }
 
+  private static EventHandler handlerOf(final ResultWriter<LogEvent> writer) {
+    return new EventHandler() {
       @Override
-      public void onComplete(final Throwable throwable, final Terminated terminated) {
-        system = null;
+      public void onEvent(final LogEvent event) {
+        writer.write(event);
       }
 
-    }, system.dispatcher());
+      @Override
+      public void onEndOfBatch() {
+        writer.flush();
+      }
+    };
   }
 
-  private void requestForTermination() {
-    var ask = Patterns.ask(metricCollector, new EndTestEvent(Instant.now()),
-        TERMINATION_REQUEST_TIMEOUT);
+  private void close(final ResultWriter<LogEvent> writer) {
     try {
-      Await.result(ask, FiniteDuration.Inf());
-    } catch (Exception e) {
-      LOG.debug(e); // expected exception is a Timeout. It is ok.
+      writer.close();
+    } catch (IOException e) {
+      LOG.error("Cannot close the result writer.", e);
     }
   }
 }
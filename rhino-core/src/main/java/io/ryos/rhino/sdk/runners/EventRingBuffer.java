@@ -0,0 +1,289 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.runners;
+
+import io.ryos.rhino.sdk.reporting.LogEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.apache.commons.lang3.Validate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Ring buffer which broadcasts the {@link LogEvent}s published by any number of threads to a fixed
+ * set of {@link EventHandler}s. The slots of the ring are allocated once and reused, so the ring
+ * itself does not allocate to pass an event on, unlike a queue with a node per element. The slots
+ * hold references to the events, which are still created by the measurements. Every handler runs on
+ * its own thread, follows the publishers with its own sequence and processes the events available
+ * in batches of up to {@link #MAX_BATCH_SIZE} events. A slot is reused after all handlers processed
+ * it; publishers wait if the ring is full, so a slow handler slows the simulation down instead of
+ * dropping events. The last handler which processes a slot releases its event, so the ring does not
+ * keep processed events reachable.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+class EventRingBuffer {
+
+  private static final Logger LOG = LogManager.getLogger(EventRingBuffer.class);
+  private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+  private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+  private static final String THREAD_NAME_PREFIX = "rhino-event-";
+  private static final int MAX_BATCH_SIZE = 1024;
+
+  private final Slot[] slots;
+  private final int mask;
+  private final int maxBatchSize;
+
+  /**
+   * The sequence of the last slot claimed by publishers.
+   * <p>
+   */
+  private final AtomicLong cursor = new AtomicLong(-1L);
+  private final List<HandlerWorker> workers = new ArrayList<>();
+
+  /**
+   * The number of publishers between the check of {@link #running} and the publication of their
+   * event. Stopping the ring waits for them, so their events are still processed.
+   * <p>
+   */
+  private final AtomicInteger publishers = new AtomicInteger();
+
+  /**
+   * The lowest handler sequence seen by the publishers. It is refreshed only if the ring seems to
+   * be full, so publishers do not read the sequences of all handlers for every event.
+   * <p>
+   */
+  private volatile long gatingSequence = -1L;
+  private volatile boolean running;
+
+  /**
+   * Event handler processes the events of the ring on the thread of its handler.
+   * <p>
+   */
+  @FunctionalInterface
+  interface EventHandler {
+
+    void onEvent(LogEvent event);
+
+    /**
+     * Called after the last event of a batch, e.g to flush buffers.
+     * <p>
+     */
+    default void onEndOfBatch() {
+    }
+  }
+
+  /**
+   * Creates a new ring buffer.
+   * <p>
+   *
+   * @param capacity Number of slots, must be a power of two.
+   * @param handlers Handlers which receive the events.
+   */
+  EventRingBuffer(final int capacity, final List<EventHandler> handlers) {
+    Validate.isTrue(capacity > 0 && Integer.bitCount(capacity) == 1,
+        "Capacity must be a power of two.");
+
+    this.slots = new Slot[capacity];
+    this.mask = capacity - 1;
+    this.maxBatchSize = Math.min(capacity, MAX_BATCH_SIZE);
+    for (int i = 0; i < capacity; i++) {
+      slots[i] = new Slot();
+    }
+    for (int i = 0; i < handlers.size(); i++) {
+      workers.add(new HandlerWorker(handlers.get(i), THREAD_NAME_PREFIX + i));
+    }
+  }
+
+  void start() {
+    running = true;
+    workers.forEach(worker -> worker.thread.start());
+  }
+
+  /**
+   * Publishes the event to all handlers. Events published after the ring has been stopped are
+   * rejected.
+   * <p>
+   *
+   * @param event {@link LogEvent} to publish.
+   * @return true if the event is published, false if the ring is stopped.
+   */
+  boolean publish(final LogEvent event) {
+    publishers.incrementAndGet();
+    try {
+      if (!running) {
+        return false;
+      }
+
+      var sequence = cursor.incrementAndGet();
+      var wrapPoint = sequence - slots.length;
+      while (wrapPoint > gatingSequence) {
+        var minSequence = minHandlerSequence(sequence);
+        gatingSequence = minSequence;
+        if (wrapPoint > minSequence) {
+          LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+      }
+
+      var slot = slots[(int) sequence & mask];
+      slot.event = event;
+      slot.pending = workers.size();
+      slot.sequence = sequence;
+      return true;
+    } finally {
+      publishers.decrementAndGet();
+    }
+  }
+
+  /**
+   * Waits until the handlers processed the events published so far.
+   * <p>
+   */
+  void awaitProcessed() {
+    var published = cursor.get();
+    while (running && minHandlerSequence(published) < published) {
+      LockSupport.parkNanos(IDLE_PARK_NANOS);
+    }
+  }
+
+  /**
+   * Rejects further events, waits until the handlers processed all published events and stops
+   * them. Events which are being published while the ring stops are processed, too.
+   * <p>
+   */
+  void stop() {
+    running = false;
+    while (publishers.get() > 0) {
+      LockSupport.parkNanos(FULL_PARK_NANOS);
+    }
+    workers.forEach(HandlerWorker::stop);
+  }
+
+  private long minHandlerSequence(final long defaultValue) {
+    var min = defaultValue;
+    for (var worker : workers) {
+      min = Math.min(min, worker.sequence.get());
+    }
+    return min;
+  }
+
+  private static final class Slot {
+
+    private static final AtomicIntegerFieldUpdater<Slot> PENDING =
+        AtomicIntegerFieldUpdater.newUpdater(Slot.class, "pending");
+
+    private LogEvent event;
+
+    /**
+     * The number of handlers which have not processed the event yet.
+     * <p>
+     */
+    private volatile int pending;
+
+    /**
+     * Sequence of the event in the slot. Writing it publishes the event to the handlers.
+     * <p>
+     */
+    private volatile long sequence = -1L;
+
+    /**
+     * Releases the event after the last handler processed it. The handler advances its sequence
+     * only afterwards, so a publisher never reuses a slot before it is released.
+     * <p>
+     */
+    private void release() {
+      if (PENDING.decrementAndGet(this) == 0) {
+        event = null;
+      }
+    }
+  }
+
+  private final class HandlerWorker implements Runnable {
+
+    private final EventHandler handler;
+    private final Thread thread;
+
+    /**
+     * The sequence of the last event processed by the handler.
+     * <p>
+     */
+    private final AtomicLong sequence = new AtomicLong(-1L);
+    private volatile boolean stopped;
+
+    private HandlerWorker(final EventHandler handler, final String threadName) {
+      this.handler = handler;
+      this.thread = new Thread(this, threadName);
+      this.thread.setDaemon(true);
+    }
+
+    @Override
+    public void run() {
+      while (true) {
+        var processed = sequence.get();
+        var next = processed + 1;
+        var limit = processed + maxBatchSize;
+        while (next <= limit && slots[(int) next & mask].sequence == next) {
+          var slot = slots[(int) next & mask];
+          onEvent(slot.event);
+          slot.release();
+          next++;
+        }
+
+        if (next > processed + 1) {
+          onEndOfBatch();
+          sequence.set(next - 1);
+        } else if (stopped && next > cursor.get()) {
+          return;
+        } else {
+          LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+      }
+    }
+
+    private void onEvent(final LogEvent event) {
+      try {
+        handler.onEvent(event);
+      } catch (Exception e) {
+        LOG.error("Event handler failed to process the event: " + event, e);
+      }
+    }
+
+    private void onEndOfBatch() {
+      try {
+        handler.onEndOfBatch();
+      } catch (Exception e) {
+        LOG.error("Event handler failed to complete the batch.", e);
+      }
+    }
+
+    private void stop() {
+      stopped = true;
+      try {
+        thread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
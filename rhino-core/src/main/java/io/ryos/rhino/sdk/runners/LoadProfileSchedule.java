@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.runners;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Rate schedule which runs the {@link LoadStage}s one after another. Once the last stage is over,
+ * the schedule keeps the rate that the last stage ended with till the simulation completes.
+ * <p>
+ *
+ * Stage boundaries and the start rates of the stages are computed once, so looking up the rate
+ * is a binary search over the stage offsets and does not allocate.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @see LoadStage
+ * @since 2.3.3
+ */
+public class LoadProfileSchedule implements RateSchedule {
+
+  private final LoadStage[] stages;
+  private final long[] stageOffsets;
+  private final double[] startRates;
+  private final double finalRate;
+
+  private LoadProfileSchedule(final List<LoadStage> stages) {
+    if (stages.isEmpty()) {
+      throw new IllegalArgumentException("Load profile requires at least one stage");
+    }
+    this.stages = stages.toArray(new LoadStage[0]);
+    this.stageOffsets = new long[this.stages.length];
+    this.startRates = new double[this.stages.length];
+
+    long offset = 0;
+    double rate = 0;
+    for (int i = 0; i < this.stages.length; i++) {
+      stageOffsets[i] = offset;
+      startRates[i] = rate;
+      var durationNanos = this.stages[i].getDuration().toNanos();
+      rate = this.stages[i].rateAt(durationNanos, rate);
+      offset += durationNanos;
+    }
+    this.finalRate = rate;
+  }
+
+  public static LoadProfileSchedule of(final LoadStage... stages) {
+    return new LoadProfileSchedule(Arrays.asList(stages));
+  }
+
+  public static LoadProfileSchedule of(final List<LoadStage> stages) {
+    return new LoadProfileSchedule(stages);
+  }
+
+  @Override
+  public double rateAt(final long elapsedNanos) {
+    var index = Arrays.binarySearch(stageOffsets, elapsedNanos);
+    if (index < 0) {
+      index = -index - 2;
+    }
+    if (index < 0) {
+      return startRates[0];
+    }
+    // zero-length stages share their offset with the following stage, take the last of them.
+    while (index + 1 < stageOffsets.length && stageOffsets[index + 1] == stageOffsets[index]) {
+      index++;
+    }
+    var elapsedInStage = elapsedNanos - stageOffsets[index];
+    if (elapsedInStage >= stages[index].getDuration().toNanos()) {
+      return finalRate;
+    }
+    return stages[index].rateAt(elapsedInStage, startRates[index]);
+  }
+
+  /**
+   * Total duration of all stages.
+   * <p>
+   *
+   * @return Duration of the load profile.
+   */
+  public Duration getDuration() {
+    var last = stages.length - 1;
+    return Duration.ofNanos(stageOffsets[last]).plus(stages[last].getDuration());
+  }
+}
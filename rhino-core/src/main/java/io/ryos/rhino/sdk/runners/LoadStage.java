@@ -0,0 +1,210 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.runners;
+
+import io.ryos.rhino.sdk.annotations.Stage;
+import java.time.Duration;
+
+/**
+ * Load stage is a single phase of a load profile, e.g a ramp from 10 to 100 requests per second
+ * in 5 minutes. Stages are composed into a {@link LoadProfileSchedule} which runs them one after
+ * another. Every stage starts with the rate that the previous stage ends with, so that stages like
+ * {@link #hold(Duration)} can continue where the previous one left off.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @see LoadProfileSchedule
+ * @since 2.3.3
+ */
+public interface LoadStage {
+
+  /**
+   * Duration of the stage.
+   * <p>
+   *
+   * @return Duration of the stage.
+   */
+  Duration getDuration();
+
+  /**
+   * Returns the rate in requests per second at the given point of time relative to the start of
+   * the stage.
+   * <p>
+   *
+   * @param elapsedNanos Nanoseconds elapsed since the stage start.
+   * @param startRps The rate the previous stage ended with.
+   * @return Rate in requests per second.
+   */
+  double rateAt(long elapsedNanos, double startRps);
+
+  /**
+   * Keeps the rate constant.
+   * <p>
+   *
+   * @param rps Requests per second.
+   * @param duration Duration of the stage.
+   * @return A new {@link LoadStage}.
+   */
+  static LoadStage constant(final double rps, final Duration duration) {
+    LoadStageImpl.requireRate(rps);
+    return new LoadStageImpl(duration, (elapsed, start) -> rps);
+  }
+
+  /**
+   * Increases or decreases the rate linearly.
+   * <p>
+   *
+   * @param startRps Requests per second at the beginning of the stage.
+   * @param targetRps Requests per second at the end of the stage.
+   * @param duration Duration of the stage.
+   * @return A new {@link LoadStage}.
+   */
+  static LoadStage ramp(final double startRps, final double targetRps, final Duration duration) {
+    LoadStageImpl.requireRate(startRps);
+    LoadStageImpl.requireRate(targetRps);
+    return new LoadStageImpl(duration, (elapsed, start) ->
+        startRps + (targetRps - startRps) * LoadStageImpl.progress(elapsed, duration));
+  }
+
+  /**
+   * Increases or decreases the rate linearly, starting from the rate of the previous stage.
+   * <p>
+   *
+   * @param targetRps Requests per second at the end of the stage.
+   * @param duration Duration of the stage.
+   * @return A new {@link LoadStage}.
+   */
+  static LoadStage rampTo(final double targetRps, final Duration duration) {
+    LoadStageImpl.requireRate(targetRps);
+    return new LoadStageImpl(duration, (elapsed, start) ->
+        start + (targetRps - start) * LoadStageImpl.progress(elapsed, duration));
+  }
+
+  /**
+   * Increases or decreases the rate in equal steps. The first step starts with the start rate,
+   * the last one runs with the target rate.
+   * <p>
+   *
+   * @param startRps Requests per second of the first step.
+   * @param targetRps Requests per second of the last step.
+   * @param steps The number of steps.
+   * @param duration Duration of the stage.
+   * @return A new {@link LoadStage}.
+   */
+  static LoadStage step(final double startRps, final double targetRps, final int steps,
+      final Duration duration) {
+    LoadStageImpl.requireRate(startRps);
+    LoadStageImpl.requireRate(targetRps);
+    if (steps < 1) {
+      throw new IllegalArgumentException("Number of steps must be greater than 0");
+    }
+    return new LoadStageImpl(duration, (elapsed, start) -> {
+      if (steps == 1) {
+        return targetRps;
+      }
+      var step = Math.min((int) (LoadStageImpl.progress(elapsed, duration) * steps), steps - 1);
+      return startRps + (targetRps - startRps) * step / (steps - 1);
+    });
+  }
+
+  /**
+   * Jumps to the peak rate at the beginning of the stage and falls back to the base rate once the
+   * peak duration is over.
+   * <p>
+   *
+   * @param baseRps Requests per second after the peak.
+   * @param peakRps Requests per second during the peak.
+   * @param peakDuration Duration of the peak.
+   * @param duration Duration of the stage.
+   * @return A new {@link LoadStage}.
+   */
+  static LoadStage spike(final double baseRps, final double peakRps, final Duration peakDuration,
+      final Duration duration) {
+    LoadStageImpl.requireRate(baseRps);
+    LoadStageImpl.requireRate(peakRps);
+    if (peakDuration.compareTo(duration) > 0) {
+      throw new IllegalArgumentException("Peak duration must not exceed the stage duration");
+    }
+    var peakNanos = peakDuration.toNanos();
+    return new LoadStageImpl(duration, (elapsed, start) ->
+        elapsed < peakNanos ? peakRps : baseRps);
+  }
+
+  /**
+   * Oscillates the rate around the mean rate, e.g to simulate the daily traffic pattern.
+   * <p>
+   *
+   * @param meanRps Mean requests per second.
+   * @param amplitudeRps Amplitude in requests per second.
+   * @param period Period of the oscillation.
+   * @param duration Duration of the stage.
+   * @return A new {@link LoadStage}.
+   */
+  static LoadStage sine(final double meanRps, final double amplitudeRps, final Duration period,
+      final Duration duration) {
+    LoadStageImpl.requireRate(meanRps - Math.abs(amplitudeRps));
+    if (period.isZero() || period.isNegative()) {
+      throw new IllegalArgumentException("Period must be greater than 0");
+    }
+    var periodNanos = (double) period.toNanos();
+    return new LoadStageImpl(duration, (elapsed, start) ->
+        meanRps + amplitudeRps * Math.sin(2 * Math.PI * elapsed / periodNanos));
+  }
+
+  /**
+   * Holds the rate, which the previous stage ended with.
+   * <p>
+   *
+   * @param duration Duration of the stage.
+   * @return A new {@link LoadStage}.
+   */
+  static LoadStage hold(final Duration duration) {
+    return new LoadStageImpl(duration, (elapsed, start) -> start);
+  }
+
+  /**
+   * Creates the stage declared with the {@link Stage} annotation.
+   * <p>
+   *
+   * @param stage Stage annotation of a {@link io.ryos.rhino.sdk.annotations.LoadProfile}.
+   * @return A new {@link LoadStage}.
+   */
+  static LoadStage of(final Stage stage) {
+    var duration = Duration.ofSeconds(stage.durationInSecs());
+    switch (stage.type()) {
+      case CONSTANT:
+        return constant(stage.rps(), duration);
+      case RAMP:
+        if (stage.rps() < 0) {
+          return rampTo(stage.targetRps(), duration);
+        }
+        return ramp(stage.rps(), stage.targetRps(), duration);
+      case STEP:
+        return step(stage.rps(), stage.targetRps(), stage.steps(), duration);
+      case SPIKE:
+        return spike(stage.rps(), stage.targetRps(), Duration.ofSeconds(stage.peakInSecs()),
+            duration);
+      case SINE:
+        return sine(stage.rps(), stage.amplitudeRps(), Duration.ofSeconds(stage.periodInSecs()),
+            duration);
+      case HOLD:
+        return hold(duration);
+      default:
+        throw new IllegalArgumentException("Unknown stage type: " + stage.type());
+    }
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.runners;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Load stage implementation backed by a rate function.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+class LoadStageImpl implements LoadStage {
+
+  @FunctionalInterface
+  interface RateFunction {
+
+    double rateAt(long elapsedNanos, double startRps);
+  }
+
+  private final Duration duration;
+  private final RateFunction rateFunction;
+
+  LoadStageImpl(final Duration duration, final RateFunction rateFunction) {
+    Objects.requireNonNull(duration, "Stage duration must not be null.");
+    if (duration.isNegative()) {
+      throw new IllegalArgumentException("Stage duration must not be negative");
+    }
+    this.duration = duration;
+    this.rateFunction = rateFunction;
+  }
+
+  static void requireRate(final double rps) {
+    if (rps < 0) {
+      throw new IllegalArgumentException("Rate must not be negative");
+    }
+  }
+
+  static double progress(final long elapsedNanos, final Duration duration) {
+    var durationNanos = duration.toNanos();
+    if (durationNanos == 0) {
+      return 1;
+    }
+    return Math.min(1, Math.max(0, (double) elapsedNanos / durationNanos));
+  }
+
+  @Override
+  public Duration getDuration() {
+    return duration;
+  }
+
+  @Override
+  public double rateAt(final long elapsedNanos, final double startRps) {
+    return rateFunction.rateAt(elapsedNanos, startRps);
+  }
+}
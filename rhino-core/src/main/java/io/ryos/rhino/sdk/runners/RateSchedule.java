@@ -0,0 +1,54 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.runners;
+
+/**
+ * Rate schedule describes the arrival rate of scenario iterations over the course of a
+ * simulation. The {@link ArrivalRateInjector} queries the schedule every time it plans the next
+ * arrival, so the schedule may change its rate at any point in time.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+@FunctionalInterface
+public interface RateSchedule {
+
+  /**
+   * Returns the arrival rate in iterations per second at the given point of time relative to the
+   * start of the simulation. A rate less than or equal to zero pauses the arrivals.
+   * <p>
+   *
+   * @param elapsedNanos Nanoseconds elapsed since the simulation start.
+   * @return Arrival rate in iterations per second.
+   */
+  double rateAt(long elapsedNanos);
+
+  /**
+   * Factory method to create a schedule with a constant arrival rate.
+   * <p>
+   *
+   * @param rps Arrival rate in iterations per second.
+   * @return A constant {@link RateSchedule}.
+   */
+  static RateSchedule constant(final double rps) {
+    if (rps <= 0) {
+      throw new IllegalArgumentException("Arrival rate must be greater than 0");
+    }
+    return elapsedNanos -> rps;
+  }
+}
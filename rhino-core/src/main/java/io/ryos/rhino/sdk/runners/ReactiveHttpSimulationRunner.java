@@ -27,7 +27,8 @@ import io.ryos.rhino.sdk.data.Context;
 import io.ryos.rhino.sdk.data.UserSession;
 import io.ryos.rhino.sdk.dsl.DslMethod;
 import io.ryos.rhino.sdk.dsl.impl.DslMethodImpl;
-import io.ryos.rhino.sdk.dsl.mat.DslMethodMaterializer;
+import io.ryos.rhino.sdk.dsl.mat.PlanCompiler;
+import io.ryos.rhino.sdk.reporting.IntendedStart;
 import io.ryos.rhino.sdk.users.repositories.CyclicUserSessionRepositoryImpl;
 import java.io.IOException;
 import java.lang.reflect.Method;
@@ -55,7 +56,10 @@ public class ReactiveHttpSimulationRunner extends AbstractSimulationRunner {
   private static final String JOB = "job";
   private static final String ALL_REGIONS = "all";
   private CyclicIterator<DslMethod> dslIterator;
+  private ScenarioMix scenarioMix;
   private Disposable subscribe;
+  private ArrivalRateInjector arrivalRateInjector;
+  private VirtualUserInjector virtualUserInjector;
 
   private volatile boolean shutdownInitiated;
   private volatile boolean isCleanupCompleted;
@@ -69,12 +73,49 @@ public class ReactiveHttpSimulationRunner extends AbstractSimulationRunner {
   public ReactiveHttpSimulationRunner(final Context context) {
     super(context.<SimulationMetadata>get(JOB).orElseThrow());
 
-    this.dslIterator = new CyclicIterator<>(getSimulationMetadata().getDslMethods()
+    var dslMethods = getSimulationMetadata().getDslMethods()
         .stream()
         .filter(Objects::nonNull)
-        .collect(Collectors.toList()));
+        .collect(Collectors.toList());
+    this.dslIterator = new CyclicIterator<>(dslMethods);
     this.masterLock = new ReentrantLock();
     this.continueCondition = masterLock.newCondition();
+
+    var rateSchedule = createRateSchedule();
+    if (rateSchedule != null) {
+      this.arrivalRateInjector = new ArrivalRateInjector(rateSchedule);
+    } else if (getSimulationMetadata().getVirtualUsers() > 0) {
+      this.virtualUserInjector = new VirtualUserInjector(
+          getSimulationMetadata().getVirtualUsers());
+    }
+    // Arrivals of the open model are dropped over the limit of their DSL method, since the open
+    // model does not wait for iterations.
+    this.scenarioMix = new ScenarioMix(dslMethods, arrivalRateInjector != null);
+  }
+
+  /**
+   * Creates the arrival rate schedule of the simulation, which is declared with either a load
+   * profile, a ramp-up or an arrival rate.
+   * <p>
+   *
+   * @return {@link RateSchedule} or null, if the simulation does not declare any.
+   */
+  private static RateSchedule createRateSchedule() {
+    var loadProfile = SimulationConfig.getLoadProfile();
+    if (!loadProfile.isEmpty()) {
+      return LoadProfileSchedule.of(loadProfile.stream()
+          .map(LoadStage::of)
+          .collect(Collectors.toList()));
+    }
+    if (SimulationConfig.isRampupDefined()) {
+      var rampupInfo = SimulationConfig.getRampupInfo();
+      return LoadProfileSchedule.of(LoadStage.ramp(rampupInfo.getStartRps(),
+          rampupInfo.getTargetRps(), rampupInfo.getDuration()));
+    }
+    if (SimulationConfig.isArrivalRateDefined()) {
+      return RateSchedule.constant(SimulationConfig.getArrivalRateInfo().getRps());
+    }
+    return null;
   }
 
   private void execute() {
@@ -101,13 +142,36 @@ public class ReactiveHttpSimulationRunner extends AbstractSimulationRunner {
 
     prepare(userList);
 
-    var flux = Flux.fromStream(Stream.generate(userSessionProvider::take));
+    // Verification runs are not warmed up, their single iteration is not a measurement.
+    var warmUp = SimulationConfig.getWarmUp();
+    if (warmUp.isEnabled() && (numberOfRepeats == null || numberOfRepeats > 1)) {
+      var dslMethods = simulationMetadata.getDslMethods()
+          .stream()
+          .filter(Objects::nonNull)
+          .collect(Collectors.toList());
+      warmUp.run(dslMethods, scenarioMix, userSessionProvider::take);
+    }
 
-    flux = appendTake(flux, getRepeats(numberOfRepeats));
-    flux = flux.zipWith(Flux.fromStream(stream(dslIterator)))
-        .doOnError(t -> LOG.error("Something unexpected happened", t))
-        .flatMap(tuple -> tuple.getT2().materializer().materialize(tuple.getT1()))
-        .onErrorResume(this::handleThrowable)
+    Flux<UserSession> flux;
+    if (virtualUserInjector != null) {
+      virtualUserInjector.register();
+      flux = appendTake(createVirtualUsers(userSessionProvider), getRepeats(numberOfRepeats));
+    } else if (arrivalRateInjector != null) {
+      flux = appendTake(arrivalRateInjector.arrivals(), getRepeats(numberOfRepeats))
+          .zipWith(createDslMethodFlux())
+          .doOnError(t -> LOG.error("Something unexpected happened", t))
+          .flatMap(tuple -> scenarioMix.materialize(tuple.getT2(), userSessionProvider.take())
+              .subscriberContext(context -> IntendedStart.put(context, tuple.getT1())),
+              getConcurrency());
+    } else {
+      flux = appendTake(Flux.fromStream(Stream.generate(userSessionProvider::take)),
+          getRepeats(numberOfRepeats))
+          .zipWith(createDslMethodFlux())
+          .doOnError(t -> LOG.error("Something unexpected happened", t))
+          .flatMap(tuple -> scenarioMix.materialize(tuple.getT2(), tuple.getT1()),
+              getConcurrency());
+    }
+    flux = flux.onErrorResume(this::handleThrowable)
         .doOnError(t -> LOG.error("Something unexpected happened", t))
         .doOnTerminate(this::shutdown)
         .doOnComplete(() -> signalCompletion(() -> this.isPipelineCompleted = true));
@@ -125,6 +189,61 @@ public class ReactiveHttpSimulationRunner extends AbstractSimulationRunner {
     shutdown();
   }
 
+  /**
+   * Returns the DSL methods to be run, either round-robin or following the weights of the mix.
+   * <p>
+   *
+   * @return {@link Flux} of DSL methods.
+   */
+  private Flux<DslMethod> createDslMethodFlux() {
+    if (scenarioMix.isWeighted()) {
+      return Flux.fromStream(Stream.generate(scenarioMix::next));
+    }
+    return Flux.fromStream(stream(dslIterator));
+  }
+
+  /**
+   * In the closed model, every virtual user holds on to its user session and runs the DSL methods
+   * in order, or a single DSL method chosen by the weights of the mix in each iteration. A failing
+   * DSL method ends the current iteration of the virtual user, but not the virtual user itself.
+   * <p>
+   *
+   * @param userSessionProvider Provider of user sessions.
+   * @return {@link Flux} of user sessions, one for each DSL method completed.
+   */
+  private Flux<UserSession> createVirtualUsers(
+      final CyclicUserSessionRepositoryImpl userSessionProvider) {
+    var dslMethods = getSimulationMetadata().getDslMethods()
+        .stream()
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList());
+    return virtualUserInjector.inject(() -> {
+      var userSession = userSessionProvider.take();
+      if (scenarioMix.isWeighted()) {
+        return Flux.defer(() -> scenarioMix.materialize(scenarioMix.next(), userSession))
+            .onErrorResume(this::handleThrowable);
+      }
+      return Flux.fromIterable(dslMethods)
+          .concatMap(dslMethod -> scenarioMix.materialize(dslMethod, userSession))
+          .onErrorResume(this::handleThrowable);
+    });
+  }
+
+  /**
+   * The open model must not limit the number of in-flight iterations, otherwise the arrivals
+   * queue up behind slow ones and the injector degrades into a closed model. Otherwise, the
+   * number of iterations in flight is limited by {@code runner.maxIterationsInFlight}.
+   * <p>
+   *
+   * @return The maximum number of concurrent scenario iterations.
+   */
+  private int getConcurrency() {
+    if (arrivalRateInjector != null) {
+      return Integer.MAX_VALUE;
+    }
+    return SimulationConfig.getMaxIterationsInFlight();
+  }
+
   private void printStart(Integer numberOfRepeats, SimulationMetadata simulationMetadata) {
     if (null != numberOfRepeats && numberOfRepeats == 1) {
       System.out.println("Starting the verification tests.");
@@ -133,6 +252,16 @@ public class ReactiveHttpSimulationRunner extends AbstractSimulationRunner {
       System.out.println(String.format("Starting the load tests for %s minutes.",
           simulationMetadata.getDuration().toMinutes()));
     }
+    if (SimulationConfig.isArrivalRateDefined()) {
+      System.out.println(String.format("Arrival rate is %s iterations per second.",
+          SimulationConfig.getArrivalRateInfo().getRps()));
+    } else if (arrivalRateInjector != null) {
+      System.out.println("Arrival rate follows the load profile.");
+    }
+    if (virtualUserInjector != null) {
+      System.out.println(String.format("Number of virtual users is %s.",
+          virtualUserInjector.getVirtualUsers()));
+    }
     if (null != numberOfRepeats && numberOfRepeats > 1) {
       System.out.println(String.format("Starting the performance tests for %s cycles.",
           numberOfRepeats));
@@ -216,9 +345,16 @@ public class ReactiveHttpSimulationRunner extends AbstractSimulationRunner {
     System.out.println("Stopping the simulation...");
     subscribe.dispose();
     dslIterator.stop();
+    if (arrivalRateInjector != null) {
+      arrivalRateInjector.printSummary();
+    }
+    scenarioMix.printSummary();
+    if (virtualUserInjector != null) {
+      virtualUserInjector.unregister();
+    }
     EventDispatcher.getInstance().stop();
     try {
-      HttpClient.INSTANCE.getClient().close();
+      HttpClient.INSTANCE.close();
     } catch (IOException e) {
       LOG.debug("Error shutting down http client", e);
     }
@@ -252,12 +388,12 @@ public class ReactiveHttpSimulationRunner extends AbstractSimulationRunner {
   private void materializeMethod(final String callerName, final Method method,
       final List<UserSession> userSessionList, final Action action) {
     if (method != null) {
-      DslMethodImpl dslItem = new DslMethodImpl(callerName, executeMethod(method,
-          getSimulationMetadata().getTestInstance()));
+      var plan = PlanCompiler.compile(new DslMethodImpl(callerName, executeMethod(method,
+          getSimulationMetadata().getTestInstance())));
 
       Flux.fromStream(userSessionList.stream())
           .onErrorResume(this::handleThrowable)
-          .flatMap(session -> new DslMethodMaterializer(dslItem).materialize(session))
+          .flatMap(session -> BlockingExecution.INSTANCE.offload(plan.materialize(session)))
           .doOnError(throwable -> LOG.error("Something unexpected happened", throwable))
           .doOnComplete(() -> signalCompletion(action))
           .blockLast();
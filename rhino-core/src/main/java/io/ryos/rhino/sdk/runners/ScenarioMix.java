@@ -0,0 +1,175 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.runners;
+
+import io.ryos.rhino.sdk.WeightedSelector;
+import io.ryos.rhino.sdk.data.UserSession;
+import io.ryos.rhino.sdk.dsl.DslMethod;
+import java.time.Duration;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import reactor.core.publisher.Mono;
+
+/**
+ * Scenario mix decides which DSL method runs next. If the DSL methods have different weights, the
+ * next one is chosen by a {@link WeightedSelector}, so that the mix of iterations follows the
+ * weights. Otherwise, the runner keeps running them round-robin.
+ * <p>
+ *
+ * DSL methods with a maximum rate are limited by a {@link TokenBucketPacer} each. An iteration of a
+ * DSL method over its limit is never handed over to another DSL method, which would shift the mix
+ * away from the weights. In the closed model, it is delayed till the limit allows. In the open
+ * model, it is dropped, since delayed arrivals would pile up as long as the load exceeds the
+ * limit. The iterations over the limit are counted and printed in the summary.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+public class ScenarioMix {
+
+  /**
+   * Selector, if the mix is weighted, otherwise null.
+   * <p>
+   */
+  private final WeightedSelector<DslMethod> selector;
+
+  /**
+   * Limits of the DSL methods with a maximum rate. The map is not modified after construction.
+   * <p>
+   */
+  private final Map<DslMethod, Limit> limits = new IdentityHashMap<>();
+  private final List<DslMethod> dslMethods;
+  private final boolean dropOverLimit;
+
+  /**
+   * Creates a mix which delays the iterations over the limit of their DSL method.
+   * <p>
+   *
+   * @param dslMethods DSL methods of the mix.
+   */
+  public ScenarioMix(final List<DslMethod> dslMethods) {
+    this(dslMethods, false);
+  }
+
+  /**
+   * Creates a new mix.
+   * <p>
+   *
+   * @param dslMethods    DSL methods of the mix.
+   * @param dropOverLimit true to drop the iterations over the limit of their DSL method, false to
+   *                      delay them.
+   */
+  public ScenarioMix(final List<DslMethod> dslMethods, final boolean dropOverLimit) {
+    var weighted = dslMethods.stream().mapToInt(DslMethod::getWeight).distinct().count() > 1;
+    this.selector = weighted ? new WeightedSelector<>(dslMethods, DslMethod::getWeight) : null;
+    this.dslMethods = dslMethods;
+    this.dropOverLimit = dropOverLimit;
+    dslMethods.stream()
+        .filter(dslMethod -> dslMethod.getMaxRps() > 0)
+        .forEach(dslMethod -> limits.put(dslMethod, new Limit(dslMethod.getMaxRps())));
+  }
+
+  /**
+   * Returns whether the DSL methods have different weights.
+   * <p>
+   *
+   * @return true if the mix is weighted.
+   */
+  public boolean isWeighted() {
+    return selector != null;
+  }
+
+  /**
+   * Returns the next DSL method of the weighted mix.
+   * <p>
+   *
+   * @return The DSL method to run next.
+   */
+  public DslMethod next() {
+    if (selector == null) {
+      throw new IllegalStateException("Scenario mix is not weighted.");
+    }
+    return selector.next();
+  }
+
+  /**
+   * Materializes the DSL method given. If the DSL method is over its limit, the iteration is
+   * delayed till the limit allows, or dropped.
+   * <p>
+   *
+   * @param dslMethod The DSL method chosen.
+   * @param userSession The user session.
+   * @return {@link Mono} of the user session.
+   */
+  public Mono<UserSession> materialize(final DslMethod dslMethod, final UserSession userSession) {
+    var limit = limits.get(dslMethod);
+    if (limit == null || limit.pacer.tryAcquire()) {
+      return dslMethod.materializer().materialize(userSession);
+    }
+
+    limit.overLimit.increment();
+    if (dropOverLimit) {
+      return Mono.just(userSession);
+    }
+    var delay = limit.pacer.reserve() - System.nanoTime();
+    if (delay <= 0) {
+      return dslMethod.materializer().materialize(userSession);
+    }
+    return Mono.delay(Duration.ofNanos(delay))
+        .then(Mono.defer(() -> dslMethod.materializer().materialize(userSession)));
+  }
+
+  /**
+   * Returns the number of iterations of the DSL method which were over its limit, so they were
+   * delayed or dropped.
+   * <p>
+   *
+   * @param dslMethod DSL method of the mix.
+   * @return Number of iterations over the limit.
+   */
+  public long getOverLimitIterations(final DslMethod dslMethod) {
+    var limit = limits.get(dslMethod);
+    return limit != null ? limit.overLimit.sum() : 0L;
+  }
+
+  /**
+   * Prints the number of iterations of the DSL methods which were over their limit.
+   * <p>
+   */
+  public void printSummary() {
+    for (var dslMethod : dslMethods) {
+      var overLimit = getOverLimitIterations(dslMethod);
+      if (overLimit > 0) {
+        System.out.println(String.format("%d iterations of %s exceeded its maximum rate and were "
+            + "%s.", overLimit, dslMethod.getName(), dropOverLimit ? "dropped" : "delayed"));
+      }
+    }
+  }
+
+  private static final class Limit {
+
+    private final TokenBucketPacer pacer;
+    private final LongAdder overLimit = new LongAdder();
+
+    private Limit(final double maxRps) {
+      this.pacer = new TokenBucketPacer(RateSchedule.constant(maxRps), 1);
+    }
+  }
+}
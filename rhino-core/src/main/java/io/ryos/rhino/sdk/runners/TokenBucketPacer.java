@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.runners;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Token bucket pacer hands out permits at the rate of a {@link RateSchedule}. It is implemented
+ * as generic cell rate algorithm, that is, instead of refilling tokens the pacer keeps the
+ * theoretical arrival time of the next permit, which is advanced with a single compare-and-set
+ * per permit. So the pacer can be shared by all pipeline threads without locking, and it does not
+ * schedule any timers by itself.
+ * <p>
+ *
+ * The capacity of the bucket limits the number of permits handed out at once after the callers
+ * fell behind the schedule. Permits beyond the capacity are skipped, and the schedule continues
+ * from the current time.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+@ThreadSafe
+public class TokenBucketPacer {
+
+  private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+  private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  /**
+   * Unlimited capacity, so that callers which fell behind catch up with all permits.
+   * <p>
+   */
+  public static final long UNLIMITED = Long.MAX_VALUE;
+
+  private final RateSchedule schedule;
+  private final long capacity;
+  private final long origin;
+
+  /**
+   * Theoretical arrival time of the next permit in {@link System#nanoTime()} units.
+   * <p>
+   */
+  private final AtomicLong theoreticalArrival;
+
+  public TokenBucketPacer(final RateSchedule schedule) {
+    this(schedule, UNLIMITED);
+  }
+
+  public TokenBucketPacer(final RateSchedule schedule, final long capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be greater than 0");
+    }
+    this.schedule = Objects.requireNonNull(schedule, "Rate schedule must not be null.");
+    this.capacity = capacity;
+    this.origin = System.nanoTime();
+    this.theoreticalArrival = new AtomicLong(origin);
+  }
+
+  /**
+   * Reserves the next permit. The caller must not start its work before the time returned. If the
+   * schedule is paused at that time, that is, {@link #isPaused(long)} returns true, the permit is
+   * void and the caller should reserve the next one.
+   * <p>
+   *
+   * @return Time in {@link System#nanoTime()} units at which the permit is granted.
+   */
+  public long reserve() {
+    while (true) {
+      var current = theoreticalArrival.get();
+      var interval = intervalAt(current);
+      var permit = clamp(current, interval, System.nanoTime());
+      if (theoreticalArrival.compareAndSet(current, permit + interval)) {
+        return permit;
+      }
+    }
+  }
+
+  /**
+   * Takes the next permit if it is due, without waiting for it.
+   * <p>
+   *
+   * @return true if the permit is taken, false if the caller is ahead of the schedule.
+   */
+  public boolean tryAcquire() {
+    while (true) {
+      var current = theoreticalArrival.get();
+      var now = System.nanoTime();
+      if (current - now > 0 || isPaused(current)) {
+        return false;
+      }
+      var interval = intervalAt(current);
+      var permit = clamp(current, interval, now);
+      if (theoreticalArrival.compareAndSet(current, permit + interval)) {
+        return true;
+      }
+    }
+  }
+
+  private long intervalAt(final long permit) {
+    var rate = rateAt(permit);
+    return rate > 0 ? (long) (NANOS_PER_SECOND / rate) : IDLE_NANOS;
+  }
+
+  private long clamp(final long permit, final long interval, final long now) {
+    if (capacity == UNLIMITED || capacity - 1 >= Long.MAX_VALUE / interval) {
+      return permit;
+    }
+    var window = (capacity - 1) * interval;
+    if (now - permit > window) {
+      return now - window;
+    }
+    return permit;
+  }
+
+  /**
+   * Returns whether the schedule is paused at the time of the permit given.
+   * <p>
+   *
+   * @param permit Permit returned by {@link #reserve()}.
+   * @return true if the permit is void.
+   */
+  public boolean isPaused(final long permit) {
+    return rateAt(permit) <= 0;
+  }
+
+  /**
+   * Returns the rate of the schedule at the time given.
+   * <p>
+   *
+   * @param nanoTime Time in {@link System#nanoTime()} units.
+   * @return Rate in permits per second.
+   */
+  public double rateAt(final long nanoTime) {
+    return schedule.rateAt(nanoTime - origin);
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.runners;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.FluxSink.OverflowStrategy;
+
+/**
+ * Closed-model injector which keeps a fixed number of virtual users looping their scenarios. Every
+ * virtual user starts its next iteration as soon as the previous one completes, so the number of
+ * iterations in flight equals the number of virtual users, no matter how many threads the load
+ * generator has.
+ * <p>
+ *
+ * The number of virtual users can be changed while the simulation is running through {@link
+ * #setVirtualUsers(int)}, which is also exposed as MXBean under {@link #OBJECT_NAME}.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+public class VirtualUserInjector implements VirtualUsersMXBean {
+
+  private static final Logger LOG = LoggerFactory.getLogger(VirtualUserInjector.class);
+  static final String OBJECT_NAME = "io.ryos.rhino:type=VirtualUsers";
+
+  /**
+   * The number of virtual users the injector is heading for.
+   * <p>
+   */
+  private final AtomicInteger virtualUsers;
+
+  /**
+   * The number of virtual users currently looping.
+   * <p>
+   */
+  private final AtomicInteger activeVirtualUsers = new AtomicInteger();
+
+  /**
+   * Sink to spawn new virtual users. It is set once the injector is subscribed.
+   * <p>
+   */
+  private volatile FluxSink<Integer> spawner;
+
+  public VirtualUserInjector(final int virtualUsers) {
+    if (virtualUsers < 0) {
+      throw new IllegalArgumentException("Number of virtual users must not be negative.");
+    }
+    this.virtualUsers = new AtomicInteger(virtualUsers);
+  }
+
+  /**
+   * Returns a {@link Flux} which runs the virtual users. Each virtual user is created by the
+   * supplier given, and the iteration returned is subscribed repeatedly till the virtual user
+   * leaves the simulation. The injector supports a single subscription at a time.
+   * <p>
+   *
+   * @param virtualUser Supplier of the iteration of a single virtual user.
+   * @param <T> Type of the elements the iterations emit.
+   * @return {@link Flux} of the elements of all iterations.
+   */
+  public <T> Flux<T> inject(final Supplier<Flux<T>> virtualUser) {
+    return Flux.<Integer>create(sink -> {
+      this.activeVirtualUsers.set(0);
+      this.spawner = sink;
+      spawn();
+    }, OverflowStrategy.BUFFER)
+        .flatMap(id -> virtualUser.get().repeat(() -> !leave()), Integer.MAX_VALUE);
+  }
+
+  private void spawn() {
+    var sink = spawner;
+    if (sink == null) {
+      return;
+    }
+    int active;
+    while ((active = activeVirtualUsers.get()) < virtualUsers.get()) {
+      if (activeVirtualUsers.compareAndSet(active, active + 1)) {
+        sink.next(active);
+      }
+    }
+  }
+
+  private boolean leave() {
+    int active;
+    while ((active = activeVirtualUsers.get()) > virtualUsers.get()) {
+      if (activeVirtualUsers.compareAndSet(active, active - 1)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public int getVirtualUsers() {
+    return virtualUsers.get();
+  }
+
+  @Override
+  public void setVirtualUsers(final int virtualUsers) {
+    if (virtualUsers < 0) {
+      throw new IllegalArgumentException("Number of virtual users must not be negative.");
+    }
+    LOG.info("Number of virtual users changed to {}.", virtualUsers);
+    this.virtualUsers.set(virtualUsers);
+    spawn();
+  }
+
+  @Override
+  public int getActiveVirtualUsers() {
+    return activeVirtualUsers.get();
+  }
+
+  /**
+   * Registers the injector in the platform MBean server, so the number of virtual users can be
+   * adjusted by JMX clients.
+   * <p>
+   */
+  public void register() {
+    try {
+      var server = ManagementFactory.getPlatformMBeanServer();
+      var name = new ObjectName(OBJECT_NAME);
+      if (server.isRegistered(name)) {
+        server.unregisterMBean(name);
+      }
+      server.registerMBean(this, name);
+    } catch (JMException e) {
+      LOG.warn("Cannot register virtual users MXBean.", e);
+    }
+  }
+
+  /**
+   * Removes the injector from the platform MBean server.
+   * <p>
+   */
+  public void unregister() {
+    try {
+      var server = ManagementFactory.getPlatformMBeanServer();
+      var name = new ObjectName(OBJECT_NAME);
+      if (server.isRegistered(name)) {
+        server.unregisterMBean(name);
+      }
+    } catch (JMException e) {
+      LOG.debug("Cannot unregister virtual users MXBean.", e);
+    }
+  }
+}
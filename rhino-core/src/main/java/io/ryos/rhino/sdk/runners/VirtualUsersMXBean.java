@@ -0,0 +1,54 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.runners;
+
+/**
+ * Management interface to observe and to adjust the number of virtual users of a running
+ * simulation, e.g via JConsole.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @see VirtualUserInjector
+ * @since 2.3.3
+ */
+public interface VirtualUsersMXBean {
+
+  /**
+   * Returns the number of virtual users the simulation is heading for.
+   * <p>
+   *
+   * @return Target number of virtual users.
+   */
+  int getVirtualUsers();
+
+  /**
+   * Sets the number of virtual users. New users start looping immediately, whereas surplus users
+   * leave once their current iteration completes.
+   * <p>
+   *
+   * @param virtualUsers Target number of virtual users.
+   */
+  void setVirtualUsers(int virtualUsers);
+
+  /**
+   * Returns the number of virtual users which are currently looping.
+   * <p>
+   *
+   * @return Number of active virtual users.
+   */
+  int getActiveVirtualUsers();
+}
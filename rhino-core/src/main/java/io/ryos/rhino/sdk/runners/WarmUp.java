@@ -0,0 +1,207 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk.runners;
+
+import io.ryos.rhino.sdk.HttpClient;
+import io.ryos.rhino.sdk.HttpClientProfile;
+import io.ryos.rhino.sdk.data.UserSession;
+import io.ryos.rhino.sdk.dsl.DslItem;
+import io.ryos.rhino.sdk.dsl.DslMethod;
+import io.ryos.rhino.sdk.dsl.HttpDsl;
+import io.ryos.rhino.sdk.dsl.data.StaticValue;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.apache.commons.lang3.Validate;
+import org.asynchttpclient.uri.Uri;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Warm-up stage runs before the measured phase of a simulation. It pre-opens the pooled connections
+ * to the targets, so the handshakes are not part of the measurements, and runs a number of
+ * scenario iterations. The events of the warm-up are discarded, and the metrics are reset once the
+ * warm-up completes. Iterations which do not complete within the timeout are cancelled, and the
+ * events are discarded until their requests in flight are completed, too.
+ * <p>
+ *
+ * The targets are the origins of the HTTP DSLs with static endpoints, along with the ones
+ * configured with {@code warmup.targets}, which are connected with the default client profile.
+ * <p>
+ *
+ * @author Erhan Bagdemir
+ * @since 2.3.3
+ */
+public class WarmUp {
+
+  private static final Logger LOG = LoggerFactory.getLogger(WarmUp.class);
+
+  private final int iterations;
+  private final int connections;
+  private final List<String> targets;
+  private final Duration timeout;
+
+  /**
+   * Creates a new warm-up stage.
+   * <p>
+   *
+   * @param iterations  Number of unmeasured scenario iterations.
+   * @param connections Number of connections to open per target and client profile.
+   * @param targets     Origins to connect to in addition to the static endpoints of the DSLs.
+   * @param timeout     Maximum duration of the connection and the iteration phase each.
+   */
+  public WarmUp(final int iterations, final int connections, final List<String> targets,
+      final Duration timeout) {
+    Validate.isTrue(iterations >= 0, "Number of iterations must not be negative.");
+    Validate.isTrue(connections >= 0, "Number of connections must not be negative.");
+    this.iterations = iterations;
+    this.connections = connections;
+    this.targets = Objects.requireNonNull(targets);
+    this.timeout = Objects.requireNonNull(timeout);
+  }
+
+  public boolean isEnabled() {
+    return iterations > 0 || connections > 0;
+  }
+
+  /**
+   * Runs the warm-up and resets the metrics afterwards. Failing connections and iterations are
+   * logged but do not stop the simulation.
+   * <p>
+   *
+   * @param dslMethods  DSL methods of the simulation, which are run in turn.
+   * @param scenarioMix {@link ScenarioMix} the DSL methods are materialized with.
+   * @param sessions    Supplier of the user sessions the iterations run with.
+   */
+  public void run(final List<DslMethod> dslMethods, final ScenarioMix scenarioMix,
+      final Supplier<UserSession> sessions) {
+    run(dslMethods, scenarioMix, sessions, EventDispatcher.getInstance());
+  }
+
+  void run(final List<DslMethod> dslMethods, final ScenarioMix scenarioMix,
+      final Supplier<UserSession> sessions, final EventDispatcher dispatcher) {
+    System.out.println("Warm-up started.");
+    dispatcher.discardEvents(true);
+    try {
+      if (connections > 0) {
+        preConnect(dslMethods);
+      }
+      if (iterations > 0 && !dslMethods.isEmpty()) {
+        runIterations(dslMethods, scenarioMix, sessions);
+      }
+    } finally {
+      awaitRequests();
+      dispatcher.discardEvents(false);
+      dispatcher.resetMetrics();
+    }
+    System.out.println("Warm-up completed.");
+  }
+
+  private void preConnect(final List<DslMethod> dslMethods) {
+    var targetsByProfile = getTargets(dslMethods);
+    var futures = targetsByProfile.entrySet()
+        .stream()
+        .flatMap(profileTargets -> profileTargets.getValue()
+            .stream()
+            .map(origin -> HttpClient.INSTANCE.preConnect(profileTargets.getKey(), origin,
+                connections)
+                .exceptionally(t -> {
+                  LOG.warn("Cannot connect to {} during the warm-up: {}", origin,
+                      t.getMessage());
+                  return null;
+                })))
+        .toArray(CompletableFuture[]::new);
+    try {
+      CompletableFuture.allOf(futures).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+      LOG.info("Connected to {} targets during the warm-up.", futures.length);
+    } catch (ExecutionException | TimeoutException e) {
+      LOG.warn("Connecting to the targets did not complete within the warm-up timeout.");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void runIterations(final List<DslMethod> dslMethods, final ScenarioMix scenarioMix,
+      final Supplier<UserSession> sessions) {
+    try {
+      Flux.range(0, iterations)
+          .flatMap(i -> scenarioMix.materialize(dslMethods.get(i % dslMethods.size()),
+              sessions.get())
+              .onErrorResume(t -> {
+                LOG.warn("Warm-up iteration failed: {}", t.getMessage());
+                return Mono.empty();
+              }))
+          .blockLast(timeout);
+    } catch (IllegalStateException e) {
+      LOG.warn("Warm-up iterations did not complete within the warm-up timeout.");
+    }
+  }
+
+  private void awaitRequests() {
+    if (!HttpClient.INSTANCE.awaitIdle(timeout)) {
+      LOG.warn("Warm-up requests did not complete within the warm-up timeout, their events may be "
+          + "reported.");
+    }
+  }
+
+  /**
+   * Returns the origins of the targets by the client profile they are connected with.
+   * <p>
+   *
+   * @param dslMethods DSL methods whose HTTP DSLs with static endpoints are targets.
+   * @return Origins by client profile.
+   */
+  Map<String, Set<String>> getTargets(final List<DslMethod> dslMethods) {
+    var targetsByProfile = new LinkedHashMap<String, Set<String>>();
+    targets.forEach(target -> addTarget(targetsByProfile, HttpClientProfile.DEFAULT, target));
+    dslMethods.forEach(dslMethod -> collectTargets(dslMethod, targetsByProfile));
+    return targetsByProfile;
+  }
+
+  private static void collectTargets(final DslItem dslItem,
+      final Map<String, Set<String>> targetsByProfile) {
+    if (dslItem instanceof HttpDsl) {
+      var httpDsl = (HttpDsl) dslItem;
+      if (httpDsl.getEndpoint() instanceof StaticValue) {
+        var endpoint = (String) ((StaticValue<?>) httpDsl.getEndpoint()).getValue();
+        addTarget(targetsByProfile, httpDsl.getClientProfile(), endpoint);
+      }
+    }
+    dslItem.getChildren().forEach(child -> collectTargets(child, targetsByProfile));
+  }
+
+  private static void addTarget(final Map<String, Set<String>> targetsByProfile,
+      final String profile, final String url) {
+    targetsByProfile.computeIfAbsent(profile, k -> new LinkedHashSet<>()).add(originOf(url));
+  }
+
+  private static String originOf(final String url) {
+    var uri = Uri.create(url.trim());
+    return uri.getScheme() + "://" + uri.getHost() + ":" + uri.getExplicitPort();
+  }
+}
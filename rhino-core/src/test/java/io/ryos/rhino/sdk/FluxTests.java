@@ -8,7 +8,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static reactor.core.publisher.Flux.range;
 import static reactor.core.publisher.Mono.fromFuture;
 
-import io.ryos.rhino.sdk.runners.Rampup;
+import io.ryos.rhino.sdk.runners.ArrivalRateInjector;
+import io.ryos.rhino.sdk.runners.LoadProfileSchedule;
+import io.ryos.rhino.sdk.runners.LoadStage;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -180,12 +182,13 @@ class FluxTests {
   void rampup2() {
     AsyncHttpClient asyncHttpClient = Dsl.asyncHttpClient();
     Duration duration = ofSeconds(60);
-    var rampup = new Rampup(1, 60, duration);
+    var injector = new ArrivalRateInjector(
+        LoadProfileSchedule.of(LoadStage.ramp(1, 60, duration)));
     AtomicInteger counter = new AtomicInteger();
-    // this is broken - delay is completely ignored
-    Flux.fromStream(IntStream.range(0, 100000).boxed())
+    injector.arrivals()
+        .zipWith(Flux.fromStream(IntStream.range(0, 100000).boxed()), (t, str) -> str)
         .flatMap(str -> {
-          return rampup.rampUp(str).flatMap(v -> {
+          return Mono.just(str).flatMap(v -> {
             LOG.info("time({}): {}", str, Instant.now());
             counter.incrementAndGet();
             return Mono.fromCompletionStage(
@@ -0,0 +1,200 @@
+package io.ryos.rhino.sdk;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.sun.net.httpserver.HttpServer;
+import io.ryos.rhino.sdk.reporting.ConnectionPoolStats;
+import io.ryos.rhino.sdk.utils.Environment;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+import org.asynchttpclient.AsyncCompletionHandlerBase;
+import org.asynchttpclient.RequestBuilder;
+import org.asynchttpclient.Response;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HttpClientProfileTest {
+
+  @Before
+  public void setUp() {
+    SimulationConfig.newInstance("classpath:///rhino.properties", Environment.DEV,
+        HttpClientProfileTest.class);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    HttpClient.INSTANCE.close();
+  }
+
+  @Test
+  public void testDefaultProfile() {
+    var profile = SimulationConfig.getHttpClientProfile(HttpClientProfile.DEFAULT);
+
+    assertThat(profile.getMaxConnections(), is(10));
+    assertThat(profile.getMaxConnectionsPerHost(), is(10));
+    assertThat(profile.getReadTimeout(), is(15000));
+    assertThat(profile.getKeepAliveTtl(), is(-1));
+  }
+
+  @Test
+  public void testProfileFallsBackToGlobalProperties() {
+    var profile = SimulationConfig.getHttpClientProfile("upload");
+
+    assertThat(profile.getMaxConnections(), is(5));
+    assertThat(profile.getMaxConnectionsPerHost(), is(5));
+    assertThat(profile.getReadTimeout(), is(15000));
+    assertThat(profile.getKeepAliveTtl(), is(30000));
+  }
+
+  @Test(timeout = 30_000)
+  public void testShardedHttp11ProfileQueuesRequestsOnItsEventLoop() throws IOException {
+    var server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/item", exchange -> {
+      try {
+        Thread.sleep(200);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      exchange.sendResponseHeaders(200, -1);
+      exchange.close();
+    });
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.start();
+    try {
+      var url = "http://localhost:" + server.getAddress().getPort() + "/item";
+      var affinityKey = new Object();
+
+      // Every shard has a single connection. The follow-up requests are sent from the event loop
+      // of the shard, like the next step of a virtual user, and the last one has to wait for the
+      // connection the other one holds.
+      var threads = new StringBuilder();
+      var statuses = HttpClient.INSTANCE.execute("sharded11", affinityKey,
+          new RequestBuilder().setUrl(url), new AsyncCompletionHandlerBase())
+          .thenCompose(first -> {
+            threads.append(Thread.currentThread().getName());
+            CompletableFuture<Response> second = HttpClient.INSTANCE.execute("sharded11",
+                affinityKey, new RequestBuilder().setUrl(url), new AsyncCompletionHandlerBase());
+            CompletableFuture<Response> third = HttpClient.INSTANCE.execute("sharded11",
+                affinityKey, new RequestBuilder().setUrl(url), new AsyncCompletionHandlerBase());
+            return second.thenCombine(third,
+                (a, b) -> a.getStatusCode() + b.getStatusCode());
+          })
+          .join();
+
+      assertThat(statuses, is(400));
+      assertThat(threads.toString().startsWith("rhino-http-sharded11-"), is(true));
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  @Test(timeout = 30_000)
+  public void testRequestsQueuedBeyondTheLimitAreRejected() throws IOException {
+    var server = slowServer();
+    try {
+      var url = "http://localhost:" + server.getAddress().getPort() + "/item";
+      var first = execute("queued", url);
+      var second = execute("queued", url);
+      var third = execute("queued", url);
+
+      assertThat(third.isCompletedExceptionally(), is(true));
+      assertThat(errorOf(third), instanceOf(RejectedExecutionException.class));
+      assertThat(first.join().getStatusCode(), is(200));
+      assertThat(second.join().getStatusCode(), is(200));
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  @Test(timeout = 30_000)
+  public void testQueuedRequestsFailingImmediatelyDoNotNest() throws IOException {
+    var server = slowServer();
+    try {
+      var url = "http://localhost:" + server.getAddress().getPort() + "/item";
+      var first = execute("backlog", url);
+      // The queued requests fail while they are sent, once the first one releases its connection.
+      var queued = new ArrayList<CompletableFuture<Response>>();
+      for (int i = 0; i < 50_000; i++) {
+        queued.add(execute("backlog", "ftp://localhost/item"));
+      }
+
+      assertThat(first.join().getStatusCode(), is(200));
+      for (var request : queued) {
+        assertThat(errorOf(request), not(instanceOf(StackOverflowError.class)));
+      }
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  private static CompletableFuture<Response> execute(final String profile, final String url) {
+    return HttpClient.INSTANCE.execute(profile, new RequestBuilder().setUrl(url),
+        new AsyncCompletionHandlerBase());
+  }
+
+  private static Throwable errorOf(final CompletableFuture<?> future) {
+    return future.handle((response, error) -> error instanceof CompletionException
+        ? error.getCause() : error).join();
+  }
+
+  private static HttpServer slowServer() throws IOException {
+    var server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/item", exchange -> {
+      try {
+        Thread.sleep(200);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      exchange.sendResponseHeaders(200, -1);
+      exchange.close();
+    });
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.start();
+    return server;
+  }
+
+  @Test
+  public void testShardedProfile() {
+    var profile = SimulationConfig.getHttpClientProfile("sharded");
+    var shard = profile.shard();
+
+    assertThat(profile.getShards(), is(4));
+    assertThat(shard.getShards(), is(1));
+    assertThat(shard.getIoThreads(), is(1));
+    assertThat(shard.getMaxConnections(), is(3));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownProfile() {
+    SimulationConfig.getHttpClientProfile("unknown");
+  }
+
+  @Test
+  public void testClientPerProfile() {
+    var defaultClient = HttpClient.INSTANCE.getClient();
+    var uploadClient = HttpClient.INSTANCE.getClient("upload");
+
+    assertThat(HttpClient.INSTANCE.getClient("upload"), sameInstance(uploadClient));
+    assertThat(uploadClient, not(sameInstance(defaultClient)));
+
+    var poolStats = HttpClient.INSTANCE.getPoolStats();
+    assertThat(poolStats.stream().map(ConnectionPoolStats::getProfile)
+        .collect(Collectors.toList()), equalTo(List.of("default", "upload")));
+    assertThat(poolStats.get(1).getMaxConnections(), is(5));
+    assertThat(poolStats.get(1).getActiveConnections(), is(0L));
+    assertThat(poolStats.get(1).getPendingAcquires(), is(0));
+  }
+}
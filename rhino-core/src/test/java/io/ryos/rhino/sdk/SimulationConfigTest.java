@@ -0,0 +1,91 @@
+package io.ryos.rhino.sdk;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.ryos.rhino.sdk.annotations.Simulation;
+import io.ryos.rhino.sdk.utils.Environment;
+import io.ryos.rhino.sdk.runners.BlockingExecution;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SimulationConfigTest {
+
+  private static final String CONFIG = "classpath:///rhino_SimulationConfig.properties";
+  private static final String VIRTUAL_USERS_PROPERTY =
+      "simulation.virtualUsers." + VirtualUsersSimulation.class.getCanonicalName();
+
+  @After
+  public void tearDown() {
+    System.clearProperty(VIRTUAL_USERS_PROPERTY);
+    System.clearProperty("runner.blocking");
+  }
+
+  @Test
+  public void testVirtualUsersOfTheAnnotationOverrideTheConfiguration() {
+    newInstance(VirtualUsersSimulation.class);
+
+    assertThat(SimulationConfig.getVirtualUsers(), is(5));
+  }
+
+  @Test
+  public void testVirtualUsersOfTheConfigurationAreTheDefault() {
+    newInstance(DefaultSimulation.class);
+
+    assertThat(SimulationConfig.getVirtualUsers(), is(3));
+  }
+
+  @Test
+  public void testVirtualUsersOfTheSystemPropertyOverrideTheAnnotation() {
+    System.setProperty(VIRTUAL_USERS_PROPERTY, "7");
+    newInstance(VirtualUsersSimulation.class);
+
+    assertThat(SimulationConfig.getVirtualUsers(), is(7));
+  }
+
+  @Test
+  public void testIterationsInFlightAreNotLimitedByTheParallelisation() {
+    newInstance(DefaultSimulation.class);
+
+    assertThat(SimulationConfig.getMaxIterationsInFlight(), is(256));
+  }
+
+  @Test
+  public void testBlockingModeIsCaseInsensitive() {
+    System.setProperty("runner.blocking", "Platform");
+    newInstance(DefaultSimulation.class);
+
+    assertThat(SimulationConfig.getBlockingMode(), is(BlockingExecution.Mode.PLATFORM));
+  }
+
+  @Test
+  public void testUnknownBlockingModeIsRejectedOnLoad() {
+    System.setProperty("runner.blocking", "pooled");
+    try {
+      newInstance(DefaultSimulation.class);
+      Assert.fail("Unknown blocking mode is accepted.");
+    } catch (IllegalArgumentException e) {
+      assertThat(e.getMessage(), containsString("pooled"));
+      assertThat(e.getMessage(), containsString("inline, platform, virtual"));
+    }
+  }
+
+  private static void newInstance(final Class<?> simulationClass) {
+    // The configuration of the same path is cached, so another one is loaded before.
+    SimulationConfig.newInstance("classpath:///rhino.properties", Environment.DEV,
+        SimulationConfigTest.class);
+    SimulationConfig.newInstance(CONFIG, Environment.DEV, simulationClass);
+  }
+
+  @Simulation(name = "Virtual Users", virtualUsers = 5)
+  static class VirtualUsersSimulation {
+
+  }
+
+  @Simulation(name = "Default")
+  static class DefaultSimulation {
+
+  }
+}
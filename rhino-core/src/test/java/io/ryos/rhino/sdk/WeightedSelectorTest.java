@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018 Ryos.io.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ryos.rhino.sdk;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Test;
+
+public class WeightedSelectorTest {
+
+  private static final int SAMPLES = 100_000;
+
+  @Test
+  public void testSelectionFollowsWeights() {
+    var weights = Map.of("read", 80, "search", 15, "upload", 5);
+    var selector = new WeightedSelector<>(List.of("read", "search", "upload"), weights::get);
+
+    var counts = IntStream.range(0, SAMPLES)
+        .mapToObj(i -> selector.next())
+        .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+    weights.forEach((name, weight) -> {
+      var share = 100d * counts.get(name) / SAMPLES;
+      assertThat(name + " share " + share, Math.abs(share - weight) < 1, equalTo(true));
+    });
+  }
+
+  @Test
+  public void testZeroWeightIsNeverSelected() {
+    var selector = new WeightedSelector<>(List.of(1, 2), i -> i == 1 ? 0 : 1);
+
+    var selected = IntStream.range(0, SAMPLES)
+        .map(i -> selector.next())
+        .distinct()
+        .toArray();
+
+    assertThat(selected.length, equalTo(1));
+    assertThat(selected[0], equalTo(2));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeWeightIsRejected() {
+    new WeightedSelector<>(List.of(1, 2), i -> -i);
+  }
+}
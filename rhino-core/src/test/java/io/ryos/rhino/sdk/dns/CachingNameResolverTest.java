@@ -0,0 +1,150 @@
+package io.ryos.rhino.sdk.dns;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.netty.resolver.InetNameResolver;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class CachingNameResolverTest {
+
+  private static final List<InetAddress> ADDRESSES = CachingNameResolver
+      .parseAddresses("backend", "10.0.0.1,10.0.0.2,10.0.0.3");
+
+  private final CountingResolver delegate = new CountingResolver();
+
+  @Test
+  public void testRoundRobin() throws Exception {
+    var resolver = new CachingNameResolver(delegate, 60000, Map.of());
+
+    assertThat(resolver.resolve("backend").get(), equalTo(ADDRESSES.get(0)));
+    assertThat(resolver.resolve("backend").get(), equalTo(ADDRESSES.get(1)));
+    assertThat(resolver.resolveAll("backend").get(),
+        equalTo(List.of(ADDRESSES.get(2), ADDRESSES.get(0), ADDRESSES.get(1))));
+    assertThat(delegate.calls.get(), is(1));
+  }
+
+  @Test
+  public void testOverride() throws Exception {
+    var local = CachingNameResolver.parseAddresses("api.example.com", "127.0.0.1");
+    var resolver = new CachingNameResolver(delegate, 60000, Map.of("api.example.com", local));
+
+    assertThat(resolver.resolveAll("API.example.com").get(), equalTo(local));
+    assertThat(delegate.calls.get(), is(0));
+  }
+
+  @Test
+  public void testCacheDisabled() throws Exception {
+    var resolver = new CachingNameResolver(delegate, 0, Map.of());
+
+    resolver.resolve("backend").get();
+    resolver.resolve("backend").get();
+    assertThat(delegate.calls.get(), is(2));
+  }
+
+  @Test
+  public void testExpiredEntryIsRefreshed() throws Exception {
+    var resolver = new CachingNameResolver(delegate, 1, Map.of());
+
+    resolver.resolve("backend").get();
+    Thread.sleep(5);
+    // The expired addresses are returned while the entry is refreshed.
+    assertThat(resolver.resolve("backend").get(), equalTo(ADDRESSES.get(1)));
+    assertThat(delegate.calls.get(), is(2));
+    assertThat(resolver.resolve("backend").get(), equalTo(ADDRESSES.get(0)));
+  }
+
+  @Test
+  public void testConcurrentMissesShareALookup() throws Exception {
+    var lookup = ImmediateEventExecutor.INSTANCE.<List<InetAddress>>newPromise();
+    var pendingDelegate = new CountingResolver(lookup);
+    var resolver = new CachingNameResolver(pendingDelegate, 60000, Map.of());
+
+    var first = resolver.resolve("backend");
+    var second = resolver.resolve("backend");
+    assertThat(pendingDelegate.calls.get(), is(1));
+
+    lookup.setSuccess(ADDRESSES);
+    assertThat(first.get(), equalTo(ADDRESSES.get(0)));
+    assertThat(second.get(), equalTo(ADDRESSES.get(1)));
+    assertThat(resolver.resolve("backend").get(), equalTo(ADDRESSES.get(2)));
+    assertThat(pendingDelegate.calls.get(), is(1));
+  }
+
+  @Test
+  public void testEmptyLookupIsNotCached() {
+    var lookup = ImmediateEventExecutor.INSTANCE.<List<InetAddress>>newPromise();
+    var emptyDelegate = new CountingResolver(lookup);
+    var resolver = new CachingNameResolver(emptyDelegate, 60000, Map.of());
+
+    lookup.setSuccess(List.of());
+    var first = resolver.resolve("backend");
+    var second = resolver.resolveAll("backend");
+
+    assertThat(first.cause() instanceof UnknownHostException, is(true));
+    assertThat(second.cause() instanceof UnknownHostException, is(true));
+    assertThat(emptyDelegate.calls.get(), is(2));
+  }
+
+  @Test
+  public void testSystemResolverDoesNotBlockTheCaller() throws Exception {
+    var resolver = NameResolvers.create(NameResolvers.SYSTEM);
+    try {
+      var thread = new CompletableFuture<String>();
+      var promise = ImmediateEventExecutor.INSTANCE.<InetAddress>newPromise();
+      promise.addListener(future -> thread.complete(Thread.currentThread().getName()));
+      resolver.resolve("localhost", promise);
+
+      assertThat(thread.get(5, TimeUnit.SECONDS).startsWith("rhino-dns-system"), is(true));
+      assertThat(resolver.resolve("127.0.0.1").get().isLoopbackAddress(), is(true));
+    } finally {
+      resolver.close();
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOverrideWithHostName() {
+    CachingNameResolver.parseAddresses("api.example.com", "localhost");
+  }
+
+  private static class CountingResolver extends InetNameResolver {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final Promise<List<InetAddress>> lookup;
+
+    private CountingResolver() {
+      this(null);
+    }
+
+    private CountingResolver(final Promise<List<InetAddress>> lookup) {
+      super(ImmediateEventExecutor.INSTANCE);
+      this.lookup = lookup;
+    }
+
+    @Override
+    protected void doResolve(final String inetHost, final Promise<InetAddress> promise) {
+      calls.incrementAndGet();
+      promise.setSuccess(ADDRESSES.get(0));
+    }
+
+    @Override
+    protected void doResolveAll(final String inetHost, final Promise<List<InetAddress>> promise) {
+      calls.incrementAndGet();
+      if (lookup == null) {
+        promise.setSuccess(ADDRESSES);
+      } else {
+        lookup.addListener(future -> promise.setSuccess(lookup.getNow()));
+      }
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package io.ryos.rhino.sdk.dsl;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+import org.junit.Test;
+
+public class ThinkTimeTest {
+
+  private static final int SAMPLES = 100_000;
+
+  @Test
+  public void constantThinkTime() {
+    var thinkTime = ThinkTime.constant(Duration.ofMillis(250));
+    assertThat(thinkTime.next(), is(Duration.ofMillis(250)));
+  }
+
+  @Test
+  public void uniformThinkTimeStaysInBounds() {
+    var min = Duration.ofMillis(100);
+    var max = Duration.ofMillis(200);
+    var thinkTime = ThinkTime.uniform(min, max);
+
+    for (int i = 0; i < SAMPLES; i++) {
+      var next = thinkTime.next();
+      assertTrue(next.compareTo(min) >= 0 && next.compareTo(max) <= 0);
+    }
+    assertMean(150, thinkTime::next);
+  }
+
+  @Test
+  public void exponentialThinkTimeHasTheMean() {
+    assertMean(100, ThinkTime.exponential(Duration.ofMillis(100))::next);
+  }
+
+  @Test
+  public void gaussianThinkTimeIsNeverNegative() {
+    var thinkTime = ThinkTime.gaussian(Duration.ofMillis(100), Duration.ofMillis(10));
+    assertMean(100, thinkTime::next);
+
+    var wide = ThinkTime.gaussian(Duration.ofMillis(10), Duration.ofMillis(100));
+    for (int i = 0; i < SAMPLES; i++) {
+      assertTrue(!wide.next().isNegative());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void uniformThinkTimeRejectsInvalidBounds() {
+    ThinkTime.uniform(Duration.ofMillis(200), Duration.ofMillis(100));
+  }
+
+  private static void assertMean(double expectedMillis, Supplier<Duration> sampler) {
+    double sum = 0;
+    for (int i = 0; i < SAMPLES; i++) {
+      sum += sampler.get().toNanos() / 1_000_000d;
+    }
+    var mean = sum / SAMPLES;
+    assertTrue("Mean was " + mean, Math.abs(mean - expectedMillis) < expectedMillis * 0.02);
+  }
+}
@@ -0,0 +1,210 @@
+package io.ryos.rhino.sdk.dsl.data;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.ryos.rhino.sdk.SimulationConfig;
+import io.ryos.rhino.sdk.data.UserSession;
+import io.ryos.rhino.sdk.dsl.impl.HttpDslImpl;
+import io.ryos.rhino.sdk.runners.EventDispatcher;
+import io.ryos.rhino.sdk.users.data.User;
+import io.ryos.rhino.sdk.utils.Environment;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+import org.asynchttpclient.AsyncHandler.State;
+import org.asynchttpclient.HttpResponseBodyPart;
+import org.asynchttpclient.HttpResponseStatus;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({EventDispatcher.class})
+@PowerMockIgnore({"javax.management.*", "com.sun.org.apache.xerces.*", "javax.xml.*",
+    "org.xml.*", "org.w3c.dom.*", "com.sun.org.apache.xalan.*", "javax.activation.*"})
+public class HttpSpecAsyncHandlerTest {
+
+  private static final String BODY = "hello world";
+  private static final String BODY_SHA_256 =
+      "b94d27b9934d3e08a52e52d7da7dabfac484efe37a5380ee9088f7ace2efcde9";
+
+  @Before
+  public void setUp() {
+    SimulationConfig.newInstance("classpath:///rhino.properties", Environment.DEV,
+        HttpSpecAsyncHandlerTest.class);
+  }
+
+  @Test
+  public void testKeepBody() {
+    var response = receive(BodyPolicy.KEEP);
+
+    assertThat(response.getResponseBodyAsString(), equalTo(BODY));
+    assertThat(response.getBodySize(), equalTo((long) BODY.length()));
+    assertThat(response.getBodyDigest(), nullValue());
+  }
+
+  @Test
+  public void testDiscardBody() {
+    var response = receive(BodyPolicy.DISCARD);
+
+    assertThat(response.getResponseBodyAsString(), equalTo(""));
+    assertThat(response.getBodySize(), equalTo((long) BODY.length()));
+    assertThat(response.getBodyDigest(), nullValue());
+  }
+
+  @Test
+  public void testDigestBody() {
+    var response = receive(BodyPolicy.DIGEST);
+
+    assertThat(response.getResponseBodyAsString(), equalTo(""));
+    assertThat(response.getBodySize(), equalTo((long) BODY.length()));
+    assertThat(response.getBodyDigest(), equalTo(BODY_SHA_256));
+  }
+
+  @Test
+  public void testBodyPrefix() {
+    var dsl = new HttpDslImpl("download");
+    dsl.get();
+    dsl.bodyPrefix(8);
+
+    var response = receive(dsl);
+
+    assertThat(response.getBodyPolicy(), equalTo(BodyPolicy.PREFIX));
+    assertThat(response.getResponseBodyAsString(), equalTo("hello wo"));
+    assertThat(response.getResponse().getResponseBody(), equalTo("hello wo"));
+    assertThat(response.getBodySize(), equalTo((long) BODY.length()));
+  }
+
+  @Test
+  public void testSkipBody() {
+    var dsl = new HttpDslImpl("status");
+    dsl.get();
+    dsl.body(BodyPolicy.SKIP);
+    var handler = new HttpSpecAsyncHandler(mockSession(), dsl);
+    var headers = new DefaultHttpHeaders().add("Content-Type", "text/plain");
+
+    handler.onRequestSend(null);
+    handler.onStatusReceived(status(204));
+    assertThat(handler.onHeadersReceived(headers), equalTo(State.ABORT));
+    var response = handler.onCompleted();
+
+    assertThat(response.getStatusCode(), equalTo(204));
+    assertThat(response.getHeaders().get("Content-Type"), equalTo("text/plain"));
+    assertThat(response.getBodySize(), equalTo(0L));
+  }
+
+  @Test
+  public void testGzipBody() throws IOException {
+    var dsl = new HttpDslImpl("download");
+    dsl.get();
+    dsl.compression(Compression.GZIP, Compression.DEFLATE);
+    var encoded = gzip(BODY);
+
+    var response = receiveEncoded(dsl, encoded);
+
+    assertThat(response.isDecodedLazily(), equalTo(false));
+    assertThat(response.getResponseBodyAsString(), equalTo(BODY));
+    assertThat(response.getBodySize(), equalTo((long) encoded.length));
+  }
+
+  @Test
+  public void testGzipBodyDigest() throws IOException {
+    var dsl = new HttpDslImpl("download");
+    dsl.get();
+    dsl.body(BodyPolicy.DIGEST);
+
+    var response = receiveEncoded(dsl, gzip(BODY));
+
+    assertThat(response.getBodyDigest(), equalTo(BODY_SHA_256));
+  }
+
+  @Test
+  public void testLazyDecompression() throws IOException {
+    var dsl = new HttpDslImpl("download");
+    dsl.get();
+    dsl.decompressLazily();
+
+    var response = receiveEncoded(dsl, gzip(BODY));
+
+    assertThat(response.isDecodedLazily(), equalTo(true));
+    assertThat(response.getResponseBodyAsString(), equalTo(BODY));
+    assertThat(response.getStatusCode(), equalTo(200));
+  }
+
+  private HttpResponse receiveEncoded(final HttpDslImpl dsl, final byte[] encoded) {
+    var handler = new HttpSpecAsyncHandler(mockSession(), dsl);
+    var half = encoded.length / 2;
+    handler.onRequestSend(null);
+    handler.onStatusReceived(status(200));
+    handler.onHeadersReceived(new DefaultHttpHeaders().add("Content-Encoding", "gzip"));
+    handler.onBodyPartReceived(bodyPart(Arrays.copyOfRange(encoded, 0, half)));
+    handler.onBodyPartReceived(bodyPart(Arrays.copyOfRange(encoded, half, encoded.length)));
+    return handler.onCompleted();
+  }
+
+  private static byte[] gzip(final String content) throws IOException {
+    var bytes = new ByteArrayOutputStream();
+    try (var gzip = new GZIPOutputStream(bytes)) {
+      gzip.write(content.getBytes(StandardCharsets.UTF_8));
+    }
+    return bytes.toByteArray();
+  }
+
+  private HttpResponse receive(final BodyPolicy bodyPolicy) {
+    var dsl = new HttpDslImpl("download");
+    dsl.get();
+    dsl.body(bodyPolicy);
+    return receive(dsl);
+  }
+
+  private HttpResponse receive(final HttpDslImpl dsl) {
+    var handler = new HttpSpecAsyncHandler(mockSession(), dsl);
+    handler.onRequestSend(null);
+    handler.onStatusReceived(status(200));
+    handler.onBodyPartReceived(bodyPart("hello "));
+    handler.onBodyPartReceived(bodyPart("world"));
+    return handler.onCompleted();
+  }
+
+  private static UserSession mockSession() {
+    mockStatic(EventDispatcher.class);
+    var dispatcherMock = mock(EventDispatcher.class);
+    when(EventDispatcher.getInstance()).thenReturn(dispatcherMock);
+
+    var user = mock(User.class);
+    when(user.getId()).thenReturn("userId");
+    var session = mock(UserSession.class);
+    when(session.getUser()).thenReturn(user);
+    return session;
+  }
+
+  private static HttpResponseStatus status(final int statusCode) {
+    var status = mock(HttpResponseStatus.class);
+    when(status.getStatusCode()).thenReturn(statusCode);
+    return status;
+  }
+
+  private static HttpResponseBodyPart bodyPart(final String content) {
+    return bodyPart(content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static HttpResponseBodyPart bodyPart(final byte[] bytes) {
+    var bodyPart = mock(HttpResponseBodyPart.class);
+    when(bodyPart.length()).thenReturn(bytes.length);
+    when(bodyPart.getBodyPartBytes()).thenReturn(bytes);
+    when(bodyPart.getBodyByteBuffer()).thenReturn(ByteBuffer.wrap(bytes));
+    return bodyPart;
+  }
+}
@@ -0,0 +1,40 @@
+package io.ryos.rhino.sdk.dsl.data;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.junit.Test;
+
+public class UploadStreamTest {
+
+  @Test
+  public void testClasspathBuffer() throws IOException {
+    var buffer = UploadStream.buffer("classpath:///test.txt");
+    var expected = UploadStream.file("classpath:///test.txt").readAllBytes();
+
+    assertThat(buffer.isDirect(), is(true));
+    assertThat(buffer.isReadOnly(), is(true));
+    assertThat(buffer.remaining(), is(expected.length));
+    assertThat(StandardCharsets.UTF_8.decode(buffer).toString(),
+        equalTo(new String(expected, StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  public void testMappedFileBuffer() throws IOException {
+    var file = Files.createTempFile("rhino-upload", ".txt");
+    try {
+      Files.writeString(file, "mapped content");
+
+      var buffer = UploadStream.buffer("file://" + file.toAbsolutePath());
+
+      assertThat(buffer.isDirect(), is(true));
+      assertThat(StandardCharsets.UTF_8.decode(buffer).toString(), equalTo("mapped content"));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
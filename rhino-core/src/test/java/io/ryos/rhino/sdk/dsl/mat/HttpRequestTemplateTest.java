@@ -0,0 +1,83 @@
+package io.ryos.rhino.sdk.dsl.mat;
+
+import static io.ryos.rhino.sdk.dsl.utils.HeaderUtils.headerValue;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.ryos.rhino.sdk.data.UserSessionImpl;
+import io.ryos.rhino.sdk.dsl.impl.HttpDslImpl;
+import io.ryos.rhino.sdk.users.data.UserImpl;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import org.junit.Test;
+
+public class HttpRequestTemplateTest {
+
+  @Test
+  public void staticPartsArePrepared() {
+    var httpDsl = new HttpDslImpl("test");
+    httpDsl.endpoint("http://localhost:8089/api/files")
+        .header("X-Static", "static")
+        .header(s -> headerValue("X-User", s.getUser().getUsername()))
+        .queryParam("limit", "10")
+        .queryParam(s -> headerValue("owner", s.getUser().getUsername()))
+        .get();
+
+    var template = HttpRequestTemplate.compile(httpDsl);
+    var first = template.newRequest(session("alice")).build();
+    var second = template.newRequest(session("bob")).build();
+
+    assertThat(first.getMethod(), is("GET"));
+    assertThat(first.getUrl(), equalTo("http://localhost:8089/api/files?limit=10&owner=alice"));
+    assertThat(first.getHeaders().get("X-Static"), equalTo("static"));
+    assertThat(first.getHeaders().get("X-User"), equalTo("alice"));
+    assertThat(second.getUrl(), equalTo("http://localhost:8089/api/files?limit=10&owner=bob"));
+    assertThat(second.getHeaders().get("X-User"), equalTo("bob"));
+  }
+
+  @Test
+  public void staticPartsOfDynamicEndpoint() {
+    var httpDsl = new HttpDslImpl("test");
+    httpDsl.endpoint(s -> "http://localhost:8089/users/" + s.getUser().getUsername())
+        .queryParam("tags", List.of("a", "b"))
+        .formParam("name", "value")
+        .post();
+
+    var template = HttpRequestTemplate.compile(httpDsl);
+    var builder = template.newRequest(session("alice"));
+    template.addFormParams(builder, session("alice"));
+    var request = builder.build();
+
+    assertThat(request.getMethod(), is("POST"));
+    assertThat(request.getUrl(), equalTo("http://localhost:8089/users/alice?tags=a%2Cb"));
+    assertThat(request.getFormParams().get(0).getName(), equalTo("name"));
+    assertThat(request.getFormParams().get(0).getValue(), equalTo("value"));
+  }
+
+  @Test
+  public void requestsReadTheUploadFileThroughViewsOfTheirOwn() throws IOException {
+    var file = Files.createTempFile("upload", ".txt");
+    try {
+      Files.writeString(file, "content");
+      var httpDsl = new HttpDslImpl("test");
+      httpDsl.endpoint("http://localhost:8089/upload").upload(file).put();
+
+      var template = HttpRequestTemplate.compile(httpDsl);
+      var first = template.uploadFile();
+      first.get(new byte[first.remaining()]);
+      var second = template.uploadFile();
+
+      assertThat(first.remaining(), is(0));
+      assertThat(StandardCharsets.UTF_8.decode(second).toString(), equalTo("content"));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  private static UserSessionImpl session(final String username) {
+    return new UserSessionImpl(new UserImpl(username, "pw", "id", "scope"));
+  }
+}
@@ -0,0 +1,58 @@
+package io.ryos.rhino.sdk.dsl.mat;
+
+import static io.ryos.rhino.sdk.dsl.utils.DslUtils.eval;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.ryos.rhino.sdk.data.UserSessionImpl;
+import io.ryos.rhino.sdk.dsl.DslBuilder;
+import io.ryos.rhino.sdk.dsl.impl.DslMethodImpl;
+import io.ryos.rhino.sdk.users.data.UserImpl;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+
+public class PlanCompilerTest {
+
+  @Test
+  public void compiledMethodIsReused() {
+    var dslMethod = new DslMethodImpl("test", DslBuilder.dsl().eval(s -> { })).compile();
+
+    assertThat(dslMethod.materializer(), sameInstance(dslMethod.materializer()));
+  }
+
+  @Test
+  public void parentsAreWiredAtCompileTime() {
+    var dsl = DslBuilder.dsl().eval(s -> { });
+    var dslMethod = new DslMethodImpl("test", dsl);
+
+    PlanCompiler.compile(dslMethod);
+
+    assertThat(dsl.getChildren().get(0).getParent(), sameInstance(dslMethod));
+  }
+
+  @Test
+  public void planIsSharedByConcurrentUsers() {
+    var runs = new AtomicInteger();
+    var skipped = new AtomicInteger();
+    var dslMethod = new DslMethodImpl("test", DslBuilder.dsl()
+        .runIf(s -> false, eval(s -> skipped.incrementAndGet()))
+        .repeat(eval(s -> runs.incrementAndGet()), 2)
+        .eval(s -> runs.incrementAndGet())).compile();
+
+    Flux.range(0, 1000)
+        .parallel()
+        .flatMap(i -> dslMethod.materializer().materialize(newSession()))
+        .sequential()
+        .blockLast();
+
+    assertThat(runs.get(), is(3000));
+    assertThat(skipped.get(), is(0));
+  }
+
+  private static UserSessionImpl newSession() {
+    return new UserSessionImpl(new UserImpl("user", UUID.randomUUID().toString(), "", ""));
+  }
+}
@@ -7,6 +7,8 @@ import io.ryos.rhino.sdk.data.UserSessionImpl;
 import io.ryos.rhino.sdk.dsl.impl.WaitDslImpl;
 import io.ryos.rhino.sdk.users.data.UserImpl;
 import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.junit.Test;
 
 public class WaitDslDslMaterializerTest {
@@ -34,4 +36,36 @@ public class WaitDslDslMaterializerTest {
       assertThat(elapsed <  WAIT_TIME * OVERHEAD_RATIO, equalTo(true));
     }
   }
+
+  @Test
+  public void testWaitsDoNotHoldThreads() throws InterruptedException {
+    var waitSpecMaterializer = new WaitDslMaterializer(
+        new WaitDslImpl(Duration.ofMillis(WAIT_TIME)));
+    var userSession = new UserSessionImpl(new UserImpl("username", "pw", "id", "scope"));
+    var sessions = 10_000;
+    var latch = new CountDownLatch(sessions);
+
+    // All sessions wait at the same time and complete in about one wait time, since none of them
+    // occupies a thread while waiting.
+    long start = System.currentTimeMillis();
+    for (int i = 0; i < sessions; i++) {
+      waitSpecMaterializer.materialize(userSession).subscribe(s -> latch.countDown());
+    }
+
+    assertThat(latch.await(WAIT_TIME * 5, TimeUnit.MILLISECONDS), equalTo(true));
+    assertThat(System.currentTimeMillis() - start >= WAIT_TIME, equalTo(true));
+  }
+
+  @Test
+  public void testSessionsAreNotResumedOnTheTimerThread() {
+    var waitSpecMaterializer = new WaitDslMaterializer(
+        new WaitDslImpl(Duration.ofMillis(WAIT_TIME)));
+    var userSession = new UserSessionImpl(new UserImpl("username", "pw", "id", "scope"));
+
+    var thread = waitSpecMaterializer.materialize(userSession)
+        .map(s -> Thread.currentThread().getName())
+        .block();
+
+    assertThat(thread.startsWith("rhino-wait-timer"), equalTo(false));
+  }
 }
@@ -0,0 +1,201 @@
+package io.ryos.rhino.sdk.http2;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.asynchttpclient.Dsl.get;
+import static org.asynchttpclient.Dsl.post;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http2.DefaultHttp2DataFrame;
+import io.netty.handler.codec.http2.DefaultHttp2Headers;
+import io.netty.handler.codec.http2.DefaultHttp2HeadersFrame;
+import io.netty.handler.codec.http2.Http2DataFrame;
+import io.netty.handler.codec.http2.Http2HeadersFrame;
+import io.netty.handler.codec.http2.Http2MultiplexCodecBuilder;
+import io.netty.util.ReferenceCountUtil;
+import io.ryos.rhino.sdk.HttpClient;
+import io.ryos.rhino.sdk.HttpClientProfile;
+import io.ryos.rhino.sdk.SimulationConfig;
+import io.ryos.rhino.sdk.utils.Environment;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.asynchttpclient.AsyncCompletionHandler;
+import org.asynchttpclient.AsyncCompletionHandlerBase;
+import org.asynchttpclient.Response;
+import org.asynchttpclient.uri.Uri;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class Http2ClientTest {
+
+  private NioEventLoopGroup serverGroup;
+  private Channel serverChannel;
+  private String baseUrl;
+  private final Set<Channel> serverConnections = ConcurrentHashMap.newKeySet();
+
+  @Before
+  public void setUp() {
+    SimulationConfig.newInstance("classpath:///rhino.properties", Environment.DEV,
+        Http2ClientTest.class);
+
+    serverGroup = new NioEventLoopGroup(1);
+    serverChannel = new ServerBootstrap()
+        .group(serverGroup)
+        .channel(NioServerSocketChannel.class)
+        .childHandler(new ChannelInitializer<SocketChannel>() {
+          @Override
+          protected void initChannel(final SocketChannel channel) {
+            serverConnections.add(channel);
+            channel.pipeline().addLast(Http2MultiplexCodecBuilder
+                .forServer(new ChannelInitializer<Channel>() {
+                  @Override
+                  protected void initChannel(final Channel stream) {
+                    stream.pipeline().addLast(new EchoPathHandler());
+                  }
+                })
+                .build());
+          }
+        })
+        .bind("127.0.0.1", 0)
+        .syncUninterruptibly()
+        .channel();
+    baseUrl = "http://127.0.0.1:" + ((InetSocketAddress) serverChannel.localAddress()).getPort();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    HttpClient.INSTANCE.close();
+    serverChannel.close().syncUninterruptibly();
+    serverGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+  }
+
+  @Test
+  public void testStreamsShareConnection() {
+    var futures = new ArrayList<CompletableFuture<Response>>();
+    for (int i = 0; i < 200; i++) {
+      futures.add(HttpClient.INSTANCE.execute("h2c", get(baseUrl + "/items/" + i),
+          new AsyncCompletionHandlerBase()));
+    }
+
+    for (int i = 0; i < futures.size(); i++) {
+      var response = futures.get(i).join();
+      assertThat(response.getStatusCode(), is(200));
+      assertThat(response.getResponseBody(), equalTo("/items/" + i));
+    }
+    assertThat(serverConnections.size(), is(1));
+
+    var stats = HttpClient.INSTANCE.getPoolStats().get(0);
+    assertThat(stats.getProfile(), equalTo("h2c"));
+    assertThat(stats.getPendingAcquires(), is(0));
+  }
+
+  @Test
+  public void testRequestBody() {
+    var response = HttpClient.INSTANCE.execute("h2c",
+        post(baseUrl + "/upload").setBody("payload"), new AsyncCompletionHandlerBase()).join();
+
+    assertThat(response.getStatusCode(), is(200));
+    assertThat(response.getResponseBody(), equalTo("/upload:payload"));
+  }
+
+  @Test
+  public void testShardAffinity() {
+    var threads = new ArrayList<CompletableFuture<String>>();
+    var affinityKey = new Object();
+    for (int i = 0; i < 20; i++) {
+      threads.add(HttpClient.INSTANCE.execute("sharded", affinityKey, get(baseUrl + "/shard"),
+          new AsyncCompletionHandler<>() {
+            @Override
+            public String onCompleted(final Response response) {
+              return Thread.currentThread().getName();
+            }
+          }));
+    }
+
+    var thread = threads.get(0).join();
+    threads.forEach(future -> assertThat(future.join(), equalTo(thread)));
+
+    var profile = SimulationConfig.getHttpClientProfile("sharded");
+    assertThat(profile.getShards(), is(4));
+    assertThat(HttpClient.INSTANCE.getPoolStats().get(0).getMaxConnections(),
+        is(profile.getMaxConnections()));
+  }
+
+  @Test
+  public void testAuthorityOmitsDefaultPort() {
+    assertThat(Http2Client.authorityOf(Uri.create("https://example.com/items")),
+        equalTo("example.com"));
+    assertThat(Http2Client.authorityOf(Uri.create("http://example.com:80/items")),
+        equalTo("example.com"));
+    assertThat(Http2Client.authorityOf(Uri.create("http://example.com:8080/items")),
+        equalTo("example.com:8080"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testHttp2ProfileHasNoAsyncHttpClient() {
+    HttpClient.INSTANCE.getClient("h2c");
+  }
+
+  @Test
+  public void testProfileProtocol() {
+    assertThat(SimulationConfig.getHttpClientProfile("h2c").getProtocol(),
+        is(HttpClientProfile.Protocol.HTTP_2));
+    assertThat(SimulationConfig.getHttpClientProfile("h2c").getMaxConcurrentStreams(), is(50));
+    assertThat(SimulationConfig.getHttpClientProfile(HttpClientProfile.DEFAULT).getProtocol(),
+        is(HttpClientProfile.Protocol.HTTP_1_1));
+  }
+
+  /**
+   * Responds with the path of the request, followed by the request body if there is one.
+   */
+  static final class EchoPathHandler extends ChannelInboundHandlerAdapter {
+
+    private String path;
+    private final StringBuilder body = new StringBuilder();
+
+    @Override
+    public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+      try {
+        if (msg instanceof Http2HeadersFrame) {
+          var frame = (Http2HeadersFrame) msg;
+          path = frame.headers().path().toString();
+          if (frame.isEndStream()) {
+            respond(ctx);
+          }
+        } else if (msg instanceof Http2DataFrame) {
+          var frame = (Http2DataFrame) msg;
+          body.append(frame.content().toString(StandardCharsets.UTF_8));
+          if (frame.isEndStream()) {
+            respond(ctx);
+          }
+        }
+      } finally {
+        ReferenceCountUtil.release(msg);
+      }
+    }
+
+    private void respond(final ChannelHandlerContext ctx) {
+      var content = body.length() == 0 ? path : path + ":" + body;
+      ByteBuf buffer = Unpooled.copiedBuffer(content, StandardCharsets.UTF_8);
+      ctx.write(new DefaultHttp2HeadersFrame(new DefaultHttp2Headers().status("200")));
+      ctx.writeAndFlush(new DefaultHttp2DataFrame(buffer, true));
+    }
+  }
+}
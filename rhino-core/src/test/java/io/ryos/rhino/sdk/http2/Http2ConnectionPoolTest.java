@@ -0,0 +1,46 @@
+package io.ryos.rhino.sdk.http2;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.netty.channel.Channel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeoutException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class Http2ConnectionPoolTest {
+
+  private ScheduledExecutorService scheduler;
+
+  @Before
+  public void setUp() {
+    scheduler = Executors.newSingleThreadScheduledExecutor();
+  }
+
+  @After
+  public void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  public void testWaitersTimeOut() {
+    var pool = new Http2ConnectionPool(CompletableFuture<Channel>::new, 1, 1, 100, scheduler);
+
+    var acquired = pool.acquire();
+    Throwable error = null;
+    try {
+      acquired.join();
+    } catch (CompletionException e) {
+      error = e.getCause();
+    }
+
+    assertThat(error, instanceOf(TimeoutException.class));
+    assertThat(pool.getPendingAcquires(), is(0));
+  }
+}
@@ -0,0 +1,106 @@
+package io.ryos.rhino.sdk.http2;
+
+import static org.asynchttpclient.Dsl.get;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http2.Http2MultiplexCodecBuilder;
+import io.ryos.rhino.sdk.HttpClient;
+import io.ryos.rhino.sdk.SimulationConfig;
+import io.ryos.rhino.sdk.data.UserSession;
+import io.ryos.rhino.sdk.dsl.data.HttpSpecAsyncHandler;
+import io.ryos.rhino.sdk.dsl.impl.HttpDslImpl;
+import io.ryos.rhino.sdk.runners.EventDispatcher;
+import io.ryos.rhino.sdk.users.data.User;
+import io.ryos.rhino.sdk.utils.Environment;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({EventDispatcher.class})
+@PowerMockIgnore({"javax.management.*", "com.sun.org.apache.xerces.*", "javax.xml.*",
+    "org.xml.*", "org.w3c.dom.*", "com.sun.org.apache.xalan.*", "javax.activation.*",
+    "javax.net.ssl.*"})
+public class Http2SpecAsyncHandlerTest {
+
+  private NioEventLoopGroup serverGroup;
+  private Channel serverChannel;
+  private String baseUrl;
+
+  @Before
+  public void setUp() {
+    SimulationConfig.newInstance("classpath:///rhino.properties", Environment.DEV,
+        Http2SpecAsyncHandlerTest.class);
+
+    serverGroup = new NioEventLoopGroup(1);
+    serverChannel = new ServerBootstrap()
+        .group(serverGroup)
+        .channel(NioServerSocketChannel.class)
+        .childHandler(new ChannelInitializer<SocketChannel>() {
+          @Override
+          protected void initChannel(final SocketChannel channel) {
+            channel.pipeline().addLast(Http2MultiplexCodecBuilder
+                .forServer(new ChannelInitializer<Channel>() {
+                  @Override
+                  protected void initChannel(final Channel stream) {
+                    stream.pipeline().addLast(new Http2ClientTest.EchoPathHandler());
+                  }
+                })
+                .build());
+          }
+        })
+        .bind("127.0.0.1", 0)
+        .syncUninterruptibly()
+        .channel();
+    baseUrl = "http://127.0.0.1:" + ((InetSocketAddress) serverChannel.localAddress()).getPort();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    HttpClient.INSTANCE.close();
+    serverChannel.close().syncUninterruptibly();
+    serverGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+  }
+
+  @Test
+  public void testDslRequestIsMeasured() {
+    var dsl = new HttpDslImpl("h2c");
+    dsl.get();
+    var handler = new HttpSpecAsyncHandler(mockSession(), dsl);
+
+    var response = HttpClient.INSTANCE.execute("h2c", get(baseUrl + "/measured"), handler)
+        .join();
+
+    assertThat(response.getStatusCode(), equalTo(200));
+    assertThat(response.getResponseBodyAsString(), equalTo("/measured"));
+  }
+
+  private static UserSession mockSession() {
+    mockStatic(EventDispatcher.class);
+    var dispatcherMock = mock(EventDispatcher.class);
+    when(EventDispatcher.getInstance()).thenReturn(dispatcherMock);
+
+    var user = mock(User.class);
+    when(user.getId()).thenReturn("userId");
+    var session = mock(UserSession.class);
+    when(session.getUser()).thenReturn(user);
+    return session;
+  }
+}
@@ -0,0 +1,77 @@
+package io.ryos.rhino.sdk.io;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.ryos.rhino.sdk.reporting.DefaultSimulationLogFormatter;
+import io.ryos.rhino.sdk.reporting.DslEvent;
+import io.ryos.rhino.sdk.reporting.GatlingSimulationLogFormatter;
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Test;
+
+public class EventJournalTest {
+
+  @Test
+  public void eventsAreRecoveredFromAnOpenJournal() throws Exception {
+    var file = Files.createTempFile("rhino-journal", ".journal");
+    try {
+      // Regions smaller than a record, so records span regions.
+      var journal = new EventJournal(file, 16);
+      journal.writeRun("io.ryos.Simulation", "Test", 1_000L);
+      IntStream.range(0, 100).forEach(i -> journal.write(event(i)));
+
+      // The journal is not closed, as if the JVM crashed. The rest of the region is zero-filled.
+      var bytes = Files.readAllBytes(file);
+      var formatter = new DefaultSimulationLogFormatter();
+      var log = new StringWriter();
+      var report = JournalRecovery.recover(new ByteArrayInputStream(bytes), log, formatter);
+
+      var expected = IntStream.range(0, 100)
+          .mapToObj(i -> formatter.format(event(i)))
+          .collect(Collectors.joining());
+      assertThat(log.toString(), is(expected));
+      assertThat(report, containsString("get"));
+
+      journal.close();
+      assertThat(Files.size(file), is(journal.size()));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void eventCutOffIsNotRecovered() throws Exception {
+    var file = Files.createTempFile("rhino-journal", ".journal");
+    try {
+      var journal = new EventJournal(file, 1 << 12);
+      journal.writeRun("io.ryos.Simulation", "Test", 1_000L);
+      journal.write(event(0));
+      var complete = (int) journal.size();
+      journal.write(event(1));
+      journal.close();
+
+      // The first byte of the last event is missing, as if the JVM crashed while appending it.
+      var bytes = Files.readAllBytes(file);
+      bytes[complete] = 0;
+      var formatter = new GatlingSimulationLogFormatter();
+      var log = new StringWriter();
+      JournalRecovery.recover(new ByteArrayInputStream(bytes), log, formatter);
+
+      var header = String.format(GatlingSimulationLogFormatter.GATLING_HEADLINE_TEMPLATE,
+          "io.ryos.Simulation", "Test", 1_000L, GatlingSimulationLogFormatter.GATLING_VERSION);
+      assertThat(log.toString(), is(header + formatter.format(event(0))));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  private static DslEvent event(final int i) {
+    return new DslEvent("user", "id-" + (i % 10), "scenario", 1_000L + i, 1_010L + i, 10, "200",
+        "get", null);
+  }
+}
@@ -0,0 +1,69 @@
+package io.ryos.rhino.sdk.io;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.ryos.rhino.sdk.reporting.BinarySimulationLogEncoder;
+import io.ryos.rhino.sdk.reporting.DefaultSimulationLogFormatter;
+import io.ryos.rhino.sdk.reporting.DslEvent;
+import io.ryos.rhino.sdk.reporting.GatlingSimulationLogFormatter;
+import io.ryos.rhino.sdk.reporting.LogEvent;
+import io.ryos.rhino.sdk.reporting.SimulationLogFormatter;
+import io.ryos.rhino.sdk.reporting.UserEvent;
+import io.ryos.rhino.sdk.reporting.UserEvent.EventType;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public class SimulationLogConverterTest {
+
+  private static final List<LogEvent> EVENTS = List.of(
+      new UserEvent("user", "id", "scenario", 1_000L, 1_000L, 0, EventType.START, "START",
+          "session", null),
+      new DslEvent("user", "id", "scenario", 1_100L, 1_150L, 50, "200", "get", null),
+      new DslEvent("user", "id", "scenario", 1_200L, 1_300L, 100, "404", "get", null));
+
+  @Test
+  public void binaryLogIsConvertedIntoTheDefaultFormat() throws Exception {
+    var formatter = new DefaultSimulationLogFormatter();
+    var output = new StringWriter();
+
+    var events = SimulationLogConverter.convert(binaryLog(false), output, formatter);
+
+    assertThat(events, is(3L));
+    assertThat(output.toString(), is(textLog(formatter)));
+  }
+
+  @Test
+  public void binaryLogIsConvertedIntoTheGatlingFormat() throws Exception {
+    var formatter = new GatlingSimulationLogFormatter();
+    var output = new StringWriter();
+
+    SimulationLogConverter.convert(binaryLog(true), output, formatter);
+
+    var header = String.format(GatlingSimulationLogFormatter.GATLING_HEADLINE_TEMPLATE,
+        "io.ryos.Simulation", "Test", 900L, GatlingSimulationLogFormatter.GATLING_VERSION);
+    assertThat(output.toString(), is(header + textLog(formatter)));
+  }
+
+  private static ByteArrayInputStream binaryLog(final boolean withRun) throws Exception {
+    var encoder = new BinarySimulationLogEncoder();
+    var output = new ByteArrayOutputStream();
+    var channel = Channels.newChannel(output);
+    if (withRun) {
+      channel.write(encoder.encodeRun("io.ryos.Simulation", "Test", 900L));
+    }
+    for (var event : EVENTS) {
+      channel.write(encoder.encode(event));
+    }
+    return new ByteArrayInputStream(output.toByteArray());
+  }
+
+  private static String textLog(final SimulationLogFormatter formatter) {
+    return EVENTS.stream().map(formatter::format).collect(Collectors.joining());
+  }
+}
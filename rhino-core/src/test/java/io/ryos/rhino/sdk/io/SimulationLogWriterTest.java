@@ -0,0 +1,250 @@
+package io.ryos.rhino.sdk.io;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.ryos.rhino.sdk.io.SimulationLogOutput.Codec;
+import io.ryos.rhino.sdk.reporting.BinarySimulationLogEncoder;
+import io.ryos.rhino.sdk.reporting.BinarySimulationLogReader;
+import io.ryos.rhino.sdk.reporting.DslEvent;
+import io.ryos.rhino.sdk.reporting.GatlingSimulationLogFormatter;
+import io.ryos.rhino.sdk.reporting.LogEvent;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.GZIPInputStream;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Test;
+
+public class SimulationLogWriterTest {
+
+  @Test
+  public void eventsSpanningSeveralBuffersAreWrittenInOrder() throws Exception {
+    var file = Files.createTempFile("rhino-simulation", ".log");
+    try {
+      // Buffers smaller than a line, so lines are split across buffers.
+      var writer = new SimulationLogWriter(file.toString(),
+          event -> "ünïcode\t" + event.getUserId() + "\t" + event.getStart() + "\n", 7, 60_000);
+      IntStream.range(0, 10_000).forEach(i -> {
+        writer.write(new LogEvent("user", "id-" + i, "scenario", i, i, 0, null));
+        writer.flush();
+      });
+      writer.close();
+
+      var expected = IntStream.range(0, 10_000)
+          .mapToObj(i -> "ünïcode\tid-" + i + "\t" + i + "\n")
+          .collect(Collectors.joining());
+      assertThat(Files.readString(file), is(expected));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test(timeout = 10_000)
+  public void charactersAreNotSplitAcrossTheSmallestBuffers() throws Exception {
+    var file = Files.createTempFile("rhino-simulation", ".log");
+    try {
+      // Four bytes encoded, which fills a whole buffer.
+      var writer = new SimulationLogWriter(file.toString(), event -> "\uD83D\uDE80" + "\n", 4,
+          60_000);
+      IntStream.range(0, 100).forEach(i -> writer.write(
+          new LogEvent("user", "id-" + i, "scenario", i, i, 0, null)));
+      writer.close();
+
+      assertThat(Files.readString(file), is("\uD83D\uDE80\n".repeat(100)));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void buffersSmallerThanACharacterAreRejected() throws Exception {
+    var file = Files.createTempFile("rhino-simulation", ".log");
+    try {
+      new SimulationLogWriter(file.toString(), event -> event.getUserId() + "\n", 3, 60_000);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void eventsAreWrittenOnFlushAfterTheInterval() throws Exception {
+    var file = Files.createTempFile("rhino-simulation", ".log");
+    try {
+      var writer = new SimulationLogWriter(file.toString(), event -> event.getUserId() + "\n",
+          1024, 0);
+      writer.write(new LogEvent("user", "id", "scenario", 0, 0, 0, null));
+      writer.flush();
+
+      var deadline = System.currentTimeMillis() + 5_000;
+      while (Files.size(file) == 0 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      assertThat(Files.readString(file), is("id\n"));
+      writer.close();
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void eventsAreWrittenAfterTheIntervalWithoutFurtherWrites() throws Exception {
+    var file = Files.createTempFile("rhino-simulation", ".log");
+    try {
+      var writer = new SimulationLogWriter(file.toString(), event -> event.getUserId() + "\n",
+          1024, 100);
+      writer.write(new LogEvent("user", "id", "scenario", 0, 0, 0, null));
+      writer.flush();
+
+      // The interval is not over on flush, and no more events follow.
+      var deadline = System.currentTimeMillis() + 5_000;
+      while (Files.size(file) == 0 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      assertThat(Files.readString(file), is("id\n"));
+      writer.close();
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void segmentsAreCompressedAndIndexed() throws Exception {
+    var directory = Files.createTempDirectory("rhino-simulation");
+    var logFile = directory.resolve("simulation.log").toString();
+    try {
+      var writer = new SimulationLogWriter(logFile, event -> event.getUserId() + "\n", 64, 60_000,
+          new SimulationLogOutput(Codec.GZIP, 100, 0));
+      IntStream.range(0, 100).forEach(i -> {
+        writer.write(new LogEvent("user", "id-" + i, "scenario", 1_000 + i, 1_010 + i, 10, null));
+        writer.flush();
+      });
+      writer.close();
+
+      var index = SimulationLogIndex.read(SimulationLogIndex.pathOf(logFile));
+      var segments = index.getSegments();
+      assertThat(segments.size() > 1, is(true));
+      assertThat(segments.get(0).getFile().getFileName().toString(), is("simulation.log.1.gz"));
+      assertThat(segments.get(0).getFrom(), is(1_000L));
+      assertThat(segments.stream().mapToLong(SimulationLogIndex.Segment::getEvents).sum(),
+          is(100L));
+
+      var content = new ByteArrayOutputStream();
+      for (var segment : segments) {
+        try (var input = new GZIPInputStream(Files.newInputStream(segment.getFile()))) {
+          input.transferTo(content);
+        }
+      }
+      var expected = IntStream.range(0, 100)
+          .mapToObj(i -> "id-" + i + "\n")
+          .collect(Collectors.joining());
+      assertThat(content.toString(StandardCharsets.UTF_8), is(expected));
+
+      var window = index.between(1_050, 1_050);
+      assertThat(window.size(), is(1));
+      assertThat(window.get(0).getFrom() <= 1_050 && window.get(0).getTo() >= 1_050, is(true));
+    } finally {
+      try (var files = Files.list(directory)) {
+        files.forEach(file -> file.toFile().delete());
+      }
+      Files.delete(directory);
+    }
+  }
+
+  @Test
+  public void segmentsOfEncodedLogsAreReadOnTheirOwn() throws Exception {
+    var directory = Files.createTempDirectory("rhino-simulation");
+    var logFile = directory.resolve("simulation.log").toString();
+    try {
+      var writer = new SimulationLogWriter(logFile, new BinarySimulationLogEncoder(), 64, 60_000,
+          new SimulationLogOutput(Codec.NONE, 100, 0));
+      writer.writeRun("io.ryos.Simulation", "simulation", 1_000L);
+      IntStream.range(0, 100).forEach(i -> {
+        writer.write(new DslEvent("user", "id-" + i % 10, "scenario", i, i, 0, "200", "get",
+            null));
+        writer.flush();
+      });
+      writer.close();
+
+      var segments = SimulationLogIndex.read(SimulationLogIndex.pathOf(logFile)).getSegments();
+      assertThat(segments.size() > 1, is(true));
+      var starts = new StringBuilder();
+      for (var segment : segments) {
+        try (var reader = new BinarySimulationLogReader(Files.newInputStream(segment.getFile()))) {
+          for (var event = reader.next(); event != null; event = reader.next()) {
+            starts.append(event.getStart()).append(' ');
+          }
+          assertThat(reader.getSimulationClass(), is("io.ryos.Simulation"));
+          assertThat(reader.getStartTime(), is(1_000L));
+        }
+      }
+      var expected = IntStream.range(0, 100)
+          .mapToObj(i -> i + " ")
+          .collect(Collectors.joining());
+      assertThat(starts.toString(), is(expected));
+    } finally {
+      try (var files = Files.list(directory)) {
+        files.forEach(file -> file.toFile().delete());
+      }
+      Files.delete(directory);
+    }
+  }
+
+  @Test
+  public void segmentsOfGatlingLogsStartWithTheRunLine() throws Exception {
+    var directory = Files.createTempDirectory("rhino-simulation");
+    var logFile = directory.resolve("simulation.log").toString();
+    try {
+      var writer = new SimulationLogWriter(logFile, new GatlingSimulationLogFormatter(), 64,
+          60_000, new SimulationLogOutput(Codec.NONE, 100, 0));
+      writer.writeRun("io.ryos.Simulation", "simulation", 1_000L);
+      IntStream.range(0, 100).forEach(i -> {
+        writer.write(new LogEvent("user", "id-" + i, "scenario", i, i, 0, null));
+        writer.flush();
+      });
+      writer.close();
+
+      var segments = SimulationLogIndex.read(SimulationLogIndex.pathOf(logFile)).getSegments();
+      assertThat(segments.size() > 1, is(true));
+      for (var segment : segments) {
+        assertThat(Files.readAllLines(segment.getFile()).get(0),
+            is("RUN\tio.ryos.Simulation\tsimulation\t1000\trhino\t"
+                + GatlingSimulationLogFormatter.GATLING_VERSION));
+      }
+    } finally {
+      try (var files = Files.list(directory)) {
+        files.forEach(file -> file.toFile().delete());
+      }
+      Files.delete(directory);
+    }
+  }
+
+  @Test(timeout = 10_000)
+  public void failedRotationDisablesTheLog() throws Exception {
+    var directory = Files.createTempDirectory("rhino-simulation");
+    var logFile = directory.resolve("simulation.log").toString();
+    // The second segment cannot be opened, since its path is a directory.
+    var blocked = Files.createDirectory(directory.resolve("simulation.log.2"));
+    try {
+      var writer = new SimulationLogWriter(logFile, event -> event.getUserId() + "\n", 64, 0,
+          new SimulationLogOutput(Codec.NONE, 10, 0));
+      IntStream.range(0, 100).forEach(i -> {
+        writer.write(new LogEvent("user", "id-" + i, "scenario", i, i, 0, null));
+        writer.flush();
+      });
+      writer.close();
+
+      var segments = SimulationLogIndex.read(SimulationLogIndex.pathOf(logFile)).getSegments();
+      assertThat(segments.size(), is(1));
+      assertThat(segments.get(0).getEvents(), is(2L));
+      assertThat(Files.readString(segments.get(0).getFile()), is("id-0\nid-1\n"));
+    } finally {
+      Files.delete(blocked);
+      try (var files = Files.list(directory)) {
+        files.forEach(file -> file.toFile().delete());
+      }
+      Files.delete(directory);
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package io.ryos.rhino.sdk.reporting;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import io.ryos.rhino.sdk.reporting.UserEvent.EventType;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import org.junit.Test;
+
+public class BinarySimulationLogEncoderTest {
+
+  @Test
+  public void eventsAreReadAsWritten() throws Exception {
+    var encoder = new BinarySimulationLogEncoder();
+    var output = new ByteArrayOutputStream();
+    var channel = Channels.newChannel(output);
+
+    channel.write(encoder.encodeRun("io.ryos.Simulation", "Test", 1_000L));
+    channel.write(encoder.encode(new UserEvent("user", "id", "scenario", 1_000L, 1_000L, 0,
+        EventType.START, "START", "session", null)));
+    channel.write(encoder.encode(new DslEvent("user", "id", "scenario", 1_500L, 1_520L, 20, 25,
+        "200", "get", null, 100, 400, 2_000)));
+    channel.write(encoder.encode(new DslEvent("user", "id", "scenario", 1_200L, 1_300L, 100,
+        "500", "get", null)));
+
+    var reader = new BinarySimulationLogReader(new ByteArrayInputStream(output.toByteArray()));
+    var userEvent = reader.next();
+    assertThat(userEvent, instanceOf(UserEvent.class));
+    assertThat(((UserEvent) userEvent).getEventType(), is(EventType.START));
+    assertThat(((UserEvent) userEvent).getId(), is("session"));
+    assertThat(reader.getSimulationClass(), is("io.ryos.Simulation"));
+    assertThat(reader.getStartTime(), is(1_000L));
+
+    var first = (DslEvent) reader.next();
+    assertThat(first.getUserId(), is("id"));
+    assertThat(first.getMeasurementPoint(), is("get"));
+    assertThat(first.getStart(), is(1_500L));
+    assertThat(first.getEnd(), is(1_520L));
+    assertThat(first.getResponseTime(), is(25L));
+    assertThat(first.getDecodedBytes(), is(400L));
+
+    // Start times going backwards are encoded as negative deltas.
+    var second = (DslEvent) reader.next();
+    assertThat(second.getStart(), is(1_200L));
+    assertThat(second.getStatus(), is("500"));
+    assertThat(second.getWireBytes(), is(-1L));
+    assertThat(reader.next(), nullValue());
+  }
+
+  @Test
+  public void repeatedStringsAreReferenced() {
+    var encoder = new BinarySimulationLogEncoder();
+    var event = new DslEvent("user", "a-rather-long-user-id", "scenario", 1_000L, 1_010L, 10,
+        "200", "a-rather-long-measurement-name", null);
+
+    var first = encoder.encode(event).remaining();
+    var second = encoder.encode(event).remaining();
+
+    assertTrue(second < first);
+    assertThat(second, is(13));
+  }
+
+  @Test(expected = EOFException.class)
+  public void logsWhichEndWithinARecordAreRejected() throws Exception {
+    var log = encodeTwoEvents();
+
+    var reader = new BinarySimulationLogReader(
+        new ByteArrayInputStream(Arrays.copyOf(log, log.length - 3)));
+    reader.next();
+    reader.next();
+  }
+
+  @Test(expected = IOException.class)
+  public void zeroFilledLogsAreRejected() throws Exception {
+    var log = encodeTwoEvents();
+
+    var reader = new BinarySimulationLogReader(
+        new ByteArrayInputStream(Arrays.copyOf(log, log.length + 16)));
+    reader.next();
+    reader.next();
+    reader.next();
+  }
+
+  @Test
+  public void truncatedLogsAreReadUpToTheLastCompleteRecordInTheTolerantMode() throws Exception {
+    var log = encodeTwoEvents();
+
+    var cutOff = new BinarySimulationLogReader(
+        new ByteArrayInputStream(Arrays.copyOf(log, log.length - 3)), true);
+    assertThat(cutOff.next(), instanceOf(DslEvent.class));
+    assertThat(cutOff.next(), nullValue());
+
+    var zeroFilled = new BinarySimulationLogReader(
+        new ByteArrayInputStream(Arrays.copyOf(log, log.length + 16)), true);
+    assertThat(zeroFilled.next(), instanceOf(DslEvent.class));
+    assertThat(zeroFilled.next(), instanceOf(DslEvent.class));
+    assertThat(zeroFilled.next(), nullValue());
+  }
+
+  private static byte[] encodeTwoEvents() throws IOException {
+    var encoder = new BinarySimulationLogEncoder();
+    var output = new ByteArrayOutputStream();
+    var channel = Channels.newChannel(output);
+    channel.write(encoder.encodeRun("io.ryos.Simulation", "Test", 1_000L));
+    for (int i = 0; i < 2; i++) {
+      channel.write(encoder.encode(new DslEvent("user", "id", "scenario", 1_000L, 1_010L, 10,
+          "200", "get", null)));
+    }
+    return output.toByteArray();
+  }
+}
@@ -0,0 +1,48 @@
+package io.ryos.rhino.sdk.reporting;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+public class IntendedStartTest {
+
+  private static final long LAG_MILLIS = 500L;
+
+  @Test
+  public void everyRequestOfALateIterationCarriesItsLag() {
+    var scheduled = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(LAG_MILLIS);
+
+    // Two requests issued one after the other in the same iteration.
+    var lags = Mono.subscriberContext()
+        .map(context -> System.currentTimeMillis() - IntendedStart.of(context))
+        .zipWith(Mono.subscriberContext()
+            .map(context -> System.currentTimeMillis() - IntendedStart.of(context)))
+        .subscriberContext(context -> IntendedStart.put(context, scheduled))
+        .block();
+
+    // The lag is at least the time the iteration started late, the same for both requests.
+    assertThat(lags.getT1() >= LAG_MILLIS, is(true));
+    assertThat(Math.abs(lags.getT2() - lags.getT1()) <= 1, is(true));
+  }
+
+  @Test
+  public void requestsOutsideOfAScheduledIterationStartWhenIssued() {
+    var before = System.currentTimeMillis();
+    var intendedStart = IntendedStart.of(Context.empty());
+
+    assertThat(intendedStart >= before, is(true));
+    assertThat(intendedStart <= System.currentTimeMillis(), is(true));
+  }
+
+  @Test
+  public void iterationsOnScheduleHaveNoLag() {
+    var context = IntendedStart.put(Context.empty(), System.nanoTime() + 1_000_000_000L);
+
+    var before = System.currentTimeMillis();
+    assertThat(IntendedStart.of(context) >= before, is(true));
+  }
+}
@@ -45,4 +45,19 @@ public class MeasurementImplTest {
     assertThat(events.size(), equalTo(3));
     verify(dispatcherMock, times(1)).dispatchEvents(measurement);
   }
+
+  @Test
+  public void testResponseTimeSinceIntendedStart() {
+    var dispatcherMock = mock(EventDispatcher.class);
+
+    final MeasurementImpl measurement = new MeasurementImpl(parentName,
+        userId, measurementName, false, measurementEnabled, dispatcherMock);
+    measurement.setIntendedStart(System.currentTimeMillis() - 500);
+    measurement.start();
+    var elapsed = measurement.measure("test", "OK");
+
+    var event = (DslEvent) measurement.getEvents().get(1);
+    assertThat(event.getElapsed(), equalTo(elapsed));
+    assertThat(event.getResponseTime() >= elapsed + 500, equalTo(true));
+  }
 }
@@ -0,0 +1,106 @@
+package io.ryos.rhino.sdk.reporting;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.stream.IntStream;
+import org.junit.Test;
+
+public class MetricRecorderTest {
+
+  @Test
+  public void keysAreRegisteredOnce() {
+    var recorder = new MetricRecorder();
+
+    var metric = recorder.register("scenario", "get", "200");
+
+    assertThat(recorder.register("scenario", "get", "200"), sameInstance(metric));
+    assertThat(recorder.collect().size(), is(1));
+  }
+
+  @Test
+  public void percentilesCoverTheWholeRun() {
+    var recorder = new MetricRecorder();
+
+    // 1..10000 ms recorded concurrently, so the last 100 samples are not representative.
+    IntStream.rangeClosed(1, 10_000)
+        .parallel()
+        .forEach(i -> recorder.record(event(i, "200")));
+    var metric = recorder.collect().get(0);
+
+    var total = metric.getTotal();
+    assertThat(total.getTotalCount(), is(10_000L));
+    assertWithinPrecision(5_000, total.getValueAtPercentile(50.0));
+    assertWithinPrecision(9_900, total.getValueAtPercentile(99.0));
+    assertWithinPrecision(9_990, total.getValueAtPercentile(99.9));
+    assertWithinPrecision(10_000, total.getMaxValue());
+  }
+
+  @Test
+  public void intervalsAreCollectedSeparately() {
+    var recorder = new MetricRecorder();
+
+    recorder.record(event(10, "200"));
+    recorder.record(event(20, "200"));
+    recorder.collect();
+    recorder.record(event(1000, "200"));
+    var metric = recorder.collect().get(0);
+
+    assertThat(metric.getInterval().getTotalCount(), is(1L));
+    assertWithinPrecision(1000, metric.getInterval().getMaxValue());
+    assertThat(metric.getTotal().getTotalCount(), is(3L));
+  }
+
+  @Test
+  public void responseTimeIncludesWaitingTime() {
+    var recorder = new MetricRecorder();
+
+    recorder.record(new DslEvent("user", "id", "scenario", 0, 100, 100, 900, "200", "get", null));
+    recorder.record(event(100, "200"));
+    var metric = recorder.collect().get(0);
+
+    assertWithinPrecision(100, metric.getTotal().getMaxValue());
+    assertWithinPrecision(900, metric.getResponseTimeTotal().getMaxValue());
+    assertWithinPrecision(100, metric.getResponseTimeTotal().getMinValue());
+    assertThat(metric.getResponseTimeInterval().getTotalCount(), is(2L));
+  }
+
+  @Test
+  public void transferIsRecorded() {
+    var recorder = new MetricRecorder();
+
+    recorder.record(new DslEvent("user", "id", "scenario", 0, 10, 10, 10, "200", "get", null,
+        100, 400, 2000));
+    recorder.record(new DslEvent("user", "id", "scenario", 0, 10, 10, 10, "200", "get", null,
+        50, -1, 0));
+    recorder.record(event(10, "200"));
+    var metric = recorder.collect().get(0);
+
+    assertThat(metric.getWireBytes(), is(150L));
+    assertThat(metric.getDecodedBytes(), is(400L));
+    assertThat(metric.getDecodeNanos(), is(2000L));
+  }
+
+  @Test
+  public void verificationResultIsRecorded() {
+    var recorder = new MetricRecorder();
+    var verificationInfo = new VerificationInfo<String>("200", "200"::equals);
+
+    recorder.record(new DslEvent("user", "id", "scenario", 0, 1, 1, "500", "get",
+        verificationInfo));
+
+    var metric = recorder.collect().get(0);
+    assertTrue(metric.getVerificationResult().startsWith("FAIL"));
+  }
+
+  private static DslEvent event(long elapsed, String status) {
+    return new DslEvent("user", "id", "scenario", 0, elapsed, elapsed, status, "get", null);
+  }
+
+  private static void assertWithinPrecision(long expected, long actual) {
+    assertTrue("Expected " + expected + " but was " + actual,
+        Math.abs(expected - actual) <= expected / 1000 + 1);
+  }
+}
@@ -0,0 +1,43 @@
+package io.ryos.rhino.sdk.reporting;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.ryos.rhino.sdk.reporting.UserEvent.EventType;
+import org.junit.Test;
+
+public class SimulationLogFormatterTest {
+
+  private static final String NL = System.lineSeparator();
+
+  @Test
+  public void gatlingFormatIsAppended() {
+    var formatter = new GatlingSimulationLogFormatter();
+    var target = new StringBuilder();
+
+    formatter.format(new DslEvent("user", "id", "scenario", 1_100L, 1_150L, 50, "200", "get",
+        null), target);
+    formatter.format(new DslEvent("user", "id", "scenario", 1_200L, 1_300L, 100, null, "get",
+        null), target);
+    formatter.format(new UserEvent("user", "id", "scenario", 1_000L, 1_400L, 400,
+        EventType.START, "START", "session", null), target);
+
+    assertThat(target.toString(), is(
+        "REQUEST\tid\t\tget\t1100\t1150\tOK\t " + NL
+            + "REQUEST\tid\t\tget\t1200\t1300\tKO\t " + NL
+            + "USER\tscenario\tsession\tSTART\t1000\t1400" + NL));
+  }
+
+  @Test
+  public void defaultFormatIsAppended() {
+    var formatter = new DefaultSimulationLogFormatter();
+    var event = new DslEvent("user", "id", "scenario", 1_100L, 1_150L, 50, "200", "get", null);
+    var target = new StringBuilder("previous");
+
+    target.setLength(0);
+    formatter.format(event, target);
+
+    assertThat(target.toString(), is("\"scenario\"\t\"1100\"\t50\tuser\t1100\t" + NL));
+    assertThat(formatter.format(event), is(target.toString()));
+  }
+}
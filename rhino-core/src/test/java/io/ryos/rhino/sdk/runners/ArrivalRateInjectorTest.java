@@ -0,0 +1,48 @@
+package io.ryos.rhino.sdk.runners;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class ArrivalRateInjectorTest {
+
+  @Test
+  public void arrivalsFollowTheSchedule() {
+    var injector = new ArrivalRateInjector(RateSchedule.constant(1000));
+
+    List<Long> arrivals = injector.arrivals()
+        .take(500)
+        .collectList()
+        .block(Duration.ofSeconds(5));
+
+    assertThat(arrivals.size(), is(500));
+    assertThat(arrivals.get(499) - arrivals.get(0), is(TimeUnit.MILLISECONDS.toNanos(499)));
+    assertThat(injector.getArrivals(), is(500L));
+  }
+
+  @Test
+  public void lateArrivalsAreReported() {
+    var injector = new ArrivalRateInjector(RateSchedule.constant(1000));
+
+    injector.arrivals()
+        .take(20)
+        .doOnNext(intendedStart -> sleep())
+        .blockLast(Duration.ofSeconds(5));
+
+    assertTrue(injector.getLateArrivals() > 0);
+    assertTrue(injector.getMaxLagMillis() > 0);
+  }
+
+  private static void sleep() {
+    try {
+      Thread.sleep(5);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package io.ryos.rhino.sdk.runners;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.ryos.rhino.sdk.runners.BlockingExecution.Mode;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+public class BlockingExecutionTest {
+
+  @Test
+  public void inlineModeHasNoScheduler() {
+    assertThat(BlockingExecution.createScheduler(Mode.INLINE), nullValue());
+  }
+
+  @Test
+  public void blockingWorkIsOffloaded() {
+    for (var mode : new Mode[]{Mode.PLATFORM, Mode.VIRTUAL}) {
+      var scheduler = BlockingExecution.createScheduler(mode);
+      assertThat(scheduler, notNullValue());
+
+      var thread = Mono.fromCallable(Thread::currentThread)
+          .subscribeOn(scheduler)
+          .block();
+      assertThat(thread, is(not(Thread.currentThread())));
+      scheduler.dispose();
+    }
+  }
+}
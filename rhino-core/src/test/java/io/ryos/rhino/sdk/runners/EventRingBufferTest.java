@@ -0,0 +1,152 @@
+package io.ryos.rhino.sdk.runners;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import io.ryos.rhino.sdk.reporting.LogEvent;
+import io.ryos.rhino.sdk.runners.EventRingBuffer.EventHandler;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.junit.Test;
+
+public class EventRingBufferTest {
+
+  private static final int PRODUCERS = 4;
+  private static final int EVENTS_PER_PRODUCER = 50_000;
+
+  @Test
+  public void everyHandlerReceivesAllEventsInOrder() throws InterruptedException {
+    var first = new RecordingHandler();
+    var second = new RecordingHandler();
+    // A small ring makes the producers wait for the handlers.
+    var ringBuffer = new EventRingBuffer(64, List.of(first, second));
+    ringBuffer.start();
+
+    var producers = new ArrayList<Thread>();
+    for (int p = 0; p < PRODUCERS; p++) {
+      var producer = "producer-" + p;
+      producers.add(new Thread(() -> IntStream.range(0, EVENTS_PER_PRODUCER)
+          .forEach(i -> ringBuffer.publish(new LogEvent(producer, producer, "", i, i, 0, null)))));
+    }
+    for (var producer : producers) {
+      producer.start();
+    }
+    for (var producer : producers) {
+      producer.join();
+    }
+    ringBuffer.stop();
+
+    for (var handler : List.of(first, second)) {
+      assertThat(handler.events.get(), is(PRODUCERS * EVENTS_PER_PRODUCER));
+      assertThat(handler.outOfOrder.get(), is(0));
+      assertTrue(handler.batches.get() > 0);
+      assertTrue(handler.batches.get() <= handler.events.get());
+    }
+  }
+
+  @Test
+  public void eventsAfterStopAreDiscarded() {
+    var handler = new RecordingHandler();
+    var ringBuffer = new EventRingBuffer(8, List.of(handler));
+    ringBuffer.start();
+    ringBuffer.publish(new LogEvent("producer-0", "producer-0", "", 0, 0, 0, null));
+    ringBuffer.stop();
+
+    ringBuffer.publish(new LogEvent("producer-0", "producer-0", "", 1, 1, 0, null));
+
+    assertThat(handler.events.get(), is(1));
+  }
+
+  @Test(timeout = 30_000)
+  public void eventsPublishedWhileStoppingAreProcessed() throws InterruptedException {
+    var handler = new CountingHandler();
+    // A small ring makes the producers wait for the handler while the ring stops.
+    var ringBuffer = new EventRingBuffer(8, List.of(handler));
+    ringBuffer.start();
+
+    var published = new AtomicLong();
+    var producers = new ArrayList<Thread>();
+    for (int p = 0; p < PRODUCERS; p++) {
+      var producer = "producer-" + p;
+      producers.add(new Thread(() -> {
+        var event = new LogEvent(producer, producer, "", 0, 0, 0, null);
+        while (ringBuffer.publish(event)) {
+          published.incrementAndGet();
+        }
+      }));
+    }
+    for (var producer : producers) {
+      producer.start();
+    }
+    Thread.sleep(100);
+    ringBuffer.stop();
+    for (var producer : producers) {
+      producer.join();
+    }
+
+    assertThat(handler.events.get(), is(published.get()));
+  }
+
+  @Test
+  public void processedEventsAreReleased() throws InterruptedException {
+    var ringBuffer = new EventRingBuffer(8, List.of(new CountingHandler(),
+        new CountingHandler()));
+    ringBuffer.start();
+    var event = new LogEvent("producer-0", "producer-0", "", 0, 0, 0, null);
+    var reference = new WeakReference<>(event);
+
+    ringBuffer.publish(event);
+    ringBuffer.awaitProcessed();
+    event = null;
+    for (int i = 0; i < 10 && reference.get() != null; i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+    ringBuffer.stop();
+
+    assertThat(reference.get() == null, is(true));
+  }
+
+  private static class CountingHandler implements EventHandler {
+
+    private final AtomicLong events = new AtomicLong();
+
+    @Override
+    public void onEvent(LogEvent event) {
+      events.incrementAndGet();
+    }
+  }
+
+  private static class RecordingHandler implements EventHandler {
+
+    private final AtomicInteger events = new AtomicInteger();
+    private final AtomicInteger batches = new AtomicInteger();
+    private final AtomicInteger outOfOrder = new AtomicInteger();
+    private final long[] lastStart = new long[PRODUCERS];
+
+    private RecordingHandler() {
+      Arrays.fill(lastStart, -1L);
+    }
+
+    @Override
+    public void onEvent(LogEvent event) {
+      events.incrementAndGet();
+      var producer = Integer.parseInt(event.getUserId().substring("producer-".length()));
+      if (event.getStart() != lastStart[producer] + 1) {
+        outOfOrder.incrementAndGet();
+      }
+      lastStart[producer] = event.getStart();
+    }
+
+    @Override
+    public void onEndOfBatch() {
+      batches.incrementAndGet();
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package io.ryos.rhino.sdk.runners;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.ryos.rhino.sdk.annotations.LoadProfile;
+import io.ryos.rhino.sdk.annotations.Stage;
+import io.ryos.rhino.sdk.annotations.Stage.Type;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public class LoadProfileScheduleTest {
+
+  private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+  @Test
+  public void stagesRunOneAfterAnother() {
+    var schedule = LoadProfileSchedule.of(
+        LoadStage.ramp(10, 110, Duration.ofSeconds(10)),
+        LoadStage.hold(Duration.ofSeconds(10)),
+        LoadStage.step(100, 400, 4, Duration.ofSeconds(8)),
+        LoadStage.spike(50, 1000, Duration.ofSeconds(2), Duration.ofSeconds(10)),
+        LoadStage.rampTo(0, Duration.ofSeconds(10)));
+
+    assertThat(schedule.rateAt(0), is(10d));
+    assertThat(schedule.rateAt(5 * SECOND), is(60d));
+    assertThat(schedule.rateAt(15 * SECOND), is(110d));
+    assertThat(schedule.rateAt(20 * SECOND), is(100d));
+    assertThat(schedule.rateAt(23 * SECOND), is(200d));
+    assertThat(schedule.rateAt(27 * SECOND), is(400d));
+    assertThat(schedule.rateAt(29 * SECOND), is(1000d));
+    assertThat(schedule.rateAt(31 * SECOND), is(50d));
+    assertThat(schedule.rateAt(43 * SECOND), is(25d));
+    assertThat(schedule.rateAt(100 * SECOND), is(0d));
+    assertThat(schedule.getDuration(), is(Duration.ofSeconds(48)));
+  }
+
+  @Test
+  public void sineOscillatesAroundTheMean() {
+    var schedule = LoadProfileSchedule.of(
+        LoadStage.sine(100, 50, Duration.ofSeconds(4), Duration.ofSeconds(8)));
+
+    assertThat(schedule.rateAt(0), is(100d));
+    assertThat(schedule.rateAt(SECOND), is(150d));
+    assertThat(schedule.rateAt(3 * SECOND), is(50d));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negativeRatesAreRejected() {
+    LoadStage.sine(10, 50, Duration.ofSeconds(4), Duration.ofSeconds(8));
+  }
+
+  @Test
+  public void stagesAreCreatedFromTheLoadProfileAnnotation() {
+    var loadProfile = AnnotatedSimulation.class.getDeclaredAnnotation(LoadProfile.class);
+    var schedule = LoadProfileSchedule.of(Arrays.stream(loadProfile.value())
+        .map(LoadStage::of)
+        .collect(Collectors.toList()));
+
+    assertThat(schedule.rateAt(5 * SECOND), is(60d));
+    assertThat(schedule.rateAt(15 * SECOND), is(110d));
+    assertThat(schedule.rateAt(25 * SECOND), is(55d));
+    assertThat(schedule.getDuration(), is(Duration.ofSeconds(30)));
+  }
+
+  @LoadProfile({
+      @Stage(type = Type.RAMP, rps = 10, targetRps = 110, durationInSecs = 10),
+      @Stage(type = Type.HOLD, durationInSecs = 10),
+      @Stage(type = Type.RAMP, targetRps = 0, durationInSecs = 10)
+  })
+  private static class AnnotatedSimulation {
+
+  }
+}
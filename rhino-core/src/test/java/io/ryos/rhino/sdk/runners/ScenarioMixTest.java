@@ -0,0 +1,72 @@
+package io.ryos.rhino.sdk.runners;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.ryos.rhino.sdk.data.UserSession;
+import io.ryos.rhino.sdk.dsl.DslMethod;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+public class ScenarioMixTest {
+
+  private final Map<DslMethod, AtomicInteger> runs = new IdentityHashMap<>();
+
+  @Test
+  public void iterationsOverTheLimitAreDroppedNotHandedOver() {
+    var limited = dslMethod("limited", 60, 1);
+    var other = dslMethod("other", 40, -1);
+    var mix = new ScenarioMix(List.of(limited, other), true);
+    var session = mock(UserSession.class);
+
+    var chosen = new IdentityHashMap<DslMethod, Integer>();
+    for (int i = 0; i < 1_000; i++) {
+      var dslMethod = mix.next();
+      chosen.merge(dslMethod, 1, Integer::sum);
+      assertThat(mix.materialize(dslMethod, session).block(), is(session));
+    }
+
+    assertThat(runs.get(other).get(), is(chosen.get(other)));
+    assertThat(runs.get(limited).get() + mix.getOverLimitIterations(limited),
+        is((long) chosen.get(limited)));
+    assertThat(runs.get(limited).get() <= 2, is(true));
+    assertThat(mix.getOverLimitIterations(other), is(0L));
+  }
+
+  @Test
+  public void iterationsOverTheLimitAreDelayed() {
+    var limited = dslMethod("limited", 1, 20);
+    var mix = new ScenarioMix(List.of(limited));
+    var session = mock(UserSession.class);
+
+    var start = System.nanoTime();
+    for (int i = 0; i < 3; i++) {
+      mix.materialize(limited, session).block();
+    }
+    var elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+    assertThat(runs.get(limited).get(), is(3));
+    assertThat(mix.getOverLimitIterations(limited) >= 1, is(true));
+    assertThat(elapsedMillis >= 50, is(true));
+  }
+
+  private DslMethod dslMethod(final String name, final int weight, final double maxRps) {
+    var counter = new AtomicInteger();
+    var dslMethod = mock(DslMethod.class);
+    when(dslMethod.getName()).thenReturn(name);
+    when(dslMethod.getWeight()).thenReturn(weight);
+    when(dslMethod.getMaxRps()).thenReturn(maxRps);
+    when(dslMethod.materializer()).thenReturn(session -> {
+      counter.incrementAndGet();
+      return Mono.just(session);
+    });
+    runs.put(dslMethod, counter);
+    return dslMethod;
+  }
+}
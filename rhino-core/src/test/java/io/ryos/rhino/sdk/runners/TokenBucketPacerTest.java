@@ -0,0 +1,81 @@
+package io.ryos.rhino.sdk.runners;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class TokenBucketPacerTest {
+
+  private static final long MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+
+  @Test
+  public void permitsAreSpacedByTheRate() {
+    var pacer = new TokenBucketPacer(RateSchedule.constant(1000));
+
+    var first = pacer.reserve();
+    var second = pacer.reserve();
+    var third = pacer.reserve();
+
+    assertThat(second - first, is(MILLISECOND));
+    assertThat(third - second, is(MILLISECOND));
+  }
+
+  @Test
+  public void permitsAreUniqueAcrossThreads() throws InterruptedException {
+    var pacer = new TokenBucketPacer(RateSchedule.constant(1000));
+    var permits = ConcurrentHashMap.<Long>newKeySet();
+    var latch = new CountDownLatch(4);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    for (int i = 0; i < 4; i++) {
+      executor.submit(() -> {
+        for (int j = 0; j < 1000; j++) {
+          permits.add(pacer.reserve());
+        }
+        latch.countDown();
+      });
+    }
+    latch.await(5, TimeUnit.SECONDS);
+    executor.shutdown();
+
+    var sorted = permits.stream().mapToLong(Long::longValue).sorted().toArray();
+    assertThat(sorted.length, is(4000));
+    assertThat(sorted[3999] - sorted[0], is(3999 * MILLISECOND));
+  }
+
+  @Test
+  public void capacityLimitsTheCatchUp() throws InterruptedException {
+    var pacer = new TokenBucketPacer(RateSchedule.constant(1000), 5);
+
+    Thread.sleep(50);
+    var now = System.nanoTime();
+    var permits = new long[10];
+    Arrays.setAll(permits, i -> pacer.reserve());
+
+    assertThat(permits[0] >= now - 5 * MILLISECOND, is(true));
+    assertThat(permits[9] - permits[0], is(9 * MILLISECOND));
+  }
+
+  @Test
+  public void tryAcquireDoesNotRunAheadOfTheSchedule() {
+    var pacer = new TokenBucketPacer(RateSchedule.constant(1), 1);
+
+    assertThat(pacer.tryAcquire(), is(true));
+    assertThat(pacer.tryAcquire(), is(false));
+  }
+
+  @Test
+  public void pausedScheduleYieldsVoidPermits() {
+    var pacer = new TokenBucketPacer(
+        LoadProfileSchedule.of(LoadStage.constant(0, Duration.ofSeconds(1))));
+
+    assertThat(pacer.isPaused(pacer.reserve()), is(true));
+  }
+}
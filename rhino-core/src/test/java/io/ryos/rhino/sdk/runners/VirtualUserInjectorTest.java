@@ -0,0 +1,59 @@
+package io.ryos.rhino.sdk.runners;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class VirtualUserInjectorTest {
+
+  @Test
+  public void keepsVirtualUsersInFlight() {
+    var inFlight = new AtomicInteger();
+    var maxInFlight = new AtomicInteger();
+    var injector = new VirtualUserInjector(10);
+
+    injector.inject(() -> iteration(inFlight, maxInFlight))
+        .take(200)
+        .blockLast(Duration.ofSeconds(10));
+
+    assertThat(maxInFlight.get(), is(10));
+    assertThat(injector.getActiveVirtualUsers(), is(10));
+  }
+
+  @Test
+  public void adjustsVirtualUsersAtRuntime() {
+    var inFlight = new AtomicInteger();
+    var maxInFlight = new AtomicInteger();
+    var injector = new VirtualUserInjector(4);
+    var iterations = new AtomicInteger();
+
+    injector.inject(() -> iteration(inFlight, maxInFlight))
+        .doOnNext(i -> {
+          if (iterations.incrementAndGet() == 50) {
+            injector.setVirtualUsers(8);
+          }
+        })
+        .take(200)
+        .blockLast(Duration.ofSeconds(10));
+    assertThat(maxInFlight.get(), is(8));
+
+    injector.setVirtualUsers(2);
+    injector.inject(() -> iteration(inFlight, maxInFlight))
+        .take(100)
+        .blockLast(Duration.ofSeconds(10));
+    assertThat(injector.getActiveVirtualUsers(), is(2));
+  }
+
+  private static Flux<Integer> iteration(AtomicInteger inFlight, AtomicInteger maxInFlight) {
+    return Mono.delay(Duration.ofMillis(5))
+        .doOnSubscribe(s -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+        .doOnTerminate(inFlight::decrementAndGet)
+        .map(Long::intValue)
+        .flux();
+  }
+}
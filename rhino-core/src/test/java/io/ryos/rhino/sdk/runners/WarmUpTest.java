@@ -0,0 +1,115 @@
+package io.ryos.rhino.sdk.runners;
+
+import static io.ryos.rhino.sdk.dsl.MaterializableDslItem.http;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.sun.net.httpserver.HttpServer;
+import io.ryos.rhino.sdk.HttpClient;
+import io.ryos.rhino.sdk.HttpClientProfile;
+import io.ryos.rhino.sdk.SimulationConfig;
+import io.ryos.rhino.sdk.data.UserSession;
+import io.ryos.rhino.sdk.dsl.DslBuilder;
+import io.ryos.rhino.sdk.dsl.DslMethod;
+import io.ryos.rhino.sdk.dsl.impl.DslMethodImpl;
+import io.ryos.rhino.sdk.utils.Environment;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.asynchttpclient.AsyncCompletionHandler;
+import org.asynchttpclient.RequestBuilder;
+import org.asynchttpclient.Response;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+public class WarmUpTest {
+
+  @Test
+  public void testTargetsOfStaticEndpoints() {
+    var dslMethod = new DslMethodImpl("test", DslBuilder.dsl()
+        .run(http("get").endpoint("http://localhost:8089/files?q=1").get())
+        .measure("upload", http("put")
+            .client("upload")
+            .endpoint("https://localhost/files")
+            .put())
+        .run(http("dynamic").endpoint(session -> "http://example.com/").get()));
+    var warmUp = new WarmUp(0, 2, List.of("http://localhost:8089"), Duration.ofSeconds(1));
+
+    var targets = warmUp.getTargets(List.of(dslMethod));
+
+    assertThat(targets, equalTo(Map.of(
+        "default", Set.of("http://localhost:8089"),
+        "upload", Set.of("https://localhost:443"))));
+  }
+
+  @Test
+  public void testDisabledByDefault() {
+    var warmUp = new WarmUp(0, 0, List.of(), Duration.ofSeconds(1));
+
+    assertThat(warmUp.isEnabled(), is(false));
+  }
+
+  @Test(timeout = 30_000)
+  public void testEventsAreDiscardedUntilTimedOutRequestsComplete() throws IOException {
+    SimulationConfig.newInstance("classpath:///rhino.properties", Environment.DEV,
+        WarmUpTest.class);
+    var server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/slow", exchange -> {
+      try {
+        Thread.sleep(800);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      exchange.sendResponseHeaders(200, -1);
+      exchange.close();
+    });
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.start();
+    HttpClient.INSTANCE.getClient();
+
+    var completed = new AtomicBoolean();
+    var completedBeforeEventsAreKept = new AtomicBoolean();
+    var dispatcher = mock(EventDispatcher.class);
+    doAnswer(invocation -> {
+      completedBeforeEventsAreKept.set(completed.get());
+      return null;
+    }).when(dispatcher).discardEvents(false);
+
+    // The iteration times out while its request is in flight, which completes afterwards.
+    var url = "http://localhost:" + server.getAddress().getPort() + "/slow";
+    var dslMethod = mock(DslMethod.class);
+    when(dslMethod.getName()).thenReturn("slow");
+    when(dslMethod.getWeight()).thenReturn(1);
+    when(dslMethod.getMaxRps()).thenReturn(-1d);
+    when(dslMethod.materializer()).thenReturn(session -> Mono
+        .fromFuture(HttpClient.INSTANCE.execute(HttpClientProfile.DEFAULT,
+            new RequestBuilder("GET").setUrl(url), new AsyncCompletionHandler<Response>() {
+              @Override
+              public Response onCompleted(final Response response) {
+                completed.set(true);
+                return response;
+              }
+            }))
+        .thenReturn(session));
+    var warmUp = new WarmUp(1, 0, List.of(), Duration.ofMillis(700));
+
+    try {
+      warmUp.run(List.of(dslMethod), new ScenarioMix(List.of(dslMethod)),
+          () -> mock(UserSession.class), dispatcher);
+    } finally {
+      server.stop(0);
+      HttpClient.INSTANCE.close();
+    }
+
+    assertThat(completedBeforeEventsAreKept.get(), is(true));
+  }
+}
@@ -2,7 +2,7 @@ package io.ryos.rhino.sdk.simulations;
 
 import static io.ryos.rhino.sdk.dsl.DslBuilder.dsl;
 import static io.ryos.rhino.sdk.dsl.MaterializableDslItem.http;
-import static io.ryos.rhino.sdk.dsl.data.UploadStream.file;
+import static io.ryos.rhino.sdk.dsl.data.UploadStream.buffer;
 import static io.ryos.rhino.sdk.dsl.utils.HeaderUtils.headerValue;
 import static io.ryos.rhino.sdk.dsl.utils.SessionUtils.session;
 import static io.ryos.rhino.sdk.utils.TestUtils.getEndpoint;
@@ -41,7 +41,7 @@ public class CollaborativeUploadLoadSimulation {
             .header(X_API_KEY, SimulationConfig.getApiKey())
             .auth()
             .endpoint(session -> FILES_ENDPOINT)
-            .upload(() -> file("classpath:///test.txt"))
+            .upload(buffer("classpath:///test.txt"))
             .put()
             .saveTo("result"))
         .run(http("GET text.txt")